@@ -12,10 +12,14 @@ import io.github.pokemeetup.multiplayer.service.ServerConnectionService;
 import io.github.pokemeetup.player.service.PlayerAnimationService;
 import io.github.pokemeetup.player.service.PlayerService;
 import io.github.pokemeetup.world.biome.service.BiomeService;
+import io.github.pokemeetup.world.config.ChunkGeometry;
 import io.github.pokemeetup.world.model.WorldRenderer;
+import io.github.pokemeetup.world.service.ChunkLoadScheduler;
 import io.github.pokemeetup.world.service.ChunkLoaderService;
 import io.github.pokemeetup.world.service.ChunkPreloaderService;
 import io.github.pokemeetup.world.service.WorldService;
+import io.github.pokemeetup.world.service.impl.ChunkPersistenceService;
+import io.github.pokemeetup.world.service.impl.PlayerPersistenceService;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,8 +33,8 @@ public class ScreenConfig {
     }
 
     @Bean
-    public ChunkPreloaderService chunkPreloaderService(WorldService worldService) {
-        return new ChunkPreloaderService(worldService);
+    public ChunkPreloaderService chunkPreloaderService(ChunkLoadScheduler chunkLoadScheduler, ChunkGeometry chunkGeometry) {
+        return new ChunkPreloaderService(chunkLoadScheduler, chunkGeometry);
     }
 
     @Bean
@@ -73,7 +77,10 @@ public class ScreenConfig {
             BiomeService biomeService,
             WorldRenderer worldRenderer,
             ChunkLoaderService chunkLoaderService,
-            ChunkPreloaderService chunkPreloaderService, PlayerAnimationService animationService, MultiplayerClient client) {
+            ChunkPreloaderService chunkPreloaderService, PlayerAnimationService animationService, MultiplayerClient client,
+            ChunkPersistenceService chunkPersistence,
+            PlayerPersistenceService playerPersistence,
+            ChunkGeometry chunkGeometry) {
         return new GameScreen(
                 playerService,
                 worldService,
@@ -85,7 +92,10 @@ public class ScreenConfig {
                 worldRenderer,
                 chunkLoaderService,
                 chunkPreloaderService, animationService,
-                client);
+                client,
+                chunkPersistence,
+                playerPersistence,
+                chunkGeometry);
     }
 
     @Bean
@@ -24,10 +24,14 @@ import io.github.pokemeetup.player.model.PlayerDirection;
 import io.github.pokemeetup.player.service.PlayerAnimationService;
 import io.github.pokemeetup.player.service.PlayerService;
 import io.github.pokemeetup.world.biome.service.BiomeService;
+import io.github.pokemeetup.world.config.ChunkGeometry;
+import io.github.pokemeetup.world.model.ChunkRegistry;
 import io.github.pokemeetup.world.model.WorldRenderer;
 import io.github.pokemeetup.world.service.ChunkLoaderService;
 import io.github.pokemeetup.world.service.ChunkPreloaderService;
 import io.github.pokemeetup.world.service.WorldService;
+import io.github.pokemeetup.world.service.impl.ChunkPersistenceService;
+import io.github.pokemeetup.world.service.impl.PlayerPersistenceService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -51,6 +55,9 @@ public class GameScreen implements Screen {
     private final ChunkPreloaderService chunkPreloaderService;
     private final MultiplayerClient multiplayerClient;
     private final PlayerAnimationService animationService;
+    private final ChunkPersistenceService chunkPersistence;
+    private final PlayerPersistenceService playerPersistence;
+    private final ChunkGeometry chunkGeometry;
     private OrthographicCamera camera;
     private SpriteBatch batch;
     private BitmapFont font;
@@ -75,7 +82,9 @@ public class GameScreen implements Screen {
                       BiomeService biomeService,
                       WorldRenderer worldRenderer,
                       ChunkLoaderService chunkLoaderService,
-                      ChunkPreloaderService chunkPreloaderService, PlayerAnimationService animationService, MultiplayerClient client) {
+                      ChunkPreloaderService chunkPreloaderService, PlayerAnimationService animationService, MultiplayerClient client,
+                      ChunkPersistenceService chunkPersistence, PlayerPersistenceService playerPersistence,
+                      ChunkGeometry chunkGeometry) {
         this.playerService = playerService;
         this.worldService = worldService;
         this.audioService = audioService;
@@ -88,6 +97,9 @@ public class GameScreen implements Screen {
         this.chunkLoaderService = chunkLoaderService;
         this.multiplayerClient = client;
         this.chunkPreloaderService = chunkPreloaderService;
+        this.chunkPersistence = chunkPersistence;
+        this.playerPersistence = playerPersistence;
+        this.chunkGeometry = chunkGeometry;
     }
 
     @Override
@@ -382,18 +394,17 @@ public class GameScreen implements Screen {
 
         PlayerData player = playerService.getPlayerData();
         final int TILE_SIZE = 32;
-        final int CHUNK_SIZE = 16;
         final int WORLD_WIDTH_TILES = 100000;
         final int WORLD_HEIGHT_TILES = 100000;
 
         float pixelX = player.getX() * TILE_SIZE;
         float pixelY = player.getY() * TILE_SIZE;
-        int tileX = (int) player.getX();
-        int tileY = (int) player.getY();
-        int chunkX = tileX / CHUNK_SIZE;
-        int chunkY = tileY / CHUNK_SIZE;
-        int totalChunksX = WORLD_WIDTH_TILES / CHUNK_SIZE;
-        int totalChunksY = WORLD_HEIGHT_TILES / CHUNK_SIZE;
+        int tileX = (int) Math.floor(player.getX());
+        int tileY = (int) Math.floor(player.getY());
+        int chunkX = chunkGeometry.chunkOf(tileX);
+        int chunkY = chunkGeometry.chunkOf(tileY);
+        int totalChunksX = WORLD_WIDTH_TILES / chunkGeometry.size();
+        int totalChunksY = WORLD_HEIGHT_TILES / chunkGeometry.size();
 
         font.setColor(Color.WHITE);
         float y = 25;
@@ -410,6 +421,10 @@ public class GameScreen implements Screen {
         y += 20;
         font.draw(batch, String.format("Total Chunks: %d x %d", totalChunksX, totalChunksY), 10, y);
         y += 20;
+        ChunkRegistry chunks = worldService.getWorldData().getChunks();
+        font.draw(batch, String.format("Loaded Chunks: %d (%d loads, %d duplicates avoided)",
+                chunks.size(), chunks.getLoads(), chunks.getDuplicateLoadsAvoided()), 10, y);
+        y += 20;
         font.draw(batch, "Biome: " + getBiomeName(pixelX, pixelY), 10, y);
         y += 20;
         font.draw(batch, "Direction: " + player.getDirection(), 10, y);
@@ -469,6 +484,9 @@ public class GameScreen implements Screen {
     public void dispose() {
 
         worldService.saveWorldData();
+        // make sure queued chunk and player writes reach disk before the game exits
+        chunkPersistence.flush();
+        playerPersistence.flush();
 
         batch.dispose();
         font.dispose();
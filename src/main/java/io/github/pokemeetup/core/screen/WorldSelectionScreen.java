@@ -11,12 +11,11 @@ import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.scenes.scene2d.*;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
-import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.Scaling;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import io.github.pokemeetup.audio.service.AudioService;
 import io.github.pokemeetup.core.service.ScreenManager;
-import io.github.pokemeetup.world.model.WorldData;
+import io.github.pokemeetup.world.model.WorldSummary;
 import io.github.pokemeetup.world.service.WorldService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,7 +24,9 @@ import org.springframework.stereotype.Component;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 @Component
@@ -48,6 +49,10 @@ public class WorldSelectionScreen implements Screen {
     private TextButton deleteButton;
     private float fontScale;
 
+    private List<WorldSummary> worldSummaries = List.of();
+    // keyed by "<world>@<thumbnail timestamp>", so a regenerated icon is picked up on the next refresh
+    private final Map<String, Texture> iconTextures = new HashMap<>();
+
     @Autowired
     public WorldSelectionScreen(AudioService audioService,
                                 WorldService worldService,
@@ -216,23 +221,12 @@ public class WorldSelectionScreen implements Screen {
         dialog.show(stage);
     }
 
-    private Table createWorldEntry(final String worldName) {
+    private Table createWorldEntry(final WorldSummary meta) {
+        final String worldName = meta.getWorldName();
         Table entry = new Table(skin);
         entry.setBackground(skin.newDrawable("white", 0.1f,0.1f,0.1f,1f));
 
-        WorldData meta = loadWorldMetadata(worldName);
-
-        FileHandle iconFile = Gdx.files.local(saveDir + worldName + "/icon.png");
-        Image icon;
-        if (iconFile.exists()) {
-            Texture tex = new Texture(iconFile);
-            icon = new Image(new TextureRegion(tex));
-        } else {
-
-            FileHandle fallbackFile = Gdx.files.internal("assets/icons/default_world_icon.png");
-            Texture fallback = new Texture(fallbackFile);
-            icon = new Image(new TextureRegion(fallback));
-        }
+        Image icon = new Image(new TextureRegion(loadIcon(meta)));
 
         icon.setScaling(Scaling.fit);
         float iconSize = 64f * fontScale;
@@ -279,19 +273,31 @@ public class WorldSelectionScreen implements Screen {
         selectedEntry.setBackground(skin.newDrawable("white", 0.3f,0.6f,1f,1f));
     }
 
-    private WorldData loadWorldMetadata(String worldName) {
-        FileHandle worldFile = Gdx.files.local(saveDir + worldName + "/" + worldName + ".json");
-        if (!worldFile.exists()) {
-            WorldData wd = new WorldData();
-            wd.setWorldName(worldName);
-            wd.setSeed(0);
-            wd.setCreatedDate(0);
-            wd.setLastPlayed(0);
-            wd.setPlayedTime(0);
-            return wd;
+    private Texture loadIcon(WorldSummary meta) {
+        if (meta.getThumbnailTimestamp() == 0) {
+            return iconTextures.computeIfAbsent("", k ->
+                    new Texture(Gdx.files.internal("assets/icons/default_world_icon.png")));
+        }
+        return iconTextures.computeIfAbsent(meta.getWorldName() + "@" + meta.getThumbnailTimestamp(), k -> {
+            FileHandle iconFile = Gdx.files.local(saveDir + meta.getWorldName() + "/icon.png");
+            return new Texture(iconFile);
+        });
+    }
+
+    private WorldSummary findSummary(String worldName) {
+        for (WorldSummary summary : worldSummaries) {
+            if (summary.getWorldName().equals(worldName)) {
+                return summary;
+            }
+        }
+        return null;
+    }
+
+    private String formatSize(long bytes) {
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024f);
         }
-        Json json = new Json();
-        return json.fromJson(WorldData.class, worldFile.readString());
+        return String.format("%.1f MB", bytes / (1024f * 1024f));
     }
 
     private String formatPlayedTime(long millis) {
@@ -310,9 +316,10 @@ public class WorldSelectionScreen implements Screen {
 
     private void refreshWorldList() {
         worldListTable.clear();
-        List<String> worldNames = worldService.getAvailableWorlds();
-        for (String worldName : worldNames) {
-            Table entry = createWorldEntry(worldName);
+        // served from the world index, so no world or chunk file is parsed here
+        worldSummaries = worldService.getWorldSummaries();
+        for (WorldSummary summary : worldSummaries) {
+            Table entry = createWorldEntry(summary);
             worldListTable.add(entry).expandX().fillX().row();
         }
         selectedWorldName = null;
@@ -364,7 +371,7 @@ public class WorldSelectionScreen implements Screen {
                     selectedWorldName = worldName;
                     highlightNewlyCreatedEntry(worldName);
                     updateButtonsState();
-                    updateInfoPanel(loadWorldMetadata(worldName));
+                    updateInfoPanel(findSummary(worldName));
                 }
             }
         };
@@ -423,7 +430,7 @@ public class WorldSelectionScreen implements Screen {
         return null;
     }
 
-    private void updateInfoPanel(WorldData meta) {
+    private void updateInfoPanel(WorldSummary meta) {
         infoPanel.clear();
         if (meta == null) {
             Label prompt = new Label("Select a world to view details", skin);
@@ -437,6 +444,10 @@ public class WorldSelectionScreen implements Screen {
         nameLabel.setFontScale(1.2f * fontScale);
         infoPanel.add(nameLabel).expandX().row();
 
+        Label seed = new Label("Seed: " + meta.getSeed(), skin);
+        seed.setFontScale(fontScale);
+        infoPanel.add(seed).row();
+
         Label created = new Label("Created: " + formatDate(meta.getCreatedDate()), skin);
         created.setFontScale(fontScale);
         infoPanel.add(created).row();
@@ -448,6 +459,10 @@ public class WorldSelectionScreen implements Screen {
         Label playedTime = new Label("Played Time: " + formatPlayedTime(meta.getPlayedTime()), skin);
         playedTime.setFontScale(fontScale);
         infoPanel.add(playedTime).row();
+
+        Label size = new Label("Size: " + formatSize(meta.getSizeBytes()), skin);
+        size.setFontScale(fontScale);
+        infoPanel.add(size).row();
     }
 
     private void showErrorDialog(String message) {
@@ -489,5 +504,9 @@ public class WorldSelectionScreen implements Screen {
     public void dispose() {
         stage.dispose();
         skin.dispose();
+        for (Texture texture : iconTextures.values()) {
+            texture.dispose();
+        }
+        iconTextures.clear();
     }
 }
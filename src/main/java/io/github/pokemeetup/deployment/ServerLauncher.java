@@ -4,6 +4,10 @@ import io.github.pokemeetup.multiplayer.model.ServerConnectionConfig;
 import io.github.pokemeetup.multiplayer.service.MultiplayerServer;
 import io.github.pokemeetup.multiplayer.service.ServerConnectionService;
 import io.github.pokemeetup.plugin.PluginManager;
+import io.github.pokemeetup.world.service.WorldService;
+import io.github.pokemeetup.world.service.impl.ChunkPersistenceService;
+import io.github.pokemeetup.world.service.impl.PlayerPersistenceService;
+import io.github.pokemeetup.world.service.impl.WorldPregenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.Banner;
@@ -12,11 +16,16 @@ import org.springframework.context.ConfigurableApplicationContext;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
 public class ServerLauncher {
     private static final Logger logger = LoggerFactory.getLogger(ServerLauncher.class);
 
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains("--pregen")) {
+            pregenerate(args);
+            return;
+        }
 
         int tcpPort = 54555;
         int udpPort = 54777;
@@ -58,6 +67,8 @@ public class ServerLauncher {
         MultiplayerServer server = context.getBean(MultiplayerServer.class);
         ServerConnectionService connectionService = context.getBean(ServerConnectionService.class);
         PluginManager pluginManager = context.getBean(PluginManager.class);
+        ChunkPersistenceService chunkPersistence = context.getBean(ChunkPersistenceService.class);
+        PlayerPersistenceService playerPersistence = context.getBean(PlayerPersistenceService.class);
         ServerConnectionConfig config = connectionService.loadConfig();
         if (config.getServerIP() == null) {
             config.setServerName("PokeMeetupServer");
@@ -80,6 +91,8 @@ public class ServerLauncher {
 
             pluginManager.unloadAll();
             server.stopServer();
+            chunkPersistence.shutdown();
+            playerPersistence.shutdown();
         }));
 
         final int TICKS_PER_SECOND = 20;
@@ -108,6 +121,63 @@ public class ServerLauncher {
 
         pluginManager.unloadAll();
         server.stopServer();
+        chunkPersistence.shutdown();
+        playerPersistence.shutdown();
         logger.info("Server Stopped.");
     }
+
+    /**
+     * {@code --pregen radius=<chunks> [center=<x>,<y>] [world=<name>]}: generates and stores the
+     * area, then exits. Players cannot connect meanwhile; the network listener is never started.
+     * Running it again after an interruption continues where it stopped.
+     */
+    private static void pregenerate(String[] args) {
+        int radius = -1;
+        int centerX = 0;
+        int centerY = 0;
+        String worldName = "serverWorld";
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("radius=")) {
+                    radius = Integer.parseInt(arg.substring("radius=".length()));
+                } else if (arg.startsWith("center=")) {
+                    String[] xy = arg.substring("center=".length()).split(",");
+                    centerX = Integer.parseInt(xy[0].trim());
+                    centerY = Integer.parseInt(xy[1].trim());
+                } else if (arg.startsWith("world=")) {
+                    worldName = arg.substring("world=".length());
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            radius = -1;
+        }
+        if (radius < 0) {
+            logger.error("Usage: --pregen radius=<chunks> [center=<x>,<y>] [world=<name>]");
+            System.exit(1);
+        }
+
+        Path baseDir = Paths.get("").toAbsolutePath();
+        try {
+            DeploymentHelper.createServerDeployment(baseDir);
+        } catch (Exception e) {
+            logger.error("Failed to create server deployment: {}", e.getMessage());
+            System.exit(1);
+        }
+
+        SpringApplication app = new SpringApplication(io.github.pokemeetup.PokemeetupApplication.class);
+        app.setBannerMode(Banner.Mode.OFF);
+        app.setAdditionalProfiles("server");
+        int exitCode = 0;
+        try (ConfigurableApplicationContext context = app.run(args)) {
+            // creates the server world if needed and replays its journal before anything is skipped as stored
+            context.getBean(WorldService.class).initIfNeeded();
+            context.getBean(WorldPregenerator.class).pregenerate(worldName, centerX, centerY, radius);
+            context.getBean(ChunkPersistenceService.class).shutdown();
+            context.getBean(PlayerPersistenceService.class).shutdown();
+        } catch (Exception e) {
+            logger.error("Pregeneration failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
 }
@@ -7,10 +7,12 @@ import io.github.pokemeetup.multiplayer.model.WorldObjectUpdate;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public interface MultiplayerService {
     void playerConnected(String username);
     void playerDisconnected(String username);
+    Set<String> getConnectedPlayers();
 
     PlayerData getPlayerData(String username);
     void updatePlayerData(PlayerData data);
@@ -10,8 +10,8 @@ import io.github.pokemeetup.multiplayer.model.ChunkUpdate;
 import io.github.pokemeetup.multiplayer.model.PlayerSyncData;
 import io.github.pokemeetup.multiplayer.service.MultiplayerClient;
 import io.github.pokemeetup.player.model.PlayerData;
-import io.github.pokemeetup.world.model.ObjectType;
-import io.github.pokemeetup.world.model.WorldObject;
+import io.github.pokemeetup.world.model.ChunkKey;
+import io.github.pokemeetup.world.model.ChunkMap;
 import io.github.pokemeetup.world.service.WorldService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,7 +27,7 @@ import java.util.concurrent.ConcurrentHashMap;
 @Service
 public class MultiplayerClientImpl implements MultiplayerClient {
     private final Map<String, PlayerSyncData> playerStates = new ConcurrentHashMap<>();
-    private final Map<String, ChunkUpdate> loadedChunks = new ConcurrentHashMap<>();
+    private final ChunkMap<ChunkUpdate> loadedChunks = new ChunkMap<>(256);
     private final ApplicationEventPublisher eventPublisher;
     private Client client;
     private boolean connected = false;
@@ -200,37 +200,11 @@ public class MultiplayerClientImpl implements MultiplayerClient {
             cUp.setChunkY(chunkData.getChunkY());
             cUp.setTiles(chunkData.getTiles());
             cUp.setObjects(chunkData.getObjects());
-            loadedChunks.put(chunkData.getChunkX() + "," + chunkData.getChunkY(), cUp);
+            loadedChunks.put(ChunkKey.of(chunkData.getChunkX(), chunkData.getChunkY()), cUp);
             Gdx.app.postRunnable(() -> worldService.loadOrReplaceChunkData(chunkData.getChunkX(), chunkData.getChunkY(), chunkData.getTiles(), chunkData.getObjects()));
         } else if (object instanceof NetworkProtocol.WorldObjectsUpdate wObjects) {
+            // applied by the world service through its object index; the chunk cache above keeps what was received
             wObjects.getObjects().forEach(update -> {
-                String key = (update.getTileX() / 16) + "," + (update.getTileY() / 16);
-                ChunkUpdate cu = loadedChunks.get(key);
-                if (cu != null) {
-                    if (update.isRemoved()) {
-                        cu.getObjects().removeIf(o -> o.getId().equals(update.getObjectId()));
-                    } else {
-                        boolean found = false;
-                        for (WorldObject wo : cu.getObjects()) {
-                            if (wo.getId().equals(update.getObjectId())) {
-                                wo.setTileX(update.getTileX());
-                                wo.setTileY(update.getTileY());
-                                found = true;
-                                break;
-                            }
-                        }
-                        if (!found) {
-                            ObjectType objType = ObjectType.valueOf(update.getType());
-                            WorldObject newObj = new WorldObject(
-                                    update.getTileX(),
-                                    update.getTileY(),
-                                    objType,
-                                    objType.isCollidable()
-                            );
-                            cu.getObjects().add(newObj);
-                        }
-                    }
-                }
                 // Update the local world service with the object changes
                 Gdx.app.postRunnable(() -> {
                     worldService.updateWorldObjectState(update);
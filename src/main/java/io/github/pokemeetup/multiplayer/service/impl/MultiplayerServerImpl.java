@@ -10,9 +10,11 @@ import io.github.pokemeetup.multiplayer.service.MultiplayerServer;
 import io.github.pokemeetup.multiplayer.service.MultiplayerService;
 import io.github.pokemeetup.player.event.PlayerJoinEvent;
 import io.github.pokemeetup.player.event.PlayerLeaveEvent;
+import io.github.pokemeetup.player.event.PlayerMoveEvent;
 import io.github.pokemeetup.player.model.PlayerData;
 import io.github.pokemeetup.multiplayer.model.ChunkUpdate;
 import io.github.pokemeetup.multiplayer.model.PlayerSyncData;
+import io.github.pokemeetup.world.config.ChunkGeometry;
 import io.github.pokemeetup.world.service.WorldService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,6 +40,9 @@ public class MultiplayerServerImpl implements MultiplayerServer {
     @Autowired
     private WorldService worldService;
 
+    @Autowired
+    private ChunkGeometry chunkGeometry;
+
     public MultiplayerServerImpl(MultiplayerService multiplayerService,
                                  EventBus eventBus,
                                  AuthService authService) {
@@ -197,6 +202,9 @@ public class MultiplayerServerImpl implements MultiplayerServer {
         pd.setMoving(positionChanged);
 
         worldService.setPlayerData(pd);
+        if (positionChanged) {
+            eventBus.fireEvent(new PlayerMoveEvent(pd));
+        }
 
         broadcastPlayerStates();
     }
@@ -225,13 +233,13 @@ public class MultiplayerServerImpl implements MultiplayerServer {
     }
 
     private void sendInitialChunks(Connection connection, PlayerData pd) {
-        int px = (int) pd.getX();
-        int py = (int) pd.getY();
+        int chunkX = chunkGeometry.chunkOf(pd.getX());
+        int chunkY = chunkGeometry.chunkOf(pd.getY());
         int radius = 2;
-        int startX = px / 16 - radius;
-        int endX = px / 16 + radius;
-        int startY = py / 16 - radius;
-        int endY = py / 16 + radius;
+        int startX = chunkX - radius;
+        int endX = chunkX + radius;
+        int startY = chunkY - radius;
+        int endY = chunkY + radius;
 
         for (int cx = startX; cx <= endX; cx++) {
             for (int cy = startY; cy <= endY; cy++) {
@@ -42,6 +42,14 @@ public class MultiplayerServiceImpl implements MultiplayerService {
     @Override
     public void playerDisconnected(String username) {
         connectedPlayers.remove(username);
+        worldService.unloadPlayerData(username);
+    }
+
+    @Override
+    public Set<String> getConnectedPlayers() {
+        synchronized (connectedPlayers) {
+            return new HashSet<>(connectedPlayers);
+        }
     }
 
     @Override
@@ -64,8 +72,7 @@ public class MultiplayerServiceImpl implements MultiplayerService {
         var wd = worldService.getWorldData();
         if (wd == null) return null;
 
-        String key = chunkX + "," + chunkY;
-        var chunkData = wd.getChunks().get(key);
+        var chunkData = wd.getChunks().get(chunkX, chunkY);
         if (chunkData == null) return null;
 
         List<WorldObject> objs = chunkData.getObjects();
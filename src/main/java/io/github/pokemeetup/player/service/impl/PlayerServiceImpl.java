@@ -13,6 +13,7 @@ import io.github.pokemeetup.player.model.PlayerDirection;
 import io.github.pokemeetup.player.model.PlayerModel;
 import io.github.pokemeetup.player.service.PlayerAnimationService;
 import io.github.pokemeetup.player.service.PlayerService;
+import io.github.pokemeetup.world.config.ChunkGeometry;
 import io.github.pokemeetup.world.model.ChunkData;
 import io.github.pokemeetup.world.model.WorldObject;
 import io.github.pokemeetup.world.service.WorldService;
@@ -41,6 +42,9 @@ public class PlayerServiceImpl implements PlayerService {
     @Autowired
     private MultiplayerClient multiplayerClient;
 
+    @Autowired
+    private ChunkGeometry chunkGeometry;
+
     public PlayerServiceImpl(
             PlayerAnimationService animationService,
             InputService inputService,
@@ -119,16 +123,12 @@ public class PlayerServiceImpl implements PlayerService {
 
 
     private boolean isColliding(int tileX, int tileY) {
-        int chunkX = tileX / 16;
-        int chunkY = tileY / 16;
+        int chunkX = chunkGeometry.chunkOf(tileX);
+        int chunkY = chunkGeometry.chunkOf(tileY);
         int[][] chunkTiles = worldService.getChunkTiles(chunkX, chunkY);
         if (chunkTiles == null) return true;
 
-        int localX = Math.floorMod(tileX, 16);
-        int localY = Math.floorMod(tileY, 16);
-        if (localX < 0 || localX >= 16 || localY < 0 || localY >= 16) return true;
-
-        int tileID = chunkTiles[localX][localY];
+        int tileID = chunkTiles[chunkGeometry.localOf(tileX)][chunkGeometry.localOf(tileY)];
         if (!worldService.getTileManager().isPassable(tileID)) {
             return true;
         }
@@ -142,8 +142,7 @@ public class PlayerServiceImpl implements PlayerService {
             for (int dy = -1; dy <= 1; dy++) {
                 int neighborChunkX = chunkX + dx;
                 int neighborChunkY = chunkY + dy;
-                String chunkKey = neighborChunkX + "," + neighborChunkY;
-                ChunkData chunkData = worldService.getWorldData().getChunks().get(chunkKey);
+                ChunkData chunkData = worldService.getWorldData().getChunks().get(neighborChunkX, neighborChunkY);
                 if (chunkData != null && chunkData.getObjects() != null) {
                     nearbyObjects.addAll(chunkData.getObjects());
                 }
@@ -60,6 +60,95 @@ public class OpenSimplex2 {
         return noise2_UnskewedBase(seed, yy + xx, yy - xx);
     }
 
+    /**
+     * {@link #noise2} for every point of the grid {@code (xs[i], ys[j])}, stored at {@code out[j * xs.length + i]}.
+     * Results are bit-identical to single calls; lattice gradients are shared between samples of one cell.
+     */
+    public static void noise2Grid(long seed, double[] xs, double[] ys, float[] out) {
+        int width = xs.length;
+        if (out.length < width * ys.length) {
+            throw new IllegalArgumentException("out holds " + out.length + " values, grid has " + width * ys.length);
+        }
+        boolean cached = false;
+        int lastXsb = 0, lastYsb = 0;
+        int gi00 = 0, gi11 = 0, gi01 = 0, gi10 = 0;
+
+        for (int j = 0; j < ys.length; j++) {
+            double y = ys[j];
+            for (int i = 0; i < width; i++) {
+                double x = xs[i];
+                double s = SKEW_2D * (x + y);
+                double xs0 = x + s, ys0 = y + s;
+
+                int xsb = fastFloor(xs0), ysb = fastFloor(ys0);
+                if (!cached || xsb != lastXsb || ysb != lastYsb) {
+                    long xsbp = xsb * PRIME_X, ysbp = ysb * PRIME_Y;
+                    gi00 = gradIndex(seed, xsbp, ysbp);
+                    gi11 = gradIndex(seed, xsbp + PRIME_X, ysbp + PRIME_Y);
+                    gi01 = gradIndex(seed, xsbp, ysbp + PRIME_Y);
+                    gi10 = gradIndex(seed, xsbp + PRIME_X, ysbp);
+                    lastXsb = xsb;
+                    lastYsb = ysb;
+                    cached = true;
+                }
+                float xi = (float)(xs0 - xsb), yi = (float)(ys0 - ysb);
+
+                // same arithmetic as noise2_UnskewedBase, with the gradients looked up once per cell
+                float t = (xi + yi) * (float)UNSKEW_2D;
+                float dx0 = xi + t, dy0 = yi + t;
+
+                float value = 0;
+                float a0 = RSQUARED_2D - dx0 * dx0 - dy0 * dy0;
+                if (a0 > 0) {
+                    value = (a0 * a0) * (a0 * a0) * (GRADIENTS_2D[gi00] * dx0 + GRADIENTS_2D[gi00 | 1] * dy0);
+                }
+
+                float a1 = (float)(2 * (1 + 2 * UNSKEW_2D) * (1 / UNSKEW_2D + 2)) * t + ((float)(-2 * (1 + 2 * UNSKEW_2D) * (1 + 2 * UNSKEW_2D)) + a0);
+                if (a1 > 0) {
+                    float dx1 = dx0 - (float)(1 + 2 * UNSKEW_2D);
+                    float dy1 = dy0 - (float)(1 + 2 * UNSKEW_2D);
+                    value += (a1 * a1) * (a1 * a1) * (GRADIENTS_2D[gi11] * dx1 + GRADIENTS_2D[gi11 | 1] * dy1);
+                }
+
+                if (dy0 > dx0) {
+                    float dx2 = dx0 - (float)UNSKEW_2D;
+                    float dy2 = dy0 - (float)(UNSKEW_2D + 1);
+                    float a2 = RSQUARED_2D - dx2 * dx2 - dy2 * dy2;
+                    if (a2 > 0) {
+                        value += (a2 * a2) * (a2 * a2) * (GRADIENTS_2D[gi01] * dx2 + GRADIENTS_2D[gi01 | 1] * dy2);
+                    }
+                }
+                else
+                {
+                    float dx2 = dx0 - (float)(UNSKEW_2D + 1);
+                    float dy2 = dy0 - (float)UNSKEW_2D;
+                    float a2 = RSQUARED_2D - dx2 * dx2 - dy2 * dy2;
+                    if (a2 > 0) {
+                        value += (a2 * a2) * (a2 * a2) * (GRADIENTS_2D[gi10] * dx2 + GRADIENTS_2D[gi10 | 1] * dy2);
+                    }
+                }
+
+                out[j * width + i] = value;
+            }
+        }
+    }
+
+    /**
+     * {@link #noise2Grid(long, double[], double[], float[])} for the points {@code (x0 + i * stepX, y0 + j * stepY)}.
+     */
+    public static void noise2Grid(long seed, double x0, double y0, double stepX, double stepY,
+                                  int width, int height, float[] out) {
+        double[] xs = new double[width];
+        double[] ys = new double[height];
+        for (int i = 0; i < width; i++) {
+            xs[i] = x0 + i * stepX;
+        }
+        for (int j = 0; j < height; j++) {
+            ys[j] = y0 + j * stepY;
+        }
+        noise2Grid(seed, xs, ys, out);
+    }
+
     
     private static float noise2_UnskewedBase(long seed, double xs, double ys) {
 
@@ -384,11 +473,15 @@ public class OpenSimplex2 {
     
 
     private static float grad(long seed, long xsvp, long ysvp, float dx, float dy) {
+        int gi = gradIndex(seed, xsvp, ysvp);
+        return GRADIENTS_2D[gi | 0] * dx + GRADIENTS_2D[gi | 1] * dy;
+    }
+
+    private static int gradIndex(long seed, long xsvp, long ysvp) {
         long hash = seed ^ xsvp ^ ysvp;
         hash *= HASH_MULTIPLIER;
         hash ^= hash >> (64 - N_GRADS_2D_EXPONENT + 1);
-        int gi = (int)hash & ((N_GRADS_2D - 1) << 1);
-        return GRADIENTS_2D[gi | 0] * dx + GRADIENTS_2D[gi | 1] * dy;
+        return (int)hash & ((N_GRADS_2D - 1) << 1);
     }
 
     private static float grad(long seed, long xrvp, long yrvp, long zrvp, float dx, float dy, float dz) {
@@ -0,0 +1,47 @@
+package io.github.pokemeetup.utils;
+
+/**
+ * Stateless random numbers keyed by position. Every value is a SplitMix64-style hash of
+ * (seed, x, y, salt), so any single draw can be computed without the draws before it, and
+ * adding or reordering draws elsewhere never shifts it. Use a distinct salt per kind of draw.
+ */
+public final class PositionalRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private PositionalRandom() {
+    }
+
+    public static long hash(long seed, int x, int y, int salt) {
+        long h = mix(seed + GOLDEN_GAMMA);
+        h = mix(h ^ (((long) x << 32) | (y & 0xFFFFFFFFL)));
+        return mix(h + salt * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Uniform in [0, 1), with 53 random bits.
+     */
+    public static double nextDouble(long seed, int x, int y, int salt) {
+        return (hash(seed, x, y, salt) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Uniform in [0, 1), with 24 random bits.
+     */
+    public static float nextFloat(long seed, int x, int y, int salt) {
+        return (hash(seed, x, y, salt) >>> 40) * 0x1.0p-24f;
+    }
+
+    /**
+     * Uniform in [0, bound) for a positive bound.
+     */
+    public static int nextInt(long seed, int x, int y, int salt, int bound) {
+        return (int) (((hash(seed, x, y, salt) >>> 33) * bound) >>> 31);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
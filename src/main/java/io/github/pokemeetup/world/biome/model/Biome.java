@@ -20,6 +20,9 @@ public class Biome {
 
     private Map<String, Double> spawnChances;
 
+    // compiled once from the fields above; generation reads only these
+    private final BiomeTables tables;
+
     public Biome(String name,
                  BiomeType type,
                  List<Integer> allowedTileTypes,
@@ -32,6 +35,7 @@ public class Biome {
         this.tileDistribution = tileDistribution;
         this.spawnableObjects = spawnableObjects;
         this.spawnChances = spawnChances;
+        this.tables = BiomeTables.compile(this);
     }
 
     public double getSpawnChanceForObject(ObjectType objType) {
@@ -0,0 +1,176 @@
+package io.github.pokemeetup.world.biome.model;
+
+import io.github.pokemeetup.world.model.ObjectType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable lookup tables compiled from a {@link Biome} definition, so generation does not touch
+ * collections per tile. Tile weights are ordered by tile id, independent of map iteration order.
+ */
+@Slf4j
+public final class BiomeTables {
+
+    // allowed tile ids below this are answered from the bitset, others by binary search
+    private static final int MAX_BITSET_TILE = 4096;
+
+    private final int[] tileIds;
+    private final double[] cumulativeWeights;
+    private final double totalWeight;
+    // guide[g] = first index whose cumulative weight exceeds the lower edge of bucket g
+    private final int[] guide;
+    private final double bucketsPerWeight;
+    private final boolean monotonic;
+
+    private final int[] allowedTiles;
+    private final long[] allowedBits;
+
+    private final ObjectType[] spawnTypes;
+    private final double[] spawnChances;
+
+    private BiomeTables(int[] tileIds, double[] weights, int[] allowedTiles,
+                        ObjectType[] spawnTypes, double[] spawnChances) {
+        this.tileIds = tileIds;
+        this.cumulativeWeights = new double[weights.length];
+        double cumulative = 0;
+        boolean increasing = true;
+        for (int i = 0; i < weights.length; i++) {
+            cumulative += weights[i];
+            cumulativeWeights[i] = cumulative;
+            increasing &= weights[i] >= 0;
+        }
+        // DoubleStream.sum is compensated, so the total can differ from the last cumulative weight
+        this.totalWeight = Arrays.stream(weights).sum();
+        this.monotonic = increasing && totalWeight > 0 && Double.isFinite(totalWeight);
+
+        int buckets = Math.max(1, tileIds.length * 2);
+        this.guide = new int[buckets];
+        this.bucketsPerWeight = monotonic ? buckets / totalWeight : 0;
+        if (monotonic) {
+            int i = 0;
+            for (int g = 0; g < buckets; g++) {
+                double lower = g / bucketsPerWeight;
+                while (i < cumulativeWeights.length - 1 && cumulativeWeights[i] <= lower) {
+                    i++;
+                }
+                guide[g] = i;
+            }
+        }
+
+        this.allowedTiles = allowedTiles;
+        int maxBit = -1;
+        for (int id : allowedTiles) {
+            if (id >= 0 && id < MAX_BITSET_TILE) {
+                maxBit = Math.max(maxBit, id);
+            }
+        }
+        this.allowedBits = new long[(maxBit >> 6) + 1];
+        for (int id : allowedTiles) {
+            if (id >= 0 && id < MAX_BITSET_TILE) {
+                allowedBits[id >> 6] |= 1L << id;
+            }
+        }
+
+        this.spawnTypes = spawnTypes;
+        this.spawnChances = spawnChances;
+    }
+
+    public static BiomeTables compile(Biome biome) {
+        Map<Integer, Double> distribution = new TreeMap<>();
+        if (biome.getTileDistribution() != null) {
+            distribution.putAll(biome.getTileDistribution());
+        }
+        int[] tileIds = new int[distribution.size()];
+        double[] weights = new double[distribution.size()];
+        int n = 0;
+        for (Map.Entry<Integer, Double> entry : distribution.entrySet()) {
+            tileIds[n] = entry.getKey();
+            weights[n++] = entry.getValue();
+        }
+
+        int[] allowed = biome.getAllowedTileTypes() == null ? new int[0]
+                : biome.getAllowedTileTypes().stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+
+        List<ObjectType> types = new ArrayList<>();
+        List<Double> chances = new ArrayList<>();
+        if (biome.getSpawnableObjects() != null) {
+            // config order is kept: objects are drawn from one Random in this order
+            for (String objName : biome.getSpawnableObjects()) {
+                ObjectType type;
+                try {
+                    type = ObjectType.valueOf(objName);
+                } catch (Exception e) {
+                    log.warn("Unknown object type: '{}' in biome '{}'", objName, biome.getType());
+                    continue;
+                }
+                types.add(type);
+                chances.add(biome.getSpawnChances() == null ? 0.0 : biome.getSpawnChanceForObject(type));
+            }
+        }
+        return new BiomeTables(tileIds, weights, allowed,
+                types.toArray(new ObjectType[0]), chances.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    /**
+     * Tile for a uniform draw in [0, 1). Picks the first tile whose cumulative weight exceeds
+     * {@code u * total}, the same tile a linear scan over the weights would pick; 0 if none does.
+     */
+    public int sampleTile(double u) {
+        double roll = u * totalWeight;
+        int i;
+        if (monotonic) {
+            int g = (int) (roll * bucketsPerWeight);
+            i = guide[Math.min(Math.max(g, 0), guide.length - 1)];
+            // the bucket index is rounded, so step back if the guess overshot
+            while (i > 0 && roll < cumulativeWeights[i - 1]) {
+                i--;
+            }
+        } else {
+            i = 0;
+        }
+        for (; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return tileIds[i];
+            }
+        }
+        return 0;
+    }
+
+    public boolean hasTileDistribution() {
+        return tileIds.length > 0;
+    }
+
+    public boolean isAllowedTile(int tileId) {
+        if (tileId >= 0 && tileId < MAX_BITSET_TILE) {
+            int word = tileId >> 6;
+            return word < allowedBits.length && (allowedBits[word] & (1L << tileId)) != 0;
+        }
+        return Arrays.binarySearch(allowedTiles, tileId) >= 0;
+    }
+
+    public int getSpawnCount() {
+        return spawnTypes.length;
+    }
+
+    public ObjectType getSpawnType(int index) {
+        return spawnTypes[index];
+    }
+
+    public double getSpawnChance(int index) {
+        return spawnChances[index];
+    }
+
+    public boolean spawns(ObjectType type) {
+        for (ObjectType t : spawnTypes) {
+            if (t == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
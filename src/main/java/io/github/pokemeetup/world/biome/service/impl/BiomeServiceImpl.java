@@ -9,9 +9,11 @@ import io.github.pokemeetup.world.biome.model.BiomeType;
 import io.github.pokemeetup.world.biome.service.BiomeService;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 
@@ -25,15 +27,44 @@ public class BiomeServiceImpl implements BiomeService {
     private static final float WARP_SCALE = 0.00001f;
     private static final float WARP_STRENGTH = 30f;
     private static final double TRANSITION_BASE = 0.15;
+
+    // temperature, moisture and edge noise are sampled every FIELD_SPACING units and interpolated
+    private static final float FIELD_SPACING = 8f;
+    private static final int REGION_SAMPLES = 32;
+    private static final int REGION_STRIDE = REGION_SAMPLES + 1;
+    private static final int CHANNELS = 3;
+    private static final int TEMPERATURE = 0;
+    private static final int MOISTURE = 1;
+    private static final int EDGE = 2;
+
     private final BiomeConfigurationLoader configurationLoader;
+    private final Map<RegionKey, FieldRegion> fieldRegions;
+    // most queries hit the same region as the previous one; skips the LRU lock
+    private volatile FieldRegion lastRegion;
     private long baseSeed;
     private long temperatureSeed;
     private long moistureSeed;
     private long warpSeed;
     private Map<BiomeType, Biome> biomes = new HashMap<>();
 
-    public BiomeServiceImpl(BiomeConfigurationLoader configurationLoader) {
+    private record RegionKey(long seed, int regionX, int regionY) {
+    }
+
+    // REGION_STRIDE x REGION_STRIDE samples, CHANNELS floats each; shares its edge row and column with the next region
+    private record FieldRegion(RegionKey key, float[] values) {
+    }
+
+    public BiomeServiceImpl(
+            BiomeConfigurationLoader configurationLoader,
+            @Value("${biome.field.maxRegions:256}") int maxRegions
+    ) {
         this.configurationLoader = configurationLoader;
+        this.fieldRegions = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RegionKey, FieldRegion> eldest) {
+                return size() > maxRegions;
+            }
+        };
     }
 
     public void initWithSeed(long seed) {
@@ -57,22 +88,20 @@ public class BiomeServiceImpl implements BiomeService {
 
     @Override
     public BiomeTransitionResult getBiomeAt(float worldX, float worldY) {
-        float[] warped = domainWarp(worldX, worldY);
-        double temperature = getNoiseValue(warped[0], warped[1], temperatureSeed, TEMPERATURE_SCALE);
-        double moisture = getNoiseValue(warped[0], warped[1], moistureSeed, MOISTURE_SCALE);
+        double temperature = fieldAt(worldX, worldY, TEMPERATURE);
+        double moisture = fieldAt(worldX, worldY, MOISTURE);
 
 
         BiomeType primaryType = determineBiomeType(temperature, moisture);
 
 
-        double edgeNoise = getNoiseValue(worldX, worldY, warpSeed, TEMPERATURE_SCALE * 2);
+        double edgeNoise = fieldAt(worldX, worldY, EDGE);
         double transitionThreshold = TRANSITION_BASE + edgeNoise * 0.05;
 
         if (shouldBlendBiomes(temperature, moisture, transitionThreshold)) {
 
-            float[] offsetWarp = domainWarp(worldX + 64, worldY + 64);
-            double temp2 = getNoiseValue(offsetWarp[0], offsetWarp[1], temperatureSeed, TEMPERATURE_SCALE);
-            double moist2 = getNoiseValue(offsetWarp[0], offsetWarp[1], moistureSeed, MOISTURE_SCALE);
+            double temp2 = fieldAt(worldX + 64, worldY + 64, TEMPERATURE);
+            double moist2 = fieldAt(worldX + 64, worldY + 64, MOISTURE);
             BiomeType secondaryType = determineBiomeType(temp2, moist2);
 
             if (primaryType != secondaryType && areCompatibleBiomes(primaryType, secondaryType)) {
@@ -85,6 +114,97 @@ public class BiomeServiceImpl implements BiomeService {
         return new BiomeTransitionResult(getBiome(primaryType), null, 1.0f);
     }
 
+    /**
+     * Bilinear interpolation of one channel of the cached coarse field.
+     */
+    private double fieldAt(float worldX, float worldY, int channel) {
+        double fx = worldX / FIELD_SPACING;
+        double fy = worldY / FIELD_SPACING;
+        int gx = (int) Math.floor(fx);
+        int gy = (int) Math.floor(fy);
+        int regionX = Math.floorDiv(gx, REGION_SAMPLES);
+        int regionY = Math.floorDiv(gy, REGION_SAMPLES);
+        float[] v = fieldRegion(regionX, regionY).values();
+
+        int base = ((gy - regionY * REGION_SAMPLES) * REGION_STRIDE + (gx - regionX * REGION_SAMPLES)) * CHANNELS + channel;
+        double tx = fx - gx;
+        double ty = fy - gy;
+        double bottom = v[base] + (v[base + CHANNELS] - v[base]) * tx;
+        int above = base + REGION_STRIDE * CHANNELS;
+        double top = v[above] + (v[above + CHANNELS] - v[above]) * tx;
+        return bottom + (top - bottom) * ty;
+    }
+
+    private FieldRegion fieldRegion(int regionX, int regionY) {
+        long seed = baseSeed;
+        FieldRegion last = lastRegion;
+        if (last != null && last.key().regionX() == regionX && last.key().regionY() == regionY
+                && last.key().seed() == seed) {
+            return last;
+        }
+        RegionKey key = new RegionKey(seed, regionX, regionY);
+        FieldRegion region;
+        synchronized (fieldRegions) {
+            region = fieldRegions.get(key);
+        }
+        if (region == null) {
+            // computed outside the lock; two threads may both compute a region, with equal results
+            region = computeFieldRegion(key);
+            synchronized (fieldRegions) {
+                fieldRegions.put(key, region);
+            }
+        }
+        lastRegion = region;
+        return region;
+    }
+
+    private FieldRegion computeFieldRegion(RegionKey key) {
+        float[] gridX = new float[REGION_STRIDE];
+        float[] gridY = new float[REGION_STRIDE];
+        for (int i = 0; i < REGION_STRIDE; i++) {
+            gridX[i] = (key.regionX() * REGION_SAMPLES + i) * FIELD_SPACING;
+            gridY[i] = (key.regionY() * REGION_SAMPLES + i) * FIELD_SPACING;
+        }
+        // the edge channel and the first warp octave sample the unwarped grid, so they are
+        // computed a region at a time; the same values as getNoiseValue and domainWarp give
+        int samples = REGION_STRIDE * REGION_STRIDE;
+        float[][] edge = new float[3][samples];
+        double frequency = 1.0;
+        for (int octave = 0; octave < 3; octave++) {
+            OpenSimplex2.noise2Grid(warpSeed + octave, scaled(gridX, TEMPERATURE_SCALE * 2, frequency),
+                    scaled(gridY, TEMPERATURE_SCALE * 2, frequency), edge[octave]);
+            frequency *= 2.0;
+        }
+        float[] warpX = new float[samples];
+        float[] warpY = new float[samples];
+        double[] warpXs = scaled(gridX, WARP_SCALE, 1.0);
+        double[] warpYs = scaled(gridY, WARP_SCALE, 1.0);
+        OpenSimplex2.noise2Grid(warpSeed, warpXs, warpYs, warpX);
+        OpenSimplex2.noise2Grid(warpSeed + 1000, warpXs, warpYs, warpY);
+
+        float[] values = new float[samples * CHANNELS];
+        for (int j = 0; j < REGION_STRIDE; j++) {
+            for (int i = 0; i < REGION_STRIDE; i++) {
+                int n = j * REGION_STRIDE + i;
+                float[] warped = domainWarp(gridX[i], gridY[j], warpX[n], warpY[n]);
+                int k = n * CHANNELS;
+                values[k + TEMPERATURE] = (float) getNoiseValue(warped[0], warped[1], temperatureSeed, TEMPERATURE_SCALE);
+                values[k + MOISTURE] = (float) getNoiseValue(warped[0], warped[1], moistureSeed, MOISTURE_SCALE);
+                values[k + EDGE] = (float) fractal(edge[0][n], edge[1][n], edge[2][n]);
+            }
+        }
+        return new FieldRegion(key, values);
+    }
+
+    // the noise coordinates getNoiseValue passes for these positions: float * float, widened, * double
+    private static double[] scaled(float[] coords, float scale, double frequency) {
+        double[] out = new double[coords.length];
+        for (int i = 0; i < coords.length; i++) {
+            out[i] = coords[i] * scale * frequency;
+        }
+        return out;
+    }
+
     
     private float computeTransitionFactor(double temperature, double moisture, double threshold) {
 
@@ -115,12 +235,16 @@ public class BiomeServiceImpl implements BiomeService {
     }
 
     
-    private float[] domainWarp(float x, float y) {
-        float[] warped = new float[]{x, y};
-        float amplitude = WARP_STRENGTH;
-        float frequency = WARP_SCALE;
-
-        for (int i = 0; i < 3; i++) {
+    /**
+     * @param firstX noise of the first x octave at (x, y); the grid computes it for a whole region
+     * @param firstY same for y
+     */
+    private float[] domainWarp(float x, float y, float firstX, float firstY) {
+        float[] warped = new float[]{x + firstX * WARP_STRENGTH, y + firstY * WARP_STRENGTH};
+        float amplitude = WARP_STRENGTH * 0.5f;
+        float frequency = WARP_SCALE * 1.8f;
+
+        for (int i = 1; i < 3; i++) {
             float warpX = (float) OpenSimplex2.noise2(warpSeed + i, warped[0] * frequency, warped[1] * frequency) * amplitude;
             float warpY = (float) OpenSimplex2.noise2(warpSeed + i + 1000, warped[0] * frequency, warped[1] * frequency) * amplitude;
 
@@ -153,6 +277,13 @@ public class BiomeServiceImpl implements BiomeService {
         return Math.max(0.0, Math.min(1.0, Math.pow(value, 1.1)));
     }
 
+    // getNoiseValue for octaves that were already sampled
+    private static double fractal(float n0, float n1, float n2) {
+        double value = n0 + 0.5 * n1 + 0.25 * n2;
+        value = (value / 1.75 + 1) / 2;
+        return Math.max(0.0, Math.min(1.0, Math.pow(value, 1.1)));
+    }
+
     
     private boolean areCompatibleBiomes(BiomeType a, BiomeType b) {
         if (a == b) return true;
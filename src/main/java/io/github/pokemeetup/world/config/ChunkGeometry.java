@@ -0,0 +1,107 @@
+package io.github.pokemeetup.world.config;
+
+/**
+ * Size of a chunk in tiles and the tile/chunk coordinate math that goes with it. The size is a
+ * power of two, so a chunk coordinate is an arithmetic shift and a local coordinate a mask, both
+ * of which round towards negative infinity like {@link Math#floorDiv} and {@link Math#floorMod}.
+ * A world keeps the chunk size it was created with, since chunk contents and object ids depend on it.
+ */
+public final class ChunkGeometry {
+
+    public static final int DEFAULT_SIZE = 16;
+    // objects are placed in 8x8 cells aligned to chunks, see ObjectPlacementGrid
+    public static final int MIN_SIZE = 8;
+    public static final int MAX_SIZE = 256;
+
+    public static final ChunkGeometry DEFAULT = of(DEFAULT_SIZE);
+
+    private final int size;
+    private final int shift;
+    private final int mask;
+
+    private ChunkGeometry(int size) {
+        this.size = size;
+        this.shift = Integer.numberOfTrailingZeros(size);
+        this.mask = size - 1;
+    }
+
+    public static ChunkGeometry of(int size) {
+        if (size < MIN_SIZE || size > MAX_SIZE || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Chunk size must be a power of two between "
+                    + MIN_SIZE + " and " + MAX_SIZE + ", got " + size);
+        }
+        return new ChunkGeometry(size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int shift() {
+        return shift;
+    }
+
+    public int mask() {
+        return mask;
+    }
+
+    /**
+     * The chunk containing a world tile.
+     */
+    public int chunkOf(int tile) {
+        return tile >> shift;
+    }
+
+    /**
+     * A world tile's position within its chunk, in [0, size).
+     */
+    public int localOf(int tile) {
+        return tile & mask;
+    }
+
+    /**
+     * The world tile at local position 0 of a chunk.
+     */
+    public int originOf(int chunk) {
+        return chunk << shift;
+    }
+
+    /**
+     * The chunk containing a world position given in tiles, e.g. a player position.
+     */
+    public int chunkOf(float tile) {
+        return chunkOf((int) Math.floor(tile));
+    }
+
+    /**
+     * Width of a chunk in pixels for tiles {@code tileSize} pixels wide.
+     */
+    public int pixelSize(int tileSize) {
+        return size * tileSize;
+    }
+
+    /**
+     * Fails if a world created with {@code worldChunkSize} cannot be opened with this geometry.
+     */
+    public void checkWorld(String worldName, int worldChunkSize) {
+        if (worldChunkSize != size) {
+            throw new IllegalStateException("World '" + worldName + "' uses " + worldChunkSize
+                    + "-tile chunks, but world.chunkSize is " + size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ChunkGeometry other && other.size == size;
+    }
+
+    @Override
+    public int hashCode() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return size + "x" + size;
+    }
+}
@@ -5,11 +5,19 @@ import lombok.Getter;
 @Getter
 public class WorldConfig {
     private final long seed;
-    private final int chunkSize = 16;
+    private final ChunkGeometry chunkGeometry;
     private final int tileSize = 32;
 
     public WorldConfig(long seed) {
+        this(seed, ChunkGeometry.DEFAULT);
+    }
+
+    public WorldConfig(long seed, ChunkGeometry chunkGeometry) {
         this.seed = seed;
+        this.chunkGeometry = chunkGeometry;
     }
 
+    public int getChunkSize() {
+        return chunkGeometry.size();
+    }
 }
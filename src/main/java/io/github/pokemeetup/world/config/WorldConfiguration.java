@@ -10,8 +10,16 @@ public class WorldConfiguration {
     @Value("${world.seed:12345}")
     private long seed;
 
+    @Value("${world.chunkSize:16}")
+    private int chunkSize;
+
     @Bean
     public WorldConfig worldConfig() {
-        return new WorldConfig(seed);
+        return new WorldConfig(seed, ChunkGeometry.of(chunkSize));
+    }
+
+    @Bean
+    public ChunkGeometry chunkGeometry(WorldConfig worldConfig) {
+        return worldConfig.getChunkGeometry();
     }
 }
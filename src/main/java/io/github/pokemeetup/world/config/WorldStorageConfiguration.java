@@ -0,0 +1,44 @@
+package io.github.pokemeetup.world.config;
+
+import io.github.pokemeetup.world.storage.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Picks where chunks and players are kept: {@code world.storage=json} (region files and player
+ * JSON files in the world folder, the default) or {@code world.storage=h2} (tables in the
+ * application's H2 database). World metadata and thumbnails always stay in the world folder.
+ */
+@Configuration
+public class WorldStorageConfiguration {
+
+    @Value("${world.saveDir:assets/save/worlds/}")
+    private String baseWorldsDir;
+
+    @Bean
+    @ConditionalOnProperty(name = "world.storage", havingValue = "json", matchIfMissing = true)
+    public ChunkStore regionChunkStore() {
+        return new RegionChunkStore(baseWorldsDir);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "world.storage", havingValue = "json", matchIfMissing = true)
+    public PlayerStore filePlayerStore() {
+        return new FilePlayerStore(baseWorldsDir);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "world.storage", havingValue = "h2")
+    public ChunkStore h2ChunkStore(JdbcTemplate jdbcTemplate) {
+        return new H2ChunkStore(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "world.storage", havingValue = "h2")
+    public PlayerStore h2PlayerStore(JdbcTemplate jdbcTemplate) {
+        return new H2PlayerStore(jdbcTemplate);
+    }
+}
@@ -1,8 +1,9 @@
 package io.github.pokemeetup.world.model;
 
+import io.github.pokemeetup.world.storage.TileCodec;
 import lombok.Data;
 
-import java.io.*;
+import java.io.IOException;
 import java.util.List;
 
 @Data
@@ -14,38 +15,14 @@ public class ChunkData {
 
     private List<WorldObject> objects;
 
-    private transient byte[] tilesBlob;
-
-    public int[][] getTiles() {
-        if (tiles == null && tilesBlob != null) {
-            tiles = deserializeTiles(tilesBlob);
-        }
-        return tiles;
-    }
-
-    public void setTiles(int[][] tiles) {
-        this.tiles = tiles;
-        this.tilesBlob = serializeTiles(tiles);
-    }
-
-    private byte[] serializeTiles(int[][] tiles) {
-        if (tiles == null) return null;
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             ObjectOutputStream oos = new ObjectOutputStream(baos)) {
-            oos.writeObject(tiles);
-            return baos.toByteArray();
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to serialize tiles", e);
-        }
+    /**
+     * Tiles in {@link TileCodec} form. Encoded on every call, since the tile array may be edited in place.
+     */
+    public byte[] getTilesBlob() {
+        return TileCodec.encode(tiles);
     }
 
-    private int[][] deserializeTiles(byte[] data) {
-        if (data == null) return null;
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(data);
-             ObjectInputStream ois = new ObjectInputStream(bais)) {
-            return (int[][]) ois.readObject();
-        } catch (IOException | ClassNotFoundException e) {
-            throw new RuntimeException("Failed to deserialize tiles", e);
-        }
+    public void setTilesBlob(byte[] tilesBlob) throws IOException {
+        this.tiles = TileCodec.decode(tilesBlob);
     }
 }
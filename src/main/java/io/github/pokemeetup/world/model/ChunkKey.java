@@ -0,0 +1,52 @@
+package io.github.pokemeetup.world.model;
+
+/**
+ * A chunk position packed into a long: x in the high 32 bits, y in the low 32 bits. Used as the
+ * key of every in-memory chunk lookup so none of them builds, hashes or parses a string.
+ */
+public final class ChunkKey {
+
+    private ChunkKey() {
+    }
+
+    public static long of(int chunkX, int chunkY) {
+        return ((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+    }
+
+    public static long of(ChunkData chunk) {
+        return of(chunk.getChunkX(), chunk.getChunkY());
+    }
+
+    public static int x(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int y(long key) {
+        return (int) key;
+    }
+
+    /**
+     * The "x,y" form chunk keys had in older world files.
+     */
+    public static String toString(long key) {
+        return x(key) + "," + y(key);
+    }
+
+    /**
+     * Reads an "x,y" key as written by older world files.
+     *
+     * @throws IllegalArgumentException if it is not two integers separated by a comma
+     */
+    public static long parse(String key) {
+        int comma = key.indexOf(',');
+        if (comma < 0) {
+            throw new IllegalArgumentException("Not a chunk key: '" + key + "'");
+        }
+        try {
+            return of(Integer.parseInt(key.substring(0, comma).trim()),
+                    Integer.parseInt(key.substring(comma + 1).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a chunk key: '" + key + "'", e);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package io.github.pokemeetup.world.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongFunction;
+
+/**
+ * Map from packed {@link ChunkKey chunk keys} to values, without boxing: keys and values live in
+ * two parallel arrays searched by linear probing.
+ * <p>
+ * Safe to share between threads. Lookups are optimistic reads that take no lock unless they
+ * overlap a write; writes hold a short exclusive lock. Null values are not allowed, a null slot
+ * marks an empty one.
+ */
+public final class ChunkMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    public ChunkMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    public ChunkMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    public V get(int chunkX, int chunkY) {
+        return get(ChunkKey.of(chunkX, chunkY));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object found = find(keys, values, key);
+            if (lock.validate(stamp)) {
+                return (V) found;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return (V) find(keys, values, key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return the previous value, or null
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("ChunkMap does not hold null values");
+        }
+        long stamp = lock.writeLock();
+        try {
+            return insert(key, value, true);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return the value already there, or null if {@code value} was added
+     */
+    public V putIfAbsent(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("ChunkMap does not hold null values");
+        }
+        long stamp = lock.writeLock();
+        try {
+            return insert(key, value, false);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void putAll(ChunkMap<? extends V> other) {
+        other.forEach(this::put);
+    }
+
+    /**
+     * Returns the value for the key, first adding {@code create}'s result if there is none. The
+     * function runs under the write lock, so it must be quick and must not use this map.
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long key, LongFunction<? extends V> create) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int slot = indexOf(key);
+            if (slot >= 0) {
+                return (V) values[slot];
+            }
+            V value = create.apply(key);
+            insert(key, value, false);
+            return value;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return the removed value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = indexOf(key);
+            if (slot < 0) {
+                return null;
+            }
+            Object old = values[slot];
+            removeAt(slot);
+            return (V) old;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the entry only if it still maps to {@code value} (by identity).
+     */
+    public boolean remove(long key, V value) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = indexOf(key);
+            if (slot < 0 || values[slot] != value) {
+                return false;
+            }
+            removeAt(slot);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            keys = new long[MIN_CAPACITY];
+            values = new Object[MIN_CAPACITY];
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int n = size;
+        if (lock.validate(stamp)) {
+            return n;
+        }
+        stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * A snapshot of the values, in no particular order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        long stamp = lock.readLock();
+        try {
+            List<V> result = new ArrayList<>(size);
+            for (Object value : values) {
+                if (value != null) {
+                    result.add((V) value);
+                }
+            }
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs the action on a snapshot of the entries, so it may change this map.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        long[] snapshotKeys;
+        Object[] snapshotValues;
+        long stamp = lock.readLock();
+        try {
+            snapshotKeys = new long[size];
+            snapshotValues = new Object[size];
+            int n = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    snapshotKeys[n] = keys[i];
+                    snapshotValues[n++] = values[i];
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        for (int i = 0; i < snapshotKeys.length; i++) {
+            action.accept(snapshotKeys[i], (V) snapshotValues[i]);
+        }
+    }
+
+    // a lookup may run against arrays being changed; whatever it returns then is discarded by the caller
+    private static Object find(long[] keys, Object[] values, long key) {
+        if (keys.length != values.length) {
+            return null;
+        }
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            Object value = values[i];
+            if (value == null) {
+                return null;
+            }
+            if (keys[i] == key) {
+                return value;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V insert(long key, V value, boolean replace) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                Object old = values[i];
+                if (replace) {
+                    values[i] = value;
+                }
+                return (V) old;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    // backward-shift deletion: later entries of the probe run move up, so no tombstones are needed
+    private void removeAt(int i) {
+        int mask = keys.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (values[j] == null) {
+                break;
+            }
+            int home = slot(keys[j], mask);
+            boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+            if (!stays) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = 0;
+        values[i] = null;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        long[] newKeys = new long[capacity];
+        Object[] newValues = new Object[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int j = slot(oldKeys[i], mask);
+                while (newValues[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                newKeys[j] = oldKeys[i];
+                newValues[j] = oldValues[i];
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
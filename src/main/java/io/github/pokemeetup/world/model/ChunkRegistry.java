@@ -0,0 +1,190 @@
+package io.github.pokemeetup.world.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The chunks of a world that are in memory, keyed by {@link ChunkKey}, shared by the render thread,
+ * chunk loader threads and the network thread.
+ * <p>
+ * Lookups never block. A chunk that is missing is loaded through {@link #getOrLoad} or
+ * {@link #getOrLoadAll}, which let only one thread load or generate a given chunk at a time:
+ * other threads asking for the same chunk wait for that load instead of starting their own,
+ * and threads asking for other chunks are not held up at all.
+ */
+public class ChunkRegistry {
+
+    private final ChunkMap<ChunkData> chunks = new ChunkMap<>(256);
+    private final ChunkMap<CompletableFuture<ChunkData>> loading = new ChunkMap<>();
+
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong duplicateLoadsAvoided = new AtomicLong();
+
+    public ChunkData get(long key) {
+        return chunks.get(key);
+    }
+
+    public ChunkData get(int chunkX, int chunkY) {
+        return chunks.get(chunkX, chunkY);
+    }
+
+    public boolean containsKey(long key) {
+        return chunks.containsKey(key);
+    }
+
+    public void put(ChunkData chunk) {
+        chunks.put(ChunkKey.of(chunk), chunk);
+    }
+
+    public void remove(long key) {
+        chunks.remove(key);
+    }
+
+    /**
+     * Removes the chunk only if it is still the one given, so a newer copy put by another thread survives.
+     */
+    public void remove(long key, ChunkData chunk) {
+        chunks.remove(key, chunk);
+    }
+
+    public void clear() {
+        chunks.clear();
+    }
+
+    public int size() {
+        return chunks.size();
+    }
+
+    /**
+     * A snapshot of the chunks in memory.
+     */
+    public Collection<ChunkData> values() {
+        return chunks.values();
+    }
+
+    /**
+     * Returns the chunk, loading it if it is not in memory. The loader runs on the calling thread
+     * and must {@link #put} what it returns (directly or through something like the server's
+     * residency manager); it may return null if the chunk cannot be loaded. If another thread is
+     * already loading the chunk, this waits for it and returns its result.
+     */
+    public ChunkData getOrLoad(long key, Supplier<ChunkData> loader) {
+        ChunkData chunk = chunks.get(key);
+        if (chunk != null) {
+            return chunk;
+        }
+        CompletableFuture<ChunkData> flight = new CompletableFuture<>();
+        CompletableFuture<ChunkData> running = loading.putIfAbsent(key, flight);
+        if (running != null) {
+            duplicateLoadsAvoided.incrementAndGet();
+            return await(running);
+        }
+        try {
+            // a load may have finished between the lookup above and claiming the key
+            chunk = chunks.get(key);
+            if (chunk != null) {
+                duplicateLoadsAvoided.incrementAndGet();
+            } else {
+                loads.incrementAndGet();
+                chunk = loader.get();
+            }
+            flight.complete(chunk);
+            return chunk;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, flight);
+        }
+    }
+
+    /**
+     * Like {@link #getOrLoad} for many chunks at once. The chunks no other thread is loading are
+     * handed to {@code loader} in one call, so they can be generated in parallel; the result has an
+     * entry for every key that was resident or could be loaded.
+     */
+    public ChunkMap<ChunkData> getOrLoadAll(long[] keys, Function<long[], ChunkMap<ChunkData>> loader) {
+        ChunkMap<ChunkData> result = new ChunkMap<>(keys.length);
+        ChunkMap<CompletableFuture<ChunkData>> claimed = new ChunkMap<>(keys.length);
+        ChunkMap<CompletableFuture<ChunkData>> others = new ChunkMap<>();
+        long[] toLoad = new long[keys.length];
+        int loadCount = 0;
+        for (long key : keys) {
+            ChunkData chunk = chunks.get(key);
+            if (chunk != null) {
+                result.put(key, chunk);
+                continue;
+            }
+            CompletableFuture<ChunkData> flight = new CompletableFuture<>();
+            CompletableFuture<ChunkData> running = loading.putIfAbsent(key, flight);
+            if (running != null) {
+                duplicateLoadsAvoided.incrementAndGet();
+                others.put(key, running);
+                continue;
+            }
+            claimed.put(key, flight);
+            // a load may have finished between the lookup above and claiming the key
+            chunk = chunks.get(key);
+            if (chunk != null) {
+                duplicateLoadsAvoided.incrementAndGet();
+                result.put(key, chunk);
+            } else {
+                toLoad[loadCount++] = key;
+            }
+        }
+
+        // our own loads finish before we wait for anyone else's, so two batches can never wait on each other
+        if (!claimed.isEmpty()) {
+            try {
+                if (loadCount > 0) {
+                    long[] batch = Arrays.copyOf(toLoad, loadCount);
+                    loads.addAndGet(batch.length);
+                    ChunkMap<ChunkData> loaded = loader.apply(batch);
+                    for (long key : batch) {
+                        ChunkData chunk = loaded.get(key);
+                        if (chunk != null) {
+                            result.put(key, chunk);
+                        }
+                    }
+                }
+                claimed.forEach((key, flight) -> flight.complete(result.get(key)));
+            } catch (RuntimeException | Error e) {
+                claimed.forEach((key, flight) -> flight.completeExceptionally(e));
+                throw e;
+            } finally {
+                claimed.forEach(loading::remove);
+            }
+        }
+
+        others.forEach((key, running) -> {
+            ChunkData chunk = await(running);
+            if (chunk != null) {
+                result.put(key, chunk);
+            }
+        });
+        return result;
+    }
+
+    // a failed load is reported by the thread that ran it; waiters just see a chunk that is not there
+    private static ChunkData await(CompletableFuture<ChunkData> flight) {
+        return flight.exceptionally(e -> null).join();
+    }
+
+    /**
+     * Number of chunks loaded or generated through this registry.
+     */
+    public long getLoads() {
+        return loads.get();
+    }
+
+    /**
+     * Number of times a thread got a chunk another thread was already loading instead of loading it again.
+     */
+    public long getDuplicateLoadsAvoided() {
+        return duplicateLoadsAvoided.get();
+    }
+}
@@ -13,8 +13,12 @@ public class WorldData {
     private String worldName;
     @Setter
     private long seed;
+    // tiles per chunk side; 0 until the world is created or loaded
+    @Setter
+    private int chunkSize;
     private final Map<String, PlayerData> players = new HashMap<>();
-    private final Map<String, ChunkData> chunks = new HashMap<>();
+    // written by loader threads, the render thread and the network thread
+    private final ChunkRegistry chunks = new ChunkRegistry();
 
     @Setter
     private long createdDate;
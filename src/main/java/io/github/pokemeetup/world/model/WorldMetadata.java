@@ -4,12 +4,20 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import lombok.Data;
 
+/**
+ * Contents of a world's {@code <world>.json} file. Chunks and players are stored next to it.
+ */
 @Data
 public class WorldMetadata {
 
+    // 1 (or missing) = chunks and players embedded in the world file, 2 = metadata only
+    private int formatVersion;
+
     private String worldName;
 
     private long seed;
+    // 0 (missing) = written before chunk size was configurable, i.e. 16
+    private int chunkSize;
     private long createdDate;
     private long lastPlayed;
     private long playedTime;
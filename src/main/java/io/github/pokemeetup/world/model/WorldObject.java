@@ -38,7 +38,14 @@ public class WorldObject {
         this.timeSinceVisible = 0f;
     }
 
-    
+    /**
+     * Id of the object generated in placement slot {@code index} of a chunk. Generated objects must get the same
+     * id on every run, since stored chunks only record how they differ from the generated ones.
+     */
+    public static String generatedId(int chunkX, int chunkY, int index) {
+        return "g" + chunkX + "," + chunkY + "#" + index;
+    }
+
     @Transient
     public float getFadeAlpha() {
         return Math.min(timeSinceVisible, 1f);
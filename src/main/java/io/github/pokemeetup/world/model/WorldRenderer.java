@@ -5,6 +5,7 @@ import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
+import io.github.pokemeetup.world.config.ChunkGeometry;
 import io.github.pokemeetup.world.service.TileManager;
 import io.github.pokemeetup.world.service.WorldService;
 import io.github.pokemeetup.world.service.impl.ObjectTextureManager;
@@ -12,12 +13,10 @@ import org.springframework.stereotype.Component;
 
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 
 @Component
 public class WorldRenderer {
     private static final int TILE_SIZE = 32;
-    private static final int CHUNK_SIZE = 16;
 
     private static final int VIEW_PADDING = 5;
 
@@ -25,16 +24,19 @@ public class WorldRenderer {
     private final WorldService worldService;
 
     private final ObjectTextureManager objectTextureManager;
+    private final ChunkGeometry chunkGeometry;
 
     private SpriteBatch batch;
     private boolean initialized = false;
 
     private float currentDelta = 0f;
 
-    public WorldRenderer(WorldService worldService, TileManager tileManager, ObjectTextureManager objectTextureManager) {
+    public WorldRenderer(WorldService worldService, TileManager tileManager, ObjectTextureManager objectTextureManager,
+                         ChunkGeometry chunkGeometry) {
         this.worldService = worldService;
         this.tileManager = tileManager;
         this.objectTextureManager = objectTextureManager;
+        this.chunkGeometry = chunkGeometry;
     }
 
     public void initialize() {
@@ -83,29 +85,26 @@ public class WorldRenderer {
 
     private void renderGroundLayer() {
         Rectangle viewBounds = calculateViewBounds();
-        Map<String, ChunkData> visibleChunks = worldService.getVisibleChunks(viewBounds);
+        ChunkMap<ChunkData> visibleChunks = worldService.getVisibleChunks(viewBounds);
 
         batch.setColor(Color.WHITE);
-        for (Map.Entry<String, ChunkData> entry : visibleChunks.entrySet()) {
-            String[] coords = entry.getKey().split(",");
-            int chunkX = Integer.parseInt(coords[0]);
-            int chunkY = Integer.parseInt(coords[1]);
-            ChunkData chunkData = entry.getValue();
-
+        visibleChunks.forEach((key, chunkData) -> {
             int[][] tiles = chunkData.getTiles();
             if (tiles != null) {
-                for (int x = 0; x < CHUNK_SIZE; x++) {
-                    for (int y = 0; y < CHUNK_SIZE; y++) {
+                int originX = chunkGeometry.originOf(ChunkKey.x(key));
+                int originY = chunkGeometry.originOf(ChunkKey.y(key));
+                for (int x = 0; x < tiles.length; x++) {
+                    for (int y = 0; y < tiles[x].length; y++) {
                         TextureRegion region = tileManager.getRegionForTile(tiles[x][y]);
                         if (region != null) {
-                            float worldX = (chunkX * CHUNK_SIZE + x) * TILE_SIZE;
-                            float worldY = (chunkY * CHUNK_SIZE + y) * TILE_SIZE;
+                            float worldX = (originX + x) * TILE_SIZE;
+                            float worldY = (originY + y) * TILE_SIZE;
                             batch.draw(region, worldX, worldY, TILE_SIZE, TILE_SIZE);
                         }
                     }
                 }
             }
-        }
+        });
     }
 
     private void renderBelowPlayerLayer() {
@@ -0,0 +1,20 @@
+package io.github.pokemeetup.world.model;
+
+import lombok.Data;
+
+/**
+ * One entry of the world index used by the world list; built without reading chunk data.
+ */
+@Data
+public class WorldSummary {
+    private String worldName;
+    private long seed;
+    private long createdDate;
+    private long lastPlayed;
+    private long playedTime;
+
+    // bytes used by the world folder when the world list last walked it, -1 if saved since
+    private long sizeBytes;
+    // last modification of icon.png, 0 if there is none
+    private long thumbnailTimestamp;
+}
@@ -0,0 +1,283 @@
+package io.github.pokemeetup.world.service;
+
+import com.badlogic.gdx.math.Vector2;
+import io.github.pokemeetup.world.config.ChunkGeometry;
+import io.github.pokemeetup.world.model.ChunkKey;
+import io.github.pokemeetup.world.model.ChunkMap;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads and generates chunks around the player on a fixed number of threads, most useful first.
+ * <p>
+ * Chunks in view always go before speculative preloads. Within each group the nearest chunk
+ * goes first, with chunks in the direction the player is walking counted as nearer than those
+ * behind. The order is worked out each time a thread takes a job, so it follows the player as
+ * they move. Queued jobs that end up more than {@code world.loading.cancelRadius} chunks away are
+ * dropped; a job that has started always finishes.
+ */
+@Slf4j
+@Service
+public class ChunkLoadScheduler {
+
+    // how much walking towards a chunk shortens its distance: straight ahead counts as half as far
+    private static final float AHEAD_WEIGHT = 0.5f;
+
+    public enum Priority {
+        VISIBLE,
+        PRELOAD
+    }
+
+    /**
+     * Where the chunks come from; the world service outside of tests.
+     */
+    public interface ChunkSource {
+        boolean isLoaded(int chunkX, int chunkY);
+
+        void load(int chunkX, int chunkY);
+    }
+
+    private static final class LoadJob {
+        private final long key;
+        private Priority priority;
+
+        private LoadJob(long key, Priority priority) {
+            this.key = key;
+            this.priority = priority;
+        }
+    }
+
+    private final ChunkSource source;
+    private final ChunkGeometry chunkGeometry;
+    private final int cancelRadius;
+
+    // guarded by this: every queued or running job by chunk, and the queued ones in no order
+    private final ChunkMap<LoadJob> jobs = new ChunkMap<>(256);
+    private final List<LoadJob> queue = new ArrayList<>();
+    private float focusX;
+    private float focusY;
+    private float headingX;
+    private float headingY;
+    private int focusChunkX;
+    private int focusChunkY;
+    private boolean hasFocus = false;
+    private boolean disposed = false;
+
+    private final AtomicLong loaded = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong alreadyLoaded = new AtomicLong();
+
+    @Autowired
+    public ChunkLoadScheduler(WorldService worldService,
+                              ChunkGeometry chunkGeometry,
+                              @Value("${world.loading.threads:2}") int threads,
+                              @Value("${world.loading.cancelRadius:6}") int cancelRadius) {
+        this(new ChunkSource() {
+            @Override
+            public boolean isLoaded(int chunkX, int chunkY) {
+                return worldService.isChunkLoaded(new Vector2(chunkX, chunkY));
+            }
+
+            @Override
+            public void load(int chunkX, int chunkY) {
+                worldService.loadChunk(new Vector2(chunkX, chunkY));
+            }
+        }, chunkGeometry, threads, cancelRadius);
+    }
+
+    public ChunkLoadScheduler(ChunkSource source, ChunkGeometry chunkGeometry, int threads, int cancelRadius) {
+        this.source = source;
+        this.chunkGeometry = chunkGeometry;
+        this.cancelRadius = cancelRadius;
+        for (int i = 0; i < Math.max(1, threads); i++) {
+            Thread t = new Thread(this::work, "chunk-loader-" + (i + 1));
+            t.setDaemon(true);
+            t.start();
+        }
+    }
+
+    /**
+     * Moves the point jobs are ordered around. When that takes it into another chunk, queued jobs
+     * too far from it are dropped and every other queued job becomes a preload; the caller
+     * requests the chunks now in view again. Steps within a chunk only update the heading.
+     */
+    public synchronized void focus(float tileX, float tileY) {
+        float x = tileX / chunkGeometry.size();
+        float y = tileY / chunkGeometry.size();
+        if (hasFocus) {
+            float dx = x - focusX;
+            float dy = y - focusY;
+            float length = (float) Math.sqrt(dx * dx + dy * dy);
+            if (length > 0) {
+                headingX = dx / length;
+                headingY = dy / length;
+            }
+        }
+        focusX = x;
+        focusY = y;
+
+        int centerX = (int) Math.floor(x);
+        int centerY = (int) Math.floor(y);
+        if (hasFocus && centerX == focusChunkX && centerY == focusChunkY) {
+            return;
+        }
+        focusChunkX = centerX;
+        focusChunkY = centerY;
+        hasFocus = true;
+        for (int i = queue.size() - 1; i >= 0; i--) {
+            LoadJob job = queue.get(i);
+            if (Math.abs(ChunkKey.x(job.key) - centerX) > cancelRadius
+                    || Math.abs(ChunkKey.y(job.key) - centerY) > cancelRadius) {
+                removeQueued(i);
+                jobs.remove(job.key);
+                cancelled.incrementAndGet();
+            } else {
+                job.priority = Priority.PRELOAD;
+            }
+        }
+    }
+
+    /**
+     * Queues the chunk unless it is in memory, queued or loading; a queued preload asked for as
+     * visible is moved up.
+     */
+    public synchronized void request(int chunkX, int chunkY, Priority priority) {
+        if (disposed) {
+            return;
+        }
+        long key = ChunkKey.of(chunkX, chunkY);
+        LoadJob job = jobs.get(key);
+        if (job != null) {
+            if (priority.compareTo(job.priority) < 0) {
+                job.priority = priority;
+            }
+            return;
+        }
+        if (source.isLoaded(chunkX, chunkY)) {
+            return;
+        }
+        job = new LoadJob(key, priority);
+        jobs.put(key, job);
+        queue.add(job);
+        notify();
+    }
+
+    private void work() {
+        while (true) {
+            LoadJob job;
+            try {
+                job = take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (job == null) {
+                return;
+            }
+            int chunkX = ChunkKey.x(job.key);
+            int chunkY = ChunkKey.y(job.key);
+            try {
+                if (source.isLoaded(chunkX, chunkY)) {
+                    alreadyLoaded.incrementAndGet();
+                } else {
+                    source.load(chunkX, chunkY);
+                    loaded.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to load chunk ({}, {}): {}", chunkX, chunkY, e.getMessage());
+            } finally {
+                synchronized (this) {
+                    jobs.remove(job.key, job);
+                }
+            }
+        }
+    }
+
+    // the best job is picked at take time, so it reflects where the player is now
+    private synchronized LoadJob take() throws InterruptedException {
+        while (queue.isEmpty() && !disposed) {
+            wait();
+        }
+        if (disposed) {
+            return null;
+        }
+        int best = 0;
+        LoadJob bestJob = queue.get(0);
+        float bestScore = score(bestJob);
+        for (int i = 1; i < queue.size(); i++) {
+            LoadJob job = queue.get(i);
+            int byPriority = job.priority.compareTo(bestJob.priority);
+            if (byPriority > 0) {
+                continue;
+            }
+            float score = score(job);
+            if (byPriority < 0 || score < bestScore) {
+                best = i;
+                bestJob = job;
+                bestScore = score;
+            }
+        }
+        return removeQueued(best);
+    }
+
+    // distance in chunks, shortened for chunks towards the heading and lengthened for those behind
+    private float score(LoadJob job) {
+        float dx = ChunkKey.x(job.key) + 0.5f - focusX;
+        float dy = ChunkKey.y(job.key) + 0.5f - focusY;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+        if (distance > 0) {
+            float ahead = (dx * headingX + dy * headingY) / distance;
+            distance *= 1 - AHEAD_WEIGHT * ahead;
+        }
+        return distance;
+    }
+
+    private LoadJob removeQueued(int index) {
+        int last = queue.size() - 1;
+        LoadJob job = queue.get(index);
+        queue.set(index, queue.get(last));
+        queue.remove(last);
+        return job;
+    }
+
+    /**
+     * Drops every queued job, for when the world is left. Jobs already running finish.
+     */
+    public synchronized void cancelAll() {
+        for (LoadJob job : queue) {
+            jobs.remove(job.key, job);
+        }
+        cancelled.addAndGet(queue.size());
+        queue.clear();
+    }
+
+    // workers are not interrupted: that would close the chunk files a running load is reading
+    @PreDestroy
+    public synchronized void dispose() {
+        disposed = true;
+        cancelAll();
+        notifyAll();
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    public long getLoaded() {
+        return loaded.get();
+    }
+
+    public long getCancelled() {
+        return cancelled.get();
+    }
+
+    public long getAlreadyLoaded() {
+        return alreadyLoaded.get();
+    }
+}
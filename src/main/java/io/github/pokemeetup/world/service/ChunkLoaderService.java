@@ -1,12 +1,10 @@
 package io.github.pokemeetup.world.service;
 
 import com.badlogic.gdx.math.Vector2;
+import io.github.pokemeetup.world.config.ChunkGeometry;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.*;
 
 @Service
@@ -15,35 +13,40 @@ public class ChunkLoaderService {
     private static final int PRELOAD_RADIUS = 4;
 
     private final Map<Vector2, Float> chunkFadeStates = new ConcurrentHashMap<>();
-    private final Set<Vector2> preloadedChunks = Collections.newSetFromMap(new ConcurrentHashMap<>());
-    private final WorldService worldService;
-    private final ExecutorService executorService;
-    private final Map<Vector2, CompletableFuture<Void>> loadingChunks = new ConcurrentHashMap<>();
-    public ChunkLoaderService(WorldService worldService) {
-        this.worldService = worldService;
-        this.executorService = Executors.newFixedThreadPool(4);
+    private final ChunkLoadScheduler scheduler;
+    private final ChunkGeometry chunkGeometry;
+    private int lastChunkX;
+    private int lastChunkY;
+    private boolean requested = false;
+
+    public ChunkLoaderService(ChunkLoadScheduler scheduler, ChunkGeometry chunkGeometry) {
+        this.scheduler = scheduler;
+        this.chunkGeometry = chunkGeometry;
     }
 
     public void updatePlayerPosition(float playerX, float playerY) {
-        int chunkX = (int) Math.floor(playerX / (16 * 32));
-        int chunkY = (int) Math.floor(playerY / (16 * 32));
-
+        float tileX = playerX / 32;
+        float tileY = playerY / 32;
+        int chunkX = chunkGeometry.chunkOf(tileX);
+        int chunkY = chunkGeometry.chunkOf(tileY);
+
+        // the heading follows every step, the set of wanted chunks only changes with the chunk
+        scheduler.focus(tileX, tileY);
+        if (requested && chunkX == lastChunkX && chunkY == lastChunkY) {
+            return;
+        }
+        lastChunkX = chunkX;
+        lastChunkY = chunkY;
+        requested = true;
 
-        Set<Vector2> requiredChunks = new HashSet<>();
         for (int dx = -PRELOAD_RADIUS; dx <= PRELOAD_RADIUS; dx++) {
             for (int dy = -PRELOAD_RADIUS; dy <= PRELOAD_RADIUS; dy++) {
-                requiredChunks.add(new Vector2(chunkX + dx, chunkY + dy));
-            }
-        }
-
-
-        for (Vector2 chunkPos : requiredChunks) {
-            if (!preloadedChunks.contains(chunkPos)) {
-                preloadChunk(chunkPos);
+                boolean visible = Math.abs(dx) <= VISIBLE_RADIUS && Math.abs(dy) <= VISIBLE_RADIUS;
+                scheduler.request(chunkX + dx, chunkY + dy,
+                        visible ? ChunkLoadScheduler.Priority.VISIBLE : ChunkLoadScheduler.Priority.PRELOAD);
             }
         }
 
-
         for (int dx = -VISIBLE_RADIUS; dx <= VISIBLE_RADIUS; dx++) {
             for (int dy = -VISIBLE_RADIUS; dy <= VISIBLE_RADIUS; dy++) {
                 Vector2 visibleChunk = new Vector2(chunkX + dx, chunkY + dy);
@@ -54,48 +57,8 @@ public class ChunkLoaderService {
         }
     }
 
-    private void preloadChunk(Vector2 chunkPos) {
-        if (!loadingChunks.containsKey(chunkPos) && !worldService.isChunkLoaded(chunkPos)) {
-            CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                worldService.loadChunk(chunkPos);
-                preloadedChunks.add(chunkPos);
-            }, executorService).whenComplete((result, ex) -> {
-                loadingChunks.remove(chunkPos);
-            });
-            loadingChunks.put(chunkPos, future);
-        }
-    }
-    private void preloadChunks(int centerX, int centerY) {
-        Set<Vector2> requiredChunks = new HashSet<>();
-
-
-        for (int dx = -PRELOAD_RADIUS; dx <= PRELOAD_RADIUS; dx++) {
-            for (int dy = -PRELOAD_RADIUS; dy <= PRELOAD_RADIUS; dy++) {
-                requiredChunks.add(new Vector2(centerX + dx, centerY + dy));
-            }
-        }
-
-
-        for (Vector2 chunkPos : requiredChunks) {
-            if (!loadingChunks.containsKey(chunkPos) && !worldService.isChunkLoaded(chunkPos)) {
-                CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                    worldService.loadChunk(chunkPos);
-                }, executorService).whenComplete((result, ex) -> {
-                    loadingChunks.remove(chunkPos);
-                });
-                loadingChunks.put(chunkPos, future);
-            }
-        }
-    }
-
     public void dispose() {
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executorService.shutdownNow();
-        }
+        scheduler.cancelAll();
+        requested = false;
     }
-}
\ No newline at end of file
+}
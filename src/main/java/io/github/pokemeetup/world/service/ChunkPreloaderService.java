@@ -1,25 +1,23 @@
 package io.github.pokemeetup.world.service;
 
-import com.badlogic.gdx.math.Vector2;
+import io.github.pokemeetup.world.config.ChunkGeometry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 
 @Service
 @Slf4j
 public class ChunkPreloaderService {
     private static final int PRELOAD_RADIUS = 3;
 
-    private final WorldService worldService;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ChunkLoadScheduler scheduler;
+    private final ChunkGeometry chunkGeometry;
     private float lastPreloadX = Float.MIN_VALUE;
     private float lastPreloadY = Float.MIN_VALUE;
 
-    public ChunkPreloaderService(WorldService worldService) {
-        this.worldService = worldService;
+    public ChunkPreloaderService(ChunkLoadScheduler scheduler, ChunkGeometry chunkGeometry) {
+        this.scheduler = scheduler;
+        this.chunkGeometry = chunkGeometry;
     }
 
     public void preloadAround(float playerX, float playerY) {
@@ -30,25 +28,21 @@ public class ChunkPreloaderService {
         lastPreloadX = playerX;
         lastPreloadY = playerY;
 
-        int tileX = (int)(playerX / 32);
-        int tileY = (int)(playerY / 32);
-        int playerChunkX = tileX / 16;
-        int playerChunkY = tileY / 16;
-
-        executor.submit(() -> {
-            for (int cx = playerChunkX - PRELOAD_RADIUS; cx <= playerChunkX + PRELOAD_RADIUS; cx++) {
-                for (int cy = playerChunkY - PRELOAD_RADIUS; cy <= playerChunkY + PRELOAD_RADIUS; cy++) {
-                    Vector2 chunkPos = new Vector2(cx, cy);
-                    if (!worldService.isChunkLoaded(chunkPos)) {
-                        worldService.loadChunk(chunkPos);
-                    }
-                }
+        int playerChunkX = chunkGeometry.chunkOf(playerX / 32);
+        int playerChunkY = chunkGeometry.chunkOf(playerY / 32);
+
+        // queued behind everything in view; dropped again if the player walks away first
+        for (int cx = playerChunkX - PRELOAD_RADIUS; cx <= playerChunkX + PRELOAD_RADIUS; cx++) {
+            for (int cy = playerChunkY - PRELOAD_RADIUS; cy <= playerChunkY + PRELOAD_RADIUS; cy++) {
+                scheduler.request(cx, cy, ChunkLoadScheduler.Priority.PRELOAD);
             }
-            log.debug("Preloaded chunks around player ({},{})", playerX, playerY);
-        });
+        }
+        log.debug("Queued preloads around player ({},{})", playerX, playerY);
     }
 
     public void dispose() {
-        executor.shutdownNow();
+        scheduler.cancelAll();
+        lastPreloadX = Float.MIN_VALUE;
+        lastPreloadY = Float.MIN_VALUE;
     }
 }
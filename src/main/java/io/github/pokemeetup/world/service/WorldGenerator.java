@@ -2,9 +2,24 @@ package io.github.pokemeetup.world.service;
 
 import io.github.pokemeetup.world.biome.model.Biome;
 import io.github.pokemeetup.world.biome.model.BiomeType;
+import io.github.pokemeetup.world.config.ChunkGeometry;
 
 public interface WorldGenerator {
+    /**
+     * Bump whenever the tiles or objects generated for a seed change. Chunks are stored as deltas
+     * against the generated baseline and record the version they were diffed against.
+     * GenerationGoldenHashTest pins the output of the current version.
+     */
+    int GENERATOR_VERSION = 5;
+
     void setSeedAndBiomes(long seed, java.util.Map<BiomeType, Biome> biomes);
     int[][] generateChunk(int chunkX, int chunkY);
     Biome getBiomeForChunk(int chunkX, int chunkY);
+
+    /**
+     * The terrain tile {@link #generateChunk} puts at a world tile, without generating the chunk.
+     */
+    int getTileAt(int tileX, int tileY);
+
+    ChunkGeometry getChunkGeometry();
 }
@@ -1,15 +1,57 @@
 package io.github.pokemeetup.world.service;
 
 import io.github.pokemeetup.world.biome.model.Biome;
+import io.github.pokemeetup.world.config.ChunkGeometry;
 import io.github.pokemeetup.world.model.WorldObject;
 
 import java.util.List;
+import java.util.function.IntBinaryOperator;
 
 public interface WorldObjectManager {
     void initialize();
     List<WorldObject> generateObjectsForChunk(int chunkX, int chunkY, int[][] tiles, Biome biome, long seed);
+
+    /**
+     * Same objects as {@link #generateObjectsForChunk}, without registering them. Safe to call from any thread.
+     */
+    List<WorldObject> createObjectsForChunk(int chunkX, int chunkY, int[][] tiles, Biome biome, long seed);
+
+    /**
+     * The generated object covering a world tile, or null, computed without generating its chunk.
+     * {@code tileAt} gives the generated tile id at world (x, y); {@code biome} is the tile's chunk biome.
+     */
+    WorldObject createObjectAt(int tileX, int tileY, Biome biome, long seed, IntBinaryOperator tileAt);
     List<WorldObject> getObjectsForChunk(int chunkX, int chunkY);
+
+    /**
+     * The loaded object with this id, or null.
+     */
+    WorldObject getObject(String objectId);
+
+    /**
+     * Adds an object to the loaded chunk of its tile.
+     *
+     * @throws IllegalStateException if that chunk is not loaded
+     */
     void addObject(WorldObject object);
-    void removeObject(String objectId);
+
+    /**
+     * Moves a loaded object to a tile, into that tile's chunk if it is another one.
+     *
+     * @return false if no loaded object has the id
+     * @throws IllegalStateException if the tile is in another chunk that is not loaded
+     */
+    boolean moveObject(String objectId, int tileX, int tileY);
+
+    /**
+     * @return false if no loaded object has the id
+     */
+    boolean removeObject(String objectId);
     void loadObjectsForChunk(int chunkX, int chunkY, List<WorldObject> objects);
+    void unloadObjectsForChunk(int chunkX, int chunkY);
+
+    /**
+     * The chunk geometry generated objects are placed and keyed by; must match the world generator's.
+     */
+    ChunkGeometry getChunkGeometry();
 }
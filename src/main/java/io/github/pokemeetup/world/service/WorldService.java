@@ -6,11 +6,12 @@ import com.badlogic.gdx.math.Vector2;
 import io.github.pokemeetup.multiplayer.model.WorldObjectUpdate;
 import io.github.pokemeetup.player.model.PlayerData;
 import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.ChunkMap;
 import io.github.pokemeetup.world.model.WorldData;
 import io.github.pokemeetup.world.model.WorldObject;
+import io.github.pokemeetup.world.model.WorldSummary;
 
 import java.util.List;
-import java.util.Map;
 
 public interface WorldService {
     void initIfNeeded();
@@ -26,16 +27,18 @@ public interface WorldService {
     boolean isChunkLoaded(Vector2 chunkPos);
     void loadChunk(Vector2 chunkPos);
     void setCamera(OrthographicCamera camera);
-    Map<String, ChunkData> getVisibleChunks(Rectangle viewBounds);
+    ChunkMap<ChunkData> getVisibleChunks(Rectangle viewBounds);
     void saveWorldData();
     void loadWorldData();
 
     List<String> getAvailableWorlds();
+    List<WorldSummary> getWorldSummaries();
     void deleteWorld(String worldName);
 
 
     void setPlayerData(PlayerData playerData);
     PlayerData getPlayerData(String username);
+    void unloadPlayerData(String username);
 
 
     int[][] getChunkTiles(int chunkX, int chunkY);
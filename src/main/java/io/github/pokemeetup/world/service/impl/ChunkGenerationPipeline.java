@@ -0,0 +1,401 @@
+package io.github.pokemeetup.world.service.impl;
+
+import io.github.pokemeetup.utils.PositionalRandom;
+import io.github.pokemeetup.world.biome.model.Biome;
+import io.github.pokemeetup.world.config.ChunkGeometry;
+import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.ChunkKey;
+import io.github.pokemeetup.world.model.WorldObject;
+import io.github.pokemeetup.world.service.WorldGenerator;
+import io.github.pokemeetup.world.service.WorldObjectManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Runs the {@link GenerationStage}s of chunks. Every stage is a pure function of the seed, the
+ * chunk position and earlier stages of the chunk and its neighbours, so the same code answers
+ * single-tile queries by evaluating those earlier stages directly instead of reading them.
+ */
+final class ChunkGenerationPipeline {
+
+    // sand, see tiles.json
+    static final int TRAIL_TILE = 3;
+
+    private static final int BLEND_WIDTH = 3;
+    private static final float TRAIL_CHANCE = 0.15f;
+    private static final int TRAIL_WIDTH = 2;
+    private static final int TRAIL_MIN_LENGTH = 6;
+
+    private static final int SALT_BLEND = 0x0D000000;
+    private static final int SALT_TRAIL = 0x0E000000;
+
+    private final WorldGenerator worldGenerator;
+    private final WorldObjectManager worldObjectManager;
+    private final ChunkGeometry geometry;
+    private final int chunkSize;
+
+    private final AtomicLongArray stageRuns = new AtomicLongArray(GenerationStage.values().length);
+    private final AtomicLong stageNanos = new AtomicLong();
+    private final AtomicLong terrainCacheHits = new AtomicLong();
+
+    // TERRAIN results kept across batches, least recently used first; guarded by itself
+    private final int terrainCacheSize;
+    private final LinkedHashMap<Long, Terrain> terrainCache;
+    private long terrainCacheSeed;
+
+    ChunkGenerationPipeline(WorldGenerator worldGenerator, WorldObjectManager worldObjectManager, int terrainCacheSize) {
+        this.worldGenerator = worldGenerator;
+        this.worldObjectManager = worldObjectManager;
+        this.terrainCacheSize = terrainCacheSize;
+        this.terrainCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Terrain> eldest) {
+                return size() > ChunkGenerationPipeline.this.terrainCacheSize;
+            }
+        };
+        this.geometry = worldGenerator.getChunkGeometry();
+        if (!geometry.equals(worldObjectManager.getChunkGeometry())) {
+            throw new IllegalArgumentException("Generator chunks are " + geometry
+                    + " but objects are placed in " + worldObjectManager.getChunkGeometry() + " chunks");
+        }
+        this.chunkSize = geometry.size();
+    }
+
+    /**
+     * Intermediate results of one chunk. Each field is written by one stage and only read once
+     * that stage's future has completed.
+     */
+    private static final class ProtoChunk {
+        private final int chunkX;
+        private final int chunkY;
+        private Biome biome;
+        private int[][] terrain;
+        private int[][] tiles;
+        private List<WorldObject> objects;
+        private ChunkData result;
+
+        private ProtoChunk(int chunkX, int chunkY) {
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+        }
+    }
+
+    // never written after the TERRAIN stage, so batches can share them
+    private record Terrain(Biome biome, int[][] tiles) {
+    }
+
+    @FunctionalInterface
+    private interface ChunkBiomes {
+        Biome at(int chunkX, int chunkY);
+    }
+
+    // x0/y0 inclusive, x1/y1 exclusive
+    private record Trail(int x0, int y0, int x1, int y1) {
+        boolean contains(int x, int y) {
+            return x >= x0 && x < x1 && y >= y0 && y < y1;
+        }
+
+        boolean overlaps(WorldObject obj) {
+            return obj.getTileX() < x1 && x0 < obj.getTileX() + obj.getType().getWidthInTiles()
+                    && obj.getTileY() < y1 && y0 < obj.getTileY() + obj.getType().getHeightInTiles();
+        }
+    }
+
+    /**
+     * Starts a set of chunk requests that share intermediate results, so a neighbour needed by
+     * several requested chunks is built once. Stage tasks run on {@code executor}; a direct
+     * executor generates everything on the calling thread.
+     */
+    Batch batch(long seed, Executor executor) {
+        return new Batch(seed, executor);
+    }
+
+    final class Batch {
+        private final long seed;
+        private final Executor executor;
+        private final Map<Long, ProtoChunk> protos = new ConcurrentHashMap<>();
+        private final List<Map<Long, CompletableFuture<ProtoChunk>>> stageFutures = new ArrayList<>();
+
+        private Batch(long seed, Executor executor) {
+            this.seed = seed;
+            this.executor = executor;
+            for (int i = 0; i < GenerationStage.values().length; i++) {
+                stageFutures.add(new ConcurrentHashMap<>());
+            }
+        }
+
+        CompletableFuture<ChunkData> chunk(int chunkX, int chunkY) {
+            return stage(chunkX, chunkY, GenerationStage.LAST).thenApply(proto -> proto.result);
+        }
+
+        private CompletableFuture<ProtoChunk> stage(int chunkX, int chunkY, GenerationStage stage) {
+            long key = ChunkKey.of(chunkX, chunkY);
+            Map<Long, CompletableFuture<ProtoChunk>> futures = stageFutures.get(stage.ordinal());
+            CompletableFuture<ProtoChunk> existing = futures.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            CompletableFuture<ProtoChunk> future = new CompletableFuture<>();
+            existing = futures.putIfAbsent(key, future);
+            if (existing != null) {
+                return existing;
+            }
+
+            ProtoChunk proto = protos.computeIfAbsent(key, k -> new ProtoChunk(chunkX, chunkY));
+            List<CompletableFuture<ProtoChunk>> required = new ArrayList<>();
+            for (int i = 0; i < stage.requirementCount(); i++) {
+                int r = stage.requiredRadius(i);
+                for (int dx = -r; dx <= r; dx++) {
+                    for (int dy = -r; dy <= r; dy++) {
+                        required.add(stage(chunkX + dx, chunkY + dy, stage.requiredStage(i)));
+                    }
+                }
+            }
+            CompletableFuture.allOf(required.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    future.completeExceptionally(error);
+                    return;
+                }
+                try {
+                    executor.execute(() -> {
+                        try {
+                            run(stage, proto, this);
+                            future.complete(proto);
+                        } catch (Throwable t) {
+                            future.completeExceptionally(t);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            return future;
+        }
+
+        private ProtoChunk proto(int chunkX, int chunkY) {
+            return protos.get(ChunkKey.of(chunkX, chunkY));
+        }
+    }
+
+    private void run(GenerationStage stage, ProtoChunk proto, Batch batch) {
+        if (stage == GenerationStage.TERRAIN) {
+            Terrain cached = cachedTerrain(proto.chunkX, proto.chunkY, batch.seed);
+            if (cached != null) {
+                proto.biome = cached.biome();
+                proto.terrain = cached.tiles();
+                terrainCacheHits.incrementAndGet();
+                return;
+            }
+        }
+        long start = System.nanoTime();
+        switch (stage) {
+            case TERRAIN -> {
+                proto.biome = worldGenerator.getBiomeForChunk(proto.chunkX, proto.chunkY);
+                proto.terrain = worldGenerator.generateChunk(proto.chunkX, proto.chunkY);
+                cacheTerrain(proto.chunkX, proto.chunkY, batch.seed, new Terrain(proto.biome, proto.terrain));
+            }
+            case BIOME_BLEND -> proto.tiles = blend(proto, batch);
+            case DECORATION -> proto.objects = worldObjectManager.createObjectsForChunk(
+                    proto.chunkX, proto.chunkY, proto.tiles, proto.biome, batch.seed);
+            case STRUCTURES -> proto.result = structures(proto, batch);
+        }
+        stageNanos.addAndGet(System.nanoTime() - start);
+        stageRuns.incrementAndGet(stage.ordinal());
+    }
+
+    /**
+     * A single chunk needs the terrain of its eight neighbours too; keeping recent terrain lets
+     * chunks generated one at a time, e.g. a player walking or a delta baseline, reuse it.
+     */
+    private Terrain cachedTerrain(int chunkX, int chunkY, long seed) {
+        if (terrainCacheSize <= 0) {
+            return null;
+        }
+        synchronized (terrainCache) {
+            return seed == terrainCacheSeed ? terrainCache.get(ChunkKey.of(chunkX, chunkY)) : null;
+        }
+    }
+
+    private void cacheTerrain(int chunkX, int chunkY, long seed, Terrain terrain) {
+        if (terrainCacheSize <= 0) {
+            return;
+        }
+        synchronized (terrainCache) {
+            if (seed != terrainCacheSeed) {
+                terrainCache.clear();
+                terrainCacheSeed = seed;
+            }
+            terrainCache.put(ChunkKey.of(chunkX, chunkY), terrain);
+        }
+    }
+
+    private int[][] blend(ProtoChunk proto, Batch batch) {
+        int baseX = geometry.originOf(proto.chunkX);
+        int baseY = geometry.originOf(proto.chunkY);
+        IntBinaryOperator terrainAt = (x, y) -> {
+            int cx = geometry.chunkOf(x);
+            int cy = geometry.chunkOf(y);
+            int[][] terrain = cx == proto.chunkX && cy == proto.chunkY ? proto.terrain : batch.proto(cx, cy).terrain;
+            return terrain[geometry.localOf(x)][geometry.localOf(y)];
+        };
+        int[][] tiles = new int[chunkSize][chunkSize];
+        for (int x = 0; x < chunkSize; x++) {
+            for (int y = 0; y < chunkSize; y++) {
+                tiles[x][y] = blendedTile(baseX + x, baseY + y, batch.seed, terrainAt);
+            }
+        }
+        return tiles;
+    }
+
+    private ChunkData structures(ProtoChunk proto, Batch batch) {
+        int baseX = geometry.originOf(proto.chunkX);
+        int baseY = geometry.originOf(proto.chunkY);
+        List<Trail> trails = trailsReaching(proto.chunkX, proto.chunkY, batch.seed, (cx, cy) -> batch.proto(cx, cy).biome);
+
+        // no other chunk reads this chunk's tiles or objects, so they are edited in place
+        int[][] tiles = proto.tiles;
+        List<WorldObject> objects = proto.objects;
+        for (Trail trail : trails) {
+            for (int x = Math.max(trail.x0(), baseX); x < Math.min(trail.x1(), baseX + chunkSize); x++) {
+                for (int y = Math.max(trail.y0(), baseY); y < Math.min(trail.y1(), baseY + chunkSize); y++) {
+                    tiles[x - baseX][y - baseY] = TRAIL_TILE;
+                }
+            }
+            objects.removeIf(trail::overlaps);
+        }
+
+        ChunkData chunk = new ChunkData();
+        chunk.setChunkX(proto.chunkX);
+        chunk.setChunkY(proto.chunkY);
+        chunk.setTiles(tiles);
+        chunk.setObjects(objects);
+        return chunk;
+    }
+
+    /**
+     * The final tile at a world tile, computed without generating any chunk.
+     */
+    int tileAt(int tileX, int tileY, long seed) {
+        int chunkX = geometry.chunkOf(tileX);
+        int chunkY = geometry.chunkOf(tileY);
+        for (Trail trail : trailsReaching(chunkX, chunkY, seed, worldGenerator::getBiomeForChunk)) {
+            if (trail.contains(tileX, tileY)) {
+                return TRAIL_TILE;
+            }
+        }
+        return blendedTile(tileX, tileY, seed, worldGenerator::getTileAt);
+    }
+
+    /**
+     * The final object covering a world tile, or null, computed from one placement cell.
+     */
+    WorldObject objectAt(int tileX, int tileY, long seed) {
+        int chunkX = geometry.chunkOf(tileX);
+        int chunkY = geometry.chunkOf(tileY);
+        WorldObject obj = worldObjectManager.createObjectAt(tileX, tileY,
+                worldGenerator.getBiomeForChunk(chunkX, chunkY), seed,
+                (x, y) -> blendedTile(x, y, seed, worldGenerator::getTileAt));
+        if (obj == null) {
+            return null;
+        }
+        for (Trail trail : trailsReaching(chunkX, chunkY, seed, worldGenerator::getBiomeForChunk)) {
+            if (trail.overlaps(obj)) {
+                return null;
+            }
+        }
+        return obj;
+    }
+
+    ChunkGeometry getChunkGeometry() {
+        return geometry;
+    }
+
+    long getStageRuns(GenerationStage stage) {
+        return stageRuns.get(stage.ordinal());
+    }
+
+    long getTerrainCacheHits() {
+        return terrainCacheHits.get();
+    }
+
+    /**
+     * Summed time spent in stage tasks over all threads.
+     */
+    long getStageNanos() {
+        return stageNanos.get();
+    }
+
+    /**
+     * Tile after blending. Within {@link #BLEND_WIDTH} tiles of a chunk edge, a tile sometimes
+     * takes the terrain mirrored across the nearest edge, more often the closer it is.
+     */
+    private int blendedTile(int x, int y, long seed, IntBinaryOperator terrainAt) {
+        int lx = geometry.localOf(x);
+        int ly = geometry.localOf(y);
+        int dx = Math.min(lx, chunkSize - 1 - lx);
+        int dy = Math.min(ly, chunkSize - 1 - ly);
+        int d = Math.min(dx, dy);
+        if (d >= BLEND_WIDTH
+                || PositionalRandom.nextDouble(seed, x, y, SALT_BLEND) >= (BLEND_WIDTH - d) / (2.0 * BLEND_WIDTH)) {
+            return terrainAt.applyAsInt(x, y);
+        }
+        // d tiles inside this chunk maps to d tiles inside the neighbour
+        if (dx <= dy) {
+            x = lx == dx ? x - 2 * dx - 1 : x + 2 * dx + 1;
+        } else {
+            y = ly == dy ? y - 2 * dy - 1 : y + 2 * dy + 1;
+        }
+        return terrainAt.applyAsInt(x, y);
+    }
+
+    // trails run right or up from their start, so only this chunk and the ones left of and below it reach it
+    private List<Trail> trailsReaching(int chunkX, int chunkY, long seed, ChunkBiomes biomes) {
+        List<Trail> trails = new ArrayList<>(1);
+        int baseX = geometry.originOf(chunkX);
+        int baseY = geometry.originOf(chunkY);
+        for (int ax = chunkX - 1; ax <= chunkX; ax++) {
+            for (int ay = chunkY - 1; ay <= chunkY; ay++) {
+                Trail trail = trail(ax, ay, seed, biomes);
+                if (trail != null && trail.x0() < baseX + chunkSize && baseX < trail.x1()
+                        && trail.y0() < baseY + chunkSize && baseY < trail.y1()) {
+                    trails.add(trail);
+                }
+            }
+        }
+        return trails;
+    }
+
+    /**
+     * The trail starting in a chunk, or null. Trails are at most a chunk long, so they reach one
+     * chunk further at most, and are only laid if they end in the biome they start in.
+     */
+    private Trail trail(int chunkX, int chunkY, long seed, ChunkBiomes biomes) {
+        if (PositionalRandom.nextFloat(seed, chunkX, chunkY, SALT_TRAIL) >= TRAIL_CHANCE) {
+            return null;
+        }
+        Biome biome = biomes.at(chunkX, chunkY);
+        if (biome == null) {
+            return null;
+        }
+        int x0 = geometry.originOf(chunkX) + PositionalRandom.nextInt(seed, chunkX, chunkY, SALT_TRAIL + 1, chunkSize);
+        int y0 = geometry.originOf(chunkY) + PositionalRandom.nextInt(seed, chunkX, chunkY, SALT_TRAIL + 2, chunkSize);
+        int length = TRAIL_MIN_LENGTH
+                + PositionalRandom.nextInt(seed, chunkX, chunkY, SALT_TRAIL + 3, chunkSize - TRAIL_MIN_LENGTH + 1);
+        Trail trail = PositionalRandom.nextInt(seed, chunkX, chunkY, SALT_TRAIL + 4, 2) == 0
+                ? new Trail(x0, y0, x0 + length, y0 + TRAIL_WIDTH)
+                : new Trail(x0, y0, x0 + TRAIL_WIDTH, y0 + length);
+
+        Biome end = biomes.at(geometry.chunkOf(trail.x1() - 1), geometry.chunkOf(trail.y1() - 1));
+        return end != null && end.getType() == biome.getType() ? trail : null;
+    }
+}
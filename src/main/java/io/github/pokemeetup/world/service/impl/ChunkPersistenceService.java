@@ -0,0 +1,357 @@
+package io.github.pokemeetup.world.service.impl;
+
+import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.ChunkKey;
+import io.github.pokemeetup.world.model.ChunkMap;
+import io.github.pokemeetup.world.storage.ChunkStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind layer in front of {@link JsonWorldDataService} chunk storage.
+ * Callers mark chunks dirty; repeated writes to the same chunk are merged and
+ * flushed in batches on a dedicated I/O thread at most {@code world.save.maxDelayMs} later.
+ */
+@Slf4j
+@Service
+public class ChunkPersistenceService {
+
+    private final JsonWorldDataService jsonWorldDataService;
+    private final int batchSize;
+
+    // per world, by chunk key: the latest chunk instance to persist
+    private final Map<String, ChunkMap<PendingChunk>> pending = new ConcurrentHashMap<>();
+    // per world: chunks whose stored data could not be read; nothing is written over them until they are deleted
+    private final Map<String, ChunkMap<Boolean>> unreadable = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ioExecutor;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private volatile boolean shutdown = false;
+
+    private final AtomicLong chunksWritten = new AtomicLong();
+    private final AtomicLong writesCoalesced = new AtomicLong();
+
+    private final List<CheckpointListener> checkpointListeners = new CopyOnWriteArrayList<>();
+    // worlds whose chunks are stored as deltas against their generated version
+    private final Map<String, JsonWorldDataService.ChunkBaseline> baselines = new ConcurrentHashMap<>();
+
+    /**
+     * Notified around each flush, so a journal can drop entries whose chunks are safely on disk.
+     */
+    public interface CheckpointListener {
+        /**
+         * Called on the I/O thread right before the pending chunks are collected.
+         * Every chunk marked dirty before this call is part of the flush.
+         */
+        long markCheckpoint();
+
+        /**
+         * Called once all chunks of the flush that started with {@code mark} are written and synced.
+         */
+        void checkpointComplete(long mark);
+    }
+
+    // compared by identity: re-queuing the same chunk must replace the entry being flushed
+    private static final class PendingChunk {
+        private final String worldName;
+        private final long key;
+        private final ChunkData chunk;
+
+        private PendingChunk(String worldName, long key, ChunkData chunk) {
+            this.worldName = worldName;
+            this.key = key;
+            this.chunk = chunk;
+        }
+    }
+
+    public ChunkPersistenceService(
+            JsonWorldDataService jsonWorldDataService,
+            @Value("${world.save.maxDelayMs:2000}") long maxDelayMs,
+            @Value("${world.save.batchSize:256}") int batchSize
+    ) {
+        this.jsonWorldDataService = jsonWorldDataService;
+        this.batchSize = batchSize;
+        this.ioExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "chunk-io");
+            t.setDaemon(true);
+            return t;
+        });
+        this.ioExecutor.scheduleWithFixedDelay(this::flushPendingSafely, maxDelayMs, maxDelayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues the chunk for saving. Returns immediately; the write happens on the I/O thread.
+     */
+    public void markDirty(String worldName, ChunkData chunk) {
+        if (worldName == null || chunk == null) {
+            return;
+        }
+        long key = ChunkKey.of(chunk);
+        if (isUnreadable(worldName, key)) {
+            log.warn("Not saving chunk ({},{}) of '{}' over stored data that could not be read",
+                    chunk.getChunkX(), chunk.getChunkY(), worldName);
+            return;
+        }
+        if (shutdown) {
+            writeNow(worldName, chunk);
+            return;
+        }
+        PendingChunk previous = pending.computeIfAbsent(worldName, w -> new ChunkMap<>(256))
+                .put(key, new PendingChunk(worldName, key, chunk));
+        if (previous != null) {
+            writesCoalesced.incrementAndGet();
+        }
+        if (getPendingCount() >= batchSize) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * Starts a flush on the I/O thread without waiting for it.
+     */
+    public void requestFlush() {
+        if (shutdown || !flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            ioExecutor.execute(() -> {
+                flushScheduled.set(false);
+                flushPendingSafely();
+            });
+        } catch (RejectedExecutionException e) {
+            flushScheduled.set(false);
+        }
+    }
+
+    public void addCheckpointListener(CheckpointListener listener) {
+        checkpointListeners.add(listener);
+    }
+
+    /**
+     * Makes chunks of the world persist as deltas against {@code baseline}; untouched chunks are
+     * then never written. Must be set before any chunk of the world is loaded or saved.
+     */
+    public void setBaseline(String worldName, JsonWorldDataService.ChunkBaseline baseline) {
+        if (worldName != null) {
+            baselines.put(worldName, baseline);
+        }
+    }
+
+    /**
+     * Loads a chunk, preferring a queued copy that has not reached disk yet. That copy is the
+     * chunk instance that was marked dirty, so a chunk unloaded before its flush, e.g. by
+     * {@link ChunkTicketManager}, comes back with its changes and as the same instance.
+     * <p>
+     * A chunk whose stored data cannot be read, such as a delta saved by another generator version
+     * or seed, is quarantined: this and every later load of it throw, and {@link #markDirty} drops
+     * anything queued for it. Callers must leave it unloaded rather than generate it, so the
+     * stored edits are never overwritten.
+     */
+    public ChunkData loadChunk(String worldName, int chunkX, int chunkY) throws IOException {
+        long key = ChunkKey.of(chunkX, chunkY);
+        PendingChunk queued = queued(worldName, key);
+        if (queued != null) {
+            return queued.chunk;
+        }
+        if (isUnreadable(worldName, key)) {
+            throw new IOException("Chunk (" + chunkX + "," + chunkY + ") of '" + worldName + "' is quarantined");
+        }
+        try {
+            return jsonWorldDataService.loadChunk(worldName, chunkX, chunkY, baselines.get(worldName));
+        } catch (IOException e) {
+            if (unreadable.computeIfAbsent(worldName, w -> new ChunkMap<>()).putIfAbsent(key, Boolean.TRUE) == null) {
+                log.warn("Quarantined chunk ({},{}) of '{}': {}", chunkX, chunkY, worldName, e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    public void deleteChunk(String worldName, int chunkX, int chunkY) {
+        long key = ChunkKey.of(chunkX, chunkY);
+        ChunkMap<Boolean> refused = unreadable.get(worldName);
+        if (refused != null) {
+            refused.remove(key);
+        }
+        ChunkMap<PendingChunk> queued = pending.get(worldName);
+        if (queued != null) {
+            queued.remove(key);
+        }
+        jsonWorldDataService.deleteChunk(worldName, chunkX, chunkY);
+    }
+
+    public boolean isDirty(String worldName, int chunkX, int chunkY) {
+        return queued(worldName, ChunkKey.of(chunkX, chunkY)) != null;
+    }
+
+    /**
+     * Blocks until every chunk queued before this call has been written.
+     */
+    public void flush() {
+        if (shutdown) {
+            flushPendingSafely();
+            return;
+        }
+        try {
+            ioExecutor.submit(this::flushPendingSafely).get();
+        } catch (RejectedExecutionException e) {
+            flushPendingSafely();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while flushing {} pending chunks", getPendingCount());
+        } catch (ExecutionException e) {
+            log.error("Chunk flush failed: {}", e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Drains the queue and stops the I/O thread. Later writes are performed synchronously.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        flush();
+        shutdown = true;
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                ioExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // anything that slipped in while the executor was stopping
+        flushPendingSafely();
+        log.info("Chunk persistence drained: {} chunks written, {} writes coalesced",
+                chunksWritten.get(), writesCoalesced.get());
+    }
+
+    public int getPendingCount() {
+        int count = 0;
+        for (ChunkMap<PendingChunk> chunks : pending.values()) {
+            count += chunks.size();
+        }
+        return count;
+    }
+
+    public long getChunksWritten() {
+        return chunksWritten.get();
+    }
+
+    public long getWritesCoalesced() {
+        return writesCoalesced.get();
+    }
+
+    private void flushPendingSafely() {
+        try {
+            flushPending();
+        } catch (RuntimeException e) {
+            log.error("Unexpected error while flushing chunks: {}", e.getMessage(), e);
+        }
+    }
+
+    private synchronized void flushPending() {
+        long[] marks = new long[checkpointListeners.size()];
+        for (int i = 0; i < marks.length; i++) {
+            marks[i] = checkpointListeners.get(i).markCheckpoint();
+        }
+        List<PendingChunk> batch = new ArrayList<>();
+        for (ChunkMap<PendingChunk> chunks : pending.values()) {
+            batch.addAll(chunks.values());
+        }
+        if (batch.isEmpty() && marks.length == 0) {
+            return;
+        }
+        boolean allWritten = true;
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            if (!writeBatch(batch.subList(from, Math.min(batch.size(), from + batchSize)))) {
+                allWritten = false;
+            }
+        }
+        if (!batch.isEmpty()) {
+            log.debug("Flushed {} chunks ({} still pending)", batch.size(), getPendingCount());
+        }
+        if (!allWritten || marks.length == 0) {
+            return;
+        }
+        try {
+            jsonWorldDataService.syncChunks();
+        } catch (IOException e) {
+            log.error("Failed to sync chunk files: {}", e.getMessage());
+            return;
+        }
+        for (int i = 0; i < marks.length; i++) {
+            checkpointListeners.get(i).checkpointComplete(marks[i]);
+        }
+    }
+
+    // one store round trip per batch (a single transaction for the H2 store)
+    private boolean writeBatch(List<PendingChunk> entries) {
+        List<ChunkStore.StoredChunk> encoded = new ArrayList<>(entries.size());
+        List<PendingChunk> written = new ArrayList<>(entries.size());
+        boolean allEncoded = true;
+        for (PendingChunk p : entries) {
+            try {
+                // writers mutate object lists under the chunk's monitor
+                synchronized (p.chunk) {
+                    encoded.add(jsonWorldDataService.encodeChunk(p.worldName, p.chunk, baselines.get(p.worldName)));
+                }
+                written.add(p);
+            } catch (IOException e) {
+                log.error("Failed to encode chunk ({},{}) of '{}': {}",
+                        p.chunk.getChunkX(), p.chunk.getChunkY(), p.worldName, e.getMessage());
+                allEncoded = false;
+            }
+        }
+        try {
+            jsonWorldDataService.saveChunks(encoded);
+        } catch (IOException e) {
+            log.error("Failed to save {} chunks: {}", encoded.size(), e.getMessage());
+            return false;
+        }
+        for (PendingChunk p : written) {
+            // only drop the entry if nobody re-queued the chunk while it was being written
+            ChunkMap<PendingChunk> chunks = pending.get(p.worldName);
+            if (chunks != null) {
+                chunks.remove(p.key, p);
+            }
+        }
+        chunksWritten.addAndGet(written.size());
+        return allEncoded;
+    }
+
+    private boolean writeNow(String worldName, ChunkData chunk) {
+        try {
+            // writers mutate object lists under the chunk's monitor
+            synchronized (chunk) {
+                jsonWorldDataService.saveChunk(worldName, chunk, baselines.get(worldName));
+            }
+            chunksWritten.incrementAndGet();
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to save chunk ({},{}) of '{}': {}",
+                    chunk.getChunkX(), chunk.getChunkY(), worldName, e.getMessage());
+            return false;
+        }
+    }
+
+    private PendingChunk queued(String worldName, long key) {
+        ChunkMap<PendingChunk> chunks = pending.get(worldName);
+        return chunks != null ? chunks.get(key) : null;
+    }
+
+    private boolean isUnreadable(String worldName, long key) {
+        ChunkMap<Boolean> chunks = unreadable.get(worldName);
+        return chunks != null && chunks.containsKey(key);
+    }
+}
@@ -0,0 +1,246 @@
+package io.github.pokemeetup.world.service.impl;
+
+import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.ChunkKey;
+import io.github.pokemeetup.world.model.ChunkMap;
+import io.github.pokemeetup.world.model.WorldData;
+import io.github.pokemeetup.world.service.WorldObjectManager;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the number of chunks the server keeps in memory.
+ * <p>
+ * Every chunk put into a {@link WorldData} goes through {@link #admit}; once the configured
+ * chunk count or estimated byte size is exceeded, chunks not used recently are dropped. Recency
+ * is approximate (the CLOCK algorithm): a lookup only sets a flag on the chunk, so {@link #get}
+ * takes no lock, and eviction passes over flagged chunks once, clearing the flag. Chunks the
+ * {@link ChunkTicketManager} tracks for players are left alone; it unloads them itself once
+ * nobody needs them. Chunks with unsaved changes are not dropped either: a flush is requested
+ * instead, and they can go once it has written them.
+ */
+@Slf4j
+@Service
+@Profile("server")
+public class ChunkResidencyManager {
+
+    private final ChunkPersistenceService chunkPersistence;
+    private final WorldObjectManager worldObjectManager;
+    private final int maxChunks;
+    private final long maxBytes;
+    private final ChunkTicketManager tickets;
+
+    // read without locking; changed under this. The server keeps more than one WorldData around,
+    // and WorldData compares by identity
+    private final Map<WorldData, ChunkMap<Resident>> residentsByWorld = new ConcurrentHashMap<>();
+    // guarded by this: every resident in no particular order, swept by the clock hand
+    private final List<Resident> clock = new ArrayList<>();
+    private int hand = 0;
+    private long residentBytes = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private static final class Resident {
+        private final String worldName;
+        private final WorldData world;
+        private final long key;
+        private final ChunkData chunk;
+        private final long bytes;
+        // guarded by the manager
+        private int slot;
+        // set by lookups, cleared by the clock hand
+        private volatile boolean referenced = true;
+
+        private Resident(WorldData world, long key, ChunkData chunk, long bytes) {
+            this.worldName = world.getWorldName();
+            this.world = world;
+            this.key = key;
+            this.chunk = chunk;
+            this.bytes = bytes;
+        }
+    }
+
+    public ChunkResidencyManager(
+            ChunkPersistenceService chunkPersistence,
+            WorldObjectManager worldObjectManager,
+            @Value("${world.residency.maxChunks:4096}") int maxChunks,
+            @Value("${world.residency.maxBytes:0}") long maxBytes,
+            ChunkTicketManager tickets
+    ) {
+        this.chunkPersistence = chunkPersistence;
+        this.worldObjectManager = worldObjectManager;
+        this.maxChunks = maxChunks;
+        this.maxBytes = maxBytes;
+        this.tickets = tickets;
+    }
+
+    /**
+     * Looks up a resident chunk and marks it as recently used. Takes no lock.
+     *
+     * @return the chunk, or null if it has to be loaded or generated
+     */
+    public ChunkData get(WorldData world, long key) {
+        ChunkData chunk = world.getChunks().get(key);
+        if (chunk != null) {
+            hits.incrementAndGet();
+            ChunkMap<Resident> residents = residentsByWorld.get(world);
+            Resident r = residents != null ? residents.get(key) : null;
+            // written only when it changes, so hot chunks do not bounce a cache line between readers
+            if (r != null && !r.referenced) {
+                r.referenced = true;
+            }
+        } else {
+            misses.incrementAndGet();
+        }
+        return chunk;
+    }
+
+    /**
+     * Puts a freshly loaded or generated chunk into the world and evicts others if over the limit.
+     */
+    public synchronized void admit(WorldData world, ChunkData chunk) {
+        long key = ChunkKey.of(chunk);
+        world.getChunks().put(chunk);
+        Resident r = new Resident(world, key, chunk, estimateBytes(chunk));
+        Resident previous = residentsByWorld.computeIfAbsent(world, w -> new ChunkMap<>(256)).put(key, r);
+        if (previous != null) {
+            unlink(previous);
+        }
+        r.slot = clock.size();
+        clock.add(r);
+        residentBytes += r.bytes;
+        evictIfNeeded();
+    }
+
+    /**
+     * Forgets a chunk that was removed from the world by other means (regeneration, world deletion).
+     */
+    public synchronized void remove(WorldData world, long key) {
+        world.getChunks().remove(key);
+        ChunkMap<Resident> residents = residentsByWorld.get(world);
+        Resident r = residents != null ? residents.remove(key) : null;
+        if (r != null) {
+            unlink(r);
+        }
+    }
+
+    public synchronized void clear(WorldData world) {
+        ChunkMap<Resident> residents = residentsByWorld.remove(world);
+        if (residents != null) {
+            for (Resident r : residents.values()) {
+                unlink(r);
+            }
+        }
+        world.getChunks().clear();
+    }
+
+    // takes a resident out of the clock, filling its slot with the last one
+    private void unlink(Resident r) {
+        int last = clock.size() - 1;
+        Resident moved = clock.get(last);
+        clock.set(r.slot, moved);
+        moved.slot = r.slot;
+        clock.remove(last);
+        residentBytes -= r.bytes;
+    }
+
+    private void evictIfNeeded() {
+        if (!overLimit()) {
+            return;
+        }
+        boolean flushNeeded = false;
+        // two sweeps: the first may only clear flags; what is left after the second is ticketed or unsaved
+        int steps = 2 * clock.size();
+        while (overLimit() && steps-- > 0 && !clock.isEmpty()) {
+            if (hand >= clock.size()) {
+                hand = 0;
+            }
+            Resident r = clock.get(hand);
+            if (tickets.isTracked(r.key)) {
+                hand++;
+                continue;
+            }
+            if (r.referenced) {
+                r.referenced = false;
+                hand++;
+                continue;
+            }
+            if (r.worldName != null && chunkPersistence.isDirty(r.worldName, r.chunk.getChunkX(), r.chunk.getChunkY())) {
+                // written out first, instead of leaving the queued copy as the only one
+                flushNeeded = true;
+                hand++;
+                continue;
+            }
+            // the last resident moves into this slot, so the hand stays to look at it next
+            residentsByWorld.get(r.world).remove(r.key, r);
+            unlink(r);
+            r.world.getChunks().remove(r.key, r.chunk);
+            worldObjectManager.unloadObjectsForChunk(r.chunk.getChunkX(), r.chunk.getChunkY());
+            evictions.incrementAndGet();
+        }
+        if (flushNeeded) {
+            chunkPersistence.requestFlush();
+        }
+        if (overLimit()) {
+            log.debug("Chunk residency over limit ({} chunks, {} bytes) but all remaining chunks are ticketed or unsaved",
+                    clock.size(), residentBytes);
+        }
+    }
+
+    private boolean overLimit() {
+        return clock.size() > maxChunks || (maxBytes > 0 && residentBytes > maxBytes);
+    }
+
+    // rough heap footprint: tile arrays plus a flat cost per object and per chunk
+    private static long estimateBytes(ChunkData chunk) {
+        long bytes = 128;
+        int[][] tiles = chunk.getTiles();
+        if (tiles != null) {
+            bytes += 16 + tiles.length * 8L;
+            for (int[] column : tiles) {
+                bytes += 16 + column.length * 4L;
+            }
+        }
+        if (chunk.getObjects() != null) {
+            bytes += chunk.getObjects().size() * 160L;
+        }
+        return bytes;
+    }
+
+    @PreDestroy
+    public void logStats() {
+        log.info("Chunk residency: {} resident (~{} KiB), {} hits, {} misses, {} evictions",
+                getResidentChunks(), getResidentBytes() / 1024, getHits(), getMisses(), getEvictions());
+    }
+
+    public synchronized int getResidentChunks() {
+        return clock.size();
+    }
+
+    public synchronized long getResidentBytes() {
+        return residentBytes;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+}
@@ -0,0 +1,372 @@
+package io.github.pokemeetup.world.service.impl;
+
+import io.github.pokemeetup.event.EventBus;
+import io.github.pokemeetup.multiplayer.service.MultiplayerService;
+import io.github.pokemeetup.player.event.PlayerJoinEvent;
+import io.github.pokemeetup.player.event.PlayerLeaveEvent;
+import io.github.pokemeetup.player.event.PlayerMoveEvent;
+import io.github.pokemeetup.player.model.PlayerData;
+import io.github.pokemeetup.world.config.ChunkGeometry;
+import io.github.pokemeetup.world.model.ChunkKey;
+import io.github.pokemeetup.world.model.ChunkMap;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which chunks of the server world are loaded, from the players that need them.
+ * <p>
+ * Every connected player holds a ticket on the square of chunks within {@code world.tickets.radius}
+ * of the chunk they stand in. A chunk that gains its first ticket is loaded on a loader thread
+ * ({@link ChunkState#LOADING}, then {@link ChunkState#READY}). Once its last ticket is released it
+ * stays loaded for {@code world.tickets.unloadDelayMs}, so a player walking back and forth over a
+ * chunk border does not unload and reload the same row of chunks; after that, unsaved changes are
+ * written ({@link ChunkState#SAVING}) and the chunk is dropped from memory.
+ */
+@Slf4j
+@Service
+@Profile("server")
+public class ChunkTicketManager {
+
+    private static final long STATS_LOG_INTERVAL_MS = 30_000;
+
+    public enum ChunkState {
+        /** Ticketed, but the last load failed; retried on the next tick. */
+        UNLOADED,
+        LOADING,
+        READY,
+        /** Unticketed and waiting for its unsaved changes to be written before it is dropped. */
+        SAVING
+    }
+
+    /**
+     * What the ticket manager needs from the world the players are in.
+     */
+    public interface ChunkHost {
+        /**
+         * Loads or generates the chunk. Called on a loader thread.
+         *
+         * @return false if it could not be loaded
+         */
+        boolean load(int chunkX, int chunkY);
+
+        boolean hasUnsavedChanges(int chunkX, int chunkY);
+
+        /**
+         * Starts writing unsaved chunks without waiting for it.
+         */
+        void requestSave();
+
+        void unload(int chunkX, int chunkY);
+    }
+
+    // guarded by the manager's monitor
+    private static final class TicketedChunk {
+        private int tickets;
+        private ChunkState state = ChunkState.UNLOADED;
+        private long unloadAt;
+    }
+
+    private record PlayerTicket(int chunkX, int chunkY) {
+    }
+
+    private final ChunkGeometry chunkGeometry;
+    private final int radius;
+    private final long unloadDelayMs;
+    private final ScheduledExecutorService executor;
+
+    private final ChunkMap<TicketedChunk> chunks = new ChunkMap<>(256);
+    private final Map<String, PlayerTicket> players = new HashMap<>();
+    private volatile ChunkHost host;
+
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong loadFailures = new AtomicLong();
+    private final AtomicLong unloads = new AtomicLong();
+    private Map<ChunkState, Integer> lastLoggedCounts = Map.of();
+    private long lastStatsLog = 0;
+
+    @Autowired
+    @Lazy
+    private MultiplayerService multiplayerService;
+
+    public ChunkTicketManager(
+            EventBus eventBus,
+            ChunkGeometry chunkGeometry,
+            @Value("${world.tickets.radius:4}") int radius,
+            @Value("${world.tickets.unloadDelayMs:10000}") long unloadDelayMs,
+            @Value("${world.tickets.tickMs:1000}") long tickMs,
+            @Value("${world.tickets.loadThreads:2}") int loadThreads
+    ) {
+        this.chunkGeometry = chunkGeometry;
+        this.radius = radius;
+        this.unloadDelayMs = unloadDelayMs;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(Math.max(1, loadThreads), r -> {
+            Thread t = new Thread(r, "chunk-tickets-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.executor.scheduleWithFixedDelay(this::tickSafely, tickMs, tickMs, TimeUnit.MILLISECONDS);
+
+        eventBus.registerListener(PlayerJoinEvent.class, e -> {
+            PlayerData pd = multiplayerService.getPlayerData(e.getUsername());
+            if (pd != null) {
+                updatePlayer(e.getUsername(), pd.getX(), pd.getY());
+            }
+        });
+        eventBus.registerListener(PlayerMoveEvent.class,
+                e -> updatePlayer(e.getPlayerData().getUsername(), e.getPlayerData().getX(), e.getPlayerData().getY()));
+        eventBus.registerListener(PlayerLeaveEvent.class, e -> removePlayer(e.getUsername()));
+    }
+
+    /**
+     * Sets the world whose chunks are loaded and unloaded. Must be called before the first ticket.
+     */
+    public void attach(ChunkHost host) {
+        this.host = host;
+    }
+
+    /**
+     * Moves the player's ticket to the chunk containing the tile position, taking one out first
+     * if the player has none.
+     */
+    public synchronized void updatePlayer(String username, float tileX, float tileY) {
+        int chunkX = chunkGeometry.chunkOf(tileX);
+        int chunkY = chunkGeometry.chunkOf(tileY);
+        PlayerTicket previous = players.get(username);
+        if (previous != null && previous.chunkX() == chunkX && previous.chunkY() == chunkY) {
+            return;
+        }
+        players.put(username, new PlayerTicket(chunkX, chunkY));
+        long now = System.currentTimeMillis();
+        // the new square is added before the old one is released, so chunks in both never lose all tickets
+        for (int r = 0; r <= radius; r++) {
+            for (int x = chunkX - r; x <= chunkX + r; x++) {
+                for (int y = chunkY - r; y <= chunkY + r; y++) {
+                    // nearest rings first, so the chunks around the player are queued for loading first
+                    if (Math.max(Math.abs(x - chunkX), Math.abs(y - chunkY)) == r) {
+                        addTicket(ChunkKey.of(x, y));
+                    }
+                }
+            }
+        }
+        if (previous != null) {
+            releaseSquare(previous, now);
+        }
+    }
+
+    public synchronized void removePlayer(String username) {
+        PlayerTicket previous = players.remove(username);
+        if (previous != null) {
+            releaseSquare(previous, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Whether the chunk is loaded, or about to be, on behalf of some player. Never blocks, so the
+     * residency manager can ask while holding its own lock.
+     */
+    public boolean isTracked(long key) {
+        return chunks.get(key) != null;
+    }
+
+    private void releaseSquare(PlayerTicket ticket, long now) {
+        for (int x = ticket.chunkX() - radius; x <= ticket.chunkX() + radius; x++) {
+            for (int y = ticket.chunkY() - radius; y <= ticket.chunkY() + radius; y++) {
+                releaseTicket(ChunkKey.of(x, y), now);
+            }
+        }
+    }
+
+    private void addTicket(long key) {
+        TicketedChunk chunk = chunks.computeIfAbsent(key, k -> new TicketedChunk());
+        if (chunk.tickets++ > 0) {
+            return;
+        }
+        chunk.unloadAt = 0;
+        switch (chunk.state) {
+            case UNLOADED -> startLoad(key, chunk);
+            // still in memory; the write that was started goes on without it being dropped afterwards
+            case SAVING -> chunk.state = ChunkState.READY;
+            default -> {
+            }
+        }
+    }
+
+    private void releaseTicket(long key, long now) {
+        TicketedChunk chunk = chunks.get(key);
+        if (chunk == null || chunk.tickets == 0 || --chunk.tickets > 0) {
+            return;
+        }
+        if (chunk.state == ChunkState.UNLOADED) {
+            chunks.remove(key);
+        } else {
+            chunk.unloadAt = now + unloadDelayMs;
+        }
+    }
+
+    private void startLoad(long key, TicketedChunk chunk) {
+        chunk.state = ChunkState.LOADING;
+        try {
+            executor.execute(() -> load(key));
+        } catch (RejectedExecutionException e) {
+            chunk.state = ChunkState.UNLOADED;
+        }
+    }
+
+    private void load(long key) {
+        ChunkHost h = host;
+        boolean loaded = false;
+        try {
+            loaded = h != null && h.load(ChunkKey.x(key), ChunkKey.y(key));
+        } catch (RuntimeException e) {
+            log.warn("Failed to load ticketed chunk ({}): {}", ChunkKey.toString(key), e.getMessage());
+        }
+        synchronized (this) {
+            TicketedChunk chunk = chunks.get(key);
+            if (chunk == null || chunk.state != ChunkState.LOADING) {
+                return;
+            }
+            if (loaded) {
+                loads.incrementAndGet();
+                chunk.state = ChunkState.READY;
+            } else {
+                loadFailures.incrementAndGet();
+                chunk.state = ChunkState.UNLOADED;
+                if (chunk.tickets == 0) {
+                    chunks.remove(key);
+                }
+            }
+        }
+    }
+
+    private void tickSafely() {
+        try {
+            tick(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.error("Unexpected error in chunk ticket tick: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retries failed loads and moves unticketed chunks whose delay has run out towards unloaded.
+     */
+    synchronized void tick(long now) {
+        ChunkHost h = host;
+        if (h == null) {
+            return;
+        }
+        chunks.forEach((key, chunk) -> {
+            if (chunk.tickets > 0) {
+                if (chunk.state == ChunkState.UNLOADED) {
+                    startLoad(key, chunk);
+                }
+                return;
+            }
+            if (now < chunk.unloadAt) {
+                return;
+            }
+            int chunkX = ChunkKey.x(key);
+            int chunkY = ChunkKey.y(key);
+            switch (chunk.state) {
+                case READY -> {
+                    if (h.hasUnsavedChanges(chunkX, chunkY)) {
+                        chunk.state = ChunkState.SAVING;
+                        h.requestSave();
+                    } else {
+                        unload(h, key);
+                    }
+                }
+                case SAVING -> {
+                    if (!h.hasUnsavedChanges(chunkX, chunkY)) {
+                        unload(h, key);
+                    }
+                }
+                default -> {
+                }
+            }
+        });
+        logStatsIfChanged(now);
+    }
+
+    private void unload(ChunkHost h, long key) {
+        h.unload(ChunkKey.x(key), ChunkKey.y(key));
+        chunks.remove(key);
+        unloads.incrementAndGet();
+    }
+
+    private void logStatsIfChanged(long now) {
+        if (now - lastStatsLog < STATS_LOG_INTERVAL_MS) {
+            return;
+        }
+        Map<ChunkState, Integer> counts = getStateCounts();
+        if (counts.equals(lastLoggedCounts)) {
+            return;
+        }
+        lastLoggedCounts = counts;
+        lastStatsLog = now;
+        log.info("Chunk tickets: {} players, {} loading, {} ready, {} saving, {} failed ({} loads, {} unloads)",
+                players.size(), counts.get(ChunkState.LOADING), counts.get(ChunkState.READY),
+                counts.get(ChunkState.SAVING), counts.get(ChunkState.UNLOADED), loads.get(), unloads.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        log.info("Chunk tickets: {} loads, {} failed loads, {} unloads", loads.get(), loadFailures.get(), unloads.get());
+    }
+
+    /**
+     * Number of tracked chunks in each state. Chunks nobody has a ticket on and that have been
+     * unloaded are not tracked, so {@link ChunkState#UNLOADED} only counts failed loads.
+     */
+    public synchronized Map<ChunkState, Integer> getStateCounts() {
+        Map<ChunkState, Integer> counts = new EnumMap<>(ChunkState.class);
+        for (ChunkState state : ChunkState.values()) {
+            counts.put(state, 0);
+        }
+        for (TicketedChunk chunk : chunks.values()) {
+            counts.merge(chunk.state, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    public synchronized ChunkState getState(int chunkX, int chunkY) {
+        TicketedChunk chunk = chunks.get(chunkX, chunkY);
+        return chunk != null ? chunk.state : ChunkState.UNLOADED;
+    }
+
+    public int getTrackedChunks() {
+        return chunks.size();
+    }
+
+    public synchronized int getPlayerCount() {
+        return players.size();
+    }
+
+    public long getLoads() {
+        return loads.get();
+    }
+
+    public long getLoadFailures() {
+        return loadFailures.get();
+    }
+
+    public long getUnloads() {
+        return unloads.get();
+    }
+}
@@ -18,6 +18,7 @@ import io.github.pokemeetup.world.biome.config.BiomeConfigurationLoader;
 import io.github.pokemeetup.world.biome.model.Biome;
 import io.github.pokemeetup.world.biome.model.BiomeType;
 import io.github.pokemeetup.world.biome.service.BiomeService;
+import io.github.pokemeetup.world.config.ChunkGeometry;
 import io.github.pokemeetup.world.config.WorldConfig;
 import io.github.pokemeetup.world.model.*;
 import io.github.pokemeetup.world.service.TileManager;
@@ -33,21 +34,25 @@ import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Slf4j
 @Service
 @Profile("client")
 public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements WorldService {
-    private static final int CHUNK_SIZE = 16;
     private static final int TILE_SIZE = 32;
     private final WorldGenerator worldGenerator;
     private final WorldObjectManager worldObjectManager;
+    private final ChunkGenerationEngine generationEngine;
     private final TileManager tileManager;
     private final ObjectTextureManager objectTextureManager;
     private final BiomeConfigurationLoader biomeLoader;
     private final BiomeService biomeService;
 
     private final JsonWorldDataService jsonWorldDataService;  // NEW
+    private final ChunkPersistenceService chunkPersistence;
+    private final PlayerPersistenceService playerPersistence;
+    private final ChunkGeometry chunkGeometry;
 
     private final WorldData worldData = new WorldData();
     @Value("${world.defaultName:defaultWorld}")
@@ -67,14 +72,18 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
             WorldConfig worldConfig,
             WorldGenerator worldGenerator,
             WorldObjectManager worldObjectManager,
+            ChunkGenerationEngine generationEngine,
             TileManager tileManager,
             BiomeConfigurationLoader biomeLoader,
             BiomeService biomeService,
             ObjectTextureManager objectTextureManager,
-            JsonWorldDataService jsonWorldDataService     // NEW
+            JsonWorldDataService jsonWorldDataService,     // NEW
+            ChunkPersistenceService chunkPersistence,
+            PlayerPersistenceService playerPersistence
     ) {
         this.worldGenerator = worldGenerator;
         this.worldObjectManager = worldObjectManager;
+        this.generationEngine = generationEngine;
         this.tileManager = tileManager;
         this.biomeLoader = biomeLoader;
         this.biomeService = biomeService;
@@ -83,6 +92,9 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         // this.playerDataRepository = playerDataRepository; // REMOVED
         this.objectTextureManager = objectTextureManager;
         this.jsonWorldDataService = jsonWorldDataService; // NEW
+        this.chunkPersistence = chunkPersistence;
+        this.playerPersistence = playerPersistence;
+        this.chunkGeometry = worldConfig.getChunkGeometry();
     }
 
     @Override
@@ -130,34 +142,28 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
             for (int dx = 0; dx < previewSize; dx++) {
                 int tileX = centerX + dx - previewSize / 2;
                 int tileY = centerY + dy - previewSize / 2;
-                int chunkX = tileX / 16;
-                int chunkY = tileY / 16;
-                int[][] tiles = getChunkTiles(chunkX, chunkY);
+                int[][] tiles = getChunkTiles(chunkGeometry.chunkOf(tileX), chunkGeometry.chunkOf(tileY));
                 if (tiles != null) {
-                    int localX = Math.floorMod(tileX, 16);
-                    int localY = Math.floorMod(tileY, 16);
-                    if (localX >= 0 && localX < 16 && localY >= 0 && localY < 16) {
-                        int tileType = tiles[localX][localY];
-                        TextureRegion region = tileManager.getRegionForTile(tileType);
-                        if (region != null) {
-                            float worldPixelX = dx * tileSize;
-                            float worldPixelY = dy * tileSize;
-                            batch.draw(region, worldPixelX, worldPixelY, tileSize, tileSize);
-                        }
+                    int tileType = tiles[chunkGeometry.localOf(tileX)][chunkGeometry.localOf(tileY)];
+                    TextureRegion region = tileManager.getRegionForTile(tileType);
+                    if (region != null) {
+                        float worldPixelX = dx * tileSize;
+                        float worldPixelY = dy * tileSize;
+                        batch.draw(region, worldPixelX, worldPixelY, tileSize, tileSize);
                     }
                 }
             }
         }
 
 
-        Set<String> processedChunks = new HashSet<>();
+        Set<Long> processedChunks = new HashSet<>();
         for (int dy = 0; dy < previewSize; dy++) {
             for (int dx = 0; dx < previewSize; dx++) {
                 int tileX = centerX + dx - previewSize / 2;
                 int tileY = centerY + dy - previewSize / 2;
-                int chunkX = tileX / 16;
-                int chunkY = tileY / 16;
-                String key = chunkX + "," + chunkY;
+                int chunkX = chunkGeometry.chunkOf(tileX);
+                int chunkY = chunkGeometry.chunkOf(tileY);
+                long key = ChunkKey.of(chunkX, chunkY);
                 if (!processedChunks.contains(key)) {
                     List<WorldObject> objs = worldObjectManager.getObjectsForChunk(chunkX, chunkY);
                     for (WorldObject obj : objs) {
@@ -200,6 +206,7 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         batch.dispose();
         fbo.dispose();
 
+        jsonWorldDataService.refreshWorldSummary(worldName);
         log.info("Generated world thumbnail for '{}'", worldName);
     }
 
@@ -209,59 +216,65 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
 
     @Override
     public void loadOrReplaceChunkData(int chunkX, int chunkY, int[][] tiles, List<WorldObject> objects) {
-        String key = chunkX + "," + chunkY;
         ChunkData cData = new ChunkData();cData.setChunkX(chunkX);
         cData.setChunkY(chunkY);
 
         cData.setTiles(tiles);
-        cData.setObjects(objects);
-        getWorldData().getChunks().put(key, cData);
+        cData.setObjects(objects != null ? new CopyOnWriteArrayList<>(objects) : new CopyOnWriteArrayList<>());
+        getWorldData().getChunks().put(cData);
+        worldObjectManager.loadObjectsForChunk(chunkX, chunkY, cData.getObjects());
 
-        // Save to JSON
-        try {
-            jsonWorldDataService.saveChunk(getWorldData().getWorldName(), cData);
-        } catch (IOException e) {
-            log.error("Failed to save chunk data for chunk {}: {}", key, e.getMessage());
-        }
+        chunkPersistence.markDirty(getWorldData().getWorldName(), cData);
     }
 
     @Override
     public void updateWorldObjectState(WorldObjectUpdate update) {
-        String key = (update.getTileX() / 16) + "," + (update.getTileY() / 16);
-        ChunkData chunk = getWorldData().getChunks().get(key);
-        if (chunk == null) return; // chunk not loaded
+        String worldName = getWorldData().getWorldName();
+        WorldObject existing = worldObjectManager.getObject(update.getObjectId());
+        ChunkData source = existing == null ? null : getWorldData().getChunks().get(
+                chunkGeometry.chunkOf(existing.getTileX()), chunkGeometry.chunkOf(existing.getTileY()));
 
-        List<WorldObject> objs = chunk.getObjects();
         if (update.isRemoved()) {
-            objs.removeIf(o -> o.getId().equals(update.getObjectId()));
+            if (source == null) return; // not loaded
+            synchronized (source) {
+                worldObjectManager.removeObject(update.getObjectId());
+            }
+            chunkPersistence.markDirty(worldName, source);
+            return;
+        }
+
+        ChunkData target = getWorldData().getChunks().get(
+                chunkGeometry.chunkOf(update.getTileX()), chunkGeometry.chunkOf(update.getTileY()));
+        if (target == null) return; // chunk not loaded
+
+        if (source == null) {
+            ObjectType objType = ObjectType.valueOf(update.getType());
+            WorldObject newObj = new WorldObject(
+                    update.getTileX(),
+                    update.getTileY(),
+                    objType,
+                    objType.isCollidable()
+            );
+            newObj.setId(update.getObjectId());
+            synchronized (target) {
+                worldObjectManager.addObject(newObj);
+            }
         } else {
-            boolean found = false;
-            for (WorldObject wo : objs) {
-                if (wo.getId().equals(update.getObjectId())) {
-                    wo.setTileX(update.getTileX());
-                    wo.setTileY(update.getTileY());
-                    found = true;
-                    break;
+            // a move into another chunk changes both; locked in key order so a save never sees half of it
+            ChunkData first = ChunkKey.of(source) <= ChunkKey.of(target) ? source : target;
+            ChunkData second = first == source ? target : source;
+            synchronized (first) {
+                synchronized (second) {
+                    worldObjectManager.moveObject(update.getObjectId(), update.getTileX(), update.getTileY());
                 }
             }
-            if (!found) {
-                ObjectType objType = ObjectType.valueOf(update.getType());
-                WorldObject newObj = new WorldObject(
-                        update.getTileX(),
-                        update.getTileY(),
-                        objType,
-                        objType.isCollidable()
-                );
-                objs.add(newObj);
+            if (source != target) {
+                chunkPersistence.markDirty(worldName, source);
             }
         }
 
-        // Save chunk
-        try {
-            jsonWorldDataService.saveChunk(getWorldData().getWorldName(), chunk);
-        } catch (IOException e) {
-            log.error("Failed to save chunk after updateWorldObjectState: {}", e.getMessage());
-        }
+        // Save chunk (asynchronously, on the chunk I/O thread)
+        chunkPersistence.markDirty(worldName, target);
     }
 
     @Override
@@ -285,6 +298,7 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         long seed = worldData.getSeed();
         worldGenerator.setSeedAndBiomes(seed, biomes);
         biomeService.initWithSeed(seed);
+        chunkPersistence.setBaseline(worldData.getWorldName(), baselineFor(seed));
 
         worldObjectManager.initialize();
         tileManager.initIfNeeded();
@@ -308,6 +322,7 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         long now = System.currentTimeMillis();
         worldData.setWorldName(worldName);
         worldData.setSeed(seed);
+        worldData.setChunkSize(chunkGeometry.size());
         worldData.setCreatedDate(now);
         worldData.setLastPlayed(now);
         worldData.setPlayedTime(0);
@@ -333,6 +348,9 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         try {
             worldData.setLastPlayed(System.currentTimeMillis());
             jsonWorldDataService.saveWorld(worldData);
+            // only chunks changed since the last save are written, off the render thread
+            chunkPersistence.requestFlush();
+            playerPersistence.requestCheckpoint();
             log.info("Saved world data for '{}'", worldData.getWorldName());
         } catch (IOException e) {
             log.error("Failed saving world '{}': {}", worldData.getWorldName(), e.getMessage());
@@ -350,10 +368,14 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         try {
             jsonWorldDataService.loadWorld(worldName, this.worldData);
             log.debug("World data read from disk: name={}, seed={}", worldData.getWorldName(), worldData.getSeed());
+            chunkGeometry.checkWorld(worldName, worldData.getChunkSize());
             initIfNeeded();
             log.info("Loaded world data for world: {}", worldName);
         } catch (IOException e) {
             log.warn("Failed to load world '{}': {}", worldName, e.getMessage());
+        } catch (IllegalStateException e) {
+            log.error("Cannot load world '{}': {}", worldName, e.getMessage());
+            worldData.setWorldName(null);
         }
     }
 
@@ -363,100 +385,151 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
     public void loadWorldData() {
         try {
             jsonWorldDataService.loadWorld(defaultWorldName, worldData);
+            chunkGeometry.checkWorld(defaultWorldName, worldData.getChunkSize());
             initIfNeeded();
             log.info("Loaded default world data for '{}' from JSON", defaultWorldName);
         } catch (IOException e) {
             log.warn("No default world '{}' found in JSON: {}", defaultWorldName, e.getMessage());
+        } catch (IllegalStateException e) {
+            log.error("Cannot load world '{}': {}", defaultWorldName, e.getMessage());
+            worldData.setWorldName(null);
         }
     }
 
     @Override
     public int[][] getChunkTiles(int chunkX, int chunkY) {
-        String key = chunkX + "," + chunkY;
-        ChunkData cData = getWorldData().getChunks().get(key);
+        ChunkData cData = getWorldData().getChunks().get(chunkX, chunkY);
         if (cData == null) {
             if (isMultiplayerMode) {
                 // Request from server if needed
                 multiplayerClient.requestChunk(chunkX, chunkY);
                 return null;
             } else {
-                loadOrGenerateChunk(chunkX, chunkY);
-                cData = getWorldData().getChunks().get(key);
+                cData = loadOrGenerateChunk(chunkX, chunkY);
             }
         }
         return (cData != null) ? cData.getTiles() : null;
     }
 
     @Override
-    public Map<String, ChunkData> getVisibleChunks(Rectangle viewBounds) {
-        Map<String, ChunkData> visibleChunks = new HashMap<>();
-        int startChunkX = (int) Math.floor(viewBounds.x / (CHUNK_SIZE * TILE_SIZE));
-        int startChunkY = (int) Math.floor(viewBounds.y / (CHUNK_SIZE * TILE_SIZE));
-        int endChunkX = (int) Math.ceil((viewBounds.x + viewBounds.width) / (CHUNK_SIZE * TILE_SIZE));
-        int endChunkY = (int) Math.ceil((viewBounds.y + viewBounds.height) / (CHUNK_SIZE * TILE_SIZE));
-
+    public ChunkMap<ChunkData> getVisibleChunks(Rectangle viewBounds) {
+        ChunkMap<ChunkData> visibleChunks = new ChunkMap<>();
+        float chunkPixels = chunkGeometry.pixelSize(TILE_SIZE);
+        int startChunkX = (int) Math.floor(viewBounds.x / chunkPixels);
+        int startChunkY = (int) Math.floor(viewBounds.y / chunkPixels);
+        int endChunkX = (int) Math.ceil((viewBounds.x + viewBounds.width) / chunkPixels);
+        int endChunkY = (int) Math.ceil((viewBounds.y + viewBounds.height) / chunkPixels);
+
+        long[] missing = new long[(endChunkX - startChunkX + 1) * (endChunkY - startChunkY + 1)];
+        int missingCount = 0;
         for (int x = startChunkX; x <= endChunkX; x++) {
             for (int y = startChunkY; y <= endChunkY; y++) {
-                String key = x + "," + y;
+                long key = ChunkKey.of(x, y);
                 ChunkData chunk = worldData.getChunks().get(key);
-                if (chunk == null) {
-                    // In client MP mode, request from server if not found
-                    if (isMultiplayerMode) {
-                        multiplayerClient.requestChunk(x, y);
-                        continue;
-                    } else {
-                        loadOrGenerateChunk(x, y);
-                        chunk = worldData.getChunks().get(key);
-                    }
-                }
                 if (chunk != null) {
                     visibleChunks.put(key, chunk);
+                } else if (isMultiplayerMode) {
+                    // In client MP mode, request from server if not found
+                    multiplayerClient.requestChunk(x, y);
+                } else {
+                    missing[missingCount++] = key;
                 }
             }
         }
+        if (missingCount > 0) {
+            visibleChunks.putAll(worldData.getChunks().getOrLoadAll(Arrays.copyOf(missing, missingCount),
+                    this::loadOrGenerateChunks));
+        }
         return visibleChunks;
     }
 
-    private void loadOrGenerateChunk(int chunkX, int chunkY) {
+    private ChunkData loadOrGenerateChunk(int chunkX, int chunkY) {
         if (isMultiplayerMode) {
-            return;
+            return null;
         }
-        // 1) Attempt load from JSON
-        try {
-            ChunkData loaded = jsonWorldDataService.loadChunk(worldData.getWorldName(), chunkX, chunkY);
-            if (loaded != null) {
-                worldObjectManager.loadObjectsForChunk(chunkX, chunkY, loaded.getObjects());
-                worldData.getChunks().put(chunkX + "," + chunkY, loaded);
-                return;
+        return worldData.getChunks().getOrLoad(ChunkKey.of(chunkX, chunkY), () -> {
+            ChunkData stored;
+            try {
+                stored = loadStoredChunk(chunkX, chunkY);
+            } catch (IOException e) {
+                return unreadable(chunkX, chunkY, e);
             }
-        } catch (IOException e) {
-            log.warn("Failed reading chunk from JSON: {}", e.getMessage());
+            if (stored != null) {
+                return stored;
+            }
+            // Generate. Not saved: an untouched chunk is regenerated identically next time
+            return addGeneratedChunk(generationEngine.generate(chunkX, chunkY, worldData.getSeed()));
+        });
+    }
+
+    // the loader for ChunkRegistry.getOrLoadAll: only called with chunks no other thread is loading
+    private ChunkMap<ChunkData> loadOrGenerateChunks(long[] keys) {
+        ChunkMap<ChunkData> loaded = new ChunkMap<>(keys.length);
+        List<Vector2> missing = new ArrayList<>();
+        for (long key : keys) {
+            ChunkData stored;
+            try {
+                stored = loadStoredChunk(ChunkKey.x(key), ChunkKey.y(key));
+            } catch (IOException e) {
+                unreadable(ChunkKey.x(key), ChunkKey.y(key), e);
+                continue;
+            }
+            if (stored != null) {
+                loaded.put(key, stored);
+            } else {
+                missing.add(new Vector2(ChunkKey.x(key), ChunkKey.y(key)));
+            }
+        }
+        // a new area is generated in parallel instead of one chunk after another
+        for (ChunkData chunk : generationEngine.generateAll(missing, worldData.getSeed()).values()) {
+            loaded.put(ChunkKey.of(chunk), addGeneratedChunk(chunk));
         }
+        return loaded;
+    }
 
-        // 2) Generate
-        int[][] tiles = worldGenerator.generateChunk(chunkX, chunkY);
-        ChunkData cData = new ChunkData();cData.setChunkX(chunkX);
-        cData.setChunkY(chunkY);
+    /**
+     * @return the stored chunk, or null if nothing is stored because it never changed
+     * @throws IOException if something is stored but cannot be used; the chunk must then stay
+     *                     unloaded, as a generated one would be saved over the stored edits
+     */
+    private ChunkData loadStoredChunk(int chunkX, int chunkY) throws IOException {
+        ChunkData loaded = chunkPersistence.loadChunk(worldData.getWorldName(), chunkX, chunkY);
+        if (loaded != null) {
+            worldObjectManager.loadObjectsForChunk(chunkX, chunkY, loaded.getObjects());
+            worldData.getChunks().put(loaded);
+        }
+        return loaded;
+    }
 
-        cData.setTiles(tiles);
-        Biome biome = worldGenerator.getBiomeForChunk(chunkX, chunkY);
-        List<WorldObject> objs = worldObjectManager.generateObjectsForChunk(
-                chunkX, chunkY, tiles, biome, getWorldData().getSeed());
-        cData.setObjects(objs);
-        worldData.getChunks().put(chunkX + "," + chunkY, cData);
+    // the persistence service has logged the first failure and quarantined the chunk
+    private ChunkData unreadable(int chunkX, int chunkY, IOException e) {
+        log.debug("Leaving chunk ({},{}) unloaded: {}", chunkX, chunkY, e.getMessage());
+        return null;
+    }
 
-        // 3) Save
-        try {
-            jsonWorldDataService.saveChunk(worldData.getWorldName(), cData);
-        } catch (IOException e) {
-            log.error("Failed to save chunk for newly generated chunk: {}", e.getMessage());
-        }
+    private ChunkData addGeneratedChunk(ChunkData cData) {
+        worldObjectManager.loadObjectsForChunk(cData.getChunkX(), cData.getChunkY(), cData.getObjects());
+        worldData.getChunks().put(cData);
+        return cData;
+    }
+
+    private JsonWorldDataService.ChunkBaseline baselineFor(long seed) {
+        return new JsonWorldDataService.ChunkBaseline() {
+            @Override
+            public ChunkData generate(int chunkX, int chunkY) {
+                return generationEngine.generate(chunkX, chunkY, seed);
+            }
+
+            @Override
+            public long seed() {
+                return seed;
+            }
+        };
     }
 
     @Override
     public boolean isChunkLoaded(Vector2 chunkPos) {
-        String key = String.format("%d,%d", (int) chunkPos.x, (int) chunkPos.y);
-        return worldData.getChunks().containsKey(key);
+        return worldData.getChunks().containsKey(ChunkKey.of((int) chunkPos.x, (int) chunkPos.y));
     }
 
     @Override
@@ -467,7 +540,7 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
     @Override
     public List<WorldObject> getVisibleObjects(Rectangle viewBounds) {
         List<WorldObject> visibleObjects = new ArrayList<>();
-        Map<String, ChunkData> visibleChunks = getVisibleChunks(viewBounds);
+        ChunkMap<ChunkData> visibleChunks = getVisibleChunks(viewBounds);
         for (ChunkData chunk : visibleChunks.values()) {
             if (chunk.getObjects() != null) {
                 for (WorldObject obj : chunk.getObjects()) {
@@ -498,11 +571,7 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         }
 
         getWorldData().getPlayers().put(playerData.getUsername(), playerData);
-        try {
-            jsonWorldDataService.savePlayerData(wName, playerData);
-        } catch (IOException e) {
-            log.error("Failed to save player data: {}", e.getMessage());
-        }
+        playerPersistence.markDirty(wName, playerData);
     }
 
 
@@ -512,10 +581,10 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         if (pd == null) {
             String wName = getWorldData().getWorldName();
             try {
-                pd = jsonWorldDataService.loadPlayerData(wName, username);
+                pd = playerPersistence.loadPlayerData(wName, username);
                 if (pd == null) {
                     pd = new PlayerData(username, 0, 0);
-                    jsonWorldDataService.savePlayerData(wName, pd);
+                    playerPersistence.markDirty(wName, pd);
                 }
                 getWorldData().getPlayers().put(username, pd);
             } catch (IOException e) {
@@ -525,12 +594,26 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         return pd;
     }
 
+    @Override
+    public void unloadPlayerData(String username) {
+        PlayerData pd = getWorldData().getPlayers().remove(username);
+        if (pd != null && !isMultiplayerMode) {
+            playerPersistence.markDirty(getWorldData().getWorldName(), pd);
+            playerPersistence.requestCheckpoint();
+        }
+    }
+
 
     @Override
     public List<String> getAvailableWorlds() {
         return jsonWorldDataService.listAllWorlds();
     }
 
+    @Override
+    public List<WorldSummary> getWorldSummaries() {
+        return jsonWorldDataService.listWorldSummaries();
+    }
+
     @Override
     public void deleteWorld(String worldName) {
         if (!jsonWorldDataService.worldExists(worldName)) {
@@ -553,9 +636,8 @@ public class ClientWorldServiceImpl extends BaseWorldServiceImpl implements Worl
 
     @Override
     public void regenerateChunk(int chunkX, int chunkY) {
-        String key = chunkX + "," + chunkY;
-        worldData.getChunks().remove(key);
-        jsonWorldDataService.deleteChunk(worldData.getWorldName(), chunkX, chunkY);
+        worldData.getChunks().remove(ChunkKey.of(chunkX, chunkY));
+        chunkPersistence.deleteChunk(worldData.getWorldName(), chunkX, chunkY);
         loadOrGenerateChunk(chunkX, chunkY);
     }
 }
\ No newline at end of file
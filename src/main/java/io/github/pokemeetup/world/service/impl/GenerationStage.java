@@ -0,0 +1,50 @@
+package io.github.pokemeetup.world.service.impl;
+
+/**
+ * Stages of chunk generation, in order. A chunk runs a stage once every requirement is met:
+ * the named earlier stage has finished for all chunks within {@code radius} of it. Stages only
+ * read earlier stages of neighbours, never the stage running next door, so the order in which
+ * chunks are scheduled never changes the result.
+ */
+enum GenerationStage {
+    // raw biome tiles
+    TERRAIN,
+    // tiles near a chunk edge sometimes take the terrain across it
+    BIOME_BLEND(TERRAIN, 1),
+    // objects placed on the blended tiles
+    DECORATION(BIOME_BLEND, 0),
+    // features anchored in one chunk that reach into the next, e.g. trails; reads neighbour biomes
+    STRUCTURES(DECORATION, 0, TERRAIN, 1);
+
+    static final GenerationStage LAST = STRUCTURES;
+
+    private final GenerationStage[] requiredStages;
+    private final int[] requiredRadii;
+
+    GenerationStage() {
+        this.requiredStages = new GenerationStage[0];
+        this.requiredRadii = new int[0];
+    }
+
+    GenerationStage(GenerationStage stage, int radius) {
+        this.requiredStages = new GenerationStage[]{stage};
+        this.requiredRadii = new int[]{radius};
+    }
+
+    GenerationStage(GenerationStage stage, int radius, GenerationStage other, int otherRadius) {
+        this.requiredStages = new GenerationStage[]{stage, other};
+        this.requiredRadii = new int[]{radius, otherRadius};
+    }
+
+    int requirementCount() {
+        return requiredStages.length;
+    }
+
+    GenerationStage requiredStage(int index) {
+        return requiredStages[index];
+    }
+
+    int requiredRadius(int index) {
+        return requiredRadii[index];
+    }
+}
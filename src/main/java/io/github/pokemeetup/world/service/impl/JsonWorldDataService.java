@@ -1,20 +1,44 @@
 package io.github.pokemeetup.world.service.impl;
 
 import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
 import io.github.pokemeetup.player.model.PlayerData;
+import io.github.pokemeetup.world.config.ChunkGeometry;
 import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.ChunkKey;
 import io.github.pokemeetup.world.model.WorldData;
+import io.github.pokemeetup.world.model.WorldMetadata;
+import io.github.pokemeetup.world.model.WorldObject;
+import io.github.pokemeetup.world.model.WorldSummary;
+import io.github.pokemeetup.world.service.WorldGenerator;
+import io.github.pokemeetup.world.storage.AtomicFiles;
+import io.github.pokemeetup.world.storage.ChunkStore;
+import io.github.pokemeetup.world.storage.PlayerStore;
+import io.github.pokemeetup.world.storage.TileCodec;
+import io.github.pokemeetup.world.storage.WorldHeaderReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.Reader;
-import java.io.Writer;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * Now it references "saveDir" (by default "assets/save/worlds"),
@@ -28,49 +52,91 @@ public class JsonWorldDataService {
     private final String baseWorldsDir;
 
     private final Json json;
-    private Path playerDataFolderPath(String worldName) {
-        // e.g. "assets/save/worlds/myWorld/playerdata"
-        return worldFolderPath(worldName).resolve("playerdata");
+    // libGDX Json caches reflection data in non thread-safe maps, so chunk and player I/O get one per thread
+    private final ThreadLocal<Json> chunkJson = ThreadLocal.withInitial(() -> {
+        Json j = new Json();
+        j.setIgnoreUnknownFields(true);
+        return j;
+    });
+
+    private static final int WORLD_FORMAT_VERSION = 2;
+
+    private static final byte FORMAT_JSON_DEFLATE = 1;
+    // TileCodec-encoded tiles followed by the deflated JSON of everything else
+    private static final byte FORMAT_TILES_JSON_DEFLATE = 2;
+    // only what differs from the procedurally generated chunk, see encodeDelta
+    private static final byte FORMAT_DELTA = 3;
+    private static final byte DELTA_TILES_NONE = 0;
+    private static final byte DELTA_TILES_SPARSE = 1;
+    private static final byte DELTA_TILES_FULL = 2;
+    // region files or H2 tables, see WorldStorageConfiguration
+    private final ChunkStore chunkStore;
+    private final PlayerStore playerStore;
+    // worlds known to still have per-chunk JSON files from before region storage
+    private final Map<String, Boolean> legacyChunkDirs = new ConcurrentHashMap<>();
+
+    // "<saveDir>/worlds-index.json": one WorldSummary per world, rewritten whenever a world is saved
+    private static final String INDEX_FILE = "worlds-index.json";
+    // size of a world saved since its folder was last walked
+    private static final long UNKNOWN_SIZE = -1;
+    private static final Set<String> HEADER_KEYS = Set.of("seed", "createdDate", "lastPlayed", "playedTime");
+    private final Object indexLock = new Object();
+    private Map<String, WorldSummary> worldIndex;
+    private FileTime indexModified;
+
+    /**
+     * Regenerates the untouched version of a chunk. Chunks are stored relative to it, so it must
+     * return the same tiles and objects (including ids) on every call for the same world.
+     */
+    public interface ChunkBaseline {
+        /**
+         * The tiles are only read, so they may be shared, e.g. with a generation cache. The object
+         * list and its objects become part of the loaded chunk and must be new on every call.
+         */
+        ChunkData generate(int chunkX, int chunkY);
+
+        long seed();
+
+        default int generatorVersion() {
+            return WorldGenerator.GENERATOR_VERSION;
+        }
     }
 
     public void savePlayerData(String worldName, PlayerData playerData) throws IOException {
-        Path folder = playerDataFolderPath(worldName);
-        if (!Files.exists(folder)) {
-            Files.createDirectories(folder);
-        }
-        Path file = folder.resolve(playerData.getUsername() + ".json");
+        logger.debug("Saving player data of '{}' in '{}'", playerData.getUsername(), worldName);
+        playerStore.writeAll(List.of(encodePlayer(worldName, playerData)));
+    }
 
-        // Log for debugging
-        logger.info("Saving player data to {}", file.toAbsolutePath());
+    /**
+     * Writes several players in one batch.
+     */
+    public void savePlayers(List<PlayerStore.StoredPlayer> players) throws IOException {
+        playerStore.writeAll(players);
+    }
 
-        try (Writer w = Files.newBufferedWriter(file)) {
-            json.toJson(playerData, w);
-        }
+    public PlayerStore.StoredPlayer encodePlayer(String worldName, PlayerData playerData) {
+        return new PlayerStore.StoredPlayer(worldName, playerData.getUsername(),
+                chunkJson.get().toJson(playerData).getBytes(StandardCharsets.UTF_8));
     }
 
     public PlayerData loadPlayerData(String worldName, String username) throws IOException {
-        Path folder = playerDataFolderPath(worldName);
-        if (!Files.exists(folder)) {
-            return null; // no folder at all
-        }
-        Path file = folder.resolve(username + ".json");
-        if (!Files.exists(file)) {
+        byte[] data = playerStore.read(worldName, username);
+        if (data == null) {
             return null;
         }
-
-        // Log for debugging
-        logger.info("Loading player data from {}", file.toAbsolutePath());
-
-        try (Reader r = Files.newBufferedReader(file)) {
-            return json.fromJson(PlayerData.class, r);
-        }
+        logger.debug("Loading player data of '{}' in '{}'", username, worldName);
+        return chunkJson.get().fromJson(PlayerData.class, new String(data, StandardCharsets.UTF_8));
     }
 
 
     public JsonWorldDataService(
-            @Value("${world.saveDir:assets/save/worlds/}") String baseWorldsDir
+            @Value("${world.saveDir:assets/save/worlds/}") String baseWorldsDir,
+            ChunkStore chunkStore,
+            PlayerStore playerStore
     ) {
         this.baseWorldsDir = baseWorldsDir; // e.g. "assets/save/worlds"
+        this.chunkStore = chunkStore;
+        this.playerStore = playerStore;
         this.json = new Json();
         this.json.setIgnoreUnknownFields(true);
     }
@@ -98,20 +164,30 @@ public class JsonWorldDataService {
             throw new NoSuchFileException("World file not found: " + worldFile);
         }
 
+        JsonValue root;
         try (Reader reader = Files.newBufferedReader(worldFile)) {
-            WorldData loaded = json.fromJson(WorldData.class, reader);
-            worldData.setWorldName(loaded.getWorldName());
-            worldData.setSeed(loaded.getSeed());
-            worldData.setCreatedDate(loaded.getCreatedDate());
-            worldData.setLastPlayed(loaded.getLastPlayed());
-            worldData.setPlayedTime(loaded.getPlayedTime());
-            worldData.getPlayers().clear();
-            worldData.getPlayers().putAll(loaded.getPlayers());
-            worldData.getChunks().clear();
-            worldData.getChunks().putAll(loaded.getChunks());
+            root = new JsonReader().parse(reader);
+        }
+        WorldMetadata meta = json.readValue(WorldMetadata.class, root);
+        worldData.setWorldName(meta.getWorldName() != null ? meta.getWorldName() : worldName);
+        worldData.setSeed(meta.getSeed());
+        worldData.setChunkSize(meta.getChunkSize() > 0 ? meta.getChunkSize() : ChunkGeometry.DEFAULT_SIZE);
+        worldData.setCreatedDate(meta.getCreatedDate());
+        worldData.setLastPlayed(meta.getLastPlayed());
+        worldData.setPlayedTime(meta.getPlayedTime());
+        // chunks and players are loaded on demand from region/ and playerdata/
+        worldData.getPlayers().clear();
+        worldData.getChunks().clear();
+
+        if (meta.getFormatVersion() < WORLD_FORMAT_VERSION) {
+            migrateEmbeddedWorldData(worldName, root);
+            saveWorld(worldData);
         }
     }
 
+    /**
+     * Writes only the world's metadata; its cost does not depend on how many chunks or players it has.
+     */
     public void saveWorld(WorldData worldData) throws IOException {
         if (worldData.getWorldName() == null || worldData.getWorldName().isEmpty()) {
             throw new IllegalStateException("Cannot save a world with no name");
@@ -121,44 +197,446 @@ public class JsonWorldDataService {
             Files.createDirectories(folder);
         }
 
-        Path worldFile = worldFilePath(worldData.getWorldName());
-        try (Writer writer = Files.newBufferedWriter(worldFile)) {
-            json.toJson(worldData, writer);
+        WorldMetadata meta = new WorldMetadata();
+        meta.setFormatVersion(WORLD_FORMAT_VERSION);
+        meta.setWorldName(worldData.getWorldName());
+        meta.setSeed(worldData.getSeed());
+        meta.setChunkSize(worldData.getChunkSize() > 0 ? worldData.getChunkSize() : ChunkGeometry.DEFAULT_SIZE);
+        meta.setCreatedDate(worldData.getCreatedDate());
+        meta.setLastPlayed(worldData.getLastPlayed());
+        meta.setPlayedTime(worldData.getPlayedTime());
+
+        AtomicFiles.write(worldFilePath(worldData.getWorldName()), json.toJson(meta).getBytes(StandardCharsets.UTF_8));
+
+        WorldSummary summary = new WorldSummary();
+        summary.setWorldName(meta.getWorldName());
+        summary.setSeed(meta.getSeed());
+        summary.setCreatedDate(meta.getCreatedDate());
+        summary.setLastPlayed(meta.getLastPlayed());
+        summary.setPlayedTime(meta.getPlayedTime());
+        // saves happen on every pause and autosave; the folder is sized when the world list asks
+        summary.setSizeBytes(UNKNOWN_SIZE);
+        fillThumbnailTimestamp(summary);
+        synchronized (indexLock) {
+            loadIndexIfChanged();
+            worldIndex.put(summary.getWorldName(), summary);
+            writeIndex();
+        }
+    }
+
+    /**
+     * Moves chunks and players embedded in an old-style world file into their own storage.
+     * Copies that already exist there were written later, so they win.
+     */
+    private void migrateEmbeddedWorldData(String worldName, JsonValue root) throws IOException {
+        int chunks = 0;
+        int players = 0;
+        JsonValue chunkMap = root.get("chunks");
+        if (chunkMap != null) {
+            for (JsonValue c = chunkMap.child; c != null; c = c.next) {
+                if ("class".equals(c.name)) {
+                    continue;
+                }
+                ChunkData chunk = chunkJson.get().readValue(ChunkData.class, c);
+                if (chunk != null && (!c.has("chunkX") || !c.has("chunkY"))) {
+                    // the map key was the only record of where some old chunks were
+                    long key = ChunkKey.parse(c.name);
+                    chunk.setChunkX(ChunkKey.x(key));
+                    chunk.setChunkY(ChunkKey.y(key));
+                }
+                if (chunk != null && loadChunk(worldName, chunk.getChunkX(), chunk.getChunkY()) == null) {
+                    saveChunk(worldName, chunk);
+                    chunks++;
+                }
+            }
+        }
+        JsonValue playerMap = root.get("players");
+        if (playerMap != null) {
+            for (JsonValue p = playerMap.child; p != null; p = p.next) {
+                if ("class".equals(p.name)) {
+                    continue;
+                }
+                PlayerData pd = json.readValue(PlayerData.class, p);
+                if (pd != null && pd.getUsername() != null && loadPlayerData(worldName, pd.getUsername()) == null) {
+                    savePlayerData(worldName, pd);
+                    players++;
+                }
+            }
         }
+        logger.info("Migrated world '{}' to metadata-only world file ({} chunks, {} players moved out)",
+                worldName, chunks, players);
     }
 
     // -------------------------------------------------
-    // Chunk storage: "assets/save/worlds/<worldName>/chunks/x,y.json"
+    // Chunk storage: encoded payloads go to the ChunkStore (by default region files,
+    // "assets/save/worlds/<worldName>/region/r.<rx>.<ry>.pmr"). Old "chunks/x,y.json"
+    // files are still read and are removed once the chunk has been written to the store.
     // -------------------------------------------------
 
     public ChunkData loadChunk(String worldName, int chunkX, int chunkY) throws IOException {
-        Path p = chunkFilePath(worldName, chunkX, chunkY);
+        return loadChunk(worldName, chunkX, chunkY, null);
+    }
+
+    /**
+     * Loads a stored chunk, applying a stored delta to the chunk regenerated by {@code baseline}.
+     * Returns null for chunks that were never changed; the caller generates those. A delta saved
+     * by another generator version or seed is refused with an IOException and left in the store.
+     */
+    public ChunkData loadChunk(String worldName, int chunkX, int chunkY, ChunkBaseline baseline) throws IOException {
+        ChunkStore.Entry entry = chunkStore.read(worldName, chunkX, chunkY);
+        if (entry != null) {
+            if (entry.format() == FORMAT_DELTA) {
+                if (baseline == null) {
+                    throw new IOException("Chunk (" + chunkX + "," + chunkY + ") of '" + worldName
+                            + "' is stored as a delta, but the world has no baseline");
+                }
+                return decodeDelta(entry.data(), chunkX, chunkY, baseline);
+            }
+            return decodeChunk(entry);
+        }
+        if (!hasLegacyChunks(worldName)) {
+            return null;
+        }
+        Path p = legacyChunkFilePath(worldName, chunkX, chunkY);
         if (!Files.exists(p)) {
             return null;
         }
+        ChunkData chunk;
         try (Reader r = Files.newBufferedReader(p)) {
-            return json.fromJson(ChunkData.class, r);
+            chunk = chunkJson.get().fromJson(ChunkData.class, r);
         }
+        if (chunk != null) {
+            // chunks are kept in memory by their coordinates; the file name is where this one belongs
+            chunk.setChunkX(chunkX);
+            chunk.setChunkY(chunkY);
+        }
+        return chunk;
+    }
+
+    /**
+     * Whether anything is stored for the chunk, in any format.
+     */
+    public boolean hasStoredChunk(String worldName, int chunkX, int chunkY) throws IOException {
+        if (chunkStore.read(worldName, chunkX, chunkY) != null) {
+            return true;
+        }
+        return hasLegacyChunks(worldName) && Files.exists(legacyChunkFilePath(worldName, chunkX, chunkY));
     }
 
     public void saveChunk(String worldName, ChunkData chunkData) throws IOException {
-        synchronized (this) {
-            Path p = chunkFilePath(worldName, chunkData.getChunkX(), chunkData.getChunkY());
-            if (!Files.exists(p.getParent())) {
-                Files.createDirectories(p.getParent());
+        saveChunk(worldName, chunkData, null);
+    }
+
+    /**
+     * Stores a chunk as its difference from {@code baseline}, or in full if there is no baseline
+     * or the chunk shares little with it. A chunk identical to its baseline is not stored at all.
+     */
+    public void saveChunk(String worldName, ChunkData chunkData, ChunkBaseline baseline) throws IOException {
+        saveChunks(List.of(encodeChunk(worldName, chunkData, baseline)));
+    }
+
+    /**
+     * Encodes a chunk for {@link #saveChunks}. The caller must keep the chunk from changing meanwhile.
+     * A chunk equal to its baseline becomes a removal.
+     */
+    public ChunkStore.StoredChunk encodeChunk(String worldName, ChunkData chunkData, ChunkBaseline baseline) throws IOException {
+        byte[] delta = baseline != null
+                ? encodeDelta(chunkData, baseline.generate(chunkData.getChunkX(), chunkData.getChunkY()),
+                        baseline.generatorVersion(), baseline.seed())
+                : null;
+        if (delta != null && delta.length == 0) {
+            return new ChunkStore.StoredChunk(worldName, chunkData.getChunkX(), chunkData.getChunkY(), FORMAT_DELTA, null);
+        } else if (delta != null) {
+            return new ChunkStore.StoredChunk(worldName, chunkData.getChunkX(), chunkData.getChunkY(), FORMAT_DELTA, delta);
+        }
+        return new ChunkStore.StoredChunk(worldName, chunkData.getChunkX(), chunkData.getChunkY(),
+                FORMAT_TILES_JSON_DEFLATE, encodeChunk(chunkData));
+    }
+
+    /**
+     * Writes encoded chunks to the store in one batch.
+     */
+    public void saveChunks(List<ChunkStore.StoredChunk> chunks) throws IOException {
+        chunkStore.writeAll(chunks);
+        for (ChunkStore.StoredChunk c : chunks) {
+            if (hasLegacyChunks(c.worldName())) {
+                Files.deleteIfExists(legacyChunkFilePath(c.worldName(), c.chunkX(), c.chunkY()));
+            }
+        }
+    }
+
+    /**
+     * Makes all chunk writes so far durable.
+     */
+    public void syncChunks() throws IOException {
+        chunkStore.sync();
+    }
+
+    private byte[] encodeChunk(ChunkData chunkData) throws IOException {
+        byte[] tiles = chunkData.getTilesBlob();
+        ChunkData rest = new ChunkData();
+        rest.setChunkX(chunkData.getChunkX());
+        rest.setChunkY(chunkData.getChunkY());
+        rest.setObjects(chunkData.getObjects());
+        byte[] restJson = deflate(chunkJson.get().toJson(rest).getBytes(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 + (tiles != null ? tiles.length : 0) + restJson.length);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(tiles != null ? tiles.length : -1);
+        if (tiles != null) {
+            out.write(tiles);
+        }
+        out.write(restJson);
+        return bytes.toByteArray();
+    }
+
+    private ChunkData decodeChunk(ChunkStore.Entry entry) throws IOException {
+        switch (entry.format()) {
+            case FORMAT_JSON_DEFLATE: {
+                String content = new String(inflate(entry.data()), StandardCharsets.UTF_8);
+                return chunkJson.get().fromJson(ChunkData.class, content);
+            }
+            case FORMAT_TILES_JSON_DEFLATE: {
+                ByteBuffer in = ByteBuffer.wrap(entry.data());
+                int tilesLength = in.getInt();
+                if (tilesLength > in.remaining()) {
+                    throw new IOException("Truncated chunk payload");
+                }
+                byte[] tiles = null;
+                if (tilesLength >= 0) {
+                    tiles = new byte[tilesLength];
+                    in.get(tiles);
+                }
+                byte[] restJson = new byte[in.remaining()];
+                in.get(restJson);
+                ChunkData chunk = chunkJson.get().fromJson(ChunkData.class,
+                        new String(inflate(restJson), StandardCharsets.UTF_8));
+                chunk.setTilesBlob(tiles);
+                return chunk;
+            }
+            default:
+                throw new IOException("Unknown chunk format " + entry.format());
+        }
+    }
+
+    /**
+     * Delta payload: {@code int generatorVersion, long seed}, the changed tiles (none, a sparse
+     * list of {@code short index, int tile}, or a TileCodec blob when many changed), the ids of
+     * removed baseline objects, then the deflated JSON of every added or changed object.
+     *
+     * @return an empty array if the chunk equals its baseline, null if a full copy is the better choice
+     */
+    private byte[] encodeDelta(ChunkData chunk, ChunkData baseline, int generatorVersion, long seed) throws IOException {
+        Map<String, WorldObject> baseObjects = new LinkedHashMap<>();
+        if (baseline.getObjects() != null) {
+            for (WorldObject o : baseline.getObjects()) {
+                baseObjects.put(o.getId(), o);
+            }
+        }
+        List<WorldObject> changed = new ArrayList<>();
+        Set<String> kept = new HashSet<>();
+        if (chunk.getObjects() != null) {
+            for (WorldObject o : chunk.getObjects()) {
+                WorldObject base = baseObjects.get(o.getId());
+                if (base != null && sameObject(base, o)) {
+                    kept.add(o.getId());
+                } else {
+                    changed.add(o);
+                    if (base != null) {
+                        kept.add(o.getId());
+                    }
+                }
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (String id : baseObjects.keySet()) {
+            if (!kept.contains(id)) {
+                removed.add(id);
+            }
+        }
+        // e.g. chunks saved before object ids were deterministic: nothing matches, so a delta only adds overhead
+        if (!baseObjects.isEmpty() && removed.size() * 2 > baseObjects.size()) {
+            return null;
+        }
+
+        int[][] tiles = chunk.getTiles();
+        int[][] baseTiles = baseline.getTiles();
+        boolean sameShape = tiles != null && baseTiles != null && tiles.length == baseTiles.length
+                && (tiles.length == 0 || tiles[0].length == baseTiles[0].length);
+        int height = sameShape && tiles.length > 0 ? tiles[0].length : 0;
+        List<Integer> changedTiles = new ArrayList<>();
+        if (sameShape) {
+            for (int x = 0; x < tiles.length; x++) {
+                for (int y = 0; y < height; y++) {
+                    if (tiles[x][y] != baseTiles[x][y]) {
+                        changedTiles.add(x * height + y);
+                    }
+                }
+            }
+        }
+        if (sameShape && changedTiles.isEmpty() && removed.isEmpty() && changed.isEmpty()) {
+            return new byte[0];
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(generatorVersion);
+        out.writeLong(seed);
+        if (sameShape && changedTiles.isEmpty()) {
+            out.writeByte(DELTA_TILES_NONE);
+        } else if (sameShape && changedTiles.size() * 4 <= tiles.length * height && tiles.length * height <= 0xFFFF) {
+            out.writeByte(DELTA_TILES_SPARSE);
+            out.writeShort(changedTiles.size());
+            for (int index : changedTiles) {
+                out.writeShort(index);
+                out.writeInt(tiles[index / height][index % height]);
+            }
+        } else {
+            byte[] blob = TileCodec.encode(tiles);
+            out.writeByte(DELTA_TILES_FULL);
+            out.writeInt(blob != null ? blob.length : -1);
+            if (blob != null) {
+                out.write(blob);
+            }
+        }
+        out.writeInt(removed.size());
+        for (String id : removed) {
+            out.writeUTF(id);
+        }
+        ChunkData rest = new ChunkData();
+        rest.setChunkX(chunk.getChunkX());
+        rest.setChunkY(chunk.getChunkY());
+        rest.setObjects(changed);
+        out.write(deflate(chunkJson.get().toJson(rest).getBytes(StandardCharsets.UTF_8)));
+        return bytes.toByteArray();
+    }
+
+    private ChunkData decodeDelta(byte[] data, int chunkX, int chunkY, ChunkBaseline generator) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        int generatorVersion = in.readInt();
+        long storedSeed = in.readLong();
+        if (generatorVersion != generator.generatorVersion() || storedSeed != generator.seed()) {
+            // tile indices and object slot ids only mean something on the baseline they were diffed against
+            throw new IOException("Chunk (" + chunkX + "," + chunkY
+                    + ") was stored against generator v" + generatorVersion + " seed " + storedSeed
+                    + " and cannot be applied to generator v" + generator.generatorVersion() + " seed " + generator.seed());
+        }
+        ChunkData baseline = generator.generate(chunkX, chunkY);
+
+        byte tileMode = in.readByte();
+        // the loaded chunk gets its own tiles: the baseline's may be shared, and players edit these
+        int[][] tiles = tileMode == DELTA_TILES_FULL ? null : copyOf(baseline.getTiles());
+        if (tileMode == DELTA_TILES_SPARSE) {
+            int height = tiles[0].length;
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                int index = in.readUnsignedShort();
+                tiles[index / height][index % height] = in.readInt();
+            }
+        } else if (tileMode == DELTA_TILES_FULL) {
+            int length = in.readInt();
+            byte[] blob = null;
+            if (length >= 0) {
+                blob = new byte[length];
+                in.readFully(blob);
+            }
+            tiles = TileCodec.decode(blob);
+        } else if (tileMode != DELTA_TILES_NONE) {
+            throw new IOException("Unknown tile delta mode " + tileMode);
+        }
+
+        Set<String> removed = new HashSet<>();
+        int removedCount = in.readInt();
+        for (int i = 0; i < removedCount; i++) {
+            removed.add(in.readUTF());
+        }
+        ChunkData rest = chunkJson.get().fromJson(ChunkData.class,
+                new String(inflate(in.readAllBytes()), StandardCharsets.UTF_8));
+        Map<String, WorldObject> changed = new LinkedHashMap<>();
+        if (rest.getObjects() != null) {
+            for (WorldObject o : rest.getObjects()) {
+                changed.put(o.getId(), o);
+            }
+        }
+
+        List<WorldObject> objects = new CopyOnWriteArrayList<>();
+        if (baseline.getObjects() != null) {
+            for (WorldObject o : baseline.getObjects()) {
+                if (removed.contains(o.getId())) {
+                    continue;
+                }
+                WorldObject replacement = changed.remove(o.getId());
+                objects.add(replacement != null ? replacement : o);
+            }
+        }
+        objects.addAll(changed.values());
+
+        ChunkData chunk = new ChunkData();
+        chunk.setChunkX(baseline.getChunkX());
+        chunk.setChunkY(baseline.getChunkY());
+        chunk.setTiles(tiles);
+        chunk.setObjects(objects);
+        return chunk;
+    }
+
+    private static int[][] copyOf(int[][] tiles) {
+        int[][] copy = new int[tiles.length][];
+        for (int x = 0; x < tiles.length; x++) {
+            copy[x] = tiles[x].clone();
+        }
+        return copy;
+    }
+
+    // fields that generation determines; spawn and fade timers are not worth a delta entry
+    private static boolean sameObject(WorldObject a, WorldObject b) {
+        return a.getTileX() == b.getTileX() && a.getTileY() == b.getTileY()
+                && a.getType() == b.getType() && a.isCollidable() == b.isCollidable();
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            byte[] buf = new byte[4096];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buf);
+                out.write(buf, 0, n);
             }
-            // brand-new 'json' per call:
-            Json localJson = new Json();
-            localJson.setIgnoreUnknownFields(true);
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
 
-            try (Writer writer = Files.newBufferedWriter(p)) {
-                localJson.toJson(chunkData, writer);
+    private static byte[] inflate(byte[] data) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buf = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buf);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated chunk payload");
+                }
+                out.write(buf, 0, n);
             }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt chunk payload", e);
+        } finally {
+            inflater.end();
         }
     }
 
+    private boolean hasLegacyChunks(String worldName) {
+        return legacyChunkDirs.computeIfAbsent(worldName,
+                w -> Files.isDirectory(worldFolderPath(w).resolve("chunks")));
+    }
 
-    private Path chunkFilePath(String worldName, int chunkX, int chunkY) {
+    private Path legacyChunkFilePath(String worldName, int chunkX, int chunkY) {
         // e.g. "assets/save/worlds/<worldName>/chunks/<chunkX>,<chunkY>.json"
         return worldFolderPath(worldName)
                 .resolve("chunks")
@@ -168,25 +646,189 @@ public class JsonWorldDataService {
 
     public List<String> listAllWorlds() {
         List<String> result = new ArrayList<>();
+        for (WorldSummary summary : listWorldSummaries()) {
+            result.add(summary.getWorldName());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a summary of every world, sorted by name, from the world index. Only worlds that
+     * are missing from the index have their world file read, and then only its top-level fields.
+     * Folders of worlds saved since the last listing are sized again.
+     */
+    public List<WorldSummary> listWorldSummaries() {
         Path root = Paths.get(baseWorldsDir);  // e.g. "assets/save/worlds"
         if (!Files.exists(root)) {
+            return new ArrayList<>();
+        }
+        List<WorldSummary> unsized = new ArrayList<>();
+        synchronized (indexLock) {
+            loadIndexIfChanged();
+            for (WorldSummary summary : worldIndex.values()) {
+                if (summary.getSizeBytes() == UNKNOWN_SIZE) {
+                    unsized.add(summary);
+                }
+            }
+        }
+        // walked outside the lock, so a save in the meantime does not wait on it
+        Map<WorldSummary, Long> sizes = new HashMap<>();
+        for (WorldSummary summary : unsized) {
+            sizes.put(summary, folderSize(summary.getWorldName()));
+        }
+        synchronized (indexLock) {
+            loadIndexIfChanged();
+            Set<String> folders = new HashSet<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(root)) {
+                for (Path path : entries) {
+                    String name = path.getFileName().toString();
+                    if (!name.startsWith(INDEX_FILE)) {
+                        folders.add(name);
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Could not list worlds: {}", e.getMessage());
+                return new ArrayList<>();
+            }
+
+            boolean changed = worldIndex.keySet().retainAll(folders);
+            for (Map.Entry<WorldSummary, Long> size : sizes.entrySet()) {
+                // unless the world was saved again while it was being sized
+                if (worldIndex.get(size.getKey().getWorldName()) == size.getKey()) {
+                    size.getKey().setSizeBytes(size.getValue());
+                    changed = true;
+                }
+            }
+            for (String name : folders) {
+                if (!worldIndex.containsKey(name) && Files.exists(worldFilePath(name))) {
+                    WorldSummary summary = readSummary(name);
+                    if (summary != null) {
+                        worldIndex.put(name, summary);
+                        changed = true;
+                    }
+                }
+            }
+            if (changed) {
+                writeIndex();
+            }
+
+            List<WorldSummary> result = new ArrayList<>(worldIndex.values());
+            result.sort(Comparator.comparing(WorldSummary::getWorldName, String.CASE_INSENSITIVE_ORDER));
             return result;
         }
+    }
+
+    /**
+     * Re-reads a world's summary from disk, e.g. after its thumbnail was regenerated.
+     */
+    public void refreshWorldSummary(String worldName) {
+        WorldSummary summary = readSummary(worldName);
+        if (summary == null) {
+            return;
+        }
+        synchronized (indexLock) {
+            loadIndexIfChanged();
+            worldIndex.put(worldName, summary);
+            writeIndex();
+        }
+    }
+
+    // Streams the world file's top-level fields; embedded chunks of old world files are skipped, not parsed
+    private WorldSummary readSummary(String worldName) {
+        Map<String, String> header;
+        try (Reader r = Files.newBufferedReader(worldFilePath(worldName))) {
+            header = WorldHeaderReader.read(r, HEADER_KEYS);
+        } catch (IOException e) {
+            logger.warn("Could not read header of world '{}': {}", worldName, e.getMessage());
+            return null;
+        }
+        WorldSummary summary = new WorldSummary();
+        // the folder name is what the world is loaded by
+        summary.setWorldName(worldName);
+        summary.setSeed(parseLong(header.get("seed")));
+        summary.setCreatedDate(parseLong(header.get("createdDate")));
+        summary.setLastPlayed(parseLong(header.get("lastPlayed")));
+        summary.setPlayedTime(parseLong(header.get("playedTime")));
+        summary.setSizeBytes(folderSize(worldName));
+        fillThumbnailTimestamp(summary);
+        return summary;
+    }
+
+    private long folderSize(String worldName) {
+        try (var files = Files.walk(worldFolderPath(worldName))) {
+            return files.filter(Files::isRegularFile).mapToLong(f -> {
+                try {
+                    return Files.size(f);
+                } catch (IOException e) {
+                    return 0; // removed while walking
+                }
+            }).sum();
+        } catch (IOException | UncheckedIOException e) {
+            logger.debug("Could not size world '{}': {}", worldName, e.getMessage());
+            return 0;
+        }
+    }
+
+    private void fillThumbnailTimestamp(WorldSummary summary) {
+        Path icon = worldFolderPath(summary.getWorldName()).resolve("icon.png");
         try {
-            Files.list(root)
-                    .filter(Files::isDirectory)
-                    .forEach(path -> {
-                        // We check if <worldName>/<worldName>.json exists
-                        String folderName = path.getFileName().toString();
-                        Path worldJson = path.resolve(folderName + ".json");
-                        if (Files.exists(worldJson)) {
-                            result.add(folderName);
-                        }
-                    });
+            summary.setThumbnailTimestamp(Files.exists(icon) ? Files.getLastModifiedTime(icon).toMillis() : 0);
         } catch (IOException e) {
-            logger.warn("Could not list worlds: {}", e.getMessage());
+            summary.setThumbnailTimestamp(0);
+        }
+    }
+
+    private static long parseLong(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Must hold indexLock. Picks up an index written by another process since we last read it.
+    private void loadIndexIfChanged() {
+        Path file = Paths.get(baseWorldsDir, INDEX_FILE);
+        FileTime modified = null;
+        try {
+            modified = Files.exists(file) ? Files.getLastModifiedTime(file) : null;
+        } catch (IOException ignored) {
+        }
+        if (worldIndex != null && Objects.equals(modified, indexModified)) {
+            return;
+        }
+        worldIndex = new HashMap<>();
+        indexModified = modified;
+        if (modified == null) {
+            return;
+        }
+        try (Reader r = Files.newBufferedReader(file)) {
+            @SuppressWarnings("unchecked")
+            List<WorldSummary> entries = chunkJson.get().fromJson(ArrayList.class, WorldSummary.class, r);
+            if (entries != null) {
+                for (WorldSummary summary : entries) {
+                    worldIndex.put(summary.getWorldName(), summary);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // it is only a cache of the world files; the next listing rebuilds it
+            logger.warn("Ignoring unreadable world index {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Must hold indexLock
+    private void writeIndex() {
+        Path file = Paths.get(baseWorldsDir, INDEX_FILE);
+        try {
+            String content = chunkJson.get().toJson(new ArrayList<>(worldIndex.values()), ArrayList.class, WorldSummary.class);
+            AtomicFiles.write(file, content.getBytes(StandardCharsets.UTF_8));
+            indexModified = Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            logger.warn("Could not write world index {}: {}", file, e.getMessage());
         }
-        return result;
     }
 
     /**
@@ -194,6 +836,19 @@ public class JsonWorldDataService {
      */
     public void deleteWorld(String worldName) {
         Path folder = worldFolderPath(worldName);
+        try {
+            chunkStore.deleteWorld(worldName);
+            playerStore.deleteWorld(worldName);
+        } catch (IOException e) {
+            logger.warn("Failed to delete stored chunks or players of '{}': {}", worldName, e.getMessage());
+        }
+        legacyChunkDirs.remove(worldName);
+        synchronized (indexLock) {
+            loadIndexIfChanged();
+            if (worldIndex.remove(worldName) != null) {
+                writeIndex();
+            }
+        }
         if (!Files.exists(folder)) {
             return;
         }
@@ -213,12 +868,14 @@ public class JsonWorldDataService {
     }
 
     /**
-     * Delete a chunk JSON
+     * Delete a chunk from the store (and any leftover chunk JSON)
      */
     public void deleteChunk(String worldName, int chunkX, int chunkY) {
         try {
-            Path p = chunkFilePath(worldName, chunkX, chunkY);
-            Files.deleteIfExists(p);
+            chunkStore.writeAll(List.of(new ChunkStore.StoredChunk(worldName, chunkX, chunkY, (byte) 0, null)));
+            if (hasLegacyChunks(worldName)) {
+                Files.deleteIfExists(legacyChunkFilePath(worldName, chunkX, chunkY));
+            }
         } catch (IOException e) {
             logger.warn("Failed to delete chunk {}/({},{})", worldName, chunkX, chunkY);
         }
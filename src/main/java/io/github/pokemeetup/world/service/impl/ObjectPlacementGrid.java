@@ -0,0 +1,87 @@
+package io.github.pokemeetup.world.service.impl;
+
+import io.github.pokemeetup.world.model.ObjectType;
+import io.github.pokemeetup.world.model.WorldObject;
+
+import java.util.List;
+
+/**
+ * Occupancy grid for the objects generated in one placement cell ({@link #CELL_SIZE} tiles square,
+ * aligned to chunks). An object claims its footprint (width x height tiles, up and to the right of
+ * its tile) grown by its clearance to the left and below. Claims may not overlap and must lie
+ * inside the cell, so each cell can be generated on its own. Growing only the low sides still
+ * leaves the clearance between any two objects: inside a cell the claim of the upper or right one
+ * covers the gap, and across a cell edge the gap is the clearance of the object in the higher
+ * cell. Footprints may reach a cell's top and right edges, so cell edges leave no empty lines.
+ * A check costs O(footprint), not O(objects).
+ */
+final class ObjectPlacementGrid {
+
+    static final int CELL_SIZE = 8;
+
+    private static final int[] CLEARANCE = new int[ObjectType.values().length];
+
+    static {
+        for (ObjectType type : ObjectType.values()) {
+            // collidable objects keep a walkable tile around them
+            CLEARANCE[type.ordinal()] = type.isCollidable() ? 1 : 0;
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final boolean[] claimed;
+
+    ObjectPlacementGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.claimed = new boolean[width * height];
+    }
+
+    /**
+     * Claims the area of an object of {@code type} at local tile (lx, ly).
+     *
+     * @return false, leaving the grid unchanged, if the area leaves the cell or overlaps a claim
+     */
+    boolean tryClaim(int lx, int ly, ObjectType type) {
+        int clearance = CLEARANCE[type.ordinal()];
+        int x0 = lx - clearance;
+        int y0 = ly - clearance;
+        int x1 = lx + type.getWidthInTiles();
+        int y1 = ly + type.getHeightInTiles();
+        if (x0 < 0 || y0 < 0 || x1 > width || y1 > height) {
+            return false;
+        }
+        for (int y = y0; y < y1; y++) {
+            for (int x = x0; x < x1; x++) {
+                if (claimed[y * width + x]) {
+                    return false;
+                }
+            }
+        }
+        for (int y = y0; y < y1; y++) {
+            for (int x = x0; x < x1; x++) {
+                claimed[y * width + x] = true;
+            }
+        }
+        return true;
+    }
+
+    boolean isClaimed(int lx, int ly) {
+        return claimed[ly * width + lx];
+    }
+
+    /**
+     * The object whose footprint covers the world tile, or null.
+     */
+    static WorldObject coveringObject(List<WorldObject> objects, int tileX, int tileY) {
+        for (WorldObject obj : objects) {
+            int dx = tileX - obj.getTileX();
+            int dy = tileY - obj.getTileY();
+            if (dx >= 0 && dy >= 0 && dx < obj.getType().getWidthInTiles() && dy < obj.getType().getHeightInTiles()) {
+                return obj;
+            }
+        }
+        return null;
+    }
+}
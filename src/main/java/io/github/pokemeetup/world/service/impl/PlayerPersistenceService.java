@@ -0,0 +1,186 @@
+package io.github.pokemeetup.world.service.impl;
+
+import io.github.pokemeetup.player.model.PlayerData;
+import io.github.pokemeetup.world.storage.PlayerStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dirty tracking for player data. The world services keep players in memory and only mark
+ * them dirty; all dirty players are written together every {@code world.players.checkpointMs}
+ * and when someone disconnects, on a background thread.
+ */
+@Slf4j
+@Service
+public class PlayerPersistenceService {
+
+    private final JsonWorldDataService jsonWorldDataService;
+
+    // key: "<world>/<username>" -> player to write at the next checkpoint
+    private final Map<String, PendingPlayer> dirty = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ioExecutor;
+    private volatile boolean shutdown = false;
+
+    private final AtomicLong checkpoints = new AtomicLong();
+    private final AtomicLong playersWritten = new AtomicLong();
+
+    private record PendingPlayer(String worldName, PlayerData data) {
+    }
+
+    public PlayerPersistenceService(
+            JsonWorldDataService jsonWorldDataService,
+            @Value("${world.players.checkpointMs:10000}") long checkpointMs
+    ) {
+        this.jsonWorldDataService = jsonWorldDataService;
+        this.ioExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "player-io");
+            t.setDaemon(true);
+            return t;
+        });
+        this.ioExecutor.scheduleWithFixedDelay(this::checkpointSafely, checkpointMs, checkpointMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records that the player changed. No I/O happens here.
+     */
+    public void markDirty(String worldName, PlayerData playerData) {
+        if (worldName == null || playerData == null || playerData.getUsername() == null) {
+            return;
+        }
+        dirty.put(key(worldName, playerData.getUsername()), new PendingPlayer(worldName, playerData));
+        if (shutdown) {
+            checkpointSafely();
+        }
+    }
+
+    /**
+     * Loads a player, preferring a copy that has not been written yet.
+     */
+    public PlayerData loadPlayerData(String worldName, String username) throws IOException {
+        PendingPlayer pending = dirty.get(key(worldName, username));
+        if (pending != null) {
+            return pending.data();
+        }
+        return jsonWorldDataService.loadPlayerData(worldName, username);
+    }
+
+    public boolean isDirty(String worldName, String username) {
+        return dirty.containsKey(key(worldName, username));
+    }
+
+    /**
+     * Writes every dirty player on the I/O thread without waiting.
+     */
+    public void requestCheckpoint() {
+        if (shutdown) {
+            checkpointSafely();
+            return;
+        }
+        try {
+            ioExecutor.execute(this::checkpointSafely);
+        } catch (RejectedExecutionException e) {
+            checkpointSafely();
+        }
+    }
+
+    /**
+     * Blocks until every player marked dirty before this call has been written.
+     */
+    public void flush() {
+        if (shutdown) {
+            checkpointSafely();
+            return;
+        }
+        try {
+            ioExecutor.submit(this::checkpointSafely).get();
+        } catch (RejectedExecutionException e) {
+            checkpointSafely();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while writing {} dirty players", dirty.size());
+        } catch (ExecutionException e) {
+            log.error("Player checkpoint failed: {}", e.getCause().getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        flush();
+        shutdown = true;
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                ioExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkpointSafely();
+        log.info("Player persistence drained: {} checkpoints, {} player writes",
+                checkpoints.get(), playersWritten.get());
+    }
+
+    public int getDirtyCount() {
+        return dirty.size();
+    }
+
+    public long getPlayersWritten() {
+        return playersWritten.get();
+    }
+
+    private void checkpointSafely() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            log.error("Unexpected error during player checkpoint: {}", e.getMessage(), e);
+        }
+    }
+
+    private synchronized void checkpoint() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, PendingPlayer>> batch = new ArrayList<>(dirty.entrySet());
+        List<Map.Entry<String, PendingPlayer>> claimed = new ArrayList<>(batch.size());
+        List<PlayerStore.StoredPlayer> encoded = new ArrayList<>(batch.size());
+        for (Map.Entry<String, PendingPlayer> entry : batch) {
+            PendingPlayer p = entry.getValue();
+            // clear the flag first: a change made while writing marks the player dirty again
+            if (!dirty.remove(entry.getKey(), p)) {
+                continue;
+            }
+            claimed.add(entry);
+            encoded.add(jsonWorldDataService.encodePlayer(p.worldName(), p.data()));
+        }
+        int written = 0;
+        try {
+            // one batch (a single transaction for the H2 store)
+            jsonWorldDataService.savePlayers(encoded);
+            written = encoded.size();
+        } catch (IOException e) {
+            log.error("Failed to save {} players: {}", encoded.size(), e.getMessage());
+            for (Map.Entry<String, PendingPlayer> entry : claimed) {
+                dirty.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+        checkpoints.incrementAndGet();
+        playersWritten.addAndGet(written);
+        log.debug("Player checkpoint wrote {} of {} dirty players", written, batch.size());
+    }
+
+    private static String key(String worldName, String username) {
+        return worldName + "/" + username;
+    }
+}
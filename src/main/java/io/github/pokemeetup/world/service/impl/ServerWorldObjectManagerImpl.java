@@ -1,28 +1,46 @@
 package io.github.pokemeetup.world.service.impl;
 
+import io.github.pokemeetup.utils.PositionalRandom;
 import io.github.pokemeetup.world.biome.model.Biome;
+import io.github.pokemeetup.world.config.ChunkGeometry;
 import io.github.pokemeetup.world.model.ObjectType;
 import io.github.pokemeetup.world.model.WorldObject;
 import io.github.pokemeetup.world.service.WorldObjectManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntBinaryOperator;
+
 @Service
 @Primary
 @Profile("server")
 public class ServerWorldObjectManagerImpl implements WorldObjectManager {
     private static final Logger logger = LoggerFactory.getLogger(ServerWorldObjectManagerImpl.class);
 
-    private final Map<String, List<WorldObject>> objectsByChunk = new ConcurrentHashMap<>();
+    private static final int CELL_SIZE = ObjectPlacementGrid.CELL_SIZE;
+    private static final int SALT_TREE = 0x0C000000;
+
+    private final WorldObjectIndex objectIndex;
+    private final ChunkGeometry chunkGeometry;
+    private final int cellsPerSide;
+
+    public ServerWorldObjectManagerImpl() {
+        this(ChunkGeometry.DEFAULT);
+    }
+
+    @Autowired
+    public ServerWorldObjectManagerImpl(ChunkGeometry chunkGeometry) {
+        this.chunkGeometry = chunkGeometry;
+        this.objectIndex = new WorldObjectIndex(chunkGeometry);
+        this.cellsPerSide = chunkGeometry.size() / CELL_SIZE;
+    }
 
     @Override
     public void initialize() {
@@ -31,71 +49,111 @@ public class ServerWorldObjectManagerImpl implements WorldObjectManager {
 
     @Override
     public List<WorldObject> getObjectsForChunk(int chunkX, int chunkY) {
-        String key = chunkX + "," + chunkY;
-        return objectsByChunk.getOrDefault(key, Collections.emptyList());
+        return objectIndex.chunk(chunkX, chunkY);
     }
 
     @Override
     public List<WorldObject> generateObjectsForChunk(int chunkX, int chunkY, int[][] tiles, Biome biome, long seed) {
+        List<WorldObject> objects = createObjectsForChunk(chunkX, chunkY, tiles, biome, seed);
+        objectIndex.putChunk(chunkX, chunkY, objects);
+        logger.info("Generated {} objects for chunk {},{} on server.", objects.size(), chunkX, chunkY);
+        return objects;
+    }
+
+    @Override
+    public List<WorldObject> createObjectsForChunk(int chunkX, int chunkY, int[][] tiles, Biome biome, long seed) {
         List<WorldObject> objects = new CopyOnWriteArrayList<>();
-        int chunkSize = tiles.length;
-
-        if (biome != null && biome.getSpawnableObjects().contains("TREE_0")) {
-            Random random = new Random((chunkX * 341L + chunkY * 773L) ^ seed);
-            int spacing = 4;
-
-            for (int lx = 0; lx < chunkSize; lx += spacing) {
-                for (int ly = 0; ly < chunkSize; ly += spacing) {
-                    int tileId = tiles[lx][ly];
-
-                    if (biome.getAllowedTileTypes().contains(tileId) && random.nextFloat() < 0.1f) {
-                        int worldX = chunkX * chunkSize + lx;
-                        int worldY = chunkY * chunkSize + ly;
-                        if (noTreeNearby(objects, worldX, worldY, spacing)) {
-                            WorldObject tree = new WorldObject(worldX, worldY, ObjectType.TREE_0, ObjectType.TREE_0.isCollidable());
-                            objects.add(tree);
-                        }
-                    }
-                }
-            }
+        if (biome == null || !biome.getTables().spawns(ObjectType.TREE_0)) {
+            return objects;
         }
+        int baseX = chunkGeometry.originOf(chunkX);
+        int baseY = chunkGeometry.originOf(chunkY);
+        IntBinaryOperator tileAt = (x, y) -> tiles[x - baseX][y - baseY];
 
-        objectsByChunk.put(chunkX + "," + chunkY, objects);
-        logger.info("Generated {} objects for chunk {},{} on server.", objects.size(), chunkX, chunkY);
+        List<WorldObject> cellObjects = new ArrayList<>();
+        for (int cy = 0; cy < cellsPerSide; cy++) {
+            for (int cx = 0; cx < cellsPerSide; cx++) {
+                cellObjects.clear();
+                placeCell(chunkX, chunkY, cx, cy, biome, seed, tileAt, cellObjects);
+                objects.addAll(cellObjects);
+            }
+        }
         return objects;
     }
 
-    private boolean noTreeNearby(List<WorldObject> objects, int x, int y, int minDistance) {
-        for (WorldObject obj : objects) {
-            if (obj.getType().name().startsWith("TREE")) {
-                int dx = obj.getTileX() - x;
-                int dy = obj.getTileY() - y;
-                if (dx * dx + dy * dy < minDistance * minDistance) {
-                    return false;
+    @Override
+    public WorldObject createObjectAt(int tileX, int tileY, Biome biome, long seed, IntBinaryOperator tileAt) {
+        if (biome == null || !biome.getTables().spawns(ObjectType.TREE_0)) {
+            return null;
+        }
+        int chunkX = chunkGeometry.chunkOf(tileX);
+        int chunkY = chunkGeometry.chunkOf(tileY);
+        List<WorldObject> cellObjects = new ArrayList<>();
+        placeCell(chunkX, chunkY, chunkGeometry.localOf(tileX) / CELL_SIZE, chunkGeometry.localOf(tileY) / CELL_SIZE,
+                biome, seed, tileAt, cellObjects);
+        return ObjectPlacementGrid.coveringObject(cellObjects, tileX, tileY);
+    }
+
+    // trees on a spacing-4 lattice, each kept with a positional 10% chance
+    private void placeCell(int chunkX, int chunkY, int cx, int cy, Biome biome, long seed,
+                           IntBinaryOperator tileAt, List<WorldObject> out) {
+        int cellX0 = chunkGeometry.originOf(chunkX) + cx * CELL_SIZE;
+        int cellY0 = chunkGeometry.originOf(chunkY) + cy * CELL_SIZE;
+        int slotBase = (cy * cellsPerSide + cx) * CELL_SIZE * CELL_SIZE;
+        int spacing = 4;
+        ObjectPlacementGrid grid = new ObjectPlacementGrid(CELL_SIZE, CELL_SIZE);
+
+        for (int lx = 1; lx < CELL_SIZE; lx += spacing) {
+            for (int ly = 1; ly < CELL_SIZE; ly += spacing) {
+                int worldX = cellX0 + lx;
+                int worldY = cellY0 + ly;
+
+                if (biome.getTables().isAllowedTile(tileAt.applyAsInt(worldX, worldY))
+                        && PositionalRandom.nextFloat(seed, worldX, worldY, SALT_TREE) < 0.1f
+                        && grid.tryClaim(lx, ly, ObjectType.TREE_0)) {
+                    WorldObject tree = new WorldObject(worldX, worldY, ObjectType.TREE_0, ObjectType.TREE_0.isCollidable());
+                    tree.setId(WorldObject.generatedId(chunkX, chunkY, slotBase + out.size()));
+                    out.add(tree);
                 }
             }
         }
-        return true;
     }
 
     @Override
     public void loadObjectsForChunk(int chunkX, int chunkY, List<WorldObject> objects) {
-        String key = chunkX + "," + chunkY;
-        objectsByChunk.put(key, objects);
+        if (objects == null) {
+            objects = new CopyOnWriteArrayList<>();
+        }
+        objectIndex.putChunk(chunkX, chunkY, objects);
+    }
+
+    @Override
+    public void unloadObjectsForChunk(int chunkX, int chunkY) {
+        objectIndex.removeChunk(chunkX, chunkY);
     }
 
     @Override
     public void addObject(WorldObject object) {
-        int chunkX = object.getTileX() / 16;
-        int chunkY = object.getTileY() / 16;
-        String key = chunkX + "," + chunkY;
-        objectsByChunk.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(object);
+        objectIndex.add(object);
     }
 
     @Override
-    public void removeObject(String objectId) {
-        for (List<WorldObject> objs : objectsByChunk.values()) {
-            objs.removeIf(o -> o.getId().equals(objectId));
-        }
+    public WorldObject getObject(String objectId) {
+        return objectIndex.get(objectId);
+    }
+
+    @Override
+    public boolean moveObject(String objectId, int tileX, int tileY) {
+        return objectIndex.move(objectId, tileX, tileY);
+    }
+
+    @Override
+    public ChunkGeometry getChunkGeometry() {
+        return chunkGeometry;
+    }
+
+    @Override
+    public boolean removeObject(String objectId) {
+        return objectIndex.remove(objectId);
     }
 }
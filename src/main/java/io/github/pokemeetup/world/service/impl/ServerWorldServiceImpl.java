@@ -7,15 +7,17 @@ import com.badlogic.gdx.math.Vector2;
 import io.github.pokemeetup.multiplayer.model.WorldObjectUpdate;
 import io.github.pokemeetup.player.model.PlayerData;
 import io.github.pokemeetup.world.biome.config.BiomeConfigurationLoader;
-import io.github.pokemeetup.world.biome.model.Biome;
 import io.github.pokemeetup.world.biome.model.BiomeType;
+import io.github.pokemeetup.world.config.ChunkGeometry;
 import io.github.pokemeetup.world.config.WorldObjectConfig;
 import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.ChunkKey;
+import io.github.pokemeetup.world.model.ChunkMap;
 import io.github.pokemeetup.world.model.ObjectType;
 import io.github.pokemeetup.world.model.WorldData;
 import io.github.pokemeetup.world.model.WorldObject;
+import io.github.pokemeetup.world.model.WorldSummary;
 import io.github.pokemeetup.world.service.TileManager;
-import io.github.pokemeetup.world.service.WorldGenerator;
 import io.github.pokemeetup.world.service.WorldObjectManager;
 import io.github.pokemeetup.world.service.WorldService;
 import lombok.extern.slf4j.Slf4j;
@@ -26,10 +28,11 @@ import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Service
 @Slf4j
@@ -37,14 +40,18 @@ import java.util.concurrent.ConcurrentHashMap;
 @Profile("server")
 public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements WorldService {
     private static final int TILE_SIZE = 32;
-    private static final int CHUNK_SIZE = 16;
 
-    private final WorldGenerator worldGenerator;
     private final WorldObjectManager worldObjectManager;
+    private final ChunkGenerationEngine generationEngine;
     private final TileManager tileManager;
     private final BiomeConfigurationLoader biomeLoader;
 
     private final JsonWorldDataService jsonWorldDataService; // NEW
+    private final ChunkPersistenceService chunkPersistence;
+    private final ChunkResidencyManager residency;
+    private final PlayerPersistenceService playerPersistence;
+    private final WorldJournalService worldJournal;
+    private final ChunkGeometry chunkGeometry;
 
     private final WorldData worldData = new WorldData();
     private final Map<String, WorldData> loadedWorlds = new ConcurrentHashMap<>();
@@ -55,17 +62,29 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
     private OrthographicCamera camera = null;
 
     public ServerWorldServiceImpl(
-            WorldGenerator worldGenerator,
             WorldObjectManager worldObjectManager,
+            ChunkGenerationEngine generationEngine,
             TileManager tileManager,
             BiomeConfigurationLoader biomeLoader,
-            JsonWorldDataService jsonWorldDataService
+            JsonWorldDataService jsonWorldDataService,
+            ChunkPersistenceService chunkPersistence,
+            ChunkResidencyManager residency,
+            PlayerPersistenceService playerPersistence,
+            WorldJournalService worldJournal,
+            ChunkGeometry chunkGeometry,
+            ChunkTicketManager tickets
     ) {
-        this.worldGenerator = worldGenerator;
         this.worldObjectManager = worldObjectManager;
+        this.generationEngine = generationEngine;
         this.tileManager = tileManager;
         this.biomeLoader = biomeLoader;
         this.jsonWorldDataService = jsonWorldDataService;
+        this.chunkPersistence = chunkPersistence;
+        this.residency = residency;
+        this.playerPersistence = playerPersistence;
+        this.worldJournal = worldJournal;
+        this.chunkGeometry = chunkGeometry;
+        tickets.attach(ticketHost());
     }
 
     @Override
@@ -74,10 +93,12 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
             try {
                 WorldData wd = new WorldData();
                 jsonWorldDataService.loadWorld("serverWorld", wd);
+                chunkGeometry.checkWorld("serverWorld", wd.getChunkSize());
                 loadedWorlds.put("serverWorld", wd);
             } catch (IOException e) {
                 WorldData newWorld = new WorldData();
                 newWorld.setWorldName("serverWorld");
+                newWorld.setChunkSize(chunkGeometry.size());
                 try {
                     jsonWorldDataService.saveWorld(newWorld);
                 } catch (IOException ex) {
@@ -85,6 +106,9 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
                 }
                 loadedWorlds.put("serverWorld", newWorld);
             }
+            WorldData wd = loadedWorlds.get("serverWorld");
+            chunkPersistence.setBaseline("serverWorld", baselineFor(wd.getSeed()));
+            recoverFromJournal(wd);
         }
     }
 
@@ -106,6 +130,8 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         // Instead of querying from DB, load from JSON
         try {
             jsonWorldDataService.loadWorld(defaultWorldName, worldData);
+            chunkGeometry.checkWorld(defaultWorldName, worldData.getChunkSize());
+            chunkPersistence.setBaseline(worldData.getWorldName(), baselineFor(worldData.getSeed()));
             initIfNeeded();
             log.info("Loaded default world data for '{}' from JSON (server)", defaultWorldName);
         } catch (IOException e) {
@@ -124,6 +150,7 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         long now = System.currentTimeMillis();
         worldData.setWorldName(worldName);
         worldData.setSeed(seed);
+        worldData.setChunkSize(chunkGeometry.size());
         worldData.setCreatedDate(now);
         worldData.setLastPlayed(now);
         worldData.setPlayedTime(0);
@@ -148,6 +175,8 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
             } catch (IOException e) {
                 e.printStackTrace();
             }
+            chunkPersistence.requestFlush();
+            playerPersistence.requestCheckpoint();
         }
     }
 
@@ -155,6 +184,8 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
     public void loadWorld(String worldName) {
         try {
             jsonWorldDataService.loadWorld(worldName, worldData);
+            chunkGeometry.checkWorld(worldName, worldData.getChunkSize());
+            chunkPersistence.setBaseline(worldData.getWorldName(), baselineFor(worldData.getSeed()));
             initIfNeeded();
             log.info("Loaded world data for '{}' from JSON (server)", worldName);
         } catch (IOException e) {
@@ -168,63 +199,142 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         WorldData wd = loadedWorlds.get("serverWorld");
         if (wd == null) return null;
 
-        String key = chunkX + "," + chunkY;
-        if (!wd.getChunks().containsKey(key)) {
-            try {
-                var chunkData = jsonWorldDataService.loadChunk("serverWorld", chunkX, chunkY);
-                if (chunkData != null) {
-                    wd.getChunks().put(key, chunkData);
-                    return chunkData.getTiles();
+        long key = ChunkKey.of(chunkX, chunkY);
+        ChunkData resident = residency.get(wd, key);
+        if (resident == null) {
+            resident = wd.getChunks().getOrLoad(key, () -> {
+                ChunkData chunkData;
+                try {
+                    chunkData = loadStoredChunk("serverWorld", wd, chunkX, chunkY);
+                } catch (IOException e) {
+                    return unreadable(chunkX, chunkY, e);
                 }
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-            return null;
+                // nothing stored means the chunk was never changed
+                return chunkData != null ? chunkData
+                        : admitGenerated(wd, generationEngine.generate(chunkX, chunkY, wd.getSeed()));
+            });
         }
-        return wd.getChunks().get(key).getTiles();
+        return resident != null ? resident.getTiles() : null;
     }
 
-    private void loadOrGenerateChunk(int chunkX, int chunkY) {
-        String key = chunkX + "," + chunkY;
-        // 1) Attempt to load from JSON
-        try {
-            ChunkData loaded = jsonWorldDataService.loadChunk(worldData.getWorldName(), chunkX, chunkY);
+    private ChunkData loadOrGenerateChunk(int chunkX, int chunkY) {
+        long key = ChunkKey.of(chunkX, chunkY);
+        ChunkData resident = residency.get(worldData, key);
+        if (resident != null) {
+            return resident;
+        }
+        return worldData.getChunks().getOrLoad(key, () -> {
+            ChunkData loaded;
+            try {
+                loaded = loadStoredChunk(worldData.getWorldName(), worldData, chunkX, chunkY);
+            } catch (IOException e) {
+                return unreadable(chunkX, chunkY, e);
+            }
             if (loaded != null) {
-                worldObjectManager.loadObjectsForChunk(chunkX, chunkY, loaded.getObjects());
-                worldData.getChunks().put(key, loaded);
-                return;
+                return loaded;
+            }
+            // Never changed => generate. Not saved until something in it changes
+            return admitGenerated(worldData, generationEngine.generate(chunkX, chunkY, worldData.getSeed()));
+        });
+    }
+
+    // the loader for ChunkRegistry.getOrLoadAll: only called with chunks no other thread is loading
+    private ChunkMap<ChunkData> loadOrGenerateChunks(long[] keys) {
+        ChunkMap<ChunkData> loaded = new ChunkMap<>(keys.length);
+        List<Vector2> missing = new ArrayList<>();
+        for (long key : keys) {
+            ChunkData stored;
+            try {
+                stored = loadStoredChunk(worldData.getWorldName(), worldData, ChunkKey.x(key), ChunkKey.y(key));
+            } catch (IOException e) {
+                unreadable(ChunkKey.x(key), ChunkKey.y(key), e);
+                continue;
+            }
+            if (stored != null) {
+                loaded.put(key, stored);
+            } else {
+                missing.add(new Vector2(ChunkKey.x(key), ChunkKey.y(key)));
             }
-        } catch (IOException e) {
-            log.warn("Failed reading chunk from JSON: {}", e.getMessage());
         }
+        // a new area is generated in parallel instead of one chunk after another
+        for (ChunkData chunk : generationEngine.generateAll(missing, worldData.getSeed()).values()) {
+            loaded.put(ChunkKey.of(chunk), admitGenerated(worldData, chunk));
+        }
+        return loaded;
+    }
 
-        // 2) Not found or no chunk file => generate
-        int[][] tiles = worldGenerator.generateChunk(chunkX, chunkY);
-        ChunkData cData = new ChunkData();
-        cData.setChunkX(chunkX);
-        cData.setChunkY(chunkY);
+    /**
+     * @return the stored chunk, admitted, or null if nothing is stored because it never changed
+     * @throws IOException if something is stored but cannot be used; the chunk must then stay
+     *                     unloaded, as a generated one would be saved over the stored edits
+     */
+    private ChunkData loadStoredChunk(String worldName, WorldData wd, int chunkX, int chunkY) throws IOException {
+        ChunkData loaded = chunkPersistence.loadChunk(worldName, chunkX, chunkY);
+        if (loaded != null) {
+            worldObjectManager.loadObjectsForChunk(chunkX, chunkY, loaded.getObjects());
+            residency.admit(wd, loaded);
+        }
+        return loaded;
+    }
 
-        cData.setTiles(tiles);
+    // the persistence service has logged the first failure and quarantined the chunk
+    private ChunkData unreadable(int chunkX, int chunkY, IOException e) {
+        log.debug("Leaving chunk ({},{}) unloaded: {}", chunkX, chunkY, e.getMessage());
+        return null;
+    }
 
-        Biome biome = worldGenerator.getBiomeForChunk(chunkX, chunkY);
-        List<WorldObject> objs =
-                worldObjectManager.generateObjectsForChunk(chunkX, chunkY, tiles, biome, worldData.getSeed());
-        cData.setObjects(objs);
+    private ChunkData admitGenerated(WorldData wd, ChunkData cData) {
+        worldObjectManager.loadObjectsForChunk(cData.getChunkX(), cData.getChunkY(), cData.getObjects());
+        residency.admit(wd, cData);
+        return cData;
+    }
 
-        worldData.getChunks().put(key, cData);
+    // players' tickets load and unload chunks of the world getChunkTiles serves them from
+    private ChunkTicketManager.ChunkHost ticketHost() {
+        return new ChunkTicketManager.ChunkHost() {
+            @Override
+            public boolean load(int chunkX, int chunkY) {
+                return getChunkTiles(chunkX, chunkY) != null;
+            }
 
-        // 3) Save newly generated chunk to JSON
-        try {
-            jsonWorldDataService.saveChunk(worldData.getWorldName(), cData);
-        } catch (IOException e) {
-            log.error("Failed to save newly generated chunk: {}", e.getMessage());
-        }
+            @Override
+            public boolean hasUnsavedChanges(int chunkX, int chunkY) {
+                return chunkPersistence.isDirty("serverWorld", chunkX, chunkY);
+            }
+
+            @Override
+            public void requestSave() {
+                chunkPersistence.requestFlush();
+            }
+
+            @Override
+            public void unload(int chunkX, int chunkY) {
+                WorldData wd = loadedWorlds.get("serverWorld");
+                if (wd != null) {
+                    residency.remove(wd, ChunkKey.of(chunkX, chunkY));
+                    worldObjectManager.unloadObjectsForChunk(chunkX, chunkY);
+                }
+            }
+        };
+    }
+
+    private JsonWorldDataService.ChunkBaseline baselineFor(long seed) {
+        return new JsonWorldDataService.ChunkBaseline() {
+            @Override
+            public ChunkData generate(int chunkX, int chunkY) {
+                return generationEngine.generate(chunkX, chunkY, seed);
+            }
+
+            @Override
+            public long seed() {
+                return seed;
+            }
+        };
     }
 
     @Override
     public boolean isChunkLoaded(Vector2 chunkPos) {
-        String key = String.format("%d,%d", (int) chunkPos.x, (int) chunkPos.y);
-        return worldData.getChunks().containsKey(key);
+        return worldData.getChunks().containsKey(ChunkKey.of((int) chunkPos.x, (int) chunkPos.y));
     }
 
     @Override
@@ -236,7 +346,7 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
     public List<WorldObject> getVisibleObjects(Rectangle viewBounds) {
         // Implementation unchanged, except no DB call
         List<WorldObject> visibleObjects = new ArrayList<>();
-        Map<String, ChunkData> visibleChunks = getVisibleChunks(viewBounds);
+        ChunkMap<ChunkData> visibleChunks = getVisibleChunks(viewBounds);
         for (ChunkData chunk : visibleChunks.values()) {
             if (chunk.getObjects() != null) {
                 visibleObjects.addAll(chunk.getObjects());
@@ -246,27 +356,33 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
     }
 
     @Override
-    public Map<String, ChunkData> getVisibleChunks(Rectangle viewBounds) {
+    public ChunkMap<ChunkData> getVisibleChunks(Rectangle viewBounds) {
         // Implementation is basically the same
-        Map<String, ChunkData> visibleChunks = new HashMap<>();
+        ChunkMap<ChunkData> visibleChunks = new ChunkMap<>();
 
-        int startChunkX = (int) Math.floor(viewBounds.x / (CHUNK_SIZE * TILE_SIZE));
-        int startChunkY = (int) Math.floor(viewBounds.y / (CHUNK_SIZE * TILE_SIZE));
-        int endChunkX = (int) Math.ceil((viewBounds.x + viewBounds.width) / (CHUNK_SIZE * TILE_SIZE));
-        int endChunkY = (int) Math.ceil((viewBounds.y + viewBounds.height) / (CHUNK_SIZE * TILE_SIZE));
+        float chunkPixels = chunkGeometry.pixelSize(TILE_SIZE);
+        int startChunkX = (int) Math.floor(viewBounds.x / chunkPixels);
+        int startChunkY = (int) Math.floor(viewBounds.y / chunkPixels);
+        int endChunkX = (int) Math.ceil((viewBounds.x + viewBounds.width) / chunkPixels);
+        int endChunkY = (int) Math.ceil((viewBounds.y + viewBounds.height) / chunkPixels);
 
+        long[] missing = new long[(endChunkX - startChunkX + 1) * (endChunkY - startChunkY + 1)];
+        int missingCount = 0;
         for (int x = startChunkX; x <= endChunkX; x++) {
             for (int y = startChunkY; y <= endChunkY; y++) {
-                String key = x + "," + y;
-                if (!worldData.getChunks().containsKey(key)) {
-                    loadOrGenerateChunk(x, y);
-                }
-                ChunkData chunk = worldData.getChunks().get(key);
+                long key = ChunkKey.of(x, y);
+                ChunkData chunk = residency.get(worldData, key);
                 if (chunk != null) {
                     visibleChunks.put(key, chunk);
+                } else {
+                    missing[missingCount++] = key;
                 }
             }
         }
+        if (missingCount > 0) {
+            visibleChunks.putAll(worldData.getChunks().getOrLoadAll(Arrays.copyOf(missing, missingCount),
+                    this::loadOrGenerateChunks));
+        }
 
         return visibleChunks;
     }
@@ -276,11 +392,8 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         WorldData wd = loadedWorlds.get("serverWorld");
         if (wd == null) return;
         wd.getPlayers().put(pd.getUsername(), pd);
-        try {
-            jsonWorldDataService.savePlayerData("serverWorld", pd);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // written at the next checkpoint, not on every step
+        playerPersistence.markDirty("serverWorld", pd);
     }
 
 
@@ -292,7 +405,7 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         PlayerData existing = wd.getPlayers().get(username);
         if (existing != null) return existing;
         try {
-            PlayerData pd = jsonWorldDataService.loadPlayerData("serverWorld", username);
+            PlayerData pd = playerPersistence.loadPlayerData("serverWorld", username);
             if (pd != null) {
                 wd.getPlayers().put(username, pd);
             }
@@ -302,12 +415,29 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
         }
     }
 
+    @Override
+    public void unloadPlayerData(String username) {
+        WorldData wd = loadedWorlds.get("serverWorld");
+        if (wd == null) return;
+        PlayerData pd = wd.getPlayers().remove(username);
+        if (pd != null) {
+            // the dirty copy stays reachable through playerPersistence until it is written
+            playerPersistence.markDirty("serverWorld", pd);
+            playerPersistence.requestCheckpoint();
+        }
+    }
+
 
     @Override
     public List<String> getAvailableWorlds() {
         return jsonWorldDataService.listAllWorlds();
     }
 
+    @Override
+    public List<WorldSummary> getWorldSummaries() {
+        return jsonWorldDataService.listWorldSummaries();
+    }
+
     @Override
     public void deleteWorld(String worldName) {
         if (!jsonWorldDataService.worldExists(worldName)) {
@@ -322,7 +452,7 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
             worldData.setWorldName(null);
             worldData.setSeed(0);
             worldData.getPlayers().clear();
-            worldData.getChunks().clear();
+            residency.clear(worldData);
             worldData.setCreatedDate(0);
             worldData.setLastPlayed(0);
             worldData.setPlayedTime(0);
@@ -333,10 +463,9 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
 
     @Override
     public void regenerateChunk(int chunkX, int chunkY) {
-        String key = chunkX + "," + chunkY;
-        worldData.getChunks().remove(key);
-        // Also delete chunk JSON if present
-        jsonWorldDataService.deleteChunk(worldData.getWorldName(), chunkX, chunkY);
+        residency.remove(worldData, ChunkKey.of(chunkX, chunkY));
+        // Also delete the stored chunk if present
+        chunkPersistence.deleteChunk(worldData.getWorldName(), chunkX, chunkY);
         loadOrGenerateChunk(chunkX, chunkY);
     }
 
@@ -351,64 +480,135 @@ public class ServerWorldServiceImpl extends BaseWorldServiceImpl implements Worl
                                        java.util.List<WorldObject> objects) {
         WorldData wd = loadedWorlds.get("serverWorld");
         if (wd == null) return;
-        String key = chunkX + "," + chunkY;
-        var chunk = wd.getChunks().get(key);
+        ChunkData chunk = replaceChunk(wd, chunkX, chunkY, tiles, objects);
+        chunkPersistence.markDirty("serverWorld", chunk);
+        // journaled after markDirty, so a checkpoint never skips a chunk whose change it covers
+        worldJournal.recordChunkReplace(chunkX, chunkY, tiles, objects);
+    }
+
+    @Override
+    public void updateWorldObjectState(WorldObjectUpdate update) {
+        // Example: move or remove an object in the chunk
+        WorldData wd = loadedWorlds.get("serverWorld");
+        if (wd == null) return;
+        List<ChunkData> changed = applyObjectUpdate(wd, update);
+        if (changed.isEmpty()) {
+            return;
+        }
+        // Saved later on the chunk I/O thread, so the network thread never waits on disk
+        for (ChunkData chunkData : changed) {
+            chunkPersistence.markDirty("serverWorld", chunkData);
+        }
+        worldJournal.recordObjectUpdate(update, ChunkKey.of(changed.get(0)));
+    }
+
+    private ChunkData replaceChunk(WorldData wd, int chunkX, int chunkY, int[][] tiles, List<WorldObject> received) {
+        List<WorldObject> objects = received != null ? new CopyOnWriteArrayList<>(received) : new CopyOnWriteArrayList<>();
+        var chunk = residency.get(wd, ChunkKey.of(chunkX, chunkY));
         if (chunk == null) {
             chunk = new io.github.pokemeetup.world.model.ChunkData();
             chunk.setChunkX(chunkX);
             chunk.setChunkY(chunkY);
-            wd.getChunks().put(key, chunk);
+            chunk.setTiles(tiles);
+            chunk.setObjects(objects);
+            worldObjectManager.loadObjectsForChunk(chunkX, chunkY, objects);
+            residency.admit(wd, chunk);
+        } else {
+            synchronized (chunk) {
+                chunk.setTiles(tiles);
+                chunk.setObjects(objects);
+                worldObjectManager.loadObjectsForChunk(chunkX, chunkY, objects);
+            }
         }
-        chunk.setTiles(tiles);
-        chunk.setObjects(objects);
-        try {
-            jsonWorldDataService.saveChunk("serverWorld", chunk);
-        } catch (IOException e) {
-            e.printStackTrace();
+        return chunk;
+    }
+
+    /**
+     * Applies the update through the object manager's id index and returns the chunks it changed,
+     * the one the object was in first: none if the chunks involved are not loaded, two if the
+     * object moved into another chunk.
+     */
+    private List<ChunkData> applyObjectUpdate(WorldData wd, WorldObjectUpdate update) {
+        WorldObject existing = worldObjectManager.getObject(update.getObjectId());
+        ChunkData source = existing == null ? null : residency.get(wd, ChunkKey.of(
+                chunkGeometry.chunkOf(existing.getTileX()), chunkGeometry.chunkOf(existing.getTileY())));
+
+        if (update.isRemoved()) {
+            if (source == null) {
+                return List.of();
+            }
+            synchronized (source) {
+                worldObjectManager.removeObject(update.getObjectId());
+            }
+            return List.of(source);
         }
+
+        var target = residency.get(wd, ChunkKey.of(chunkGeometry.chunkOf(update.getTileX()), chunkGeometry.chunkOf(update.getTileY())));
+        if (target == null) {
+            return List.of();
+        }
+        if (source == null) {
+            // create new
+            WorldObject obj = new WorldObject(
+                    update.getTileX(),
+                    update.getTileY(),
+                    // parse from update.getType()
+                    ObjectType.valueOf(update.getType()),
+                    true // or read from config
+            );
+            obj.setId(update.getObjectId());
+            synchronized (target) {
+                worldObjectManager.addObject(obj);
+            }
+            return List.of(target);
+        }
+
+        // a move into another chunk changes both; locked in key order so a save never sees half of it
+        ChunkData first = ChunkKey.of(source) <= ChunkKey.of(target) ? source : target;
+        ChunkData second = first == source ? target : source;
+        synchronized (first) {
+            synchronized (second) {
+                worldObjectManager.moveObject(update.getObjectId(), update.getTileX(), update.getTileY());
+            }
+        }
+        return source == target ? List.of(target) : List.of(source, target);
     }
-    @Override
-    public void updateWorldObjectState(WorldObjectUpdate update) {
-        // Example: move or remove an object in the chunk
-        WorldData wd = loadedWorlds.get("serverWorld");
-        if (wd == null) return;
-        String chunkKey = (update.getTileX() / 16) + "," + (update.getTileY() / 16);
 
-        var chunkData = wd.getChunks().get(chunkKey);
-        if (chunkData != null) {
-            if (update.isRemoved()) {
-                chunkData.getObjects().removeIf(o -> o.getId().equals(update.getObjectId()));
-            } else {
-                // Possibly find or create
-                var existing = chunkData.getObjects().stream()
-                        .filter(o -> o.getId().equals(update.getObjectId()))
-                        .findFirst();
-                if (existing.isPresent()) {
-                    // update position
-                    var wo = existing.get();
-                    wo.setTileX(update.getTileX());
-                    wo.setTileY(update.getTileY());
-                } else {
-                    // create new
-                    WorldObject obj = new WorldObject(
-                            update.getTileX(),
-                            update.getTileY(),
-                            // parse from update.getType()
-                            ObjectType.valueOf(update.getType()),
-                            true // or read from config
-                    );
-                    obj.setId(update.getObjectId());
-                    chunkData.getObjects().add(obj);
+    /**
+     * Re-applies mutations that were journaled but had not reached the chunk files before the
+     * last shutdown, then writes them out so the journal can be cut back.
+     */
+    private void recoverFromJournal(WorldData wd) {
+        int replayed = worldJournal.open("serverWorld", new WorldJournalService.Replayer() {
+            @Override
+            public void objectUpdate(WorldObjectUpdate update, long sourceChunk) {
+                // without the chunk the object is in, its id is unknown and a move would create a copy
+                ensureLoaded(ChunkKey.x(sourceChunk), ChunkKey.y(sourceChunk));
+                if (!update.isRemoved()) {
+                    ensureLoaded(chunkGeometry.chunkOf(update.getTileX()), chunkGeometry.chunkOf(update.getTileY()));
+                }
+                for (ChunkData chunk : applyObjectUpdate(wd, update)) {
+                    chunkPersistence.markDirty("serverWorld", chunk);
                 }
             }
-        }
-        // Optionally save chunk to disk
-        try {
-            jsonWorldDataService.saveChunk("serverWorld", chunkData);
-        } catch (IOException e) {
-            e.printStackTrace();
+
+            @Override
+            public void chunkReplace(int chunkX, int chunkY, int[][] tiles, List<WorldObject> objects) {
+                chunkPersistence.markDirty("serverWorld", replaceChunk(wd, chunkX, chunkY, tiles, objects));
+            }
+
+            private void ensureLoaded(int chunkX, int chunkY) {
+                if (residency.get(wd, ChunkKey.of(chunkX, chunkY)) == null) {
+                    getChunkTiles(chunkX, chunkY);
+                }
+            }
+        });
+        if (replayed > 0) {
+            chunkPersistence.flush();
+            log.info("Recovered {} world changes from the journal", replayed);
         }
     }
+
     @Override
     public OrthographicCamera getCamera() {
         return camera;
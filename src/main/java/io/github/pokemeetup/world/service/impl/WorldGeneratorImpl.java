@@ -1,8 +1,10 @@
 package io.github.pokemeetup.world.service.impl;
 
-import com.badlogic.gdx.math.MathUtils;
 import io.github.pokemeetup.utils.OpenSimplex2;
+import io.github.pokemeetup.utils.PositionalRandom;
+import io.github.pokemeetup.world.biome.model.BiomeTables;
 import io.github.pokemeetup.world.biome.model.BiomeType;
+import io.github.pokemeetup.world.config.ChunkGeometry;
 import io.github.pokemeetup.world.config.WorldConfig;
 import io.github.pokemeetup.world.biome.model.Biome;
 import io.github.pokemeetup.world.service.WorldGenerator;
@@ -10,14 +12,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
-import java.util.Random;
 
 @Service
 public class WorldGeneratorImpl implements WorldGenerator {
-    private long seed;
-    private Map<BiomeType, Biome> biomes;
+    private static final int SALT_TILE = 0x0A000000;
+
+    // seed and biomes are swapped together, so a chunk generated on a pool thread never mixes worlds
+    private volatile Settings settings = new Settings(0, null);
     private final WorldConfig config;
 
+    private record Settings(long seed, Map<BiomeType, Biome> biomes) {
+    }
+
     @Autowired
     public WorldGeneratorImpl(WorldConfig config) {
         this.config = config;
@@ -25,27 +31,34 @@ public class WorldGeneratorImpl implements WorldGenerator {
 
     @Override
     public void setSeedAndBiomes(long seed, Map<BiomeType, Biome> biomes) {
-        this.seed = seed;
-        this.biomes = biomes;
+        this.settings = new Settings(seed, biomes);
     }
 
     @Override
     public Biome getBiomeForChunk(int chunkX, int chunkY) {
+        return getBiomeForChunk(settings, chunkX, chunkY);
+    }
+
+    private static Biome getBiomeForChunk(Settings settings, int chunkX, int chunkY) {
+        Map<BiomeType, Biome> biomes = settings.biomes();
         if (biomes == null || biomes.isEmpty()) {
             return null;
         }
 
         float NOISE_SCALE = 0.005f;
-        float n = OpenSimplex2.noise2(seed, chunkX * NOISE_SCALE, chunkY * NOISE_SCALE);
+        float n = OpenSimplex2.noise2(settings.seed(), chunkX * NOISE_SCALE, chunkY * NOISE_SCALE);
         BiomeType selectedBiome = n > 0 ? BiomeType.PLAINS : BiomeType.DESERT;
         return biomes.get(selectedBiome);
     }
 
     @Override
     public int[][] generateChunk(int chunkX, int chunkY) {
+        Settings settings = this.settings;
+        long seed = settings.seed();
         // Optionally get the biome for the chunk
-        Biome biome = getBiomeForChunk(chunkX, chunkY);
-        int chunkSize = config.getChunkSize();
+        Biome biome = getBiomeForChunk(settings, chunkX, chunkY);
+        ChunkGeometry geometry = config.getChunkGeometry();
+        int chunkSize = geometry.size();
 
         int[][] tiles = new int[chunkSize][chunkSize];
         if (biome == null) {
@@ -58,23 +71,31 @@ public class WorldGeneratorImpl implements WorldGenerator {
             return tiles;
         }
 
-        Random chunkRandom = new Random(seed ^ (chunkX * 341_757L) ^ (chunkY * 132_721L));
-        double total = biome.getTileDistribution().values().stream().mapToDouble(Double::doubleValue).sum();
+        BiomeTables tables = biome.getTables();
+        int baseX = geometry.originOf(chunkX);
+        int baseY = geometry.originOf(chunkY);
 
         for (int x = 0; x < chunkSize; x++) {
             for (int y = 0; y < chunkSize; y++) {
-                double roll = chunkRandom.nextDouble() * total;
-                double cumulative = 0;
-                for (Map.Entry<Integer, Double> entry : biome.getTileDistribution().entrySet()) {
-                    cumulative += entry.getValue();
-                    if (roll < cumulative) {
-                        tiles[x][y] = entry.getKey();
-                        break;
-                    }
-                }
+                tiles[x][y] = tables.sampleTile(PositionalRandom.nextDouble(seed, baseX + x, baseY + y, SALT_TILE));
             }
         }
         return tiles;
     }
 
+    @Override
+    public int getTileAt(int tileX, int tileY) {
+        Settings settings = this.settings;
+        ChunkGeometry geometry = config.getChunkGeometry();
+        Biome biome = getBiomeForChunk(settings, geometry.chunkOf(tileX), geometry.chunkOf(tileY));
+        if (biome == null) {
+            return 1;
+        }
+        return biome.getTables().sampleTile(PositionalRandom.nextDouble(settings.seed(), tileX, tileY, SALT_TILE));
+    }
+
+    @Override
+    public ChunkGeometry getChunkGeometry() {
+        return config.getChunkGeometry();
+    }
 }
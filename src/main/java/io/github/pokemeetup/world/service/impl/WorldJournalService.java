@@ -0,0 +1,244 @@
+package io.github.pokemeetup.world.service.impl;
+
+import com.badlogic.gdx.utils.Json;
+import io.github.pokemeetup.multiplayer.model.WorldObjectUpdate;
+import io.github.pokemeetup.world.config.ChunkGeometry;
+import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.ChunkKey;
+import io.github.pokemeetup.world.model.WorldObject;
+import io.github.pokemeetup.world.storage.TileCodec;
+import io.github.pokemeetup.world.storage.WorldJournal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Server-side write-ahead journal for world mutations. Object updates and chunk replacements
+ * are logged as they are applied in memory, so chunks can stay in the write-behind queue for
+ * long intervals without risking data on a crash. A record call returns once the record is on
+ * disk, or after {@code world.journal.commitWaitMs}; callers waiting at the same time share one
+ * fsync (group commit on a background thread). The journal is cut back every time
+ * {@link ChunkPersistenceService} finishes a flush.
+ */
+@Slf4j
+@Service
+@Profile("server")
+public class WorldJournalService implements ChunkPersistenceService.CheckpointListener {
+
+    private static final byte RECORD_OBJECT_UPDATE = 1;
+    private static final byte RECORD_CHUNK_REPLACE = 2;
+
+    private final ChunkGeometry chunkGeometry;
+    private final String baseWorldsDir;
+    private final boolean enabled;
+    private final long commitWaitMs;
+    private final Json json = new Json();
+
+    private volatile WorldJournal journal;
+    private String worldName;
+
+    /**
+     * Receives journaled mutations during recovery.
+     */
+    public interface Replayer {
+        /**
+         * @param sourceChunk key of the chunk the object was in before the update, which has to be
+         *                    loaded for the update to find it
+         */
+        void objectUpdate(WorldObjectUpdate update, long sourceChunk);
+
+        void chunkReplace(int chunkX, int chunkY, int[][] tiles, List<WorldObject> objects);
+    }
+
+    public WorldJournalService(
+            ChunkPersistenceService chunkPersistence,
+            ChunkGeometry chunkGeometry,
+            @Value("${world.saveDir:assets/save/worlds/}") String baseWorldsDir,
+            @Value("${world.journal.enabled:true}") boolean enabled,
+            @Value("${world.journal.commitWaitMs:250}") long commitWaitMs
+    ) {
+        this.chunkGeometry = chunkGeometry;
+        this.baseWorldsDir = baseWorldsDir;
+        this.enabled = enabled;
+        this.commitWaitMs = commitWaitMs;
+        this.json.setIgnoreUnknownFields(true);
+        chunkPersistence.addCheckpointListener(this);
+    }
+
+    /**
+     * Opens the journal of the given world and replays everything written after the last checkpoint.
+     *
+     * @return the number of mutations replayed
+     */
+    public synchronized int open(String worldName, Replayer replayer) {
+        if (!enabled) {
+            return 0;
+        }
+        close();
+        int[] replayed = {0};
+        try {
+            journal = new WorldJournal(Paths.get(baseWorldsDir, worldName, "journal"), (lsn, type, payload) -> {
+                apply(type, payload, replayer);
+                replayed[0]++;
+            });
+            this.worldName = worldName;
+        } catch (IOException e) {
+            log.error("Could not open journal for world '{}', running without one: {}", worldName, e.getMessage());
+            journal = null;
+        }
+        return replayed[0];
+    }
+
+    /**
+     * @param sourceChunk key of the chunk the object was in before the update; for a new object,
+     *                    the chunk it was created in
+     */
+    public void recordObjectUpdate(WorldObjectUpdate update, long sourceChunk) {
+        WorldJournal j = journal;
+        if (j == null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(update.getObjectId() != null ? update.getObjectId() : "");
+            out.writeUTF(update.getType() != null ? update.getType() : "");
+            out.writeInt(update.getTileX());
+            out.writeInt(update.getTileY());
+            out.writeBoolean(update.isRemoved());
+            out.writeLong(sourceChunk);
+            awaitCommit(j, append(j, RECORD_OBJECT_UPDATE, bytes.toByteArray()));
+        } catch (IOException e) {
+            log.error("Failed to journal object update {}: {}", update.getObjectId(), e.getMessage());
+        }
+    }
+
+    public void recordChunkReplace(int chunkX, int chunkY, int[][] tiles, List<WorldObject> objects) {
+        WorldJournal j = journal;
+        if (j == null) {
+            return;
+        }
+        try {
+            ChunkData rest = new ChunkData();
+            rest.setObjects(objects);
+            byte[] objectsJson;
+            synchronized (json) {
+                objectsJson = json.toJson(rest).getBytes(StandardCharsets.UTF_8);
+            }
+            byte[] tileBytes = TileCodec.encode(tiles);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + objectsJson.length);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(chunkX);
+            out.writeInt(chunkY);
+            out.writeInt(tileBytes != null ? tileBytes.length : -1);
+            if (tileBytes != null) {
+                out.write(tileBytes);
+            }
+            out.write(objectsJson);
+            awaitCommit(j, append(j, RECORD_CHUNK_REPLACE, bytes.toByteArray()));
+        } catch (IOException e) {
+            log.error("Failed to journal chunk ({},{}): {}", chunkX, chunkY, e.getMessage());
+        }
+    }
+
+    @Override
+    public long markCheckpoint() {
+        WorldJournal j = journal;
+        return j != null ? j.getLastAssignedLsn() : 0;
+    }
+
+    @Override
+    public void checkpointComplete(long mark) {
+        WorldJournal j = journal;
+        if (j == null || mark == 0) {
+            return;
+        }
+        try {
+            j.checkpoint(mark);
+        } catch (IOException e) {
+            log.warn("Failed to checkpoint journal of '{}': {}", worldName, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        WorldJournal j = journal;
+        journal = null;
+        if (j != null) {
+            try {
+                j.close();
+            } catch (IOException e) {
+                log.warn("Failed to close journal of '{}': {}", worldName, e.getMessage());
+            }
+        }
+    }
+
+    // returns the record's LSN, 0 if it was dropped
+    private long append(WorldJournal j, byte type, byte[] payload) {
+        try {
+            return j.append(type, payload);
+        } catch (IllegalStateException e) {
+            // closed concurrently during shutdown; the chunk queue is being drained anyway
+            log.debug("Journal closed, dropping record: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private void awaitCommit(WorldJournal j, long lsn) {
+        if (lsn == 0 || commitWaitMs <= 0) {
+            return;
+        }
+        try {
+            if (!j.awaitDurable(lsn, commitWaitMs)) {
+                log.warn("Journal record {} of '{}' not on disk after {} ms", lsn, worldName, commitWaitMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void apply(byte type, byte[] payload, Replayer replayer) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        switch (type) {
+            case RECORD_OBJECT_UPDATE -> {
+                WorldObjectUpdate update = new WorldObjectUpdate();
+                String objectId = in.readUTF();
+                update.setObjectId(objectId.isEmpty() ? null : objectId);
+                String objectType = in.readUTF();
+                update.setType(objectType.isEmpty() ? null : objectType);
+                update.setTileX(in.readInt());
+                update.setTileY(in.readInt());
+                update.setRemoved(in.readBoolean());
+                // records written before the source chunk was journaled end here
+                long sourceChunk = in.available() >= Long.BYTES ? in.readLong()
+                        : ChunkKey.of(chunkGeometry.chunkOf(update.getTileX()), chunkGeometry.chunkOf(update.getTileY()));
+                replayer.objectUpdate(update, sourceChunk);
+            }
+            case RECORD_CHUNK_REPLACE -> {
+                int chunkX = in.readInt();
+                int chunkY = in.readInt();
+                int tilesLength = in.readInt();
+                byte[] tileBytes = null;
+                if (tilesLength >= 0) {
+                    tileBytes = new byte[tilesLength];
+                    in.readFully(tileBytes);
+                }
+                String objectsJson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                ChunkData rest;
+                synchronized (json) {
+                    rest = json.fromJson(ChunkData.class, objectsJson);
+                }
+                replayer.chunkReplace(chunkX, chunkY, TileCodec.decode(tileBytes), rest.getObjects());
+            }
+            default -> log.warn("Skipping unknown journal record type {}", type);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package io.github.pokemeetup.world.service.impl;
+
+import io.github.pokemeetup.world.config.ChunkGeometry;
+import io.github.pokemeetup.world.model.ChunkKey;
+import io.github.pokemeetup.world.model.ChunkMap;
+import io.github.pokemeetup.world.model.WorldObject;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The loaded world objects of an object manager: each chunk's object list, plus where in those
+ * lists every object id is, so finding, moving and removing an object never searches a list.
+ * <p>
+ * The lists are the chunks' own {@code ChunkData} object lists, so changes here are what gets
+ * saved, and objects only go into chunks that are loaded. An object always sits in the list of
+ * the chunk its tile is in; removal moves the last object of the list into the freed slot, so
+ * list order is not kept (deltas key objects by id, not position). Chunk lists are
+ * copy-on-write, as rendering, collision and the network code iterate them without locking;
+ * changes are serialized by the index.
+ */
+final class WorldObjectIndex {
+
+    private static final class Slot {
+        private long chunk;
+        private int index;
+        private final WorldObject object;
+
+        private Slot(long chunk, int index, WorldObject object) {
+            this.chunk = chunk;
+            this.index = index;
+            this.object = object;
+        }
+    }
+
+    private final ChunkGeometry chunkGeometry;
+    private final ChunkMap<List<WorldObject>> objectsByChunk = new ChunkMap<>(256);
+    // guarded by this
+    private final Map<String, Slot> slots = new HashMap<>();
+
+    WorldObjectIndex(ChunkGeometry chunkGeometry) {
+        this.chunkGeometry = chunkGeometry;
+    }
+
+    List<WorldObject> chunk(int chunkX, int chunkY) {
+        List<WorldObject> objects = objectsByChunk.get(chunkX, chunkY);
+        return objects != null ? objects : Collections.emptyList();
+    }
+
+    /**
+     * Makes {@code objects} the chunk's list, replacing and unindexing any previous one.
+     */
+    synchronized void putChunk(int chunkX, int chunkY, List<WorldObject> objects) {
+        long key = ChunkKey.of(chunkX, chunkY);
+        List<WorldObject> previous = objectsByChunk.put(key, objects);
+        if (previous != null && previous != objects) {
+            unindex(key, previous);
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            WorldObject object = objects.get(i);
+            if (object.getId() != null) {
+                slots.put(object.getId(), new Slot(key, i, object));
+            }
+        }
+    }
+
+    synchronized void removeChunk(int chunkX, int chunkY) {
+        long key = ChunkKey.of(chunkX, chunkY);
+        List<WorldObject> previous = objectsByChunk.remove(key);
+        if (previous != null) {
+            unindex(key, previous);
+        }
+    }
+
+    synchronized WorldObject get(String objectId) {
+        Slot slot = slots.get(objectId);
+        return slot != null ? slot.object : null;
+    }
+
+    /**
+     * Adds the object to the chunk of its tile.
+     *
+     * @throws IllegalStateException if that chunk is not loaded
+     */
+    synchronized void add(WorldObject object) {
+        long key = ChunkKey.of(chunkGeometry.chunkOf(object.getTileX()), chunkGeometry.chunkOf(object.getTileY()));
+        List<WorldObject> objects = loadedChunk(key);
+        if (object.getId() != null) {
+            remove(object.getId());
+        }
+        append(key, objects, object);
+    }
+
+    synchronized boolean remove(String objectId) {
+        Slot slot = slots.remove(objectId);
+        if (slot == null) {
+            return false;
+        }
+        detach(slot);
+        return true;
+    }
+
+    /**
+     * Moves the object to the tile; if the tile is in another chunk, the object moves to that
+     * chunk's list.
+     *
+     * @return false if no loaded object has the id
+     * @throws IllegalStateException if the tile is in another chunk that is not loaded
+     */
+    synchronized boolean move(String objectId, int tileX, int tileY) {
+        Slot slot = slots.get(objectId);
+        if (slot == null) {
+            return false;
+        }
+        long key = ChunkKey.of(chunkGeometry.chunkOf(tileX), chunkGeometry.chunkOf(tileY));
+        if (key != slot.chunk) {
+            List<WorldObject> target = loadedChunk(key);
+            detach(slot);
+            slots.remove(objectId);
+            slot.object.setTileX(tileX);
+            slot.object.setTileY(tileY);
+            append(key, target, slot.object);
+        } else {
+            slot.object.setTileX(tileX);
+            slot.object.setTileY(tileY);
+        }
+        return true;
+    }
+
+    synchronized int size() {
+        return slots.size();
+    }
+
+    // a list of our own for an unloaded chunk would belong to no ChunkData and never be saved
+    private List<WorldObject> loadedChunk(long key) {
+        List<WorldObject> objects = objectsByChunk.get(key);
+        if (objects == null) {
+            throw new IllegalStateException("Chunk (" + ChunkKey.x(key) + "," + ChunkKey.y(key) + ") is not loaded");
+        }
+        return objects;
+    }
+
+    private void append(long key, List<WorldObject> objects, WorldObject object) {
+        objects.add(object);
+        if (object.getId() != null) {
+            slots.put(object.getId(), new Slot(key, objects.size() - 1, object));
+        }
+    }
+
+    // takes the slot's object out of its chunk list, filling the gap with the list's last object
+    private void detach(Slot slot) {
+        List<WorldObject> objects = objectsByChunk.get(slot.chunk);
+        if (objects == null) {
+            return;
+        }
+        int index = slot.index;
+        boolean stale = index >= objects.size() || objects.get(index) != slot.object;
+        if (stale) {
+            // the list was changed without the index; find the object and renumber the chunk
+            index = indexOf(objects, slot.object);
+            if (index < 0) {
+                return;
+            }
+        }
+        int last = objects.size() - 1;
+        if (index != last) {
+            WorldObject moved = objects.get(last);
+            // set before remove: a reader in between sees the moved object twice, never not at all
+            objects.set(index, moved);
+            Slot movedSlot = moved.getId() != null ? slots.get(moved.getId()) : null;
+            if (movedSlot != null && movedSlot.object == moved) {
+                movedSlot.index = index;
+            }
+        }
+        objects.remove(last);
+        if (stale) {
+            renumber(slot.chunk, objects);
+        }
+    }
+
+    private void renumber(long key, List<WorldObject> objects) {
+        for (int i = 0; i < objects.size(); i++) {
+            WorldObject object = objects.get(i);
+            Slot slot = object.getId() != null ? slots.get(object.getId()) : null;
+            if (slot != null && slot.object == object) {
+                slot.chunk = key;
+                slot.index = i;
+            }
+        }
+    }
+
+    private void unindex(long key, List<WorldObject> objects) {
+        for (WorldObject object : objects) {
+            if (object.getId() == null) {
+                continue;
+            }
+            Slot slot = slots.get(object.getId());
+            if (slot != null && slot.chunk == key && slot.object == object) {
+                slots.remove(object.getId());
+            }
+        }
+    }
+
+    private static int indexOf(List<WorldObject> objects, WorldObject object) {
+        for (int i = 0; i < objects.size(); i++) {
+            if (objects.get(i) == object) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,6 +1,9 @@
 package io.github.pokemeetup.world.service.impl;
 
+import io.github.pokemeetup.utils.PositionalRandom;
 import io.github.pokemeetup.world.biome.model.Biome;
+import io.github.pokemeetup.world.config.ChunkGeometry;
+import io.github.pokemeetup.world.biome.model.BiomeTables;
 import io.github.pokemeetup.world.model.ObjectType;
 import io.github.pokemeetup.world.model.WorldObject;
 import io.github.pokemeetup.world.service.WorldObjectManager;
@@ -8,26 +11,44 @@ import lombok.Getter;
 import lombok.Setter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntBinaryOperator;
 
 @Service
 @Profile("client")
 public class WorldObjectManagerImpl implements WorldObjectManager {
     private static final Logger logger = LoggerFactory.getLogger(WorldObjectManagerImpl.class);
 
-    private static final int CHUNK_SIZE = 16;
+    private static final int CELL_SIZE = ObjectPlacementGrid.CELL_SIZE;
+    // salts of the candidate draws: SALT_CANDIDATE + spawn index * MAX_ATTEMPTS + attempt
+    private static final int SALT_CANDIDATE = 0x0B000000;
+    private static final int MAX_ATTEMPTS = 1 << 12;
 
-    private final Map<String, List<WorldObject>> objectsByChunk = new ConcurrentHashMap<>();
+    private final WorldObjectIndex objectIndex;
+    @Getter
+    private final ChunkGeometry chunkGeometry;
+    private final int cellsPerSide;
 
     @Getter
     @Setter
     private boolean singlePlayer = true;
 
+    public WorldObjectManagerImpl() {
+        this(ChunkGeometry.DEFAULT);
+    }
+
+    @Autowired
+    public WorldObjectManagerImpl(ChunkGeometry chunkGeometry) {
+        this.chunkGeometry = chunkGeometry;
+        this.objectIndex = new WorldObjectIndex(chunkGeometry);
+        this.cellsPerSide = chunkGeometry.size() / CELL_SIZE;
+    }
+
     @Override
     public void initialize() {
 
@@ -37,107 +58,129 @@ public class WorldObjectManagerImpl implements WorldObjectManager {
     @Override
     public void loadObjectsForChunk(int chunkX, int chunkY, List<WorldObject> objects) {
         if (objects == null) {
-            objects = Collections.emptyList();
+            objects = new CopyOnWriteArrayList<>();
         }
-        String key = chunkX + "," + chunkY;
-        objectsByChunk.put(key, objects);
-        logger.debug("Loaded {} objects for chunk {}", objects.size(), key);
+        objectIndex.putChunk(chunkX, chunkY, objects);
+        logger.debug("Loaded {} objects for chunk {},{}", objects.size(), chunkX, chunkY);
+    }
+
+    @Override
+    public void unloadObjectsForChunk(int chunkX, int chunkY) {
+        objectIndex.removeChunk(chunkX, chunkY);
     }
 
     @Override
     public List<WorldObject> generateObjectsForChunk(int chunkX, int chunkY, int[][] tiles, Biome biome, long seed) {
+        List<WorldObject> objects = createObjectsForChunk(chunkX, chunkY, tiles, biome, seed);
+        objectIndex.putChunk(chunkX, chunkY, objects);
+        if (biome != null) {
+            logger.info("Generated {} objects for chunk {},{} using biome '{}'", objects.size(), chunkX, chunkY, biome.getType());
+        }
+        return objects;
+    }
 
+    @Override
+    public List<WorldObject> createObjectsForChunk(int chunkX, int chunkY, int[][] tiles, Biome biome, long seed) {
         List<WorldObject> objects = new CopyOnWriteArrayList<>();
         if (biome == null) {
-            String key = chunkX + "," + chunkY;
-            objectsByChunk.put(key, objects);
             return objects;
         }
-
-        long combinedSeed = seed * 31 + chunkX * 341873128712L + chunkY * 132897987541L;
-        Random random = new Random(combinedSeed);
-        int chunkSize = tiles.length;
-
-        for (String objName : biome.getSpawnableObjects()) {
-            ObjectType type;
-            try {
-                type = ObjectType.valueOf(objName);
-            } catch (Exception e) {
-                logger.warn("Unknown object type: '{}' in biome '{}'", objName, biome.getType());
-                continue;
+        int baseX = chunkGeometry.originOf(chunkX);
+        int baseY = chunkGeometry.originOf(chunkY);
+        IntBinaryOperator tileAt = (x, y) -> tiles[x - baseX][y - baseY];
+
+        List<WorldObject> cellObjects = new ArrayList<>();
+        for (int cy = 0; cy < cellsPerSide; cy++) {
+            for (int cx = 0; cx < cellsPerSide; cx++) {
+                cellObjects.clear();
+                placeCell(chunkX, chunkY, cx, cy, biome, seed, tileAt, cellObjects);
+                objects.addAll(cellObjects);
             }
+        }
+        return objects;
+    }
 
-            double chance = biome.getSpawnChanceForObject(type);
-            int attempts = (int) (chance * (chunkSize * chunkSize));
+    @Override
+    public WorldObject createObjectAt(int tileX, int tileY, Biome biome, long seed, IntBinaryOperator tileAt) {
+        if (biome == null) {
+            return null;
+        }
+        int chunkX = chunkGeometry.chunkOf(tileX);
+        int chunkY = chunkGeometry.chunkOf(tileY);
+        List<WorldObject> cellObjects = new ArrayList<>();
+        placeCell(chunkX, chunkY, chunkGeometry.localOf(tileX) / CELL_SIZE, chunkGeometry.localOf(tileY) / CELL_SIZE,
+                biome, seed, tileAt, cellObjects);
+        return ObjectPlacementGrid.coveringObject(cellObjects, tileX, tileY);
+    }
 
-            for (int i = 0; i < attempts; i++) {
-                int lx = random.nextInt(chunkSize);
-                int ly = random.nextInt(chunkSize);
+    /**
+     * Objects of one placement cell. Every candidate position is its own hash of the cell and
+     * attempt, so a cell is generated the same way whether alone or as part of its chunk.
+     */
+    private void placeCell(int chunkX, int chunkY, int cx, int cy, Biome biome, long seed,
+                           IntBinaryOperator tileAt, List<WorldObject> out) {
+        int cellX0 = chunkGeometry.originOf(chunkX) + cx * CELL_SIZE;
+        int cellY0 = chunkGeometry.originOf(chunkY) + cy * CELL_SIZE;
+        int cellX = Math.floorDiv(cellX0, CELL_SIZE);
+        int cellY = Math.floorDiv(cellY0, CELL_SIZE);
+        int slotBase = (cy * cellsPerSide + cx) * CELL_SIZE * CELL_SIZE;
+
+        BiomeTables tables = biome.getTables();
+        ObjectPlacementGrid grid = new ObjectPlacementGrid(CELL_SIZE, CELL_SIZE);
+        for (int s = 0; s < tables.getSpawnCount(); s++) {
+            ObjectType type = tables.getSpawnType(s);
+            int attempts = (int) (tables.getSpawnChance(s) * (CELL_SIZE * CELL_SIZE));
 
-                int tileType = tiles[lx][ly];
-                if (!biome.getAllowedTileTypes().contains(tileType)) {
+            for (int i = 0; i < attempts; i++) {
+                int pos = PositionalRandom.nextInt(seed, cellX, cellY, SALT_CANDIDATE + s * MAX_ATTEMPTS + i,
+                        CELL_SIZE * CELL_SIZE);
+                int lx = pos % CELL_SIZE;
+                int ly = pos / CELL_SIZE;
+                int worldX = cellX0 + lx;
+                int worldY = cellY0 + ly;
+
+                if (!tables.isAllowedTile(tileAt.applyAsInt(worldX, worldY))) {
                     continue;
                 }
 
-                if (canPlaceObject(objects, chunkX, chunkY, lx, ly, type)) {
-                    int worldX = chunkX * CHUNK_SIZE + lx;
-                    int worldY = chunkY * CHUNK_SIZE + ly;
-
+                if (grid.tryClaim(lx, ly, type)) {
                     WorldObject obj = new WorldObject(worldX, worldY, type, type.isCollidable());
-                    objects.add(obj);
+                    obj.setId(WorldObject.generatedId(chunkX, chunkY, slotBase + out.size()));
+                    out.add(obj);
                 }
             }
         }
+    }
 
-        String key = chunkX + "," + chunkY;
-        objectsByChunk.put(key, objects);
-        logger.info("Generated {} objects for chunk {},{} using biome '{}'", objects.size(), chunkX, chunkY, biome.getType());
-        return objects;
+    @Override
+    public List<WorldObject> getObjectsForChunk(int chunkX, int chunkY) {
+        return objectIndex.chunk(chunkX, chunkY);
     }
 
-    private boolean canPlaceObject(List<WorldObject> currentObjects, int chunkX, int chunkY, int lx, int ly, ObjectType newType) {
-        int worldX = chunkX * CHUNK_SIZE + lx;
-        int worldY = chunkY * CHUNK_SIZE + ly;
-
-        int minDistance = 3;
-        if (newType.name().contains("TREE")) {
-            for (WorldObject obj : currentObjects) {
-                if (obj.getType().name().contains("TREE")) {
-                    int dx = obj.getTileX() - worldX;
-                    int dy = obj.getTileY() - worldY;
-                    if (dx * dx + dy * dy < minDistance * minDistance) {
-                        return false;
-                    }
-                }
-            }
-        }
-        return true;
+    @Override
+    public void addObject(WorldObject object) {
+        int chunkX = chunkGeometry.chunkOf(object.getTileX());
+        int chunkY = chunkGeometry.chunkOf(object.getTileY());
+        objectIndex.add(object);
+        logger.debug("Added object {} to chunk {},{}", object.getId(), chunkX, chunkY);
     }
 
     @Override
-    public List<WorldObject> getObjectsForChunk(int chunkX, int chunkY) {
-        String key = chunkX + "," + chunkY;
-        return objectsByChunk.getOrDefault(key, Collections.emptyList());
+    public WorldObject getObject(String objectId) {
+        return objectIndex.get(objectId);
     }
 
     @Override
-    public void addObject(WorldObject object) {
-        int chunkX = object.getTileX() / CHUNK_SIZE;
-        int chunkY = object.getTileY() / CHUNK_SIZE;
-        String key = chunkX + "," + chunkY;
-        objectsByChunk.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(object);
-        logger.debug("Added object {} to chunk {}", object.getId(), key);
+    public boolean moveObject(String objectId, int tileX, int tileY) {
+        return objectIndex.move(objectId, tileX, tileY);
     }
 
     @Override
-    public void removeObject(String objectId) {
-        for (Map.Entry<String, List<WorldObject>> entry : objectsByChunk.entrySet()) {
-            List<WorldObject> objs = entry.getValue();
-            boolean removed = objs.removeIf(o -> o.getId().equals(objectId));
-            if (removed) {
-                logger.debug("Removed object {} from chunk {}", objectId, entry.getKey());
-                break;
-            }
+    public boolean removeObject(String objectId) {
+        boolean removed = objectIndex.remove(objectId);
+        if (removed) {
+            logger.debug("Removed object {}", objectId);
         }
+        return removed;
     }
 }
@@ -0,0 +1,181 @@
+package io.github.pokemeetup.world.service.impl;
+
+import com.badlogic.gdx.math.Vector2;
+import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.WorldData;
+import io.github.pokemeetup.world.storage.ChunkStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Generates and stores every chunk within a square radius ahead of time, center outwards, so
+ * players never wait for generation there. Chunks are stored in full: as a delta against the
+ * generated baseline they would be empty and regenerated on every load. Chunks already stored are
+ * skipped, so an interrupted run resumes by starting it again and chunks players changed are kept.
+ */
+@Slf4j
+@Service
+@Profile("server")
+public class WorldPregenerator {
+
+    private final ChunkGenerationEngine generationEngine;
+    private final JsonWorldDataService jsonWorldDataService;
+    private final int batchSize;
+    private final long progressIntervalMs;
+
+    public record Result(long total, long generated, long skipped, long nanos) {
+        public double chunksPerSecond() {
+            return nanos == 0 ? 0 : generated * 1e9 / nanos;
+        }
+    }
+
+    public WorldPregenerator(
+            ChunkGenerationEngine generationEngine,
+            JsonWorldDataService jsonWorldDataService,
+            @Value("${world.pregen.batchSize:512}") int batchSize,
+            @Value("${world.pregen.progressIntervalMs:5000}") long progressIntervalMs
+    ) {
+        this.generationEngine = generationEngine;
+        this.jsonWorldDataService = jsonWorldDataService;
+        this.batchSize = Math.max(1, batchSize);
+        this.progressIntervalMs = progressIntervalMs;
+    }
+
+    /**
+     * Generates the chunks within {@code radius} chunks of (centerX, centerY) that are not stored yet.
+     * Each batch is synced before the next one is written, so an interruption loses one batch at most.
+     * An interrupted run stops at the next chunk, writes the batch already generating, and returns with
+     * the interrupt flag set; the flag is cleared meanwhile so the region files can still be written.
+     */
+    public Result pregenerate(String worldName, int centerX, int centerY, int radius) throws IOException {
+        WorldData world = new WorldData();
+        jsonWorldDataService.loadWorld(worldName, world);
+        generationEngine.getChunkGeometry().checkWorld(worldName, world.getChunkSize());
+        long seed = world.getSeed();
+        long total = (2L * radius + 1) * (2L * radius + 1);
+        log.info("Pregenerating {} chunks of '{}' around ({},{}) on {} threads",
+                total, worldName, centerX, centerY, generationEngine.getParallelism());
+
+        long start = System.nanoTime();
+        long lastReport = start;
+        long visited = 0;
+        long generated = 0;
+        long skipped = 0;
+        List<Vector2> batch = new ArrayList<>(batchSize);
+        // the next batch generates while the previous one is written
+        CompletableFuture<List<ChunkStore.StoredChunk>> inFlight = null;
+        boolean interrupted = false;
+
+        rings:
+        for (int r = 0; r <= radius; r++) {
+            for (Vector2 pos : ring(centerX, centerY, r)) {
+                // cleared before any more I/O: an interrupted thread closes the channels it touches
+                if (Thread.interrupted()) {
+                    interrupted = true;
+                    break rings;
+                }
+                visited++;
+                if (jsonWorldDataService.hasStoredChunk(worldName, (int) pos.x, (int) pos.y)) {
+                    skipped++;
+                    continue;
+                }
+                batch.add(pos);
+                if (batch.size() < batchSize) {
+                    continue;
+                }
+                CompletableFuture<List<ChunkStore.StoredChunk>> next = generate(worldName, seed, batch);
+                batch = new ArrayList<>(batchSize);
+                generated += write(inFlight);
+                inFlight = next;
+
+                long now = System.nanoTime();
+                if ((now - lastReport) / 1_000_000 >= progressIntervalMs) {
+                    lastReport = now;
+                    log.info("Pregenerating '{}': {}/{} chunks ({}%), {} chunks/s, {} already stored",
+                            worldName, visited, total, visited * 100 / total,
+                            String.format("%.1f", generated * 1e9 / (now - start)), skipped);
+                }
+            }
+        }
+        generated += write(inFlight);
+        if (interrupted) {
+            // the partial batch is left for the next run
+            log.info("Pregenerating '{}' interrupted after {}/{} chunks", worldName, visited, total);
+            Thread.currentThread().interrupt();
+        } else if (!batch.isEmpty()) {
+            generated += write(generate(worldName, seed, batch));
+        }
+
+        Result result = new Result(total, generated, skipped, System.nanoTime() - start);
+        log.info("Pregenerated {} chunks of '{}' in {} s ({} chunks/s), {} were already stored",
+                result.generated(), worldName, String.format("%.1f", result.nanos() / 1e9),
+                String.format("%.1f", result.chunksPerSecond()), result.skipped());
+        return result;
+    }
+
+    /**
+     * Chunks at Chebyshev distance {@code r} from the center, in one loop around it.
+     */
+    static List<Vector2> ring(int centerX, int centerY, int r) {
+        if (r == 0) {
+            return List.of(new Vector2(centerX, centerY));
+        }
+        List<Vector2> ring = new ArrayList<>(8 * r);
+        for (int y = -r + 1; y <= r; y++) {
+            ring.add(new Vector2(centerX + r, centerY + y));
+        }
+        for (int x = r - 1; x >= -r; x--) {
+            ring.add(new Vector2(centerX + x, centerY + r));
+        }
+        for (int y = r - 1; y >= -r; y--) {
+            ring.add(new Vector2(centerX - r, centerY + y));
+        }
+        for (int x = -r + 1; x <= r; x++) {
+            ring.add(new Vector2(centerX + x, centerY - r));
+        }
+        return ring;
+    }
+
+    private CompletableFuture<List<ChunkStore.StoredChunk>> generate(String worldName, long seed, List<Vector2> positions) {
+        // encoded on the generation threads as each chunk completes
+        List<CompletableFuture<ChunkStore.StoredChunk>> encoded = new ArrayList<>(positions.size());
+        for (CompletableFuture<ChunkData> chunk : generationEngine.generateAsync(positions, seed).values()) {
+            encoded.add(chunk.thenApply(c -> {
+                try {
+                    return jsonWorldDataService.encodeChunk(worldName, c, null);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+        return CompletableFuture.allOf(encoded.toArray(new CompletableFuture[0]))
+                .thenApply(v -> encoded.stream().map(CompletableFuture::join).toList());
+    }
+
+    private int write(CompletableFuture<List<ChunkStore.StoredChunk>> batch) throws IOException {
+        if (batch == null) {
+            return 0;
+        }
+        List<ChunkStore.StoredChunk> chunks;
+        try {
+            chunks = batch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+        jsonWorldDataService.saveChunks(chunks);
+        jsonWorldDataService.syncChunks();
+        return chunks.size();
+    }
+}
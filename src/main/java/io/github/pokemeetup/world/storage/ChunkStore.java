@@ -0,0 +1,44 @@
+package io.github.pokemeetup.world.storage;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Backend that keeps encoded chunk payloads. Encoding (tile codec, deltas) happens in
+ * JsonWorldDataService; a store only maps {@code (world, chunkX, chunkY)} to a format byte and
+ * its bytes. Chosen with {@code world.storage}.
+ */
+public interface ChunkStore extends AutoCloseable {
+
+    record Entry(byte format, byte[] data) {
+    }
+
+    /**
+     * A pending write; {@code data == null} removes the chunk.
+     */
+    record StoredChunk(String worldName, int chunkX, int chunkY, byte format, byte[] data) {
+    }
+
+    /**
+     * @return the stored payload, or null if nothing is stored for the chunk
+     */
+    Entry read(String worldName, int chunkX, int chunkY) throws IOException;
+
+    /**
+     * Applies all writes and removals of the batch, in order.
+     */
+    void writeAll(List<StoredChunk> chunks) throws IOException;
+
+    /**
+     * Makes every write so far durable.
+     */
+    void sync() throws IOException;
+
+    /**
+     * Removes every chunk of the world.
+     */
+    void deleteWorld(String worldName) throws IOException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,56 @@
+package io.github.pokemeetup.world.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * One file per player: {@code <saveDir>/<world>/playerdata/<username>.json}, replaced atomically.
+ */
+public class FilePlayerStore implements PlayerStore {
+
+    private final String baseWorldsDir;
+
+    public FilePlayerStore(String baseWorldsDir) {
+        this.baseWorldsDir = baseWorldsDir;
+    }
+
+    @Override
+    public byte[] read(String worldName, String username) throws IOException {
+        Path file = playerFile(worldName, username);
+        return Files.exists(file) ? Files.readAllBytes(file) : null;
+    }
+
+    @Override
+    public void writeAll(List<StoredPlayer> players) throws IOException {
+        for (StoredPlayer p : players) {
+            AtomicFiles.write(playerFile(p.worldName(), p.username()), p.data());
+        }
+    }
+
+    @Override
+    public void deleteWorld(String worldName) throws IOException {
+        Path folder = playerDataFolderPath(worldName);
+        if (!Files.exists(folder)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            for (Path p : files.toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+        Files.deleteIfExists(folder);
+    }
+
+    private Path playerDataFolderPath(String worldName) {
+        // e.g. "assets/save/worlds/myWorld/playerdata"
+        return Paths.get(baseWorldsDir, worldName, "playerdata");
+    }
+
+    private Path playerFile(String worldName, String username) {
+        return playerDataFolderPath(worldName).resolve(username + ".json");
+    }
+}
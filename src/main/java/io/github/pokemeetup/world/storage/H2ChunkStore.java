@@ -0,0 +1,120 @@
+package io.github.pokemeetup.world.storage;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Chunks as binary rows of the {@code world_chunk} table. A batch is written with one JDBC batch
+ * of {@code MERGE} (upsert) and {@code DELETE} statements in a single transaction.
+ */
+public class H2ChunkStore implements ChunkStore {
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS world_chunk ("
+            + "world VARCHAR(255) NOT NULL, chunk_x INT NOT NULL, chunk_y INT NOT NULL, "
+            + "format TINYINT NOT NULL, data VARBINARY NOT NULL, "
+            + "PRIMARY KEY (world, chunk_x, chunk_y))";
+    private static final String SELECT = "SELECT format, data FROM world_chunk WHERE world = ? AND chunk_x = ? AND chunk_y = ?";
+    private static final String MERGE = "MERGE INTO world_chunk (world, chunk_x, chunk_y, format, data) "
+            + "KEY (world, chunk_x, chunk_y) VALUES (?, ?, ?, ?, ?)";
+    private static final String DELETE = "DELETE FROM world_chunk WHERE world = ? AND chunk_x = ? AND chunk_y = ?";
+    private static final String DELETE_WORLD = "DELETE FROM world_chunk WHERE world = ?";
+
+    private final JdbcTemplate jdbc;
+
+    public H2ChunkStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        jdbc.execute(CREATE_TABLE);
+    }
+
+    @Override
+    public Entry read(String worldName, int chunkX, int chunkY) throws IOException {
+        try {
+            List<Entry> rows = jdbc.query(SELECT,
+                    (rs, i) -> new Entry(rs.getByte(1), rs.getBytes(2)), worldName, chunkX, chunkY);
+            return rows.isEmpty() ? null : rows.get(0);
+        } catch (DataAccessException e) {
+            throw new IOException("Failed to read chunk (" + chunkX + "," + chunkY + ") of '" + worldName + "'", e);
+        }
+    }
+
+    @Override
+    public void writeAll(List<StoredChunk> chunks) throws IOException {
+        if (chunks.isEmpty()) {
+            return;
+        }
+        try {
+            jdbc.execute((ConnectionCallback<Void>) con -> {
+                inTransaction(con, () -> {
+                    try (PreparedStatement merge = con.prepareStatement(MERGE);
+                         PreparedStatement delete = con.prepareStatement(DELETE)) {
+                        PreparedStatement batched = null;
+                        for (StoredChunk c : chunks) {
+                            PreparedStatement ps = c.data() != null ? merge : delete;
+                            // switching statements runs the other batch first, so writes apply in order
+                            if (batched != null && batched != ps) {
+                                batched.executeBatch();
+                            }
+                            batched = ps;
+                            ps.setString(1, c.worldName());
+                            ps.setInt(2, c.chunkX());
+                            ps.setInt(3, c.chunkY());
+                            if (c.data() != null) {
+                                ps.setByte(4, c.format());
+                                ps.setBytes(5, c.data());
+                            }
+                            ps.addBatch();
+                        }
+                        batched.executeBatch();
+                    }
+                });
+                return null;
+            });
+        } catch (DataAccessException e) {
+            throw new IOException("Failed to write " + chunks.size() + " chunks", e);
+        }
+    }
+
+    @Override
+    public void sync() {
+        // every batch is committed before writeAll returns
+    }
+
+    @Override
+    public void deleteWorld(String worldName) throws IOException {
+        try {
+            jdbc.update(DELETE_WORLD, worldName);
+        } catch (DataAccessException e) {
+            throw new IOException("Failed to delete chunks of '" + worldName + "'", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        // the data source is owned by Spring
+    }
+
+    interface SqlWork {
+        void run() throws SQLException;
+    }
+
+    static void inTransaction(Connection con, SqlWork work) throws SQLException {
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try {
+            work.run();
+            con.commit();
+        } catch (SQLException | RuntimeException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+    }
+}
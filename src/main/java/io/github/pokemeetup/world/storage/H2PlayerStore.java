@@ -0,0 +1,73 @@
+package io.github.pokemeetup.world.storage;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Players as rows of the {@code world_player} table, upserted in one JDBC batch per checkpoint.
+ */
+public class H2PlayerStore implements PlayerStore {
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS world_player ("
+            + "world VARCHAR(255) NOT NULL, username VARCHAR(255) NOT NULL, data VARBINARY NOT NULL, "
+            + "PRIMARY KEY (world, username))";
+    private static final String SELECT = "SELECT data FROM world_player WHERE world = ? AND username = ?";
+    private static final String MERGE = "MERGE INTO world_player (world, username, data) KEY (world, username) VALUES (?, ?, ?)";
+    private static final String DELETE_WORLD = "DELETE FROM world_player WHERE world = ?";
+
+    private final JdbcTemplate jdbc;
+
+    public H2PlayerStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        jdbc.execute(CREATE_TABLE);
+    }
+
+    @Override
+    public byte[] read(String worldName, String username) throws IOException {
+        try {
+            List<byte[]> rows = jdbc.query(SELECT, (rs, i) -> rs.getBytes(1), worldName, username);
+            return rows.isEmpty() ? null : rows.get(0);
+        } catch (DataAccessException e) {
+            throw new IOException("Failed to read player '" + username + "' of '" + worldName + "'", e);
+        }
+    }
+
+    @Override
+    public void writeAll(List<StoredPlayer> players) throws IOException {
+        if (players.isEmpty()) {
+            return;
+        }
+        try {
+            jdbc.execute((ConnectionCallback<Void>) con -> {
+                H2ChunkStore.inTransaction(con, () -> {
+                    try (PreparedStatement merge = con.prepareStatement(MERGE)) {
+                        for (StoredPlayer p : players) {
+                            merge.setString(1, p.worldName());
+                            merge.setString(2, p.username());
+                            merge.setBytes(3, p.data());
+                            merge.addBatch();
+                        }
+                        merge.executeBatch();
+                    }
+                });
+                return null;
+            });
+        } catch (DataAccessException e) {
+            throw new IOException("Failed to write " + players.size() + " players", e);
+        }
+    }
+
+    @Override
+    public void deleteWorld(String worldName) throws IOException {
+        try {
+            jdbc.update(DELETE_WORLD, worldName);
+        } catch (DataAccessException e) {
+            throw new IOException("Failed to delete players of '" + worldName + "'", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.pokemeetup.world.storage;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Backend that keeps serialized player data per world. Chosen with {@code world.storage}.
+ */
+public interface PlayerStore {
+
+    record StoredPlayer(String worldName, String username, byte[] data) {
+    }
+
+    /**
+     * @return the stored bytes, or null if the player has never been saved in this world
+     */
+    byte[] read(String worldName, String username) throws IOException;
+
+    void writeAll(List<StoredPlayer> players) throws IOException;
+
+    /**
+     * Removes every player of the world.
+     */
+    void deleteWorld(String worldName) throws IOException;
+}
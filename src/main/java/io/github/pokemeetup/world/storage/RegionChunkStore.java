@@ -0,0 +1,70 @@
+package io.github.pokemeetup.world.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Chunks in region files: {@code <saveDir>/<world>/region/r.<rx>.<ry>.pmr}, 32x32 chunks each.
+ */
+public class RegionChunkStore implements ChunkStore {
+
+    private static final int MAX_OPEN_REGION_FILES = 64;
+
+    private final String baseWorldsDir;
+    private final RegionFileCache regionFiles = new RegionFileCache(MAX_OPEN_REGION_FILES);
+
+    public RegionChunkStore(String baseWorldsDir) {
+        this.baseWorldsDir = baseWorldsDir;
+    }
+
+    @Override
+    public Entry read(String worldName, int chunkX, int chunkY) throws IOException {
+        RegionFile.Entry entry = regionFiles.read(regionFolderPath(worldName), chunkX, chunkY);
+        return entry != null ? new Entry(entry.format(), entry.data()) : null;
+    }
+
+    @Override
+    public void writeAll(List<StoredChunk> chunks) throws IOException {
+        for (StoredChunk c : chunks) {
+            Path regionFolder = regionFolderPath(c.worldName());
+            if (c.data() == null) {
+                regionFiles.delete(regionFolder, c.chunkX(), c.chunkY());
+            } else {
+                regionFiles.write(regionFolder, c.chunkX(), c.chunkY(), c.format(), c.data());
+            }
+        }
+    }
+
+    @Override
+    public void sync() throws IOException {
+        regionFiles.flushAll();
+    }
+
+    @Override
+    public void deleteWorld(String worldName) throws IOException {
+        Path regionFolder = regionFolderPath(worldName);
+        regionFiles.close(regionFolder);
+        if (!Files.exists(regionFolder)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(regionFolder)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        regionFiles.closeAll();
+    }
+
+    private Path regionFolderPath(String worldName) {
+        return Paths.get(baseWorldsDir, worldName, "region");
+    }
+}
@@ -0,0 +1,280 @@
+package io.github.pokemeetup.world.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * A single region file holding up to 32x32 chunks.
+ * Layout: two header sectors (offset table + timestamps) followed by 4 KiB data sectors.
+ * Each offset entry is (firstSector << 8) | sectorCount; each chunk entry starts with
+ * a 4 byte length and a 1 byte format id, followed by the payload.
+ */
+public class RegionFile implements AutoCloseable {
+    public static final int REGION_SHIFT = 5;
+    public static final int REGION_SIZE = 1 << REGION_SHIFT;
+    public static final int REGION_MASK = REGION_SIZE - 1;
+
+    static final int SECTOR_BYTES = 4096;
+    private static final int ENTRY_COUNT = REGION_SIZE * REGION_SIZE;
+    private static final int HEADER_SECTORS = 2;
+    private static final int ENTRY_HEADER_BYTES = 5;
+    private static final int MAX_SECTORS_PER_CHUNK = 255;
+
+    private final Path path;
+    private FileChannel channel;
+    private final int[] offsets = new int[ENTRY_COUNT];
+    private final int[] timestamps = new int[ENTRY_COUNT];
+    // bit set = sector in use
+    private final BitSet usedSectors = new BitSet();
+    // sectors freed since the last flush; the header on disk may still point at them
+    private final BitSet releasedSectors = new BitSet();
+    private int sectorCount;
+
+    public record Entry(byte format, byte[] data) {
+    }
+
+    public RegionFile(Path path) throws IOException {
+        this.path = path;
+        open();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        long size = channel.size();
+        if (size < (long) HEADER_SECTORS * SECTOR_BYTES) {
+            // brand-new (or truncated) file: write an empty header
+            channel.write(ByteBuffer.allocate(HEADER_SECTORS * SECTOR_BYTES), 0);
+            size = (long) HEADER_SECTORS * SECTOR_BYTES;
+        }
+        sectorCount = (int) ((size + SECTOR_BYTES - 1) / SECTOR_BYTES);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SECTORS * SECTOR_BYTES);
+        readFully(header, 0);
+        header.flip();
+
+        usedSectors.clear();
+        releasedSectors.clear();
+        usedSectors.set(0, HEADER_SECTORS);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            offsets[i] = header.getInt();
+        }
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            timestamps[i] = header.getInt();
+        }
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            int offset = offsets[i];
+            if (offset == 0) continue;
+            int first = offset >>> 8;
+            int count = offset & 0xFF;
+            if (first < HEADER_SECTORS || first + count > sectorCount) {
+                // points outside the file, treat the chunk as missing
+                offsets[i] = 0;
+                continue;
+            }
+            usedSectors.set(first, first + count);
+        }
+    }
+
+    private static int index(int localX, int localY) {
+        return (localX & REGION_MASK) + (localY & REGION_MASK) * REGION_SIZE;
+    }
+
+    public synchronized boolean hasChunk(int localX, int localY) {
+        return offsets[index(localX, localY)] != 0;
+    }
+
+    public synchronized Entry read(int localX, int localY) throws IOException {
+        int offset = offsets[index(localX, localY)];
+        if (offset == 0) {
+            return null;
+        }
+        int first = offset >>> 8;
+        int count = offset & 0xFF;
+
+        ByteBuffer buf = ByteBuffer.allocate(count * SECTOR_BYTES);
+        readFully(buf, (long) first * SECTOR_BYTES);
+        buf.flip();
+
+        int length = buf.getInt();
+        if (length <= 0 || length + 4 > count * SECTOR_BYTES) {
+            throw new IOException("Corrupt chunk entry (" + localX + "," + localY + ") in " + path);
+        }
+        byte format = buf.get();
+        byte[] data = new byte[length - 1];
+        buf.get(data);
+        return new Entry(format, data);
+    }
+
+    /**
+     * Writes the payload to a fresh run of sectors before switching the header entry over,
+     * so an interrupted write never clobbers the previous copy of the chunk.
+     */
+    public synchronized void write(int localX, int localY, byte format, byte[] data) throws IOException {
+        int idx = index(localX, localY);
+        int needed = (data.length + ENTRY_HEADER_BYTES + SECTOR_BYTES - 1) / SECTOR_BYTES;
+        if (needed > MAX_SECTORS_PER_CHUNK) {
+            throw new IOException("Chunk payload too large (" + data.length + " bytes) for " + path);
+        }
+
+        int oldOffset = offsets[idx];
+        int first = allocate(needed);
+
+        ByteBuffer buf = ByteBuffer.allocate(needed * SECTOR_BYTES);
+        buf.putInt(data.length + 1);
+        buf.put(format);
+        buf.put(data);
+        buf.rewind();
+        writeFully(buf, (long) first * SECTOR_BYTES);
+
+        setHeaderEntry(idx, (first << 8) | needed, (int) (System.currentTimeMillis() / 1000L));
+        release(oldOffset);
+    }
+
+    public synchronized void delete(int localX, int localY) throws IOException {
+        int idx = index(localX, localY);
+        int oldOffset = offsets[idx];
+        if (oldOffset == 0) return;
+        setHeaderEntry(idx, 0, 0);
+        release(oldOffset);
+    }
+
+    public synchronized int getChunkCount() {
+        int n = 0;
+        for (int offset : offsets) {
+            if (offset != 0) n++;
+        }
+        return n;
+    }
+
+    /**
+     * Fraction of data sectors that are allocated in the file but no longer referenced.
+     */
+    public synchronized float getWastedRatio() {
+        int dataSectors = sectorCount - HEADER_SECTORS;
+        if (dataSectors <= 0) return 0f;
+        BitSet live = (BitSet) usedSectors.clone();
+        live.andNot(releasedSectors);
+        int used = live.cardinality() - HEADER_SECTORS;
+        return (dataSectors - used) / (float) dataSectors;
+    }
+
+    /**
+     * Rewrites the file with all chunks packed back to back, then atomically replaces it.
+     */
+    public synchronized void compact() throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        int[] newOffsets = new int[ENTRY_COUNT];
+        try (FileChannel out = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            int next = HEADER_SECTORS;
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                int offset = offsets[i];
+                if (offset == 0) continue;
+                int first = offset >>> 8;
+                int count = offset & 0xFF;
+                ByteBuffer buf = ByteBuffer.allocate(count * SECTOR_BYTES);
+                readFully(buf, (long) first * SECTOR_BYTES);
+                buf.flip();
+                while (buf.hasRemaining()) {
+                    out.write(buf, (long) next * SECTOR_BYTES + buf.position());
+                }
+                newOffsets[i] = (next << 8) | count;
+                next += count;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SECTORS * SECTOR_BYTES);
+            for (int offset : newOffsets) header.putInt(offset);
+            for (int ts : timestamps) header.putInt(ts);
+            header.flip();
+            while (header.hasRemaining()) {
+                out.write(header, header.position());
+            }
+            out.force(true);
+        }
+
+        channel.close();
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        open();
+    }
+
+    /**
+     * Forces written chunks to disk. Sectors freed before this call become reusable only afterwards,
+     * so a crash can never leave a durable header entry pointing at sectors that were overwritten.
+     */
+    public synchronized void flush() throws IOException {
+        channel.force(false);
+        usedSectors.andNot(releasedSectors);
+        releasedSectors.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private int allocate(int needed) {
+        // first fit among free runs, otherwise append at the end of the file
+        int start = usedSectors.nextClearBit(HEADER_SECTORS);
+        while (start < sectorCount) {
+            int end = usedSectors.nextSetBit(start);
+            if (end < 0 || end > sectorCount) end = sectorCount;
+            if (end - start >= needed) {
+                usedSectors.set(start, start + needed);
+                return start;
+            }
+            start = usedSectors.nextClearBit(end);
+        }
+        // trailing free sectors can be extended into
+        int tail = sectorCount;
+        while (tail > HEADER_SECTORS && !usedSectors.get(tail - 1)) {
+            tail--;
+        }
+        usedSectors.set(tail, tail + needed);
+        sectorCount = Math.max(sectorCount, tail + needed);
+        return tail;
+    }
+
+    private void release(int offset) {
+        if (offset == 0) return;
+        int first = offset >>> 8;
+        int count = offset & 0xFF;
+        releasedSectors.set(first, first + count);
+    }
+
+    private void setHeaderEntry(int idx, int offset, int timestamp) throws IOException {
+        offsets[idx] = offset;
+        timestamps[idx] = timestamp;
+        ByteBuffer buf = ByteBuffer.allocate(4);
+        buf.putInt(offset).flip();
+        writeFully(buf, idx * 4L);
+        buf.clear();
+        buf.putInt(timestamp).flip();
+        writeFully(buf, (long) SECTOR_BYTES + idx * 4L);
+    }
+
+    private void readFully(ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = channel.read(buf, position + buf.position());
+            if (n < 0) {
+                // short file: leave the remainder zeroed
+                break;
+            }
+        }
+    }
+
+    private void writeFully(ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            channel.write(buf, position + buf.position());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.pokemeetup.world.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a bounded number of region files open, closing the least recently used one
+ * when the limit is reached.
+ */
+public class RegionFileCache {
+    private static final Logger logger = LoggerFactory.getLogger(RegionFileCache.class);
+
+    private static final float COMPACT_THRESHOLD = 0.25f;
+
+    private final int maxOpenFiles;
+    private final LinkedHashMap<Path, RegionFile> openFiles = new LinkedHashMap<>(16, 0.75f, true);
+
+    public RegionFileCache(int maxOpenFiles) {
+        this.maxOpenFiles = maxOpenFiles;
+    }
+
+    public static Path regionPath(Path regionDir, int chunkX, int chunkY) {
+        int regionX = chunkX >> RegionFile.REGION_SHIFT;
+        int regionY = chunkY >> RegionFile.REGION_SHIFT;
+        return regionDir.resolve("r." + regionX + "." + regionY + ".pmr");
+    }
+
+    public synchronized RegionFile.Entry read(Path regionDir, int chunkX, int chunkY) throws IOException {
+        RegionFile region = get(regionDir, chunkX, chunkY, false);
+        return region != null ? region.read(chunkX, chunkY) : null;
+    }
+
+    public synchronized void write(Path regionDir, int chunkX, int chunkY, byte format, byte[] data) throws IOException {
+        get(regionDir, chunkX, chunkY, true).write(chunkX, chunkY, format, data);
+    }
+
+    public synchronized void delete(Path regionDir, int chunkX, int chunkY) throws IOException {
+        RegionFile region = get(regionDir, chunkX, chunkY, false);
+        if (region != null) {
+            region.delete(chunkX, chunkY);
+        }
+    }
+
+    /**
+     * Callers must not hold on to the returned file; it may be closed once another region is opened.
+     *
+     * @return the region file containing the chunk, or null if it does not exist and create is false
+     */
+    private RegionFile get(Path regionDir, int chunkX, int chunkY, boolean create) throws IOException {
+        Path path = regionPath(regionDir, chunkX, chunkY);
+        RegionFile region = openFiles.get(path);
+        if (region != null) {
+            return region;
+        }
+        if (!create && !Files.exists(path)) {
+            return null;
+        }
+        if (!Files.exists(regionDir)) {
+            Files.createDirectories(regionDir);
+        }
+        if (openFiles.size() >= maxOpenFiles) {
+            Iterator<Map.Entry<Path, RegionFile>> it = openFiles.entrySet().iterator();
+            Map.Entry<Path, RegionFile> eldest = it.next();
+            it.remove();
+            closeQuietly(eldest.getKey(), eldest.getValue(), false);
+        }
+        region = new RegionFile(path);
+        openFiles.put(path, region);
+        return region;
+    }
+
+    /**
+     * Closes (and compacts, if worthwhile) every open region file below the given directory.
+     */
+    public synchronized void close(Path dir) {
+        List<Path> toClose = new ArrayList<>();
+        for (Path p : openFiles.keySet()) {
+            if (p.startsWith(dir)) {
+                toClose.add(p);
+            }
+        }
+        for (Path p : toClose) {
+            closeQuietly(p, openFiles.remove(p), true);
+        }
+    }
+
+    /**
+     * Forces every open region file to disk.
+     */
+    public synchronized void flushAll() throws IOException {
+        for (RegionFile region : openFiles.values()) {
+            region.flush();
+        }
+    }
+
+    public synchronized void closeAll() {
+        for (Map.Entry<Path, RegionFile> e : openFiles.entrySet()) {
+            closeQuietly(e.getKey(), e.getValue(), true);
+        }
+        openFiles.clear();
+    }
+
+    private void closeQuietly(Path path, RegionFile region, boolean compact) {
+        try {
+            if (compact && region.getWastedRatio() > COMPACT_THRESHOLD) {
+                logger.debug("Compacting region file {}", path);
+                region.compact();
+            }
+            region.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close region file {}: {}", path, e.getMessage());
+        }
+    }
+}
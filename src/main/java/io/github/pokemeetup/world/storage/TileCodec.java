@@ -0,0 +1,254 @@
+package io.github.pokemeetup.world.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Compact binary encoding for a chunk's tile grid.
+ * <p>
+ * Layout (version 1), all integers as unsigned varints unless noted:
+ * <pre>
+ *   byte    version
+ *   width, height
+ *   paletteSize, paletteSize x zig-zag varint tile id
+ *   byte    mode       0 = single tile, 1 = bit-packed indices, 2 = run-length
+ *   mode 1: ceil(log2(paletteSize)) bits per tile, little-endian bit order, column-major
+ *   mode 2: (runLength, paletteIndex) pairs, column-major
+ * </pre>
+ * A chunk only uses a handful of tile ids, so this is usually 1-2 bits per tile.
+ */
+public final class TileCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final byte MODE_SINGLE = 0;
+    private static final byte MODE_PACKED = 1;
+    private static final byte MODE_RLE = 2;
+
+    private TileCodec() {
+    }
+
+    public static byte[] encode(int[][] tiles) {
+        if (tiles == null) {
+            return null;
+        }
+        int width = tiles.length;
+        int height = width > 0 ? tiles[0].length : 0;
+
+        // palette in first-seen order, indices column-major (tiles[x][y], x outer)
+        int[] palette = new int[4];
+        int paletteSize = 0;
+        int[] indices = new int[width * height];
+        int i = 0;
+        for (int x = 0; x < width; x++) {
+            int[] column = tiles[x];
+            if (column.length != height) {
+                throw new IllegalArgumentException("Tile grid is not rectangular");
+            }
+            for (int y = 0; y < height; y++) {
+                int id = column[y];
+                int p = indexOf(palette, paletteSize, id);
+                if (p < 0) {
+                    if (paletteSize == palette.length) {
+                        palette = Arrays.copyOf(palette, paletteSize * 2);
+                    }
+                    p = paletteSize;
+                    palette[paletteSize++] = id;
+                }
+                indices[i++] = p;
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + paletteSize * 2 + indices.length / 4);
+        out.write(VERSION);
+        writeVarInt(out, width);
+        writeVarInt(out, height);
+        writeVarInt(out, paletteSize);
+        for (int p = 0; p < paletteSize; p++) {
+            writeVarInt(out, (palette[p] << 1) ^ (palette[p] >> 31));
+        }
+        if (paletteSize <= 1) {
+            out.write(MODE_SINGLE);
+            return out.toByteArray();
+        }
+
+        int bits = bitsFor(paletteSize);
+        int packedBytes = (indices.length * bits + 7) >>> 3;
+        byte[] rle = encodeRuns(indices, packedBytes);
+        if (rle != null) {
+            out.write(MODE_RLE);
+            out.write(rle, 0, rle.length);
+        } else {
+            out.write(MODE_PACKED);
+            out.write(pack(indices, bits, packedBytes), 0, packedBytes);
+        }
+        return out.toByteArray();
+    }
+
+    public static int[][] decode(byte[] data) throws IOException {
+        if (data == null) {
+            return null;
+        }
+        Reader in = new Reader(data);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported tile codec version " + version);
+        }
+        int width = in.readVarInt();
+        int height = in.readVarInt();
+        int paletteSize = in.readVarInt();
+        if (width < 0 || height < 0 || paletteSize < 0 || (long) width * height > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt tile header");
+        }
+        int[] palette = new int[paletteSize];
+        for (int p = 0; p < paletteSize; p++) {
+            int z = in.readVarInt();
+            palette[p] = (z >>> 1) ^ -(z & 1);
+        }
+
+        int[][] tiles = new int[width][height];
+        int count = width * height;
+        byte mode = (byte) in.readByte();
+        switch (mode) {
+            case MODE_SINGLE -> {
+                if (count > 0) {
+                    if (paletteSize == 0) {
+                        throw new IOException("Empty palette for non-empty tile grid");
+                    }
+                    for (int[] column : tiles) {
+                        Arrays.fill(column, palette[0]);
+                    }
+                }
+            }
+            case MODE_PACKED -> {
+                int bits = bitsFor(paletteSize);
+                long mask = (1L << bits) - 1;
+                long buffer = 0;
+                int buffered = 0;
+                for (int i = 0; i < count; i++) {
+                    while (buffered < bits) {
+                        buffer |= (long) in.readByte() << buffered;
+                        buffered += 8;
+                    }
+                    int p = (int) (buffer & mask);
+                    buffer >>>= bits;
+                    buffered -= bits;
+                    tiles[i / height][i % height] = lookup(palette, p);
+                }
+            }
+            case MODE_RLE -> {
+                int i = 0;
+                while (i < count) {
+                    int run = in.readVarInt();
+                    int value = lookup(palette, in.readVarInt());
+                    if (run <= 0 || run > count - i) {
+                        throw new IOException("Corrupt tile run");
+                    }
+                    for (int end = i + run; i < end; i++) {
+                        tiles[i / height][i % height] = value;
+                    }
+                }
+            }
+            default -> throw new IOException("Unknown tile encoding " + mode);
+        }
+        return tiles;
+    }
+
+    /**
+     * @return the run-length encoding, or null if it would not beat bit-packing
+     */
+    private static byte[] encodeRuns(int[] indices, int limit) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(limit);
+        int i = 0;
+        while (i < indices.length) {
+            int value = indices[i];
+            int start = i;
+            while (i < indices.length && indices[i] == value) {
+                i++;
+            }
+            writeVarInt(out, i - start);
+            writeVarInt(out, value);
+            if (out.size() >= limit) {
+                return null;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] pack(int[] indices, int bits, int packedBytes) {
+        byte[] packed = new byte[packedBytes];
+        long buffer = 0;
+        int buffered = 0;
+        int pos = 0;
+        for (int index : indices) {
+            buffer |= (long) index << buffered;
+            buffered += bits;
+            while (buffered >= 8) {
+                packed[pos++] = (byte) buffer;
+                buffer >>>= 8;
+                buffered -= 8;
+            }
+        }
+        if (buffered > 0) {
+            packed[pos] = (byte) buffer;
+        }
+        return packed;
+    }
+
+    private static int bitsFor(int paletteSize) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(paletteSize - 1));
+    }
+
+    private static int indexOf(int[] palette, int size, int id) {
+        for (int p = 0; p < size; p++) {
+            if (palette[p] == id) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    private static int lookup(int[] palette, int p) throws IOException {
+        if (p < 0 || p >= palette.length) {
+            throw new IOException("Palette index " + p + " out of range");
+        }
+        return palette[p];
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        private int readByte() throws IOException {
+            if (pos >= data.length) {
+                throw new IOException("Truncated tile data");
+            }
+            return data[pos++] & 0xFF;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in tile data");
+        }
+    }
+}
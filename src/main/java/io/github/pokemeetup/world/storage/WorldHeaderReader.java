@@ -0,0 +1,162 @@
+package io.github.pokemeetup.world.storage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads selected top-level scalar fields of a JSON object without building a tree. Nested
+ * objects and arrays (e.g. the chunks embedded in old world files) are skipped character by
+ * character. Understands the "minimal" output of libGDX Json, where names and simple string
+ * values are written without quotes.
+ */
+public final class WorldHeaderReader {
+
+    private final Reader in;
+    private int peeked = -2;
+
+    private WorldHeaderReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Returns the raw values of the requested keys that were found, stopping as soon as all of
+     * them have been seen.
+     */
+    public static Map<String, String> read(Reader in, Set<String> keys) throws IOException {
+        return new WorldHeaderReader(in).readObject(keys);
+    }
+
+    private Map<String, String> readObject(Set<String> keys) throws IOException {
+        Map<String, String> found = new HashMap<>();
+        skipWhitespace();
+        if (next() != '{') {
+            throw new IOException("Not a JSON object");
+        }
+        while (true) {
+            skipSeparators();
+            int c = peek();
+            if (c == '}' || c == -1) {
+                return found;
+            }
+            String key = c == '"' ? readQuoted() : readBare(":").trim();
+            skipWhitespace();
+            if (next() != ':') {
+                throw new IOException("Expected ':' after '" + key + "'");
+            }
+            skipWhitespace();
+            c = peek();
+            String value;
+            if (c == '{' || c == '[') {
+                skipNested();
+                value = null;
+            } else if (c == '"') {
+                value = readQuoted();
+            } else {
+                value = readBare(",}]\n\r").trim();
+            }
+            if (value != null && keys.contains(key)) {
+                found.put(key, value);
+                if (found.size() == keys.size()) {
+                    return found;
+                }
+            }
+        }
+    }
+
+    private void skipNested() throws IOException {
+        int depth = 0;
+        do {
+            int c = peek();
+            if (c == -1) {
+                throw new IOException("Unexpected end of JSON");
+            }
+            if (c == '"') {
+                readQuoted();
+                continue;
+            }
+            next();
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        } while (depth > 0);
+    }
+
+    private String readQuoted() throws IOException {
+        next(); // opening quote
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            int c = next();
+            if (c == -1) {
+                throw new IOException("Unterminated string");
+            }
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c == '\\') {
+                int e = next();
+                switch (e) {
+                    case 'n' -> sb.append('\n');
+                    case 't' -> sb.append('\t');
+                    case 'r' -> sb.append('\r');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        char[] hex = new char[4];
+                        for (int i = 0; i < 4; i++) {
+                            hex[i] = (char) next();
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(new String(hex), 16));
+                        } catch (NumberFormatException ex) {
+                            throw new IOException("Bad unicode escape", ex);
+                        }
+                    }
+                    case -1 -> throw new IOException("Unterminated string");
+                    default -> sb.append((char) e);
+                }
+            } else {
+                sb.append((char) c);
+            }
+        }
+    }
+
+    private String readBare(String terminators) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int c;
+        while ((c = peek()) != -1 && terminators.indexOf(c) < 0) {
+            sb.append((char) next());
+        }
+        return sb.toString();
+    }
+
+    private void skipSeparators() throws IOException {
+        int c;
+        while ((c = peek()) == ',' || Character.isWhitespace(c)) {
+            next();
+        }
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (Character.isWhitespace(peek())) {
+            next();
+        }
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = in.read();
+        }
+        return peeked;
+    }
+
+    private int next() throws IOException {
+        int c = peek();
+        peeked = -2;
+        return c;
+    }
+}
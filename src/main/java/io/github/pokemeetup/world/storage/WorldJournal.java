@@ -0,0 +1,342 @@
+package io.github.pokemeetup.world.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal made of segment files {@code <firstLsn>.wal} plus a
+ * {@code checkpoint} file holding the last sequence number (LSN) known to be reflected in
+ * the stored chunks.
+ * <p>
+ * Records are appended from any thread without blocking on disk. A single committer thread
+ * writes everything queued since its last round with one write and one fsync (group commit).
+ * Each record is framed as {@code int length, long lsn, byte type, payload, int crc32}; replay
+ * stops at the first torn or corrupt record.
+ */
+public class WorldJournal implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(WorldJournal.class);
+
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int FRAME_OVERHEAD = 4 + 8 + 1 + 4;
+    private static final long SEGMENT_ROLL_BYTES = 8L * 1024 * 1024;
+
+    public interface RecordHandler {
+        void handle(long lsn, byte type, byte[] payload) throws IOException;
+    }
+
+    private record Pending(long lsn, byte type, byte[] payload) {
+    }
+
+    private record Segment(Path path, long firstLsn, long lastLsn) {
+    }
+
+    private final Path dir;
+
+    private final Object queueLock = new Object();
+    private List<Pending> queue = new ArrayList<>();
+    private long lastAssignedLsn;
+    private long durableLsn;
+    private boolean closed = false;
+
+    // guarded by ioLock
+    private final Object ioLock = new Object();
+    private final ArrayDeque<Segment> closedSegments = new ArrayDeque<>();
+    private FileChannel current;
+    private Path currentPath;
+    private long currentFirstLsn;
+    private long currentLastLsn;
+    private long currentSize;
+    private long checkpointLsn;
+
+    private final Thread committer;
+
+    /**
+     * Opens the journal in {@code dir}, passing every record newer than the last checkpoint to
+     * {@code replay} before any new record can be appended.
+     */
+    public WorldJournal(Path dir, RecordHandler replay) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+        this.checkpointLsn = readCheckpoint();
+        long maxLsn = checkpointLsn;
+        int replayed = 0;
+
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(dir)) {
+            segments = files.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted((a, b) -> Long.compare(firstLsnOf(a), firstLsnOf(b)))
+                    .toList();
+        }
+        for (Path segment : segments) {
+            long[] result = scanSegment(segment, replay);
+            replayed += (int) result[1];
+            maxLsn = Math.max(maxLsn, result[0]);
+            if (result[0] > checkpointLsn) {
+                closedSegments.add(new Segment(segment, firstLsnOf(segment), result[0]));
+            } else {
+                // empty, or everything in it is already covered by the checkpoint
+                Files.deleteIfExists(segment);
+            }
+        }
+        this.lastAssignedLsn = maxLsn;
+        this.durableLsn = maxLsn;
+        if (replayed > 0) {
+            logger.info("Replayed {} journal records from {}", replayed, dir);
+        }
+
+        this.committer = new Thread(this::commitLoop, "journal-commit");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * Queues a record for the next group commit.
+     *
+     * @return the record's LSN
+     */
+    public long append(byte type, byte[] payload) {
+        synchronized (queueLock) {
+            if (closed) {
+                throw new IllegalStateException("Journal " + dir + " is closed");
+            }
+            long lsn = ++lastAssignedLsn;
+            queue.add(new Pending(lsn, type, payload));
+            queueLock.notifyAll();
+            return lsn;
+        }
+    }
+
+    public long getLastAssignedLsn() {
+        synchronized (queueLock) {
+            return lastAssignedLsn;
+        }
+    }
+
+    /**
+     * Blocks until the record with the given LSN has been forced to disk, the journal is closed,
+     * or {@code timeoutMs} has passed. Records appended meanwhile by other threads share the force.
+     *
+     * @return whether the record is on disk
+     */
+    public boolean awaitDurable(long lsn, long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        synchronized (queueLock) {
+            while (durableLsn < lsn && !closed) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                queueLock.wait(remaining);
+            }
+            return durableLsn >= lsn;
+        }
+    }
+
+    /**
+     * Records that everything up to {@code lsn} is persisted elsewhere and drops segments
+     * that only hold older records.
+     */
+    public void checkpoint(long lsn) throws IOException {
+        synchronized (ioLock) {
+            if (lsn <= checkpointLsn) {
+                return;
+            }
+            AtomicFiles.write(dir.resolve(CHECKPOINT_FILE), ByteBuffer.allocate(8).putLong(lsn).array());
+            checkpointLsn = lsn;
+
+            if (current != null && (currentLastLsn <= lsn || currentSize >= SEGMENT_ROLL_BYTES)) {
+                rollSegment();
+            }
+            while (!closedSegments.isEmpty() && closedSegments.peekFirst().lastLsn() <= lsn) {
+                Files.deleteIfExists(closedSegments.pollFirst().path());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (queueLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queueLock.notifyAll();
+        }
+        try {
+            committer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (ioLock) {
+            if (current != null) {
+                current.force(false);
+                current.close();
+                current = null;
+            }
+        }
+    }
+
+    private void commitLoop() {
+        while (true) {
+            List<Pending> batch;
+            synchronized (queueLock) {
+                while (queue.isEmpty() && !closed) {
+                    try {
+                        queueLock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (queue.isEmpty()) {
+                    return;
+                }
+                batch = queue;
+                queue = new ArrayList<>();
+            }
+            try {
+                writeBatch(batch);
+                synchronized (queueLock) {
+                    durableLsn = batch.get(batch.size() - 1).lsn();
+                    queueLock.notifyAll();
+                }
+            } catch (IOException e) {
+                logger.error("Journal write to {} failed: {}", dir, e.getMessage());
+                synchronized (queueLock) {
+                    // put the batch back in front so ordering is preserved for the next attempt
+                    batch.addAll(queue);
+                    queue = batch;
+                }
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void writeBatch(List<Pending> batch) throws IOException {
+        int size = 0;
+        for (Pending p : batch) {
+            size += FRAME_OVERHEAD + p.payload().length;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        CRC32 crc = new CRC32();
+        for (Pending p : batch) {
+            buf.putInt(9 + p.payload().length);
+            int crcStart = buf.position();
+            buf.putLong(p.lsn());
+            buf.put(p.type());
+            buf.put(p.payload());
+            crc.reset();
+            crc.update(buf.array(), crcStart, buf.position() - crcStart);
+            buf.putInt((int) crc.getValue());
+        }
+        buf.flip();
+
+        synchronized (ioLock) {
+            if (current == null) {
+                openSegment(batch.get(0).lsn());
+            }
+            while (buf.hasRemaining()) {
+                current.write(buf);
+            }
+            current.force(false);
+            currentLastLsn = batch.get(batch.size() - 1).lsn();
+            currentSize += size;
+        }
+    }
+
+    private void openSegment(long firstLsn) throws IOException {
+        currentPath = dir.resolve(String.format("%016x%s", firstLsn, SEGMENT_SUFFIX));
+        current = FileChannel.open(currentPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentFirstLsn = firstLsn;
+        currentLastLsn = firstLsn - 1;
+        currentSize = current.size();
+    }
+
+    private void rollSegment() throws IOException {
+        current.force(false);
+        current.close();
+        closedSegments.add(new Segment(currentPath, currentFirstLsn, currentLastLsn));
+        current = null;
+    }
+
+    /**
+     * Replays the records above the checkpoint and truncates a torn tail.
+     *
+     * @return {last valid LSN (0 if none), number of records replayed}
+     */
+    private long[] scanSegment(Path segment, RecordHandler replay) throws IOException {
+        long lastLsn = 0;
+        long replayed = 0;
+        long validBytes = 0;
+        byte[] data = Files.readAllBytes(segment);
+        ByteBuffer buf = ByteBuffer.wrap(data);
+        CRC32 crc = new CRC32();
+        while (buf.remaining() >= FRAME_OVERHEAD) {
+            int start = buf.position();
+            int length = buf.getInt();
+            if (length < 9 || length + 4 > buf.remaining()) {
+                break;
+            }
+            long lsn = buf.getLong();
+            byte type = buf.get();
+            byte[] payload = new byte[length - 9];
+            buf.get(payload);
+            int storedCrc = buf.getInt();
+            crc.reset();
+            crc.update(data, start + 4, length);
+            if ((int) crc.getValue() != storedCrc) {
+                break;
+            }
+            if (lsn > checkpointLsn && replay != null) {
+                replay.handle(lsn, type, payload);
+                replayed++;
+            }
+            lastLsn = lsn;
+            validBytes = buf.position();
+        }
+        if (validBytes < data.length) {
+            logger.warn("Discarding {} bytes of torn journal data at the end of {}", data.length - validBytes, segment);
+            try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                ch.truncate(validBytes);
+                ch.force(true);
+            }
+        }
+        return new long[]{lastLsn, replayed};
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path file = dir.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        byte[] data = Files.readAllBytes(file);
+        return data.length == 8 ? ByteBuffer.wrap(data).getLong() : 0;
+    }
+
+    private static long firstLsnOf(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseUnsignedLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()), 16);
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.pokemeetup.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenSimplex2Test {
+
+    @Test
+    void chunkGridMatchesScalarNoise() {
+        // tile coordinates scaled the way BiomeServiceImpl samples them
+        long seed = 12345L;
+        for (int chunkX = -3; chunkX <= 3; chunkX++) {
+            for (int chunkY = -3; chunkY <= 3; chunkY++) {
+                double[] xs = new double[16];
+                double[] ys = new double[16];
+                for (int i = 0; i < 16; i++) {
+                    xs[i] = (chunkX * 16 + i) * 0.005 * 2.0;
+                    ys[i] = (chunkY * 16 + i) * 0.005 * 2.0;
+                }
+                float[] grid = new float[256];
+                OpenSimplex2.noise2Grid(seed, xs, ys, grid);
+                for (int j = 0; j < 16; j++) {
+                    for (int i = 0; i < 16; i++) {
+                        assertBitsEqual(OpenSimplex2.noise2(seed, xs[i], ys[j]), grid[j * 16 + i], xs[i], ys[j]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void stridedGridMatchesScalarNoiseAtEveryScale() {
+        Random random = new Random(99);
+        for (int trial = 0; trial < 500; trial++) {
+            long seed = random.nextLong();
+            double x0 = (random.nextDouble() - 0.5) * 200_000;
+            double y0 = (random.nextDouble() - 0.5) * 200_000;
+            // from many samples per lattice cell to a new cell on every sample
+            double stepX = Math.pow(10, -4 + random.nextDouble() * 5);
+            double stepY = Math.pow(10, -4 + random.nextDouble() * 5);
+            int width = 1 + random.nextInt(33);
+            int height = 1 + random.nextInt(33);
+
+            float[] grid = new float[width * height];
+            OpenSimplex2.noise2Grid(seed, x0, y0, stepX, stepY, width, height, grid);
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    double x = x0 + i * stepX;
+                    double y = y0 + j * stepY;
+                    assertBitsEqual(OpenSimplex2.noise2(seed, x, y), grid[j * width + i], x, y);
+                }
+            }
+        }
+    }
+
+    @Test
+    void irregularCoordinatesMatchScalarNoise() {
+        Random random = new Random(7);
+        double[] xs = new double[50];
+        double[] ys = new double[20];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = (random.nextDouble() - 0.5) * 40;
+        }
+        for (int j = 0; j < ys.length; j++) {
+            ys[j] = (random.nextDouble() - 0.5) * 40;
+        }
+        float[] grid = new float[xs.length * ys.length];
+        OpenSimplex2.noise2Grid(-1L, xs, ys, grid);
+        for (int j = 0; j < ys.length; j++) {
+            for (int i = 0; i < xs.length; i++) {
+                assertBitsEqual(OpenSimplex2.noise2(-1L, xs[i], ys[j]), grid[j * xs.length + i], xs[i], ys[j]);
+            }
+        }
+    }
+
+    @Test
+    void rejectsTooSmallOutput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> OpenSimplex2.noise2Grid(1L, 0, 0, 1, 1, 4, 4, new float[15]));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void compareGridWithScalarCalls() {
+        int chunks = 20_000;
+        float[] grid = new float[256];
+        double sink = 0;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int c = 0; c < chunks; c++) {
+                for (int j = 0; j < 16; j++) {
+                    for (int i = 0; i < 16; i++) {
+                        sink += OpenSimplex2.noise2(c, (c * 16 + i) * 0.01, j * 0.01);
+                    }
+                }
+            }
+            long scalar = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int c = 0; c < chunks; c++) {
+                OpenSimplex2.noise2Grid(c, c * 16 * 0.01, 0, 0.01, 0.01, 16, 16, grid);
+                sink += grid[17];
+            }
+            long batched = System.nanoTime() - start;
+
+            System.out.printf("round %d: scalar %.1f ns/sample, grid %.1f ns/sample (%.2fx)%n", round,
+                    scalar / (chunks * 256.0), batched / (chunks * 256.0), (double) scalar / batched);
+        }
+        assertTrue(Double.isFinite(sink));
+    }
+
+    private static void assertBitsEqual(float expected, float actual, double x, double y) {
+        assertEquals(Float.floatToRawIntBits(expected), Float.floatToRawIntBits(actual),
+                "noise at (" + x + ", " + y + "): " + expected + " vs " + actual);
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.pokemeetup.world.biome.model;
+
+import io.github.pokemeetup.world.model.ObjectType;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BiomeTablesTest {
+
+    @Test
+    void sampleTileMatchesCumulativeScan() {
+        Random random = new Random(5);
+        for (int trial = 0; trial < 2000; trial++) {
+            // tile ids below the map's capacity iterate in ascending order, like the compiled tables
+            Map<Integer, Double> distribution = new HashMap<>();
+            int entries = 1 + random.nextInt(12);
+            for (int i = 0; i < entries; i++) {
+                double weight = random.nextInt(4) == 0 ? random.nextInt(3) : random.nextDouble() * 100;
+                distribution.put(random.nextInt(16), weight);
+            }
+            BiomeTables tables = biome(distribution, List.of(), List.of(), Map.of()).getTables();
+
+            double[] draws = new double[1000];
+            draws[0] = 0;
+            draws[1] = Math.nextDown(1.0);
+            for (int i = 2; i < draws.length; i++) {
+                draws[i] = random.nextDouble();
+            }
+            for (double u : draws) {
+                assertEquals(scan(distribution, u), tables.sampleTile(u), "distribution " + distribution + ", u=" + u);
+            }
+        }
+    }
+
+    @Test
+    void sampleTileIgnoresInsertionOrder() {
+        Map<Integer, Double> ascending = new LinkedHashMap<>();
+        Map<Integer, Double> descending = new LinkedHashMap<>();
+        for (int id = 0; id < 40; id++) {
+            ascending.put(id * 7, 1.0 + id % 5);
+        }
+        for (int id = 39; id >= 0; id--) {
+            descending.put(id * 7, 1.0 + id % 5);
+        }
+        BiomeTables a = biome(ascending, List.of(), List.of(), Map.of()).getTables();
+        BiomeTables b = biome(descending, List.of(), List.of(), Map.of()).getTables();
+        Random random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            double u = random.nextDouble();
+            assertEquals(a.sampleTile(u), b.sampleTile(u));
+        }
+    }
+
+    @Test
+    void emptyDistributionYieldsTileZero() {
+        BiomeTables tables = biome(Map.of(), List.of(), List.of(), Map.of()).getTables();
+        assertFalse(tables.hasTileDistribution());
+        assertEquals(0, tables.sampleTile(0.7));
+    }
+
+    @Test
+    void allowedTilesMatchList() {
+        List<Integer> allowed = List.of(0, 3, 70, 5000, -2);
+        BiomeTables tables = biome(Map.of(0, 1.0), allowed, List.of(), Map.of()).getTables();
+        for (int id = -10; id < 6000; id++) {
+            assertEquals(allowed.contains(id), tables.isAllowedTile(id), "tile " + id);
+        }
+    }
+
+    @Test
+    void spawnTableKeepsConfigOrderAndSkipsUnknownTypes() {
+        BiomeTables tables = biome(Map.of(0, 1.0), List.of(0),
+                List.of("SUNFLOWER", "NOT_AN_OBJECT", "TREE_0"),
+                Map.of("SUNFLOWER", 0.1, "TREE_0", 0.09)).getTables();
+        assertEquals(2, tables.getSpawnCount());
+        assertEquals(ObjectType.SUNFLOWER, tables.getSpawnType(0));
+        assertEquals(0.1, tables.getSpawnChance(0));
+        assertEquals(ObjectType.TREE_0, tables.getSpawnType(1));
+        assertEquals(0.09, tables.getSpawnChance(1));
+        assertTrue(tables.spawns(ObjectType.TREE_0));
+        assertFalse(tables.spawns(ObjectType.CACTUS));
+    }
+
+    private static Biome biome(Map<Integer, Double> distribution, List<Integer> allowed,
+                               List<String> spawnable, Map<String, Double> chances) {
+        return new Biome("Test", BiomeType.PLAINS, allowed, distribution, spawnable, chances);
+    }
+
+    // the selection WorldGeneratorImpl made before the tables existed
+    private static int scan(Map<Integer, Double> distribution, double u) {
+        double roll = u * distribution.values().stream().mapToDouble(Double::doubleValue).sum();
+        double cumulative = 0;
+        for (Map.Entry<Integer, Double> entry : distribution.entrySet()) {
+            cumulative += entry.getValue();
+            if (roll < cumulative) {
+                return entry.getKey();
+            }
+        }
+        return 0;
+    }
+}
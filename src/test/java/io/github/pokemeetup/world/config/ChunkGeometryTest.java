@@ -0,0 +1,47 @@
+package io.github.pokemeetup.world.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkGeometryTest {
+
+    @Test
+    void matchesFloorDivisionForEverySize() {
+        for (int size = ChunkGeometry.MIN_SIZE; size <= ChunkGeometry.MAX_SIZE; size <<= 1) {
+            ChunkGeometry geometry = ChunkGeometry.of(size);
+            for (int tile = -3 * size - 1; tile <= 3 * size + 1; tile++) {
+                assertEquals(Math.floorDiv(tile, size), geometry.chunkOf(tile), "chunkOf(" + tile + ") at " + size);
+                assertEquals(Math.floorMod(tile, size), geometry.localOf(tile), "localOf(" + tile + ") at " + size);
+                assertEquals(tile, geometry.originOf(geometry.chunkOf(tile)) + geometry.localOf(tile));
+            }
+        }
+    }
+
+    @Test
+    void negativeTilesBelongToNegativeChunks() {
+        ChunkGeometry geometry = ChunkGeometry.of(16);
+        assertEquals(-1, geometry.chunkOf(-1));
+        assertEquals(15, geometry.localOf(-1));
+        assertEquals(-1, geometry.chunkOf(-16));
+        assertEquals(-2, geometry.chunkOf(-17));
+        assertEquals(-32, geometry.originOf(-2));
+        assertEquals(-1, geometry.chunkOf(-0.5f));
+        assertEquals(0, geometry.chunkOf(15.99f));
+    }
+
+    @Test
+    void rejectsSizesThatAreNotPowersOfTwoInRange() {
+        for (int size : new int[]{0, -16, 4, 12, 24, 48, 512}) {
+            assertThrows(IllegalArgumentException.class, () -> ChunkGeometry.of(size), "size " + size);
+        }
+    }
+
+    @Test
+    void refusesWorldsCreatedWithAnotherSize() {
+        ChunkGeometry geometry = ChunkGeometry.of(32);
+        geometry.checkWorld("w", 32);
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> geometry.checkWorld("w", 16));
+        assertTrue(e.getMessage().contains("16"), e.getMessage());
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.pokemeetup.world.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkMapTest {
+
+    @Test
+    void packsAndUnpacksNegativeCoordinates() {
+        int[] coords = {0, 1, -1, 15, -16, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int x : coords) {
+            for (int y : coords) {
+                long key = ChunkKey.of(x, y);
+                assertEquals(x, ChunkKey.x(key));
+                assertEquals(y, ChunkKey.y(key));
+                assertEquals(key, ChunkKey.parse(ChunkKey.toString(key)));
+            }
+        }
+        assertNotEquals(ChunkKey.of(1, -1), ChunkKey.of(-1, 1));
+        assertEquals(ChunkKey.of(-3, 12), ChunkKey.parse("-3,12"));
+        assertThrows(IllegalArgumentException.class, () -> ChunkKey.parse("3;12"));
+        assertThrows(IllegalArgumentException.class, () -> ChunkKey.parse("a,b"));
+    }
+
+    @Test
+    void behavesLikeAHashMapUnderRandomOperations() {
+        ChunkMap<String> map = new ChunkMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            // a small coordinate range so puts, removes and probe-run collisions all happen often
+            long key = ChunkKey.of(random.nextInt(64) - 32, random.nextInt(64) - 32);
+            switch (random.nextInt(4)) {
+                case 0, 1 -> assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+                case 2 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Long, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        Map<Long, String> seen = new HashMap<>();
+        map.forEach((key, value) -> assertNull(seen.put(key, value)));
+        assertEquals(expected, seen);
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(ChunkKey.of(0, 0)));
+    }
+
+    @Test
+    void conditionalOperationsRespectTheCurrentValue() {
+        ChunkMap<String> map = new ChunkMap<>();
+        long key = ChunkKey.of(2, -5);
+        String first = "first";
+        assertNull(map.putIfAbsent(key, first));
+        assertSame(first, map.putIfAbsent(key, "second"));
+        assertSame(first, map.computeIfAbsent(key, k -> "third"));
+        // removal compares by identity, like the registry needs
+        assertFalse(map.remove(key, new String("first")));
+        assertTrue(map.remove(key, first));
+        assertNull(map.get(key));
+        assertEquals("made for " + key, map.computeIfAbsent(key, k -> "made for " + k));
+        assertThrows(NullPointerException.class, () -> map.put(key, null));
+    }
+
+    @Test
+    void readersSeeEveryStableKeyWhileWritersResizeAndRemove() throws Exception {
+        ChunkMap<Integer> map = new ChunkMap<>();
+        int stable = 200;
+        for (int i = 0; i < stable; i++) {
+            map.put(ChunkKey.of(i, -i), i);
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Future<?> writer = pool.submit(() -> {
+                for (int round = 0; round < 50; round++) {
+                    for (int i = 0; i < 2000; i++) {
+                        map.put(ChunkKey.of(1000 + i, round), i);
+                    }
+                    for (int i = 0; i < 2000; i++) {
+                        map.remove(ChunkKey.of(1000 + i, round));
+                    }
+                }
+                done.set(true);
+            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(pool.submit(() -> {
+                    while (!done.get()) {
+                        for (int i = 0; i < stable; i++) {
+                            assertEquals(Integer.valueOf(i), map.get(ChunkKey.of(i, -i)));
+                        }
+                    }
+                }));
+            }
+            writer.get(60, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(stable, map.size());
+    }
+}
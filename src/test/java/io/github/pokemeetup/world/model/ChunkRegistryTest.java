@@ -0,0 +1,164 @@
+package io.github.pokemeetup.world.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkRegistryTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void concurrentMissesLoadAChunkOnce() throws Exception {
+        ChunkRegistry registry = new ChunkRegistry();
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<ChunkData>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return registry.getOrLoad(ChunkKey.of(0, 0), () -> {
+                        loaderCalls.incrementAndGet();
+                        await(release);
+                        ChunkData chunk = chunk(0, 0);
+                        registry.put(chunk);
+                        return chunk;
+                    });
+                }));
+            }
+            start.countDown();
+            // let every thread reach the registry while the first load is still running
+            Thread.sleep(100);
+            release.countDown();
+
+            ChunkData first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ChunkData> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, loaderCalls.get());
+        assertEquals(1, registry.getLoads());
+        assertEquals(THREADS - 1, registry.getDuplicateLoadsAvoided());
+    }
+
+    @Test
+    void aSlowLoadDoesNotHoldUpOtherChunks() throws Exception {
+        ChunkRegistry registry = new ChunkRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<ChunkData> slow = pool.submit(() -> registry.getOrLoad(ChunkKey.of(0, 0), () -> {
+                await(release);
+                return chunk(0, 0);
+            }));
+            ChunkData other = registry.getOrLoad(ChunkKey.of(1, 0), () -> {
+                ChunkData chunk = chunk(1, 0);
+                registry.put(chunk);
+                return chunk;
+            });
+            assertSame(other, registry.get(1, 0));
+            assertFalse(slow.isDone());
+            release.countDown();
+            assertNotNull(slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void overlappingBatchesShareTheirLoads() throws Exception {
+        ChunkRegistry registry = new ChunkRegistry();
+        AtomicInteger[] loadsPerChunk = new AtomicInteger[6];
+        for (int x = 0; x < 6; x++) {
+            loadsPerChunk[x] = new AtomicInteger();
+        }
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<ChunkMap<ChunkData>>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                // each thread asks for four of the six chunks, starting at a different one
+                long[] keys = new long[4];
+                for (int k = 0; k < 4; k++) {
+                    keys[k] = ChunkKey.of((i + k) % 6, 0);
+                }
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return registry.getOrLoadAll(keys, batch -> {
+                        ChunkMap<ChunkData> loaded = new ChunkMap<>();
+                        for (long key : batch) {
+                            loadsPerChunk[ChunkKey.x(key)].incrementAndGet();
+                            ChunkData chunk = chunk(ChunkKey.x(key), 0);
+                            registry.put(chunk);
+                            loaded.put(key, chunk);
+                        }
+                        return loaded;
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<ChunkMap<ChunkData>> result : results) {
+                ChunkMap<ChunkData> chunks = result.get(5, TimeUnit.SECONDS);
+                assertEquals(4, chunks.size());
+                chunks.forEach((key, chunk) -> assertSame(registry.get(key), chunk));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        for (int x = 0; x < 6; x++) {
+            assertEquals(1, loadsPerChunk[x].get(), "loads of chunk " + x);
+        }
+        assertEquals(6, registry.getLoads());
+        // requests that came after a load finished were plain hits, not avoided duplicates
+        assertTrue(registry.getDuplicateLoadsAvoided() <= THREADS * 4 - 6);
+    }
+
+    @Test
+    void aFailedLoadCanBeRetried() {
+        ChunkRegistry registry = new ChunkRegistry();
+        assertThrows(IllegalStateException.class, () -> registry.getOrLoad(ChunkKey.of(0, 0), () -> {
+            throw new IllegalStateException("disk gone");
+        }));
+        assertNull(registry.get(0, 0));
+
+        ChunkData chunk = chunk(0, 0);
+        assertSame(chunk, registry.getOrLoad(ChunkKey.of(0, 0), () -> {
+            registry.put(chunk);
+            return chunk;
+        }));
+        assertEquals(2, registry.getLoads());
+    }
+
+    private static ChunkData chunk(int x, int y) {
+        ChunkData chunk = new ChunkData();
+        chunk.setChunkX(x);
+        chunk.setChunkY(y);
+        chunk.setTiles(new int[16][16]);
+        chunk.setObjects(new ArrayList<>());
+        return chunk;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package io.github.pokemeetup.world.service;
+
+import io.github.pokemeetup.world.config.ChunkGeometry;
+import io.github.pokemeetup.world.model.ChunkKey;
+import io.github.pokemeetup.world.service.ChunkLoadScheduler.Priority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkLoadSchedulerTest {
+
+    private static final ChunkGeometry GEOMETRY = ChunkGeometry.of(16);
+
+    private final RecordingSource source = new RecordingSource();
+    private ChunkLoadScheduler scheduler;
+
+    @AfterEach
+    void dispose() {
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+        source.gate.countDown();
+    }
+
+    @Test
+    void visibleChunksLoadBeforeAnyPreload() throws Exception {
+        scheduler = new ChunkLoadScheduler(source, GEOMETRY, 1, 10);
+        scheduler.focus(8, 8);
+        holdTheOnlyWorker();
+
+        // preloads right next to the player, visible chunks further out, queued first
+        for (int x = 1; x <= 4; x++) {
+            scheduler.request(x, 0, Priority.PRELOAD);
+        }
+        for (int x = -3; x >= -5; x--) {
+            scheduler.request(x, 0, Priority.VISIBLE);
+        }
+        source.gate.countDown();
+        awaitLoads(8);
+
+        assertEquals(List.of(ChunkKey.of(-3, 0), ChunkKey.of(-4, 0), ChunkKey.of(-5, 0),
+                ChunkKey.of(1, 0), ChunkKey.of(2, 0), ChunkKey.of(3, 0), ChunkKey.of(4, 0)), source.order.subList(1, 8));
+    }
+
+    @Test
+    void chunksAheadOfThePlayerComeFirst() throws Exception {
+        scheduler = new ChunkLoadScheduler(source, GEOMETRY, 1, 10);
+        scheduler.focus(8, 8);
+        scheduler.focus(12, 8); // walking east
+        holdTheOnlyWorker();
+
+        scheduler.request(-2, 0, Priority.PRELOAD);
+        scheduler.request(0, 2, Priority.PRELOAD);
+        scheduler.request(2, 0, Priority.PRELOAD);
+        source.gate.countDown();
+        awaitLoads(4);
+
+        assertEquals(List.of(ChunkKey.of(2, 0), ChunkKey.of(0, 2), ChunkKey.of(-2, 0)), source.order.subList(1, 4));
+    }
+
+    @Test
+    void stepsWithinAChunkKeepVisibleJobsFirst() throws Exception {
+        scheduler = new ChunkLoadScheduler(source, GEOMETRY, 1, 10);
+        scheduler.focus(8, 8);
+        holdTheOnlyWorker();
+
+        scheduler.request(-3, 0, Priority.VISIBLE);
+        scheduler.request(1, 0, Priority.PRELOAD);
+        // walking east inside chunk (0, 0): the preload is nearer and ahead, but still a preload
+        scheduler.focus(10, 8);
+        scheduler.focus(12, 8);
+        source.gate.countDown();
+        awaitLoads(3);
+
+        assertEquals(List.of(ChunkKey.of(-3, 0), ChunkKey.of(1, 0)), source.order.subList(1, 3));
+    }
+
+    @Test
+    void enteringAnotherChunkDemotesQueuedJobs() throws Exception {
+        scheduler = new ChunkLoadScheduler(source, GEOMETRY, 1, 10);
+        scheduler.focus(8, 8);
+        holdTheOnlyWorker();
+
+        scheduler.request(-3, 0, Priority.VISIBLE);
+        scheduler.request(2, 0, Priority.PRELOAD);
+        // one chunk east; only what is re-requested as visible keeps going first
+        scheduler.focus(16 + 8, 8);
+        scheduler.request(2, 0, Priority.VISIBLE);
+        source.gate.countDown();
+        awaitLoads(3);
+
+        assertEquals(List.of(ChunkKey.of(2, 0), ChunkKey.of(-3, 0)), source.order.subList(1, 3));
+    }
+
+    @Test
+    void queuedJobsLeftBehindAreCancelled() throws Exception {
+        scheduler = new ChunkLoadScheduler(source, GEOMETRY, 1, 3);
+        scheduler.focus(8, 8);
+        holdTheOnlyWorker();
+
+        for (int x = -3; x <= 3; x++) {
+            scheduler.request(x, 0, Priority.PRELOAD);
+        }
+        // four chunks east: everything west of chunk 1 is now more than three chunks away
+        scheduler.focus(4 * 16 + 8, 8);
+        assertEquals(4, scheduler.getCancelled());
+        assertEquals(3, scheduler.getQueued());
+
+        source.gate.countDown();
+        awaitLoads(4);
+        for (int x = -3; x <= 0; x++) {
+            assertFalse(source.loaded.contains(ChunkKey.of(x, 0)), "chunk " + x + " was loaded");
+        }
+
+        // a cancelled chunk can be asked for again
+        scheduler.request(-1, 0, Priority.VISIBLE);
+        awaitLoads(5);
+        assertTrue(source.loaded.contains(ChunkKey.of(-1, 0)));
+    }
+
+    @Test
+    void neverRunsMoreLoadsThanItsThreads() throws Exception {
+        scheduler = new ChunkLoadScheduler(source, GEOMETRY, 3, 20);
+        scheduler.focus(0, 0);
+        source.gate.countDown();
+        for (int x = -10; x <= 10; x++) {
+            for (int y = -2; y <= 2; y++) {
+                scheduler.request(x, y, Priority.PRELOAD);
+            }
+        }
+        awaitLoads(21 * 5);
+        assertTrue(source.maxConcurrent.get() <= 3, "max concurrent loads " + source.maxConcurrent.get());
+
+        // chunks already in memory are not queued again
+        scheduler.request(0, 0, Priority.VISIBLE);
+        assertEquals(0, scheduler.getQueued());
+    }
+
+    // the first load blocks on the gate, so the jobs requested meanwhile are ordered all at once
+    private void holdTheOnlyWorker() throws InterruptedException {
+        scheduler.request(100, 100, Priority.VISIBLE);
+        assertTrue(source.started.await(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitLoads(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (source.order.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, source.order.size(), "loads " + source.order);
+    }
+
+    private static final class RecordingSource implements ChunkLoadScheduler.ChunkSource {
+        final List<Long> order = Collections.synchronizedList(new ArrayList<>());
+        final Set<Long> loaded = ConcurrentHashMap.newKeySet();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+
+        @Override
+        public boolean isLoaded(int chunkX, int chunkY) {
+            return loaded.contains(ChunkKey.of(chunkX, chunkY));
+        }
+
+        @Override
+        public void load(int chunkX, int chunkY) {
+            started.countDown();
+            maxConcurrent.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                assertTrue(gate.await(5, TimeUnit.SECONDS));
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+            loaded.add(ChunkKey.of(chunkX, chunkY));
+            order.add(ChunkKey.of(chunkX, chunkY));
+        }
+    }
+}
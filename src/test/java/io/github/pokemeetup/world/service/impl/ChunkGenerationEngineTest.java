@@ -0,0 +1,193 @@
+package io.github.pokemeetup.world.service.impl;
+
+import com.badlogic.gdx.math.Vector2;
+import io.github.pokemeetup.world.biome.model.Biome;
+import io.github.pokemeetup.world.biome.model.BiomeType;
+import io.github.pokemeetup.world.config.WorldConfig;
+import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.WorldObject;
+import io.github.pokemeetup.world.service.WorldObjectManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkGenerationEngineTest {
+
+    private static final long SEED = 12345L;
+
+    private final List<ChunkGenerationEngine> engines = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        engines.forEach(ChunkGenerationEngine::shutdown);
+    }
+
+    @Test
+    void parallelBatchMatchesSerialGeneration() {
+        for (WorldObjectManager objects : List.of(new WorldObjectManagerImpl(), new ServerWorldObjectManagerImpl())) {
+            ChunkGenerationEngine serial = engine(objects, 1);
+            ChunkGenerationEngine parallel = engine(objects, 8);
+
+            List<Vector2> area = new ArrayList<>();
+            for (int x = -12; x <= 12; x++) {
+                for (int y = -12; y <= 12; y++) {
+                    area.add(new Vector2(x, y));
+                }
+            }
+            Map<String, ChunkData> generated = parallel.generateAll(area, SEED);
+            assertEquals(area.size(), generated.size());
+            for (Vector2 pos : area) {
+                ChunkData expected = serial.generate((int) pos.x, (int) pos.y, SEED);
+                assertSameChunk(expected, generated.get((int) pos.x + "," + (int) pos.y));
+            }
+        }
+    }
+
+    @Test
+    void asyncChunkMatchesSerialGeneration() {
+        ChunkGenerationEngine engine = engine(new WorldObjectManagerImpl(), 4);
+        List<CompletableFuture<ChunkData>> futures = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            futures.add(engine.generateAsync(i * 37 - 900, 500 - i * 11, SEED));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            assertSameChunk(engine.generate(i * 37 - 900, 500 - i * 11, SEED), futures.get(i).join());
+        }
+    }
+
+    @Test
+    void singleChunksReuseNeighbourTerrain() {
+        ChunkGenerationEngine engine = engine(new ServerWorldObjectManagerImpl(), 1);
+        ChunkData first = engine.generate(0, 0, SEED);
+        assertEquals(9, engine.getTerrainPasses());
+
+        // the same chunk again, e.g. as a delta baseline, and its neighbour
+        assertSameChunk(first, engine.generate(0, 0, SEED));
+        assertEquals(9, engine.getTerrainPasses());
+        engine.generate(1, 0, SEED);
+        assertEquals(12, engine.getTerrainPasses());
+
+        ChunkGenerationEngine uncached = new ChunkGenerationEngine(generator(), new ServerWorldObjectManagerImpl(), 1, 0);
+        engines.add(uncached);
+        assertSameChunk(uncached.generate(1, 0, SEED), engine.generate(1, 0, SEED));
+    }
+
+    @Test
+    void randomAccessQueriesMatchGeneratedChunks() {
+        for (WorldObjectManager objects : List.of(new WorldObjectManagerImpl(), new ServerWorldObjectManagerImpl())) {
+            ChunkGenerationEngine engine = engine(objects, 1);
+            for (int chunkX = -3; chunkX <= 2; chunkX++) {
+                for (int chunkY = -2; chunkY <= 3; chunkY++) {
+                    ChunkData chunk = engine.generate(chunkX, chunkY, SEED);
+                    WorldObject[][] covering = new WorldObject[16][16];
+                    for (WorldObject o : chunk.getObjects()) {
+                        for (int dx = 0; dx < o.getType().getWidthInTiles(); dx++) {
+                            for (int dy = 0; dy < o.getType().getHeightInTiles(); dy++) {
+                                covering[o.getTileX() - chunkX * 16 + dx][o.getTileY() - chunkY * 16 + dy] = o;
+                            }
+                        }
+                    }
+                    for (int x = 0; x < 16; x++) {
+                        for (int y = 0; y < 16; y++) {
+                            int tileX = chunkX * 16 + x;
+                            int tileY = chunkY * 16 + y;
+                            assertEquals(chunk.getTiles()[x][y], engine.generateTileAt(tileX, tileY, SEED));
+                            WorldObject at = engine.generateObjectAt(tileX, tileY, SEED);
+                            assertEquals(covering[x][y] == null ? null : covering[x][y].getId(),
+                                    at == null ? null : at.getId(), "object at " + tileX + "," + tileY);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void trailsCrossChunkBorders() {
+        WorldGeneratorImpl generator = new WorldGeneratorImpl(new WorldConfig(SEED));
+        generator.setSeedAndBiomes(SEED, biomes());
+        ChunkGenerationEngine engine = engine(new WorldObjectManagerImpl(), 4);
+        List<Vector2> area = new ArrayList<>();
+        for (int x = -10; x < 10; x++) {
+            for (int y = -10; y < 10; y++) {
+                area.add(new Vector2(x, y));
+            }
+        }
+        Map<String, ChunkData> chunks = engine.generateAll(area, SEED);
+
+        int crossings = 0;
+        for (int x = -10; x < 9; x++) {
+            for (int y = -10; y < 10; y++) {
+                // plains has no sand of its own and blending between plains chunks cannot bring any
+                if (generator.getBiomeForChunk(x, y).getType() != BiomeType.PLAINS
+                        || generator.getBiomeForChunk(x + 1, y).getType() != BiomeType.PLAINS) {
+                    continue;
+                }
+                int[][] left = chunks.get(x + "," + y).getTiles();
+                int[][] right = chunks.get((x + 1) + "," + y).getTiles();
+                for (int ly = 0; ly < 16; ly++) {
+                    if (left[15][ly] == ChunkGenerationPipeline.TRAIL_TILE && right[0][ly] == ChunkGenerationPipeline.TRAIL_TILE) {
+                        crossings++;
+                    }
+                }
+            }
+        }
+        assertTrue(crossings > 0, "no trail crosses a chunk border");
+        for (ChunkData chunk : chunks.values()) {
+            if (generator.getBiomeForChunk(chunk.getChunkX(), chunk.getChunkY()).getType() != BiomeType.PLAINS) {
+                continue;
+            }
+            for (WorldObject o : chunk.getObjects()) {
+                assertNotEquals(ChunkGenerationPipeline.TRAIL_TILE,
+                        chunk.getTiles()[o.getTileX() - chunk.getChunkX() * 16][o.getTileY() - chunk.getChunkY() * 16],
+                        "object left on a trail");
+            }
+        }
+    }
+
+    private ChunkGenerationEngine engine(WorldObjectManager objects, int threads) {
+        ChunkGenerationEngine engine = new ChunkGenerationEngine(generator(), objects, threads);
+        engines.add(engine);
+        return engine;
+    }
+
+    private static WorldGeneratorImpl generator() {
+        WorldGeneratorImpl generator = new WorldGeneratorImpl(new WorldConfig(SEED));
+        generator.setSeedAndBiomes(SEED, biomes());
+        return generator;
+    }
+
+    private static Map<BiomeType, Biome> biomes() {
+        return Map.of(
+                BiomeType.PLAINS, new Biome("Plains", BiomeType.PLAINS, List.of(0, 1),
+                        Map.of(0, 60.0, 1, 40.0),
+                        List.of("TREE_0", "TREE_1", "SUNFLOWER", "APRICORN_TREE"),
+                        Map.of("SUNFLOWER", 0.1, "TREE_0", 0.09, "TREE_1", 0.09, "APRICORN_TREE", 0.075)),
+                BiomeType.DESERT, new Biome("Desert", BiomeType.DESERT, List.of(2, 3),
+                        Map.of(2, 65.0, 3, 35.0),
+                        List.of("CACTUS", "DEAD_TREE"),
+                        Map.of("CACTUS", 0.1, "DEAD_TREE", 0.1)));
+    }
+
+    private static void assertSameChunk(ChunkData expected, ChunkData actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getChunkX(), actual.getChunkX());
+        assertEquals(expected.getChunkY(), actual.getChunkY());
+        assertArrayEquals(expected.getTiles(), actual.getTiles());
+        assertEquals(describe(expected.getObjects()), describe(actual.getObjects()));
+    }
+
+    private static List<String> describe(List<WorldObject> objects) {
+        List<String> out = new ArrayList<>();
+        for (WorldObject o : objects) {
+            out.add(o.getId() + " " + o.getType() + " " + o.getTileX() + "," + o.getTileY() + " " + o.isCollidable());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.pokemeetup.world.service.impl;
+
+import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.ObjectType;
+import io.github.pokemeetup.world.model.WorldObject;
+import io.github.pokemeetup.world.storage.FilePlayerStore;
+import io.github.pokemeetup.world.storage.RegionChunkStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkPersistenceServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void aChunkSavedByAnOlderGeneratorIsNeverOverwritten() throws IOException {
+        ChunkPersistenceService before = persistence(new VersionedBaseline(4, 7));
+        ChunkData edited = new VersionedBaseline(4, 7).generate(0, 0);
+        edited.getTiles()[1][2] = 9;
+        before.markDirty("w", edited);
+        before.shutdown();
+
+        // the generator moved on: the stored delta is refused, now and on every later load
+        ChunkPersistenceService after = persistence(new VersionedBaseline(5, 7));
+        assertThrows(IOException.class, () -> after.loadChunk("w", 0, 0));
+        assertThrows(IOException.class, () -> after.loadChunk("w", 0, 0));
+
+        // an edit to a chunk generated in its place is not saved over it
+        ChunkData regenerated = new VersionedBaseline(5, 7).generate(0, 0);
+        regenerated.getTiles()[3][3] = 4;
+        after.markDirty("w", regenerated);
+        assertFalse(after.isDirty("w", 0, 0));
+        after.shutdown();
+
+        ChunkData original = service().loadChunk("w", 0, 0, new VersionedBaseline(4, 7));
+        assertEquals(9, original.getTiles()[1][2]);
+        assertEquals(0, original.getTiles()[3][3]);
+    }
+
+    private ChunkPersistenceService persistence(JsonWorldDataService.ChunkBaseline baseline) {
+        ChunkPersistenceService persistence = new ChunkPersistenceService(service(), 60_000, 256);
+        persistence.setBaseline("w", baseline);
+        return persistence;
+    }
+
+    private JsonWorldDataService service() {
+        return new JsonWorldDataService(dir.toString(), new RegionChunkStore(dir.toString()),
+                new FilePlayerStore(dir.toString()));
+    }
+
+    private record VersionedBaseline(int generatorVersion, long seed) implements JsonWorldDataService.ChunkBaseline {
+        @Override
+        public ChunkData generate(int chunkX, int chunkY) {
+            List<WorldObject> objects = new CopyOnWriteArrayList<>();
+            WorldObject tree = new WorldObject(chunkX * 16, chunkY * 16, ObjectType.TREE_0, true);
+            tree.setId(WorldObject.generatedId(chunkX, chunkY, 0));
+            objects.add(tree);
+            ChunkData chunk = new ChunkData();
+            chunk.setChunkX(chunkX);
+            chunk.setChunkY(chunkY);
+            chunk.setTiles(new int[16][16]);
+            chunk.setObjects(objects);
+            return chunk;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.pokemeetup.world.service.impl;
+
+import io.github.pokemeetup.event.EventBus;
+import io.github.pokemeetup.world.config.ChunkGeometry;
+import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.ChunkKey;
+import io.github.pokemeetup.world.model.WorldData;
+import io.github.pokemeetup.world.storage.FilePlayerStore;
+import io.github.pokemeetup.world.storage.RegionChunkStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkResidencyManagerTest {
+
+    @TempDir
+    Path dir;
+
+    private ChunkPersistenceService persistence;
+    private ChunkTicketManager tickets;
+
+    @AfterEach
+    void shutdown() {
+        if (tickets != null) {
+            tickets.shutdown();
+        }
+        if (persistence != null) {
+            persistence.shutdown();
+        }
+    }
+
+    @Test
+    void recentlyUsedChunksSurviveEviction() {
+        ChunkResidencyManager residency = manager(4);
+        WorldData world = world("w");
+        for (int x = 0; x < 4; x++) {
+            residency.admit(world, chunk(x, 0));
+        }
+        // a full sweep clears every flag; only chunk 2 is used again afterwards
+        residency.admit(world, chunk(4, 0));
+        residency.get(world, ChunkKey.of(2, 0));
+        residency.admit(world, chunk(5, 0));
+
+        assertEquals(4, residency.getResidentChunks());
+        assertNotNull(residency.get(world, ChunkKey.of(2, 0)));
+        assertNotNull(residency.get(world, ChunkKey.of(5, 0)));
+        assertEquals(2, residency.getEvictions());
+        assertEquals(4, world.getChunks().size());
+    }
+
+    @Test
+    void ticketedChunksAreNeverEvicted() throws Exception {
+        ChunkResidencyManager residency = manager(1);
+        WorldData world = world("w");
+        tickets.updatePlayer("ash", 0, 0);
+        residency.admit(world, chunk(0, 0));
+        residency.admit(world, chunk(1, 0));
+        residency.admit(world, chunk(7, 7));
+
+        assertNotNull(residency.get(world, ChunkKey.of(0, 0)));
+        assertNull(residency.get(world, ChunkKey.of(7, 7)));
+        assertEquals(2, residency.getResidentChunks());
+    }
+
+    @Test
+    void unsavedChunksAreWrittenBeforeTheyAreDropped() throws Exception {
+        ChunkResidencyManager residency = manager(2);
+        WorldData world = world("w");
+        ChunkData edited = chunk(0, 0);
+        edited.getTiles()[1][2] = 9;
+        residency.admit(world, edited);
+        persistence.markDirty("w", edited);
+
+        for (int x = 1; x <= 4; x++) {
+            residency.admit(world, chunk(x, 0));
+        }
+        // the sweeps pass over it until the flush they request has written it
+        if (world.getChunks().get(ChunkKey.of(0, 0)) == null) {
+            assertFalse(persistence.isDirty("w", 0, 0));
+        }
+        assertEquals(9, persistence.loadChunk("w", 0, 0).getTiles()[1][2]);
+
+        persistence.flush();
+        assertFalse(persistence.isDirty("w", 0, 0));
+        residency.admit(world, chunk(5, 0));
+        residency.admit(world, chunk(6, 0));
+        assertNull(world.getChunks().get(ChunkKey.of(0, 0)));
+        assertEquals(9, persistence.loadChunk("w", 0, 0).getTiles()[1][2]);
+    }
+
+    @Test
+    void worldsAreKeptApart() {
+        ChunkResidencyManager residency = manager(8);
+        WorldData first = world("w");
+        WorldData second = world("w");
+        residency.admit(first, chunk(0, 0));
+        residency.admit(second, chunk(0, 0));
+        residency.admit(second, chunk(1, 0));
+
+        residency.clear(second);
+        assertEquals(1, residency.getResidentChunks());
+        assertNotNull(residency.get(first, ChunkKey.of(0, 0)));
+        assertNull(residency.get(second, ChunkKey.of(0, 0)));
+
+        residency.remove(first, ChunkKey.of(0, 0));
+        assertEquals(0, residency.getResidentChunks());
+        assertEquals(0, residency.getResidentBytes());
+    }
+
+    private ChunkResidencyManager manager(int maxChunks) {
+        JsonWorldDataService json = new JsonWorldDataService(dir.toString(), new RegionChunkStore(dir.toString()),
+                new FilePlayerStore(dir.toString()));
+        persistence = new ChunkPersistenceService(json, 60_000, 256);
+        // radius 1 around the origin; no automatic ticks
+        tickets = new ChunkTicketManager(new EventBus(), ChunkGeometry.of(16), 1, 10_000, 3_600_000, 1);
+        return new ChunkResidencyManager(persistence, new ServerWorldObjectManagerImpl(), maxChunks, 0, tickets);
+    }
+
+    private static WorldData world(String name) {
+        WorldData world = new WorldData();
+        world.setWorldName(name);
+        return world;
+    }
+
+    private static ChunkData chunk(int chunkX, int chunkY) {
+        ChunkData chunk = new ChunkData();
+        chunk.setChunkX(chunkX);
+        chunk.setChunkY(chunkY);
+        chunk.setTiles(new int[16][16]);
+        chunk.setObjects(new CopyOnWriteArrayList<>());
+        return chunk;
+    }
+}
@@ -0,0 +1,265 @@
+package io.github.pokemeetup.world.service.impl;
+
+import com.badlogic.gdx.math.Vector2;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Output;
+import io.github.pokemeetup.NetworkProtocol;
+import io.github.pokemeetup.world.biome.model.Biome;
+import io.github.pokemeetup.world.biome.model.BiomeType;
+import io.github.pokemeetup.world.config.ChunkGeometry;
+import io.github.pokemeetup.world.config.WorldConfig;
+import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.WorldData;
+import io.github.pokemeetup.world.storage.ChunkStore;
+import io.github.pokemeetup.world.storage.FilePlayerStore;
+import io.github.pokemeetup.world.storage.RegionChunkStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Compares chunk sizes on the same world: generation, disk (full chunks and edit deltas),
+ * network bytes for chunks sent to a client, and ground tiles the renderer walks per frame.
+ * Run with {@code -Dbenchmark=true}.
+ */
+class ChunkSizeBenchmarkTest {
+
+    private static final int[] SIZES = {16, 32, 64};
+    private static final long SEED = 12345L;
+    private static final String WORLD = "bench";
+
+    // a square of AREA tiles centered on the origin, the same tiles at every chunk size
+    private static final int AREA = 512;
+    private static final int EDITS = 2000;
+
+    // what WorldRenderer asks for: a 24 x 13.5 tile viewport padded by 5 tiles, 32 px tiles
+    private static final int TILE_SIZE = 32;
+    private static final float VIEW_WIDTH = (24 + 2 * 5) * TILE_SIZE;
+    private static final float VIEW_HEIGHT = (13.5f + 2 * 5) * TILE_SIZE;
+    private static final int WALK = 400;
+
+    private static final Map<BiomeType, Biome> BIOMES = Map.of(
+            BiomeType.PLAINS, new Biome("Plains", BiomeType.PLAINS, List.of(0, 1),
+                    Map.of(0, 60.0, 1, 40.0),
+                    List.of("TREE_0", "TREE_1", "SUNFLOWER", "APRICORN_TREE"),
+                    Map.of("SUNFLOWER", 0.1, "TREE_0", 0.09, "TREE_1", 0.09, "APRICORN_TREE", 0.075)),
+            BiomeType.DESERT, new Biome("Desert", BiomeType.DESERT, List.of(2, 3),
+                    Map.of(2, 65.0, 3, 35.0),
+                    List.of("CACTUS", "DEAD_TREE"),
+                    Map.of("CACTUS", 0.1, "DEAD_TREE", 0.1)));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void compareChunkSizes() throws IOException {
+        for (int size : SIZES) {
+            run(ChunkGeometry.of(size));
+        }
+    }
+
+    private void run(ChunkGeometry geometry) throws IOException {
+        WorldGeneratorImpl generator = new WorldGeneratorImpl(new WorldConfig(SEED, geometry));
+        generator.setSeedAndBiomes(SEED, BIOMES);
+        ChunkGenerationEngine engine = new ChunkGenerationEngine(generator, new WorldObjectManagerImpl(geometry), 0);
+        String name = "chunk " + geometry.size();
+        try {
+            List<Vector2> area = new ArrayList<>();
+            int chunks = AREA / geometry.size();
+            for (int x = -chunks / 2; x < chunks / 2; x++) {
+                for (int y = -chunks / 2; y < chunks / 2; y++) {
+                    area.add(new Vector2(x, y));
+                }
+            }
+            long start = System.nanoTime();
+            Map<String, ChunkData> world = new HashMap<>(engine.generateAll(area, SEED));
+            long nanos = System.nanoTime() - start;
+            System.out.printf("%-9s generate   %,6d chunks  %,8.0f tiles/ms%n",
+                    name, area.size(), (double) AREA * AREA / (nanos / 1e6));
+
+            disk(name, geometry, engine, world);
+            network(name, world);
+            render(name, geometry, engine, world);
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    // every chunk stored in full (a pregenerated world), then EDITS random tile edits stored as deltas
+    private void disk(String name, ChunkGeometry geometry, ChunkGenerationEngine engine,
+                      Map<String, ChunkData> world) throws IOException {
+        Path worlds = dir.resolve("worlds-" + geometry.size());
+        try (RegionChunkStore store = new RegionChunkStore(worlds.toString())) {
+            JsonWorldDataService service = new JsonWorldDataService(worlds.toString(), store,
+                    new FilePlayerStore(worlds.toString()));
+            WorldData meta = new WorldData();
+            meta.setWorldName(WORLD);
+            meta.setSeed(SEED);
+            meta.setChunkSize(geometry.size());
+            service.saveWorld(meta);
+
+            List<ChunkStore.StoredChunk> full = new ArrayList<>();
+            for (ChunkData chunk : world.values()) {
+                full.add(service.encodeChunk(WORLD, chunk, null));
+            }
+            long start = System.nanoTime();
+            service.saveChunks(full);
+            service.syncChunks();
+            long writeNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (ChunkData chunk : world.values()) {
+                assertNotNull(service.loadChunk(WORLD, chunk.getChunkX(), chunk.getChunkY()));
+            }
+            long readNanos = System.nanoTime() - start;
+            System.out.printf("%-9s disk full  %,8d KiB  write %,7.1f ms  read %,7.1f ms%n",
+                    name, directorySize(worlds) / 1024, writeNanos / 1e6, readNanos / 1e6);
+
+            JsonWorldDataService.ChunkBaseline baseline = new JsonWorldDataService.ChunkBaseline() {
+                @Override
+                public ChunkData generate(int chunkX, int chunkY) {
+                    return engine.generate(chunkX, chunkY, SEED);
+                }
+
+                @Override
+                public long seed() {
+                    return SEED;
+                }
+            };
+            Random random = new Random(9);
+            Set<String> dirty = new LinkedHashSet<>();
+            for (int i = 0; i < EDITS; i++) {
+                int tileX = random.nextInt(AREA) - AREA / 2;
+                int tileY = random.nextInt(AREA) - AREA / 2;
+                String key = geometry.chunkOf(tileX) + "," + geometry.chunkOf(tileY);
+                world.get(key).getTiles()[geometry.localOf(tileX)][geometry.localOf(tileY)] = 99;
+                dirty.add(key);
+            }
+            long bytes = 0;
+            start = System.nanoTime();
+            List<ChunkStore.StoredChunk> deltas = new ArrayList<>();
+            for (String key : dirty) {
+                ChunkStore.StoredChunk delta = service.encodeChunk(WORLD, world.get(key), baseline);
+                bytes += delta.data().length;
+                deltas.add(delta);
+            }
+            service.saveChunks(deltas);
+            service.syncChunks();
+            long deltaNanos = System.nanoTime() - start;
+            System.out.printf("%-9s disk edits %,8d dirty chunks  %,8d B written  save %,7.1f ms%n",
+                    name, dirty.size(), bytes, deltaNanos / 1e6);
+        }
+    }
+
+    // the payloads the server sends as NetworkProtocol.ChunkData, plus kryonet's 4-byte length prefix
+    private static void network(String name, Map<String, ChunkData> world) {
+        Kryo kryo = new Kryo();
+        NetworkProtocol.registerClasses(kryo);
+        Output output = new Output(1 << 16, -1);
+        long total = 0;
+        long max = 0;
+        for (ChunkData chunk : world.values()) {
+            long bytes = chunkMessageBytes(kryo, output, chunk);
+            total += bytes;
+            max = Math.max(max, bytes);
+        }
+        System.out.printf("%-9s network   %,8d B/chunk avg  %,8d B max  %,6.2f B/tile%n",
+                name, total / world.size(), max, (double) total / ((long) AREA * AREA));
+    }
+
+    private static long chunkMessageBytes(Kryo kryo, Output output, ChunkData chunk) {
+        NetworkProtocol.ChunkData message = new NetworkProtocol.ChunkData();
+        message.setChunkX(chunk.getChunkX());
+        message.setChunkY(chunk.getChunkY());
+        message.setTiles(chunk.getTiles());
+        message.setObjects(chunk.getObjects());
+        output.clear();
+        kryo.writeClassAndObject(output, message);
+        return output.total() + 4;
+    }
+
+    /**
+     * Walks a player WALK tiles east then WALK tiles north, one tile per frame, and counts what the
+     * client does with the visible-chunk range the world services compute: ground tiles drawn per
+     * frame, chunks newly entering view (loaded, generated or requested) and the bytes to send them.
+     */
+    private static void render(String name, ChunkGeometry geometry, ChunkGenerationEngine engine,
+                               Map<String, ChunkData> world) {
+        Kryo kryo = new Kryo();
+        NetworkProtocol.registerClasses(kryo);
+        Output output = new Output(1 << 16, -1);
+        float chunkPixels = geometry.pixelSize(TILE_SIZE);
+
+        Set<String> visible = new HashSet<>();
+        long tilesDrawn = 0;
+        long chunksVisited = 0;
+        long entered = 0;
+        long streamedBytes = 0;
+        long spawnBytes = 0;
+        int frames = 2 * WALK + 1;
+        for (int frame = 0; frame < frames; frame++) {
+            float px = (Math.min(frame, WALK) - WALK / 2f) * TILE_SIZE;
+            float py = (Math.max(0, frame - WALK) - WALK / 2f) * TILE_SIZE;
+            float x0 = px - VIEW_WIDTH / 2;
+            float y0 = py - VIEW_HEIGHT / 2;
+            // same range as ServerWorldServiceImpl/ClientWorldServiceImpl.getVisibleChunks
+            int startX = (int) Math.floor(x0 / chunkPixels);
+            int startY = (int) Math.floor(y0 / chunkPixels);
+            int endX = (int) Math.ceil((x0 + VIEW_WIDTH) / chunkPixels);
+            int endY = (int) Math.ceil((y0 + VIEW_HEIGHT) / chunkPixels);
+
+            Set<String> now = new HashSet<>();
+            List<Vector2> missing = new ArrayList<>();
+            for (int x = startX; x <= endX; x++) {
+                for (int y = startY; y <= endY; y++) {
+                    String key = x + "," + y;
+                    now.add(key);
+                    if (!world.containsKey(key)) {
+                        missing.add(new Vector2(x, y));
+                    }
+                }
+            }
+            world.putAll(engine.generateAll(missing, SEED));
+            for (String key : now) {
+                tilesDrawn += (long) geometry.size() * geometry.size();
+                if (!visible.contains(key)) {
+                    long bytes = chunkMessageBytes(kryo, output, world.get(key));
+                    if (frame == 0) {
+                        spawnBytes += bytes;
+                    } else {
+                        entered++;
+                        streamedBytes += bytes;
+                    }
+                }
+            }
+            chunksVisited += now.size();
+            visible = now;
+        }
+        double onScreen = (VIEW_WIDTH / TILE_SIZE) * (VIEW_HEIGHT / TILE_SIZE);
+        System.out.printf("%-9s render    %,8.1f chunks/frame  %,8.0f tiles/frame (%.2fx view)%n",
+                name, (double) chunksVisited / frames, (double) tilesDrawn / frames, tilesDrawn / frames / onScreen);
+        System.out.printf("%-9s streaming %,8d KiB at spawn  %,6d chunks entered  %,8d KiB over %d tiles walked%n",
+                name, spawnBytes / 1024, entered, streamedBytes / 1024, 2 * WALK);
+    }
+
+    private static long directorySize(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package io.github.pokemeetup.world.service.impl;
+
+import io.github.pokemeetup.event.EventBus;
+import io.github.pokemeetup.world.config.ChunkGeometry;
+import io.github.pokemeetup.world.model.ChunkKey;
+import io.github.pokemeetup.world.service.impl.ChunkTicketManager.ChunkState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkTicketManagerTest {
+
+    private static final long DELAY = 10_000;
+    // ticks are driven by the tests
+    private static final long NO_AUTOMATIC_TICK = 3_600_000;
+
+    private final FakeHost host = new FakeHost();
+    private ChunkTicketManager tickets;
+
+    @AfterEach
+    void shutdown() {
+        if (tickets != null) {
+            tickets.shutdown();
+        }
+    }
+
+    @Test
+    void aPlayerTicketLoadsTheSquareAroundThem() throws Exception {
+        tickets = manager(2);
+        tickets.updatePlayer("ash", 20, -3);
+
+        awaitReady(25);
+        assertEquals(25, host.loaded.size());
+        assertTrue(host.loaded.contains(ChunkKey.of(3, 1)));
+        assertTrue(host.loaded.contains(ChunkKey.of(-1, -3)));
+        assertEquals(ChunkState.READY, tickets.getState(1, -1));
+        assertTrue(tickets.isTracked(ChunkKey.of(1, -1)));
+        assertFalse(tickets.isTracked(ChunkKey.of(4, 0)));
+    }
+
+    @Test
+    void chunksLeftBehindUnloadOnlyAfterTheDelay() throws Exception {
+        tickets = manager(1);
+        tickets.updatePlayer("ash", 0, 0);
+        awaitReady(9);
+
+        // one chunk east: a column is added and the west column loses its ticket
+        tickets.updatePlayer("ash", 16, 0);
+        awaitReady(12);
+        tickets.tick(System.currentTimeMillis());
+        assertEquals(12, tickets.getTrackedChunks());
+
+        // back again before the delay runs out: nothing is reloaded
+        tickets.updatePlayer("ash", 0, 0);
+        tickets.tick(System.currentTimeMillis());
+        assertEquals(12, tickets.getTrackedChunks());
+        assertEquals(12, host.loads.get());
+
+        tickets.tick(System.currentTimeMillis() + DELAY + 1);
+        assertEquals(9, tickets.getTrackedChunks());
+        assertEquals(9, host.loaded.size());
+        assertFalse(host.loaded.contains(ChunkKey.of(2, 0)));
+        assertEquals(3, tickets.getUnloads());
+    }
+
+    @Test
+    void overlappingTicketsKeepSharedChunksLoaded() throws Exception {
+        tickets = manager(1);
+        tickets.updatePlayer("ash", 0, 0);
+        tickets.updatePlayer("misty", 16, 0);
+        awaitReady(12);
+
+        tickets.removePlayer("ash");
+        tickets.tick(System.currentTimeMillis() + DELAY + 1);
+        assertEquals(9, tickets.getTrackedChunks());
+        assertTrue(host.loaded.contains(ChunkKey.of(0, 0)));
+        assertFalse(host.loaded.contains(ChunkKey.of(-1, 0)));
+        assertEquals(1, tickets.getPlayerCount());
+    }
+
+    @Test
+    void unsavedChunksAreWrittenBeforeTheyUnload() throws Exception {
+        tickets = manager(0);
+        tickets.updatePlayer("ash", 0, 0);
+        awaitReady(1);
+        host.dirty.add(ChunkKey.of(0, 0));
+
+        tickets.removePlayer("ash");
+        long later = System.currentTimeMillis() + DELAY + 1;
+        tickets.tick(later);
+        assertEquals(ChunkState.SAVING, tickets.getState(0, 0));
+        assertEquals(1, host.saveRequests.get());
+        assertTrue(host.loaded.contains(ChunkKey.of(0, 0)));
+
+        tickets.tick(later);
+        assertEquals(ChunkState.SAVING, tickets.getState(0, 0));
+
+        host.dirty.clear();
+        tickets.tick(later);
+        assertFalse(tickets.isTracked(ChunkKey.of(0, 0)));
+        assertTrue(host.loaded.isEmpty());
+    }
+
+    @Test
+    void aTicketDuringSavingKeepsTheChunk() throws Exception {
+        tickets = manager(0);
+        tickets.updatePlayer("ash", 0, 0);
+        awaitReady(1);
+        host.dirty.add(ChunkKey.of(0, 0));
+        tickets.removePlayer("ash");
+        tickets.tick(System.currentTimeMillis() + DELAY + 1);
+        assertEquals(ChunkState.SAVING, tickets.getState(0, 0));
+
+        tickets.updatePlayer("misty", 0, 0);
+        host.dirty.clear();
+        tickets.tick(System.currentTimeMillis() + DELAY + 1);
+        assertEquals(ChunkState.READY, tickets.getState(0, 0));
+        assertEquals(1, host.loads.get());
+    }
+
+    @Test
+    void aFailedLoadIsRetriedWhileTheChunkIsTicketed() throws Exception {
+        tickets = manager(0);
+        host.failures.set(1);
+        tickets.updatePlayer("ash", 0, 0);
+        awaitState(ChunkState.UNLOADED, 1);
+        assertEquals(1, tickets.getLoadFailures());
+
+        tickets.tick(System.currentTimeMillis());
+        awaitReady(1);
+        assertEquals(1, tickets.getLoads());
+    }
+
+    private ChunkTicketManager manager(int radius) {
+        ChunkTicketManager manager = new ChunkTicketManager(new EventBus(), ChunkGeometry.of(16),
+                radius, DELAY, NO_AUTOMATIC_TICK, 2);
+        manager.attach(host);
+        return manager;
+    }
+
+    private void awaitReady(int count) throws InterruptedException {
+        awaitState(ChunkState.READY, count);
+    }
+
+    private void awaitState(ChunkState state, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        Map<ChunkState, Integer> counts = tickets.getStateCounts();
+        while (counts.get(state) != count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+            counts = tickets.getStateCounts();
+        }
+        assertEquals(count, counts.get(state), "chunks in state " + state + ": " + counts);
+    }
+
+    private static final class FakeHost implements ChunkTicketManager.ChunkHost {
+        final Set<Long> loaded = ConcurrentHashMap.newKeySet();
+        final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+        final AtomicInteger loads = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicInteger saveRequests = new AtomicInteger();
+
+        @Override
+        public boolean load(int chunkX, int chunkY) {
+            if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                return false;
+            }
+            loads.incrementAndGet();
+            loaded.add(ChunkKey.of(chunkX, chunkY));
+            return true;
+        }
+
+        @Override
+        public boolean hasUnsavedChanges(int chunkX, int chunkY) {
+            return dirty.contains(ChunkKey.of(chunkX, chunkY));
+        }
+
+        @Override
+        public void requestSave() {
+            saveRequests.incrementAndGet();
+        }
+
+        @Override
+        public void unload(int chunkX, int chunkY) {
+            loaded.remove(ChunkKey.of(chunkX, chunkY));
+        }
+    }
+}
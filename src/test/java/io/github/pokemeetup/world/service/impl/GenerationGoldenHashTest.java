@@ -0,0 +1,204 @@
+package io.github.pokemeetup.world.service.impl;
+
+import com.badlogic.gdx.math.Vector2;
+import io.github.pokemeetup.world.biome.config.BiomeConfigurationLoader;
+import io.github.pokemeetup.world.biome.model.Biome;
+import io.github.pokemeetup.world.biome.model.BiomeTransitionResult;
+import io.github.pokemeetup.world.biome.model.BiomeType;
+import io.github.pokemeetup.world.biome.service.impl.BiomeServiceImpl;
+import io.github.pokemeetup.world.config.WorldConfig;
+import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.WorldObject;
+import io.github.pokemeetup.world.service.WorldGenerator;
+import io.github.pokemeetup.world.service.WorldObjectManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins what existing seeds generate. A failure means a change altered the tiles, objects or biomes
+ * of saved worlds. If that is intended, bump {@link WorldGenerator#GENERATOR_VERSION} and copy the
+ * new hashes from the failure message.
+ */
+class GenerationGoldenHashTest {
+
+    private static final long[] SEEDS = {0L, 1L, 12345L, -7_046_029_254_386_353_131L};
+
+    private static final String[] CLIENT_GOLDEN = {
+            "04fe167cfac37256",
+            "8a5450f76cba351f",
+            "502fed476ed21d5e",
+            "0932d13fcef3651c",
+    };
+    private static final String[] SERVER_GOLDEN = {
+            "cbe8a61ecf3e968a",
+            "2b53e9e0cc90080d",
+            "f0afdac33ada4c20",
+            "06413dcd6c26ef6c",
+    };
+    private static final String[] BIOME_GOLDEN = {
+            "80c8c6f30f1d4a41",
+            "4bbd32bafdc23248",
+            "9ed7e848c8806928",
+            "0f359dc1ea7380eb",
+    };
+
+    // the values of assets/config/biomes.json, plus snow for the biome field
+    private static final Map<BiomeType, Biome> BIOMES = Map.of(
+            BiomeType.PLAINS, new Biome("Plains", BiomeType.PLAINS, List.of(0, 1),
+                    Map.of(0, 60.0, 1, 40.0),
+                    List.of("TREE_0", "TREE_1", "SUNFLOWER", "APRICORN_TREE"),
+                    Map.of("SUNFLOWER", 0.1, "TREE_0", 0.09, "TREE_1", 0.09, "APRICORN_TREE", 0.075)),
+            BiomeType.DESERT, new Biome("Desert", BiomeType.DESERT, List.of(2, 3),
+                    Map.of(2, 65.0, 3, 35.0),
+                    List.of("CACTUS", "DEAD_TREE"),
+                    Map.of("CACTUS", 0.1, "DEAD_TREE", 0.1)),
+            BiomeType.SNOW, new Biome("Snow", BiomeType.SNOW, List.of(0),
+                    Map.of(0, 1.0), List.of(), Map.of()));
+
+    @Test
+    void clientChunksMatchGoldenHashes() {
+        assertGolden("client", CLIENT_GOLDEN, WorldObjectManagerImpl::new);
+    }
+
+    @Test
+    void serverChunksMatchGoldenHashes() {
+        assertGolden("server", SERVER_GOLDEN, ServerWorldObjectManagerImpl::new);
+    }
+
+    @Test
+    void biomeFieldMatchesGoldenHashes() {
+        List<String> failures = new ArrayList<>();
+        for (int s = 0; s < SEEDS.length; s++) {
+            BiomeServiceImpl biomes = new BiomeServiceImpl(new BiomeConfigurationLoader(null) {
+                @Override
+                public Map<BiomeType, Biome> loadBiomes(String configFilePath) {
+                    return BIOMES;
+                }
+            }, 64);
+            biomes.init();
+            biomes.initWithSeed(SEEDS[s]);
+
+            Hash hash = new Hash();
+            long start = System.nanoTime();
+            int queries = 0;
+            // a sparse grid over a wide area, one field region per query
+            for (int y = -20; y < 20; y++) {
+                for (int x = -20; x < 20; x++) {
+                    hash(hash, biomes.getBiomeAt(x * 9973.1f, y * 10133.7f));
+                    queries++;
+                }
+            }
+            // a dense grid near the origin, where most queries are interpolated within cached regions
+            for (int y = -200; y < 200; y++) {
+                for (int x = -200; x < 200; x += 4) {
+                    hash(hash, biomes.getBiomeAt(x * 1.37f, y * 1.91f));
+                    queries++;
+                }
+            }
+            long nanos = System.nanoTime() - start;
+            System.out.printf("golden[biomes] seed=%d: %d queries in %.1f ms (%.0f ns/query)%n",
+                    SEEDS[s], queries, nanos / 1e6, (double) nanos / queries);
+            if (!hash.hex().equals(BIOME_GOLDEN[s])) {
+                failures.add("seed " + SEEDS[s] + ": " + hash.hex());
+            }
+        }
+        assertTrue(failures.isEmpty(), "biome field changed (generator version "
+                + WorldGenerator.GENERATOR_VERSION + "): " + failures);
+    }
+
+    private static void assertGolden(String name, String[] golden, Supplier<WorldObjectManager> objects) {
+        List<Vector2> area = chunks();
+        List<String> failures = new ArrayList<>();
+        for (int s = 0; s < SEEDS.length; s++) {
+            WorldGeneratorImpl generator = new WorldGeneratorImpl(new WorldConfig(SEEDS[s]));
+            generator.setSeedAndBiomes(SEEDS[s], BIOMES);
+            ChunkGenerationEngine engine = new ChunkGenerationEngine(generator, objects.get(), 0);
+            try {
+                long start = System.nanoTime();
+                Map<String, ChunkData> chunks = engine.generateAll(area, SEEDS[s]);
+                long nanos = System.nanoTime() - start;
+                System.out.printf("golden[%s] seed=%d: %d chunks in %.1f ms (%.0f chunks/s on %d threads)%n",
+                        name, SEEDS[s], chunks.size(), nanos / 1e6, chunks.size() * 1e9 / nanos, engine.getParallelism());
+
+                Hash hash = new Hash();
+                for (Vector2 pos : area) {
+                    hash(hash, chunks.get((int) pos.x + "," + (int) pos.y));
+                }
+                if (!hash.hex().equals(golden[s])) {
+                    failures.add("seed " + SEEDS[s] + ": " + hash.hex());
+                }
+            } finally {
+                engine.shutdown();
+            }
+        }
+        assertTrue(failures.isEmpty(), name + " chunks changed (generator version "
+                + WorldGenerator.GENERATOR_VERSION + "): " + failures);
+    }
+
+    // a block around the origin plus far chunks, so negative and large coordinates are covered
+    private static List<Vector2> chunks() {
+        List<Vector2> chunks = new ArrayList<>();
+        for (int x = -8; x < 8; x++) {
+            for (int y = -8; y < 8; y++) {
+                chunks.add(new Vector2(x, y));
+            }
+        }
+        for (int[] far : new int[][]{{1000, -1000}, {-40_000, 25_000}, {131_071, 131_071}, {-131_072, -5}}) {
+            for (int dx = 0; dx < 3; dx++) {
+                for (int dy = 0; dy < 3; dy++) {
+                    chunks.add(new Vector2(far[0] + dx, far[1] + dy));
+                }
+            }
+        }
+        return chunks;
+    }
+
+    private static void hash(Hash hash, ChunkData chunk) {
+        hash.add(chunk.getChunkX()).add(chunk.getChunkY());
+        for (int[] column : chunk.getTiles()) {
+            for (int tile : column) {
+                hash.add(tile);
+            }
+        }
+        hash.add(chunk.getObjects().size());
+        for (WorldObject o : chunk.getObjects()) {
+            hash.add(o.getId()).add(o.getType().name()).add(o.getTileX()).add(o.getTileY()).add(o.isCollidable() ? 1 : 0);
+        }
+    }
+
+    private static void hash(Hash hash, BiomeTransitionResult result) {
+        hash.add(result.getPrimaryBiome().getType().name());
+        hash.add(result.getSecondaryBiome() == null ? "-" : result.getSecondaryBiome().getType().name());
+        hash.add(Float.floatToIntBits(result.getTransitionFactor()));
+    }
+
+    // 64-bit FNV-1a
+    private static final class Hash {
+        private long h = 0xCBF29CE484222325L;
+
+        Hash add(int v) {
+            for (int i = 0; i < 4; i++) {
+                h = (h ^ ((v >>> (8 * i)) & 0xFF)) * 0x100000001B3L;
+            }
+            return this;
+        }
+
+        Hash add(String s) {
+            add(s.length());
+            for (int i = 0; i < s.length(); i++) {
+                add(s.charAt(i));
+            }
+            return this;
+        }
+
+        String hex() {
+            return String.format("%016x", h);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.pokemeetup.world.service.impl;
+
+import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.ObjectType;
+import io.github.pokemeetup.world.model.WorldData;
+import io.github.pokemeetup.world.model.WorldObject;
+import io.github.pokemeetup.world.storage.FilePlayerStore;
+import io.github.pokemeetup.world.storage.RegionChunkStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonWorldDataServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void aDeltaLoadsOntoTheBaselineItWasSavedAgainst() throws IOException {
+        JsonWorldDataService service = service();
+        ChunkData chunk = new FixedBaseline(7).generate(2, -1);
+        chunk.getTiles()[3][4] = 9;
+        chunk.getObjects().remove(0);
+        service.saveChunk("w", chunk, new FixedBaseline(7));
+
+        ChunkData loaded = service.loadChunk("w", 2, -1, new FixedBaseline(7));
+        assertEquals(9, loaded.getTiles()[3][4]);
+        assertEquals(List.of("g2,-1#1"), loaded.getObjects().stream().map(WorldObject::getId).toList());
+    }
+
+    @Test
+    void aDeltaIsRefusedOnAnotherBaseline() throws IOException {
+        JsonWorldDataService service = service();
+        ChunkData chunk = new FixedBaseline(7).generate(2, -1);
+        chunk.getTiles()[3][4] = 9;
+        service.saveChunk("w", chunk, new FixedBaseline(7));
+
+        IOException e = assertThrows(IOException.class, () -> service.loadChunk("w", 2, -1, new FixedBaseline(8)));
+        assertTrue(e.getMessage().contains("seed 7"), e.getMessage());
+        // still stored, for a baseline that matches
+        assertEquals(9, service.loadChunk("w", 2, -1, new FixedBaseline(7)).getTiles()[3][4]);
+    }
+
+    @Test
+    void sharedBaselineTilesAreNeverModified() throws IOException {
+        JsonWorldDataService service = service();
+        int[][] shared = new int[16][16];
+        JsonWorldDataService.ChunkBaseline cached = new JsonWorldDataService.ChunkBaseline() {
+            @Override
+            public ChunkData generate(int chunkX, int chunkY) {
+                ChunkData chunk = new FixedBaseline(7).generate(chunkX, chunkY);
+                chunk.setTiles(shared);
+                return chunk;
+            }
+
+            @Override
+            public long seed() {
+                return 7;
+            }
+        };
+        ChunkData edited = cached.generate(0, 0);
+        edited.setTiles(new int[16][16]);
+        edited.getTiles()[3][4] = 9;
+        service.saveChunk("w", edited, cached);
+        ChunkData objectsOnly = cached.generate(1, 0);
+        objectsOnly.getObjects().remove(0);
+        service.saveChunk("w", objectsOnly, cached);
+
+        assertEquals(9, service.loadChunk("w", 0, 0, cached).getTiles()[3][4]);
+        service.loadChunk("w", 1, 0, cached).getTiles()[5][5] = 2;
+        assertEquals(0, shared[3][4]);
+        assertEquals(0, shared[5][5]);
+    }
+
+    @Test
+    void worldsAreSizedWhenListedNotWhenSaved() throws IOException {
+        JsonWorldDataService service = service();
+        WorldData world = new WorldData();
+        world.setWorldName("w");
+        world.setSeed(7);
+        service.saveWorld(world);
+        long metadataOnly = service.listWorldSummaries().get(0).getSizeBytes();
+        assertTrue(metadataOnly > 0);
+
+        service.saveChunk("w", new FixedBaseline(7).generate(0, 0));
+        service.syncChunks();
+        // the listing keeps its size until the world is saved again
+        assertEquals(metadataOnly, service.listWorldSummaries().get(0).getSizeBytes());
+        service.saveWorld(world);
+        assertTrue(service.listWorldSummaries().get(0).getSizeBytes() > metadataOnly);
+    }
+
+    private JsonWorldDataService service() {
+        return new JsonWorldDataService(dir.toString(), new RegionChunkStore(dir.toString()),
+                new FilePlayerStore(dir.toString()));
+    }
+
+    private record FixedBaseline(long seed) implements JsonWorldDataService.ChunkBaseline {
+        @Override
+        public ChunkData generate(int chunkX, int chunkY) {
+            int[][] tiles = new int[16][16];
+            List<WorldObject> objects = new CopyOnWriteArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                WorldObject tree = new WorldObject(chunkX * 16 + i, chunkY * 16, ObjectType.TREE_0, true);
+                tree.setId(WorldObject.generatedId(chunkX, chunkY, i));
+                objects.add(tree);
+            }
+            ChunkData chunk = new ChunkData();
+            chunk.setChunkX(chunkX);
+            chunk.setChunkY(chunkY);
+            chunk.setTiles(tiles);
+            chunk.setObjects(objects);
+            return chunk;
+        }
+    }
+}
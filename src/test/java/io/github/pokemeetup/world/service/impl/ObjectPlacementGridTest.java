@@ -0,0 +1,112 @@
+package io.github.pokemeetup.world.service.impl;
+
+import io.github.pokemeetup.world.biome.model.Biome;
+import io.github.pokemeetup.world.biome.model.BiomeType;
+import io.github.pokemeetup.world.model.ObjectType;
+import io.github.pokemeetup.world.model.WorldObject;
+import io.github.pokemeetup.world.service.WorldObjectManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectPlacementGridTest {
+
+    private static final int CHUNK_SIZE = 16;
+
+    @Test
+    void claimsFootprintAndClearance() {
+        ObjectPlacementGrid grid = new ObjectPlacementGrid(CHUNK_SIZE, CHUNK_SIZE);
+        // TREE_0 is 2x3 and collidable: claims (4..6, 4..7) with its clearance to the left and below
+        assertTrue(grid.tryClaim(5, 5, ObjectType.TREE_0));
+        assertTrue(grid.isClaimed(4, 4));
+        assertTrue(grid.isClaimed(6, 7));
+        assertFalse(grid.isClaimed(7, 5));
+        assertFalse(grid.isClaimed(5, 8));
+
+        assertTrue(grid.tryClaim(7, 5, ObjectType.SUNFLOWER), "non-collidable objects need no clearance");
+        assertFalse(grid.tryClaim(8, 4, ObjectType.CACTUS), "cactus clearance would cover the sunflower");
+        assertFalse(grid.tryClaim(5, 8, ObjectType.CACTUS), "cactus clearance would touch the tree");
+        assertTrue(grid.tryClaim(5, 9, ObjectType.CACTUS));
+    }
+
+    @Test
+    void keepsClaimsInsideTheChunk() {
+        ObjectPlacementGrid grid = new ObjectPlacementGrid(CHUNK_SIZE, CHUNK_SIZE);
+        assertFalse(grid.tryClaim(0, 5, ObjectType.TREE_0), "clearance left of the chunk");
+        assertFalse(grid.tryClaim(15, 5, ObjectType.TREE_0));
+        assertFalse(grid.tryClaim(5, 14, ObjectType.TREE_0));
+        assertTrue(grid.tryClaim(14, 13, ObjectType.TREE_0), "footprints may reach the top and right edges");
+        assertTrue(grid.tryClaim(0, 0, ObjectType.SUNFLOWER));
+        assertFalse(grid.tryClaim(15, 15, ObjectType.SUNFLOWER), "sunflower is two tiles tall");
+    }
+
+    @Test
+    void serverTreesKeepTheLatticeDensity() {
+        // every tile allowed: each lattice point (4 per 8-tile cell) that wins the 10% roll gets a tree
+        Biome forest = new Biome("Forest", BiomeType.PLAINS, List.of(0), Map.of(0, 1.0),
+                List.of("TREE_0"), Map.of("TREE_0", 1.0));
+        ServerWorldObjectManagerImpl manager = new ServerWorldObjectManagerImpl();
+        int chunks = 0;
+        int trees = 0;
+        for (int chunkX = -10; chunkX < 10; chunkX++) {
+            for (int chunkY = -10; chunkY < 10; chunkY++) {
+                trees += manager.createObjectsForChunk(chunkX, chunkY, new int[CHUNK_SIZE][CHUNK_SIZE], forest, 77L).size();
+                chunks++;
+            }
+        }
+        double perLatticePoint = trees / (chunks * 16.0);
+        assertEquals(0.1, perLatticePoint, 0.015, trees + " trees in " + chunks + " chunks");
+    }
+
+    @Test
+    void clientObjectsReachCellEdges() {
+        Biome plains = new Biome("Plains", BiomeType.PLAINS, List.of(0), Map.of(0, 1.0),
+                List.of("SUNFLOWER", "TREE_0"), Map.of("SUNFLOWER", 0.3, "TREE_0", 0.3));
+        WorldObjectManagerImpl manager = new WorldObjectManagerImpl();
+        boolean[] coveredColumn = new boolean[ObjectPlacementGrid.CELL_SIZE];
+        for (int chunkX = -3; chunkX <= 3; chunkX++) {
+            for (int chunkY = -3; chunkY <= 3; chunkY++) {
+                for (WorldObject obj : manager.createObjectsForChunk(chunkX, chunkY, new int[CHUNK_SIZE][CHUNK_SIZE], plains, 77L)) {
+                    for (int x = obj.getTileX(); x < obj.getTileX() + obj.getType().getWidthInTiles(); x++) {
+                        coveredColumn[Math.floorMod(x, ObjectPlacementGrid.CELL_SIZE)] = true;
+                    }
+                }
+            }
+        }
+        for (int x = 0; x < coveredColumn.length; x++) {
+            assertTrue(coveredColumn[x], "no object ever covers column " + x + " of a cell");
+        }
+    }
+
+    @Test
+    void generatedObjectsNeverOverlapAcrossChunks() {
+        Biome plains = new Biome("Plains", BiomeType.PLAINS, List.of(0, 1), Map.of(0, 60.0, 1, 40.0),
+                List.of("TREE_0", "TREE_1", "SUNFLOWER", "APRICORN_TREE"),
+                Map.of("SUNFLOWER", 0.3, "TREE_0", 0.3, "TREE_1", 0.3, "APRICORN_TREE", 0.3));
+        for (WorldObjectManager manager : List.of(new WorldObjectManagerImpl(), new ServerWorldObjectManagerImpl())) {
+            List<WorldObject> all = new ArrayList<>();
+            for (int chunkX = -3; chunkX <= 3; chunkX++) {
+                for (int chunkY = -3; chunkY <= 3; chunkY++) {
+                    all.addAll(manager.createObjectsForChunk(chunkX, chunkY, new int[CHUNK_SIZE][CHUNK_SIZE], plains, 77L));
+                }
+            }
+            assertFalse(all.isEmpty());
+            for (int i = 0; i < all.size(); i++) {
+                for (int j = i + 1; j < all.size(); j++) {
+                    assertFalse(overlap(all.get(i), all.get(j)), all.get(i) + " overlaps " + all.get(j));
+                }
+            }
+        }
+    }
+
+    private static boolean overlap(WorldObject a, WorldObject b) {
+        return a.getTileX() < b.getTileX() + b.getType().getWidthInTiles()
+                && b.getTileX() < a.getTileX() + a.getType().getWidthInTiles()
+                && a.getTileY() < b.getTileY() + b.getType().getHeightInTiles()
+                && b.getTileY() < a.getTileY() + a.getType().getHeightInTiles();
+    }
+}
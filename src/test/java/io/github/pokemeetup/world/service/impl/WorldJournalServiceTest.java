@@ -0,0 +1,132 @@
+package io.github.pokemeetup.world.service.impl;
+
+import io.github.pokemeetup.multiplayer.model.WorldObjectUpdate;
+import io.github.pokemeetup.world.config.ChunkGeometry;
+import io.github.pokemeetup.world.model.ChunkKey;
+import io.github.pokemeetup.world.model.WorldObject;
+import io.github.pokemeetup.world.storage.FilePlayerStore;
+import io.github.pokemeetup.world.storage.RegionChunkStore;
+import io.github.pokemeetup.world.storage.WorldJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldJournalServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private ChunkPersistenceService persistence;
+
+    @AfterEach
+    void shutdown() {
+        if (persistence != null) {
+            persistence.shutdown();
+        }
+    }
+
+    @Test
+    void aMoveIsReplayedWithTheChunkItLeft() {
+        WorldJournalService journal = journal();
+        journal.open("w", new Recording());
+        journal.recordObjectUpdate(update("tree-1", 17, 3), ChunkKey.of(0, 0));
+        journal.close();
+
+        Recording replayed = new Recording();
+        assertEquals(1, journal.open("w", replayed));
+        journal.close();
+        assertEquals(1, replayed.updates.size());
+        assertEquals("tree-1", replayed.updates.get(0).getObjectId());
+        assertEquals(17, replayed.updates.get(0).getTileX());
+        assertEquals(List.of(ChunkKey.of(0, 0)), replayed.sourceChunks);
+    }
+
+    @Test
+    void anUpdateIsOnDiskWhenRecordingReturns() throws IOException {
+        WorldJournalService journal = journal();
+        journal.open("w", new Recording());
+        journal.recordObjectUpdate(update("tree-1", 17, 3), ChunkKey.of(0, 0));
+
+        // read while the journal is still open: nothing but the commit can have written it
+        int[] replayed = {0};
+        try (WorldJournal copy = new WorldJournal(copyOf(dir.resolve("w").resolve("journal")),
+                (lsn, type, payload) -> replayed[0]++)) {
+            assertEquals(1, replayed[0]);
+        }
+        journal.close();
+    }
+
+    @Test
+    void olderRecordsFallBackToTheTargetChunk() throws IOException {
+        try (WorldJournal raw = new WorldJournal(dir.resolve("w").resolve("journal"), (lsn, type, payload) -> {
+        })) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF("tree-1");
+            out.writeUTF("TREE_0");
+            out.writeInt(-3);
+            out.writeInt(40);
+            out.writeBoolean(false);
+            raw.append((byte) 1, bytes.toByteArray());
+        }
+
+        Recording replayed = new Recording();
+        WorldJournalService journal = journal();
+        assertEquals(1, journal.open("w", replayed));
+        journal.close();
+        assertEquals(List.of(ChunkKey.of(-1, 2)), replayed.sourceChunks);
+    }
+
+    private Path copyOf(Path journalDir) throws IOException {
+        Path copy = dir.resolve("copy");
+        Files.createDirectories(copy);
+        try (Stream<Path> files = Files.list(journalDir)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, copy.resolve(file.getFileName()));
+            }
+        }
+        return copy;
+    }
+
+    private WorldJournalService journal() {
+        JsonWorldDataService json = new JsonWorldDataService(dir.toString(), new RegionChunkStore(dir.toString()),
+                new FilePlayerStore(dir.toString()));
+        persistence = new ChunkPersistenceService(json, 60_000, 256);
+        return new WorldJournalService(persistence, ChunkGeometry.of(16), dir.toString(), true, 5_000);
+    }
+
+    private static WorldObjectUpdate update(String objectId, int tileX, int tileY) {
+        WorldObjectUpdate update = new WorldObjectUpdate();
+        update.setObjectId(objectId);
+        update.setType("TREE_0");
+        update.setTileX(tileX);
+        update.setTileY(tileY);
+        return update;
+    }
+
+    private static final class Recording implements WorldJournalService.Replayer {
+        final List<WorldObjectUpdate> updates = new ArrayList<>();
+        final List<Long> sourceChunks = new ArrayList<>();
+
+        @Override
+        public void objectUpdate(WorldObjectUpdate update, long sourceChunk) {
+            updates.add(update);
+            sourceChunks.add(sourceChunk);
+        }
+
+        @Override
+        public void chunkReplace(int chunkX, int chunkY, int[][] tiles, List<WorldObject> objects) {
+        }
+    }
+}
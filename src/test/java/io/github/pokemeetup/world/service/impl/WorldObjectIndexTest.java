@@ -0,0 +1,133 @@
+package io.github.pokemeetup.world.service.impl;
+
+import io.github.pokemeetup.world.config.ChunkGeometry;
+import io.github.pokemeetup.world.model.ObjectType;
+import io.github.pokemeetup.world.model.WorldObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldObjectIndexTest {
+
+    private final WorldObjectIndex index = new WorldObjectIndex(ChunkGeometry.of(16));
+
+    @Test
+    void loadedObjectsAreFoundById() {
+        List<WorldObject> chunk = chunkOf(0, 0, 5);
+        index.putChunk(0, 0, chunk);
+
+        assertSame(chunk, index.chunk(0, 0));
+        assertSame(chunk.get(3), index.get("o3"));
+        assertNull(index.get("missing"));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void removalFillsTheGapWithTheLastObject() {
+        List<WorldObject> chunk = chunkOf(0, 0, 5);
+        index.putChunk(0, 0, chunk);
+        WorldObject last = chunk.get(4);
+
+        assertTrue(index.remove("o1"));
+        assertFalse(index.remove("o1"));
+        assertEquals(4, chunk.size());
+        assertSame(last, chunk.get(1));
+
+        // the moved object's slot followed it
+        assertTrue(index.remove("o4"));
+        assertEquals(List.of("o0", "o3", "o2"), ids(chunk));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void aMoveWithinTheChunkOnlyChangesTheTile() {
+        List<WorldObject> chunk = chunkOf(0, 0, 3);
+        index.putChunk(0, 0, chunk);
+
+        assertTrue(index.move("o2", 15, 15));
+        assertEquals(15, index.get("o2").getTileX());
+        assertEquals(List.of("o0", "o1", "o2"), ids(chunk));
+        assertFalse(index.move("missing", 1, 1));
+    }
+
+    @Test
+    void aMoveAcrossTheBorderChangesChunks() {
+        List<WorldObject> west = chunkOf(0, 0, 3);
+        List<WorldObject> east = chunkOf(1, 0, 0);
+        index.putChunk(0, 0, west);
+        index.putChunk(1, 0, east);
+
+        assertTrue(index.move("o0", 16, 2));
+        assertEquals(List.of("o2", "o1"), ids(west));
+        assertEquals(List.of("o0"), ids(east));
+
+        assertTrue(index.move("o0", 2, 2));
+        assertTrue(east.isEmpty());
+        assertEquals(List.of("o2", "o1", "o0"), ids(west));
+    }
+
+    @Test
+    void nothingGoesIntoAChunkThatIsNotLoaded() {
+        List<WorldObject> west = chunkOf(0, 0, 2);
+        index.putChunk(0, 0, west);
+
+        // the object stays where it was instead of landing in a list no chunk would save
+        assertThrows(IllegalStateException.class, () -> index.move("o0", -1, 2));
+        assertEquals(List.of("o0", "o1"), ids(west));
+        assertEquals(0, index.get("o0").getTileX());
+
+        WorldObject stray = new WorldObject(40, 0, ObjectType.TREE_0, true);
+        stray.setId("stray");
+        assertThrows(IllegalStateException.class, () -> index.add(stray));
+        assertNull(index.get("stray"));
+        assertTrue(index.chunk(2, 0).isEmpty());
+    }
+
+    @Test
+    void unloadingAChunkForgetsOnlyItsObjects() {
+        List<WorldObject> west = chunkOf(0, 0, 2);
+        index.putChunk(0, 0, west);
+        index.putChunk(1, 0, new CopyOnWriteArrayList<>());
+        index.move("o1", 17, 0);
+
+        index.removeChunk(0, 0);
+        assertNull(index.get("o0"));
+        assertNotNull(index.get("o1"));
+        assertTrue(index.chunk(0, 0).isEmpty());
+
+        // a reloaded chunk replaces what was indexed for it
+        List<WorldObject> reloaded = chunkOf(0, 0, 1);
+        index.putChunk(0, 0, reloaded);
+        index.putChunk(0, 0, chunkOf(0, 0, 0));
+        assertNull(index.get("o0"));
+    }
+
+    @Test
+    void aListChangedBehindTheIndexIsStillHandled() {
+        List<WorldObject> chunk = chunkOf(0, 0, 4);
+        index.putChunk(0, 0, chunk);
+        chunk.remove(0);
+
+        assertTrue(index.remove("o2"));
+        assertEquals(List.of("o1", "o3"), ids(chunk));
+        assertTrue(index.remove("o3"));
+        assertEquals(List.of("o1"), ids(chunk));
+    }
+
+    private static List<WorldObject> chunkOf(int chunkX, int chunkY, int count) {
+        List<WorldObject> objects = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < count; i++) {
+            WorldObject object = new WorldObject(chunkX * 16 + i, chunkY * 16, ObjectType.TREE_0, true);
+            object.setId("o" + i);
+            objects.add(object);
+        }
+        return objects;
+    }
+
+    private static List<String> ids(List<WorldObject> objects) {
+        return objects.stream().map(WorldObject::getId).toList();
+    }
+}
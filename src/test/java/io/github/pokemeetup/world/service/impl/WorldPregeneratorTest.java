@@ -0,0 +1,145 @@
+package io.github.pokemeetup.world.service.impl;
+
+import com.badlogic.gdx.math.Vector2;
+import io.github.pokemeetup.world.biome.model.Biome;
+import io.github.pokemeetup.world.biome.model.BiomeType;
+import io.github.pokemeetup.world.config.WorldConfig;
+import io.github.pokemeetup.world.model.ChunkData;
+import io.github.pokemeetup.world.model.WorldData;
+import io.github.pokemeetup.world.storage.FilePlayerStore;
+import io.github.pokemeetup.world.storage.RegionChunkStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldPregeneratorTest {
+
+    private static final long SEED = 4242L;
+    private static final String WORLD = "pregen";
+
+    @TempDir
+    Path dir;
+
+    private ChunkGenerationEngine engine;
+    private RegionChunkStore chunkStore;
+
+    @AfterEach
+    void shutdown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+        if (chunkStore != null) {
+            chunkStore.close();
+        }
+    }
+
+    @Test
+    void ringsCoverTheSquareCenterOutwards() {
+        Set<String> seen = new HashSet<>();
+        for (int r = 0; r <= 6; r++) {
+            List<Vector2> ring = WorldPregenerator.ring(10, -3, r);
+            for (int i = 0; i < ring.size(); i++) {
+                Vector2 p = ring.get(i);
+                assertEquals(r, (int) Math.max(Math.abs(p.x - 10), Math.abs(p.y + 3)));
+                assertTrue(seen.add((int) p.x + "," + (int) p.y));
+                if (i > 0) {
+                    Vector2 prev = ring.get(i - 1);
+                    assertEquals(1f, Math.abs(p.x - prev.x) + Math.abs(p.y - prev.y), "ring is one walk");
+                }
+            }
+        }
+        assertEquals(13 * 13, seen.size());
+    }
+
+    @Test
+    void storesTheAreaAndResumesWithoutReplacingStoredChunks() throws Exception {
+        JsonWorldDataService worlds = worlds();
+        WorldData world = new WorldData();
+        world.setWorldName(WORLD);
+        world.setSeed(SEED);
+        worlds.saveWorld(world);
+
+        ChunkData edited = engine.generate(1, 1, SEED);
+        edited.getTiles()[0][0] = 99;
+        worlds.saveChunk(WORLD, edited);
+
+        WorldPregenerator pregenerator = new WorldPregenerator(engine, worlds, 7, 0);
+        WorldPregenerator.Result first = pregenerator.pregenerate(WORLD, 0, 0, 3);
+        assertEquals(49, first.total());
+        assertEquals(48, first.generated());
+        assertEquals(1, first.skipped());
+
+        for (int x = -3; x <= 3; x++) {
+            for (int y = -3; y <= 3; y++) {
+                ChunkData stored = worlds.loadChunk(WORLD, x, y);
+                assertNotNull(stored, x + "," + y);
+                if (x != 1 || y != 1) {
+                    assertArrayEquals(engine.generate(x, y, SEED).getTiles(), stored.getTiles());
+                    assertEquals(engine.generate(x, y, SEED).getObjects().size(), stored.getObjects().size());
+                }
+            }
+        }
+        assertEquals(99, worlds.loadChunk(WORLD, 1, 1).getTiles()[0][0], "edited chunk was replaced");
+
+        // an interrupted run leaves chunks missing; the next run only generates those
+        worlds.deleteChunk(WORLD, -3, 2);
+        worlds.deleteChunk(WORLD, 0, 0);
+        WorldPregenerator.Result second = pregenerator.pregenerate(WORLD, 0, 0, 3);
+        assertEquals(2, second.generated());
+        assertEquals(47, second.skipped());
+        assertNotNull(worlds.loadChunk(WORLD, -3, 2));
+    }
+
+    @Test
+    void anInterruptedRunStopsAfterTheBatchInFlight() throws Exception {
+        worlds();
+        int[] lookups = {0};
+        JsonWorldDataService worlds = new JsonWorldDataService(dir.resolve("worlds").toString(), chunkStore,
+                new FilePlayerStore(dir.resolve("worlds").toString())) {
+            @Override
+            public boolean hasStoredChunk(String worldName, int chunkX, int chunkY) throws IOException {
+                boolean stored = super.hasStoredChunk(worldName, chunkX, chunkY);
+                if (++lookups[0] == 10) {
+                    Thread.currentThread().interrupt();
+                }
+                return stored;
+            }
+        };
+        WorldData world = new WorldData();
+        world.setWorldName(WORLD);
+        world.setSeed(SEED);
+        worlds.saveWorld(world);
+
+        // the first batch of 7 is generating when the interrupt lands inside the second ring
+        WorldPregenerator.Result interrupted = new WorldPregenerator(engine, worlds, 7, 0).pregenerate(WORLD, 0, 0, 3);
+        assertTrue(Thread.interrupted(), "interrupt flag is restored");
+        assertEquals(7, interrupted.generated());
+        assertEquals(10, lookups[0]);
+
+        WorldPregenerator.Result resumed = new WorldPregenerator(engine, worlds, 7, 0).pregenerate(WORLD, 0, 0, 3);
+        assertEquals(42, resumed.generated());
+        assertEquals(7, resumed.skipped());
+    }
+
+    private JsonWorldDataService worlds() {
+        WorldGeneratorImpl generator = new WorldGeneratorImpl(new WorldConfig(SEED));
+        generator.setSeedAndBiomes(SEED, Map.of(
+                BiomeType.PLAINS, new Biome("Plains", BiomeType.PLAINS, List.of(0, 1),
+                        Map.of(0, 60.0, 1, 40.0), List.of("TREE_0"), Map.of("TREE_0", 0.2)),
+                BiomeType.DESERT, new Biome("Desert", BiomeType.DESERT, List.of(2, 3),
+                        Map.of(2, 65.0, 3, 35.0), List.of(), Map.of())));
+        engine = new ChunkGenerationEngine(generator, new ServerWorldObjectManagerImpl(), 4);
+        chunkStore = new RegionChunkStore(dir.resolve("worlds").toString());
+        return new JsonWorldDataService(dir.resolve("worlds").toString(), chunkStore,
+                new FilePlayerStore(dir.resolve("worlds").toString()));
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.pokemeetup.world.storage;
+
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+class FileWorldStoreTest extends WorldStoreConformanceTest {
+
+    @TempDir
+    Path dir;
+
+    @Override
+    protected ChunkStore openChunkStore() {
+        return new RegionChunkStore(dir.toString());
+    }
+
+    @Override
+    protected PlayerStore openPlayerStore() {
+        return new FilePlayerStore(dir.toString());
+    }
+}
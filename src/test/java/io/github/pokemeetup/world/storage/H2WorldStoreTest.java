@@ -0,0 +1,23 @@
+package io.github.pokemeetup.world.storage;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+class H2WorldStoreTest extends WorldStoreConformanceTest {
+
+    // one private in-memory database per test, kept alive between connections
+    private final JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+            "jdbc:h2:mem:store-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+
+    @Override
+    protected ChunkStore openChunkStore() {
+        return new H2ChunkStore(jdbc);
+    }
+
+    @Override
+    protected PlayerStore openPlayerStore() {
+        return new H2PlayerStore(jdbc);
+    }
+}
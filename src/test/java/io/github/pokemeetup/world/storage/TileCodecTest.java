@@ -0,0 +1,159 @@
+package io.github.pokemeetup.world.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.*;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileCodecTest {
+
+    private static final int CHUNK_SIZE = 16;
+
+    @Test
+    void roundTripsUniformChunk() throws IOException {
+        int[][] tiles = grid(CHUNK_SIZE, CHUNK_SIZE, (x, y) -> 3);
+        byte[] encoded = TileCodec.encode(tiles);
+        assertArrayEquals(tiles, TileCodec.decode(encoded));
+        assertTrue(encoded.length < 10, "uniform chunk should only store its palette, was " + encoded.length);
+    }
+
+    @Test
+    void roundTripsBiomeLikeChunk() throws IOException {
+        Random random = new Random(42);
+        int[][] tiles = grid(CHUNK_SIZE, CHUNK_SIZE, (x, y) -> random.nextDouble() < 0.6 ? 0 : 1);
+        assertArrayEquals(tiles, TileCodec.decode(TileCodec.encode(tiles)));
+    }
+
+    @Test
+    void roundTripsLargeAndNegativeIds() throws IOException {
+        Random random = new Random(7);
+        int[] ids = {Integer.MIN_VALUE, -1, 0, 5, 127, 128, 70_000, Integer.MAX_VALUE};
+        int[][] tiles = grid(CHUNK_SIZE, CHUNK_SIZE, (x, y) -> ids[random.nextInt(ids.length)]);
+        assertArrayEquals(tiles, TileCodec.decode(TileCodec.encode(tiles)));
+    }
+
+    @Test
+    void roundTripsEveryPaletteSize() throws IOException {
+        for (int paletteSize = 1; paletteSize <= CHUNK_SIZE * CHUNK_SIZE; paletteSize++) {
+            int n = paletteSize;
+            Random random = new Random(paletteSize);
+            int[][] tiles = grid(CHUNK_SIZE, CHUNK_SIZE, (x, y) -> random.nextInt(n));
+            assertArrayEquals(tiles, TileCodec.decode(TileCodec.encode(tiles)), "palette size " + n);
+        }
+    }
+
+    @Test
+    void roundTripsRunsAndOddShapes() throws IOException {
+        int[][] stripes = grid(CHUNK_SIZE, CHUNK_SIZE, (x, y) -> x < 8 ? 0 : 2);
+        assertArrayEquals(stripes, TileCodec.decode(TileCodec.encode(stripes)));
+
+        int[][] odd = grid(3, 17, (x, y) -> (x * 31 + y) % 5);
+        assertArrayEquals(odd, TileCodec.decode(TileCodec.encode(odd)));
+
+        int[][] empty = new int[0][0];
+        assertArrayEquals(empty, TileCodec.decode(TileCodec.encode(empty)));
+
+        assertNull(TileCodec.encode(null));
+        assertNull(TileCodec.decode(null));
+    }
+
+    @Test
+    void rejectsCorruptData() {
+        byte[] encoded = TileCodec.encode(grid(CHUNK_SIZE, CHUNK_SIZE, (x, y) -> (x + y) % 3));
+        byte[] truncated = java.util.Arrays.copyOf(encoded, encoded.length - 4);
+        assertThrows(IOException.class, () -> TileCodec.decode(truncated));
+
+        byte[] wrongVersion = encoded.clone();
+        wrongVersion[0] = 99;
+        assertThrows(IOException.class, () -> TileCodec.decode(wrongVersion));
+    }
+
+    @Test
+    void isAnOrderOfMagnitudeSmallerThanJavaSerialization() throws IOException {
+        Random random = new Random(1);
+        int[][] tiles = grid(CHUNK_SIZE, CHUNK_SIZE, (x, y) -> random.nextDouble() < 0.65 ? 2 : 3);
+
+        int codecSize = TileCodec.encode(tiles).length;
+        int serializedSize = javaSerialize(tiles).length;
+        assertTrue(codecSize * 10 <= serializedSize,
+                "codec " + codecSize + " bytes vs ObjectOutputStream " + serializedSize + " bytes");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void compareThroughputWithJavaSerialization() throws Exception {
+        Random random = new Random(3);
+        int[][][] chunks = new int[256][][];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = grid(CHUNK_SIZE, CHUNK_SIZE, (x, y) -> random.nextDouble() < 0.6 ? 0 : 1);
+        }
+        int rounds = 200;
+
+        // warm up both paths before measuring
+        for (int r = 0; r < rounds / 4; r++) {
+            for (int[][] c : chunks) {
+                TileCodec.decode(TileCodec.encode(c));
+                javaDeserialize(javaSerialize(c));
+            }
+        }
+
+        long codecBytes = 0;
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (int[][] c : chunks) {
+                byte[] b = TileCodec.encode(c);
+                codecBytes += b.length;
+                TileCodec.decode(b);
+            }
+        }
+        long codecNanos = System.nanoTime() - start;
+
+        long serialBytes = 0;
+        start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (int[][] c : chunks) {
+                byte[] b = javaSerialize(c);
+                serialBytes += b.length;
+                javaDeserialize(b);
+            }
+        }
+        long serialNanos = System.nanoTime() - start;
+
+        long ops = (long) rounds * chunks.length;
+        System.out.printf("TileCodec:        %6d bytes/chunk, %8.0f round trips/s%n",
+                codecBytes / ops, ops * 1e9 / codecNanos);
+        System.out.printf("ObjectOutputStream: %4d bytes/chunk, %8.0f round trips/s%n",
+                serialBytes / ops, ops * 1e9 / serialNanos);
+    }
+
+    private interface TileFunction {
+        int at(int x, int y);
+    }
+
+    private static int[][] grid(int width, int height, TileFunction f) {
+        int[][] tiles = new int[width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                tiles[x][y] = f.at(x, y);
+            }
+        }
+        return tiles;
+    }
+
+    private static byte[] javaSerialize(int[][] tiles) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(tiles);
+        }
+        return baos.toByteArray();
+    }
+
+    private static int[][] javaDeserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return (int[][]) ois.readObject();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.pokemeetup.world.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Runs the same chunk workload against the region-file and H2 stores:
+ * batched first writes, random reads and batched rewrites.
+ * Run with {@code -Dbenchmark=true}.
+ */
+class WorldStoreBenchmarkTest {
+
+    private static final int CHUNKS = 4096;
+    private static final int BATCH = 256;
+    private static final int READS = 20_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void compareRegionFilesWithH2() throws IOException {
+        List<ChunkStore.StoredChunk> chunks = workload(new Random(5), 1);
+        List<ChunkStore.StoredChunk> rewrites = workload(new Random(6), 2);
+
+        try (ChunkStore regions = new RegionChunkStore(dir.resolve("regions").toString())) {
+            run("region files", regions, chunks, rewrites);
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:file:" + dir.resolve("h2/bench").toAbsolutePath(), "sa", ""));
+        try (ChunkStore h2 = new H2ChunkStore(jdbc)) {
+            run("h2", h2, chunks, rewrites);
+        }
+    }
+
+    private static void run(String name, ChunkStore store,
+                            List<ChunkStore.StoredChunk> chunks, List<ChunkStore.StoredChunk> rewrites) throws IOException {
+        long[] writes = writeBatches(store, chunks);
+
+        Random random = new Random(7);
+        long[] reads = new long[READS];
+        long readStart = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            ChunkStore.StoredChunk c = chunks.get(random.nextInt(chunks.size()));
+            long t = System.nanoTime();
+            assertNotNull(store.read(c.worldName(), c.chunkX(), c.chunkY()));
+            reads[i] = System.nanoTime() - t;
+        }
+        long readTotal = System.nanoTime() - readStart;
+
+        long[] rewritten = writeBatches(store, rewrites);
+
+        report(name, "write batch", writes, chunks.size());
+        report(name, "read", reads, READS);
+        System.out.printf("%-12s read throughput %,.0f chunks/s%n", name, READS / (readTotal / 1e9));
+        report(name, "rewrite batch", rewritten, rewrites.size());
+    }
+
+    // per-batch latencies including the sync that makes the batch durable
+    private static long[] writeBatches(ChunkStore store, List<ChunkStore.StoredChunk> chunks) throws IOException {
+        long[] latencies = new long[(chunks.size() + BATCH - 1) / BATCH];
+        for (int b = 0; b < latencies.length; b++) {
+            long t = System.nanoTime();
+            store.writeAll(chunks.subList(b * BATCH, Math.min(chunks.size(), (b + 1) * BATCH)));
+            store.sync();
+            latencies[b] = System.nanoTime() - t;
+        }
+        return latencies;
+    }
+
+    private static void report(String name, String op, long[] latencies, int chunks) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        long total = Arrays.stream(latencies).sum();
+        System.out.printf("%-12s %-13s p50 %8.1f us  p95 %8.1f us  p99 %8.1f us  %,10.0f chunks/s%n",
+                name, op, percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                chunks / (total / 1e9));
+    }
+
+    private static double percentile(long[] sorted, int p) {
+        int i = Math.min(sorted.length - 1, (int) Math.ceil(p / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(0, i)] / 1000.0;
+    }
+
+    // payload sizes spread like encoded chunks: mostly small deltas, some full chunks
+    private static List<ChunkStore.StoredChunk> workload(Random random, int format) {
+        int side = (int) Math.sqrt(CHUNKS);
+        List<ChunkStore.StoredChunk> chunks = new ArrayList<>(CHUNKS);
+        for (int i = 0; i < CHUNKS; i++) {
+            byte[] data = new byte[random.nextInt(10) == 0 ? 2000 + random.nextInt(4000) : 40 + random.nextInt(400)];
+            random.nextBytes(data);
+            chunks.add(new ChunkStore.StoredChunk("bench", i % side - side / 2, i / side - side / 2, (byte) format, data));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.pokemeetup.world.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link ChunkStore} / {@link PlayerStore} pair must share.
+ * Each open call of a test must see what earlier stores of the same test wrote.
+ */
+abstract class WorldStoreConformanceTest {
+
+    protected abstract ChunkStore openChunkStore() throws IOException;
+
+    protected abstract PlayerStore openPlayerStore() throws IOException;
+
+    @Test
+    void missingChunkReadsAsNull() throws IOException {
+        try (ChunkStore store = openChunkStore()) {
+            assertNull(store.read("w", 0, 0));
+            assertNull(store.read("w", -40, 17));
+        }
+    }
+
+    @Test
+    void roundTripsAndOverwritesChunks() throws IOException {
+        try (ChunkStore store = openChunkStore()) {
+            store.writeAll(List.of(chunk("w", 3, -2, 2, "first")));
+            assertEntry(store.read("w", 3, -2), 2, "first");
+
+            store.writeAll(List.of(chunk("w", 3, -2, 3, "second, and longer than the first")));
+            assertEntry(store.read("w", 3, -2), 3, "second, and longer than the first");
+        }
+    }
+
+    @Test
+    void nullDataRemovesChunk() throws IOException {
+        try (ChunkStore store = openChunkStore()) {
+            store.writeAll(List.of(chunk("w", 1, 1, 2, "x")));
+            store.writeAll(List.of(new ChunkStore.StoredChunk("w", 1, 1, (byte) 2, null)));
+            assertNull(store.read("w", 1, 1));
+
+            // removing something that was never stored is not an error
+            store.writeAll(List.of(new ChunkStore.StoredChunk("w", 9, 9, (byte) 2, null)));
+        }
+    }
+
+    @Test
+    void appliesBatchInOrder() throws IOException {
+        try (ChunkStore store = openChunkStore()) {
+            store.writeAll(List.of(
+                    chunk("w", 0, 0, 2, "a"),
+                    new ChunkStore.StoredChunk("w", 0, 0, (byte) 2, null),
+                    chunk("w", 0, 1, 2, "b"),
+                    chunk("w", 0, 1, 2, "c")));
+            assertNull(store.read("w", 0, 0));
+            assertEntry(store.read("w", 0, 1), 2, "c");
+        }
+    }
+
+    @Test
+    void writesLargeBatchAcrossRegions() throws IOException {
+        List<ChunkStore.StoredChunk> batch = new ArrayList<>();
+        for (int x = -35; x < 35; x += 3) {
+            for (int y = -35; y < 35; y += 3) {
+                batch.add(chunk("w", x, y, 3, "chunk " + x + "," + y + " ".repeat(Math.floorMod(x * y, 5000))));
+            }
+        }
+        try (ChunkStore store = openChunkStore()) {
+            store.writeAll(batch);
+            store.sync();
+            for (ChunkStore.StoredChunk c : batch) {
+                assertArrayEquals(c.data(), store.read("w", c.chunkX(), c.chunkY()).data(),
+                        "chunk " + c.chunkX() + "," + c.chunkY());
+            }
+        }
+    }
+
+    @Test
+    void keepsWorldsApartAndDeletesOneWorld() throws IOException {
+        try (ChunkStore store = openChunkStore()) {
+            store.writeAll(List.of(chunk("a", 0, 0, 2, "in a"), chunk("b", 0, 0, 2, "in b")));
+            assertEntry(store.read("a", 0, 0), 2, "in a");
+            assertEntry(store.read("b", 0, 0), 2, "in b");
+
+            store.deleteWorld("a");
+            assertNull(store.read("a", 0, 0));
+            assertEntry(store.read("b", 0, 0), 2, "in b");
+
+            store.writeAll(List.of(chunk("a", 0, 0, 2, "again")));
+            assertEntry(store.read("a", 0, 0), 2, "again");
+        }
+    }
+
+    @Test
+    void chunksSurviveReopen() throws IOException {
+        try (ChunkStore store = openChunkStore()) {
+            store.writeAll(List.of(chunk("w", -1, 5, 3, "kept")));
+            store.sync();
+        }
+        try (ChunkStore store = openChunkStore()) {
+            assertEntry(store.read("w", -1, 5), 3, "kept");
+        }
+    }
+
+    @Test
+    void roundTripsPlayers() throws IOException {
+        PlayerStore store = openPlayerStore();
+        assertNull(store.read("w", "ash"));
+
+        store.writeAll(List.of(player("w", "ash", "{\"x\":1}"), player("w", "misty", "{\"x\":2}")));
+        assertEquals("{\"x\":1}", text(store.read("w", "ash")));
+        assertEquals("{\"x\":2}", text(store.read("w", "misty")));
+
+        store.writeAll(List.of(player("w", "ash", "{\"x\":3}")));
+        assertEquals("{\"x\":3}", text(store.read("w", "ash")));
+        assertEquals("{\"x\":3}", text(openPlayerStore().read("w", "ash")));
+    }
+
+    @Test
+    void deletesPlayersOfOneWorld() throws IOException {
+        PlayerStore store = openPlayerStore();
+        store.writeAll(List.of(player("a", "ash", "in a"), player("b", "ash", "in b")));
+
+        store.deleteWorld("a");
+        assertNull(store.read("a", "ash"));
+        assertEquals("in b", text(store.read("b", "ash")));
+    }
+
+    private static ChunkStore.StoredChunk chunk(String world, int x, int y, int format, String data) {
+        return new ChunkStore.StoredChunk(world, x, y, (byte) format, data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PlayerStore.StoredPlayer player(String world, String username, String data) {
+        return new PlayerStore.StoredPlayer(world, username, data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertEntry(ChunkStore.Entry entry, int format, String data) {
+        assertNotNull(entry);
+        assertEquals((byte) format, entry.format());
+        assertEquals(data, text(entry.data()));
+    }
+
+    private static String text(byte[] data) {
+        return data == null ? null : new String(data, StandardCharsets.UTF_8);
+    }
+}